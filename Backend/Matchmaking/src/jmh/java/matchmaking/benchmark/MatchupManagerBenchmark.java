@@ -0,0 +1,116 @@
+package matchmaking.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import matchmaking.dto.PlayerWins;
+import matchmaking.enums.PairingStrategy;
+import matchmaking.manager.MatchupManager;
+import matchmaking.model.Matchups;
+import matchmaking.util.PlayedPairIndex;
+import matchmaking.util.PlayerSorter;
+import matchmaking.util.TournamentInfoUtil;
+
+/**
+ * Benchmarks {@link MatchupManager#createUniqueMatchups} for a round of a
+ * synthetic tournament, with the database stubbed out.
+ *
+ * <p>
+ * {@link #fromHistory()} indexes the full match history as a request without
+ * cached state does, while {@link #fromCachedState()} pairs from a prebuilt
+ * {@link PlayedPairIndex}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchupManagerBenchmark {
+
+    @Param({ "16", "256", "4096", "50000" })
+    public int players;
+
+    @Param({ "1", "6" })
+    public int roundNum;
+
+    @Param({ "BLOSSOM", "GREEDY" })
+    public PairingStrategy strategy;
+
+    private MatchupManager matchupManager;
+    private SyntheticTournament tournament;
+    private PlayedPairIndex playedPairs;
+    private Map<String, Double> playerPoints;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticTournament.silenceConsole();
+        tournament = SyntheticTournament.generate(players, roundNum - 1);
+        playedPairs = PlayedPairIndex.of(tournament.getSignups(), tournament.getMatchups());
+        playerPoints = roundNum == 1 ? null : tournament.getPlayerPoints();
+
+        TournamentInfoUtil tournamentInfoUtil = new StubTournamentInfoUtil(tournament.getPlayerWins());
+        PlayerSorter playerSorter = new PlayerSorter();
+        inject(playerSorter, "tournamentInfoUtil", tournamentInfoUtil);
+
+        matchupManager = new MatchupManager();
+        inject(matchupManager, "tournamentInfoUtil", tournamentInfoUtil);
+        inject(matchupManager, "playerSorter", playerSorter);
+    }
+
+    @Benchmark
+    public List<Matchups> fromHistory() {
+        return matchupManager.createUniqueMatchups(tournament.getSignups(), SyntheticTournament.TOURNAMENT_ID,
+                roundNum, tournament.getMatchups(), strategy);
+    }
+
+    @Benchmark
+    public List<Matchups> fromCachedState() {
+        return matchupManager.createUniqueMatchups(tournament.getSignups(), SyntheticTournament.TOURNAMENT_ID,
+                roundNum, playedPairs, playerPoints, strategy);
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    /**
+     * Serves player wins from memory and discards inserted matchups.
+     */
+    private static class StubTournamentInfoUtil extends TournamentInfoUtil {
+
+        private final List<PlayerWins> playerWins;
+
+        StubTournamentInfoUtil(List<PlayerWins> playerWins) {
+            this.playerWins = playerWins;
+        }
+
+        @Override
+        public List<PlayerWins> getPlayerWinsByTournamentId(String tournamentId) {
+            return playerWins;
+        }
+
+        @Override
+        public void insertMatchups(List<Matchups> matchups, String tournamentId, int roundNum) {
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package matchmaking.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import matchmaking.util.MatchupUtil;
+import matchmaking.util.PlayedPairIndex;
+
+/**
+ * Benchmarks building the played pairs of a synthetic tournament's history,
+ * comparing the string keyed {@link MatchupUtil#getPlayedPairs} with the
+ * {@link PlayedPairIndex} used for pairing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayedPairsBenchmark {
+
+    @Param({ "16", "256", "4096", "50000" })
+    public int players;
+
+    @Param({ "5" })
+    public int rounds;
+
+    private SyntheticTournament tournament;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tournament = SyntheticTournament.generate(players, rounds);
+    }
+
+    @Benchmark
+    public Set<String> getPlayedPairs() {
+        return MatchupUtil.getPlayedPairs(tournament.getMatchups());
+    }
+
+    @Benchmark
+    public PlayedPairIndex playedPairIndex() {
+        return PlayedPairIndex.of(tournament.getSignups(), tournament.getMatchups());
+    }
+}
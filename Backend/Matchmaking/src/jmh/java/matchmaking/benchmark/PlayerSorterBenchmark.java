@@ -0,0 +1,63 @@
+package matchmaking.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import matchmaking.model.Signups;
+import matchmaking.util.PlayerSorter;
+
+/**
+ * Benchmarks {@link PlayerSorter#sortPlayers} by Elo for the first round and
+ * by points for later rounds of a synthetic tournament.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerSorterBenchmark {
+
+    @Param({ "16", "256", "4096", "50000" })
+    public int players;
+
+    @Param({ "6" })
+    public int roundNum;
+
+    private PlayerSorter playerSorter;
+    private List<Signups> signups;
+    private Map<String, Double> playerPoints;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticTournament.silenceConsole();
+        SyntheticTournament tournament = SyntheticTournament.generate(players, roundNum - 1);
+        signups = tournament.getSignups();
+        playerPoints = tournament.getPlayerPoints();
+        playerSorter = new PlayerSorter();
+    }
+
+    @Benchmark
+    public List<Signups> sortByElo() {
+        return playerSorter.sortPlayers(signups, null, true);
+    }
+
+    @Benchmark
+    public List<Signups> sortByPoints() {
+        return playerSorter.sortPlayers(signups, playerPoints, false);
+    }
+}
@@ -0,0 +1,59 @@
+package matchmaking.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import matchmaking.dto.PlayerResults;
+import matchmaking.util.RatingUtil;
+
+/**
+ * Benchmarks {@link RatingUtil#updateRatings} over the full match history of
+ * a completed synthetic tournament.
+ *
+ * <p>
+ * Player results are recreated on every call, as the update mutates them in
+ * place.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingUtilBenchmark {
+
+    @Param({ "16", "256", "4096", "50000" })
+    public int players;
+
+    @Param({ "5" })
+    public int rounds;
+
+    private SyntheticTournament tournament;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticTournament.silenceConsole();
+        tournament = SyntheticTournament.generate(players, rounds);
+    }
+
+    @Benchmark
+    public List<PlayerResults> updateRatings() {
+        List<PlayerResults> playerResults = tournament.newPlayerResults();
+        RatingUtil.updateRatings(tournament.getMatchups(), tournament.getPlayerWins(), playerResults);
+        return playerResults;
+    }
+}
@@ -0,0 +1,151 @@
+package matchmaking.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import matchmaking.dto.PlayerResults;
+import matchmaking.dto.PlayerWins;
+import matchmaking.model.Matchups;
+import matchmaking.model.MatchupsId;
+import matchmaking.model.PlayerTournamentId;
+import matchmaking.model.Signups;
+
+/**
+ * Generates a reproducible synthetic tournament for benchmarking.
+ *
+ * <p>
+ * Players are given random Elo ratings and every completed round pairs them
+ * randomly, with the higher rated player winning. The same seed always
+ * produces the same tournament, so results are comparable between runs.
+ * </p>
+ */
+public class SyntheticTournament {
+
+    public static final String TOURNAMENT_ID = "BenchmarkTournament";
+
+    private static final long SEED = 203L;
+
+    private final List<Signups> signups;
+    private final List<Matchups> matchups;
+    private final List<PlayerWins> playerWins;
+
+    private SyntheticTournament(List<Signups> signups, List<Matchups> matchups, List<PlayerWins> playerWins) {
+        this.signups = signups;
+        this.matchups = matchups;
+        this.playerWins = playerWins;
+    }
+
+    /**
+     * Generates a tournament with the given number of players and completed
+     * rounds.
+     *
+     * @param playerCount     the number of players, which must be even.
+     * @param completedRounds the number of rounds already played.
+     * @return a new {@link SyntheticTournament}.
+     * @throws IllegalArgumentException if {@code playerCount} is odd.
+     */
+    public static SyntheticTournament generate(int playerCount, int completedRounds) {
+        if (playerCount % 2 != 0) {
+            throw new IllegalArgumentException("Player count must be even");
+        }
+        Random random = new Random(SEED);
+
+        List<Signups> signups = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            signups.add(new Signups()
+                    .setId(new PlayerTournamentId()
+                            .setUuid("player-" + i)
+                            .setTournamentId(TOURNAMENT_ID))
+                    .setElo(800 + random.nextInt(1600)));
+        }
+
+        Map<String, Integer> wins = new HashMap<>();
+        List<Matchups> matchups = new ArrayList<>(playerCount / 2 * completedRounds);
+        List<Signups> order = new ArrayList<>(signups);
+        for (int round = 1; round <= completedRounds; round++) {
+            Collections.shuffle(order, random);
+            for (int i = 0; i < playerCount; i += 2) {
+                Signups player1 = order.get(i);
+                Signups player2 = order.get(i + 1);
+                String winner = player1.getElo() >= player2.getElo()
+                        ? player1.getId().getUuid()
+                        : player2.getId().getUuid();
+                wins.merge(winner, 1, Integer::sum);
+                matchups.add(new Matchups()
+                        .setId(new MatchupsId()
+                                .setPlayer1(player1.getId().getUuid())
+                                .setPlayer2(player2.getId().getUuid())
+                                .setTournamentId(TOURNAMENT_ID))
+                        .setPlayerWon(winner)
+                        .setRoundNum(round));
+            }
+        }
+
+        List<PlayerWins> playerWins = new ArrayList<>(playerCount);
+        for (Signups signup : signups) {
+            String uuid = signup.getId().getUuid();
+            playerWins.add(new PlayerWins()
+                    .setUuid(uuid)
+                    .setWins(wins.getOrDefault(uuid, 0))
+                    .setDraws(0));
+        }
+
+        return new SyntheticTournament(signups, matchups, playerWins);
+    }
+
+    public List<Signups> getSignups() {
+        return signups;
+    }
+
+    public List<Matchups> getMatchups() {
+        return matchups;
+    }
+
+    public List<PlayerWins> getPlayerWins() {
+        return playerWins;
+    }
+
+    /**
+     * Converts the players' wins to a map of player UUIDs to points.
+     *
+     * @return a map of player UUIDs to their points.
+     */
+    public Map<String, Double> getPlayerPoints() {
+        Map<String, Double> playerPoints = new HashMap<>();
+        for (PlayerWins wins : playerWins) {
+            playerPoints.put(wins.getUuid(), wins.getPoints());
+        }
+        return playerPoints;
+    }
+
+    /**
+     * Creates fresh player results seeded from the players' signup Elo.
+     *
+     * @return a new list of {@link PlayerResults}.
+     */
+    public List<PlayerResults> newPlayerResults() {
+        List<PlayerResults> playerResults = new ArrayList<>(signups.size());
+        for (Signups signup : signups) {
+            playerResults.add(new PlayerResults()
+                    .setUuid(signup.getId().getUuid())
+                    .setElo(signup.getElo())
+                    .setBuchholz(0)
+                    .setRank(0));
+        }
+        return playerResults;
+    }
+
+    /**
+     * Discards console output, as the matchmaking code logs every matchup and
+     * printing would otherwise dominate the measurements.
+     */
+    public static void silenceConsole() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+}
@@ -0,0 +1,111 @@
+package matchmaking.cache;
+
+import java.util.List;
+
+import matchmaking.model.Matchups;
+import matchmaking.model.Signups;
+import matchmaking.util.PlayedPairIndex;
+
+/**
+ * Cached matchmaking state of a single tournament.
+ *
+ * <p>
+ * Holds the signups, the history of played pairs and the last round that has
+ * been generated, so a new round only needs to load what has changed since
+ * the previous one. The pair history is updated incrementally
+ * with {@link #addRound(int, List)} as new matchups are written.
+ * </p>
+ */
+public class TournamentState {
+
+    private final String tournamentId;
+    private final List<Signups> signups;
+    private final PlayedPairIndex playedPairs;
+    private int currentRound;
+    private long updatedAt;
+
+    /**
+     * Creates a tournament state.
+     *
+     * @param tournamentId the ID of the tournament.
+     * @param signups      the players signed up for the tournament.
+     * @param playedPairs  the index of previously played pairs.
+     * @param currentRound the last round that has been generated, or 0 if none.
+     * @param updatedAt    the time the state was loaded, in milliseconds.
+     */
+    TournamentState(String tournamentId, List<Signups> signups, PlayedPairIndex playedPairs, int currentRound,
+            long updatedAt) {
+        this.tournamentId = tournamentId;
+        this.signups = signups;
+        this.playedPairs = playedPairs;
+        this.currentRound = currentRound;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Creates the state of a tournament from its signups and full match history.
+     *
+     * @param tournamentId     the ID of the tournament.
+     * @param signups          the players signed up for the tournament.
+     * @param previousMatchups the matchups played so far in the tournament.
+     * @param currentRound     the last round that has been generated, or 0 if
+     *                         none.
+     * @return a new {@link TournamentState}.
+     */
+    public static TournamentState of(String tournamentId, List<Signups> signups, List<Matchups> previousMatchups,
+            int currentRound) {
+        return new TournamentState(tournamentId, signups, PlayedPairIndex.of(signups, previousMatchups),
+                currentRound, System.currentTimeMillis());
+    }
+
+    /**
+     * Records the matchups of a newly generated round.
+     *
+     * @param roundNum the round the matchups belong to.
+     * @param matchups the matchups of the round.
+     */
+    public synchronized void addRound(int roundNum, List<Matchups> matchups) {
+        playedPairs.addAll(matchups);
+        currentRound = roundNum;
+        updatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Checks whether the given signups are the same players this state was
+     * built from.
+     *
+     * @param currentSignups the current signups of the tournament.
+     * @return {@code true} if the players match, {@code false} otherwise.
+     */
+    public boolean hasSignups(List<Signups> currentSignups) {
+        if (currentSignups.size() != signups.size()) {
+            return false;
+        }
+        for (Signups signup : currentSignups) {
+            if (playedPairs.indexOf(signup.getId().getUuid()) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getTournamentId() {
+        return tournamentId;
+    }
+
+    public List<Signups> getSignups() {
+        return signups;
+    }
+
+    public PlayedPairIndex getPlayedPairs() {
+        return playedPairs;
+    }
+
+    public synchronized int getCurrentRound() {
+        return currentRound;
+    }
+
+    public synchronized long getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,146 @@
+package matchmaking.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import matchmaking.model.Matchups;
+
+/**
+ * Bounded in-memory cache of {@link TournamentState} per tournament.
+ *
+ * <p>
+ * Entries are evicted in least-recently-used order once the cache holds more
+ * than the configured number of tournaments, and expire after the configured
+ * time-to-live so the state is periodically reloaded from the database.
+ * </p>
+ * <p>
+ * Configured via the {@code matchmaking.cache.max-tournaments} and
+ * {@code matchmaking.cache.ttl-minutes} properties.
+ * </p>
+ */
+@Component
+public class TournamentStateCache {
+
+    private final int maxTournaments;
+    private final long ttlMillis;
+    private final Map<String, TournamentState> states;
+
+    /**
+     * Creates a cache with the given bounds.
+     *
+     * @param maxTournaments the maximum number of tournaments held at once.
+     * @param ttlMinutes     the time in minutes after which an entry that has
+     *                       not been updated expires.
+     */
+    @Autowired
+    public TournamentStateCache(@Value("${matchmaking.cache.max-tournaments:128}") int maxTournaments,
+            @Value("${matchmaking.cache.ttl-minutes:30}") long ttlMinutes) {
+        this(maxTournaments, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /**
+     * Creates a cache with the given bounds.
+     *
+     * @param maxTournaments the maximum number of tournaments held at once.
+     * @param ttl            the time after which an entry that has not been
+     *                       updated expires.
+     */
+    public TournamentStateCache(int maxTournaments, Duration ttl) {
+        if (maxTournaments <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than zero");
+        }
+        this.maxTournaments = maxTournaments;
+        this.ttlMillis = ttl.toMillis();
+        this.states = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TournamentState> eldest) {
+                return size() > TournamentStateCache.this.maxTournaments;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the cached state of a tournament.
+     *
+     * @param tournamentId the ID of the tournament.
+     * @return the cached {@link TournamentState}, or {@code null} if the
+     *         tournament is not cached or its entry has expired.
+     */
+    public synchronized TournamentState get(String tournamentId) {
+        TournamentState state = states.get(tournamentId);
+        if (state != null && System.currentTimeMillis() - state.getUpdatedAt() >= ttlMillis) {
+            states.remove(tournamentId);
+            return null;
+        }
+        return state;
+    }
+
+    /**
+     * Caches the state of a tournament, replacing any existing entry.
+     *
+     * @param state the {@link TournamentState} to cache.
+     */
+    public synchronized void put(TournamentState state) {
+        states.put(state.getTournamentId(), state);
+    }
+
+    /**
+     * Removes the cached state of a tournament, if any.
+     *
+     * @param tournamentId the ID of the tournament.
+     */
+    public synchronized void evict(String tournamentId) {
+        states.remove(tournamentId);
+    }
+
+    /**
+     * Retrieves the number of cached tournaments.
+     *
+     * @return the number of entries in the cache.
+     */
+    public synchronized int size() {
+        return states.size();
+    }
+
+    /**
+     * Records the matchups of a newly generated round in the cached state.
+     *
+     * <p>
+     * If called within a transaction, the state is only updated once the
+     * transaction commits, and the tournament is evicted if it rolls back.
+     * Otherwise the state is updated immediately.
+     * </p>
+     *
+     * @param state    the {@link TournamentState} of the tournament.
+     * @param roundNum the round the matchups belong to.
+     * @param matchups the matchups of the round.
+     */
+    public void recordRound(TournamentState state, int roundNum, List<Matchups> matchups) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            state.addRound(roundNum, matchups);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                state.addRound(roundNum, matchups);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    evict(state.getTournamentId());
+                }
+            }
+        });
+    }
+}
@@ -4,6 +4,7 @@ import org.hibernate.boot.model.naming.PhysicalNamingStrategy;
 import org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -21,8 +22,13 @@ import org.springframework.web.client.RestTemplate;
  * mapping entity names to database table names, using the
  * {@link PhysicalNamingStrategyStandardImpl} implementation.</li>
  * </ul>
+ *
+ * <p>
+ * Scheduling is enabled for background jobs such as the
+ * {@link matchmaking.service.EloOutboxDispatcher}.
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     /**
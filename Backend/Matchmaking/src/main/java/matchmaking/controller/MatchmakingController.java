@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import matchmaking.enums.PairingStrategy;
 import matchmaking.exception.*;
 import matchmaking.service.MatchingService;
 import matchmaking.service.RatingService;
@@ -76,18 +77,24 @@ public class MatchmakingController {
      *
      * @param tournamentId the ID of the tournament for which matchups are to be
      *                     generated
+     * @param strategy     the optional pairing strategy for the tournament
+     *                     ({@code blossom} or {@code greedy}); defaults to
+     *                     {@code blossom}
      * @return a {@link ResponseEntity} containing a map with success or error
      *         message
-     * @throws IllegalArgumentException    if the tournament ID is invalid
+     * @throws IllegalArgumentException    if the tournament ID or strategy is
+     *                                     invalid
      * @throws TournamentNotFoundException if no tournament is found with the given
      *                                     ID
      * @throws RuntimeException            for any other unexpected errors that may
      *                                     occur
      */
     @GetMapping("/matchmaking/{tournamentId}")
-    public ResponseEntity<Map<String, Object>> matchPlayers(@PathVariable("tournamentId") String tournamentId) {
+    public ResponseEntity<Map<String, Object>> matchPlayers(@PathVariable("tournamentId") String tournamentId,
+            @RequestParam(value = "strategy", required = false) String strategy) {
         try {
-            List<Matchups> matchups = matchingService.generateUniqueMatchups(tournamentId);
+            List<Matchups> matchups = matchingService.generateUniqueMatchups(tournamentId,
+                    PairingStrategy.fromString(strategy));
             for (Matchups matchup : matchups) {
                 System.out.println(matchup);
             }
@@ -0,0 +1,40 @@
+package matchmaking.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Represents a player's new Elo rating waiting in the outbox to be sent to the
+ * User microservice.
+ */
+@Data
+@Accessors(chain = true)
+public class EloOutboxEntry {
+    private Long id;
+
+    /**
+     * Identifies the update across retries, unique per player and tournament.
+     */
+    private String idempotencyKey;
+
+    private String uuid;
+    private String tournamentId;
+    private Integer elo;
+    private int attempts;
+
+    /**
+     * Creates a new outbox entry for a player's Elo after a tournament.
+     *
+     * @param tournamentId the ID of the tournament that produced the Elo.
+     * @param uuid         the UUID of the player.
+     * @param elo          the new Elo rating of the player.
+     * @return a new {@link EloOutboxEntry}.
+     */
+    public static EloOutboxEntry of(String tournamentId, String uuid, int elo) {
+        return new EloOutboxEntry()
+                .setIdempotencyKey(tournamentId + ":" + uuid)
+                .setUuid(uuid)
+                .setTournamentId(tournamentId)
+                .setElo(elo);
+    }
+}
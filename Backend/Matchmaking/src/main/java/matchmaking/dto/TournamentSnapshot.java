@@ -0,0 +1,45 @@
+package matchmaking.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import matchmaking.model.Matchups;
+import matchmaking.model.Signups;
+
+/**
+ * Represents the state of a tournament loaded in a single database round trip,
+ * containing its current round, signups, matchups and player win/draw
+ * aggregates.
+ */
+@Data
+@Accessors(chain = true)
+public class TournamentSnapshot {
+    private String tournamentId;
+
+    /**
+     * The round number to be generated next, i.e. the last round plus one.
+     */
+    private int currentRound;
+
+    /**
+     * The first round included in {@link #matchups}.
+     */
+    private int fromRound;
+
+    private List<Signups> signups;
+    private List<Matchups> matchups;
+    private List<PlayerWins> playerWins;
+
+    /**
+     * Converts the player win/draw aggregates to a map of player UUIDs to points.
+     *
+     * @return a map of player UUIDs to their points.
+     */
+    public Map<String, Double> getPlayerPoints() {
+        return playerWins.stream()
+                .collect(Collectors.toMap(PlayerWins::getUuid, PlayerWins::getPoints, (p1, p2) -> p1));
+    }
+}
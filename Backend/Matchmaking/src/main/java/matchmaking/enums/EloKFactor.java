@@ -44,6 +44,19 @@ public enum EloKFactor {
     private final int maxElo;
     private final int kValue;
 
+    /**
+     * Highest finite range boundary. Every Elo rating at or above it shares its
+     * K value, so the lookup table does not need to extend further.
+     */
+    private static final int TABLE_MAX_ELO = ADVANCED.minElo;
+
+    /**
+     * K values indexed by Elo rating plus one, clamped to
+     * {@code [-1, TABLE_MAX_ELO]}. Index 0 holds the value for ratings below
+     * every range.
+     */
+    private static final int[] K_VALUES = buildKValues();
+
     /**
      * Constructs an EloKFactor enumeration constant with specified Elo range and K
      * value.
@@ -61,10 +74,39 @@ public enum EloKFactor {
     /**
      * Retrieves the K value corresponding to the given Elo rating.
      *
+     * <p>
+     * Looks the value up in a precomputed table, so no ranges are scanned per
+     * call.
+     * </p>
+     *
      * @param elo the Elo rating for which the K value is to be determined
      * @return the K value associated with the Elo rating
      */
     public static int getKValue(int elo) {
+        return K_VALUES[Math.min(Math.max(elo, -1), TABLE_MAX_ELO) + 1];
+    }
+
+    /**
+     * Precomputes the K value of every Elo rating up to {@link #TABLE_MAX_ELO}
+     * from the ranges.
+     *
+     * @return the K value lookup table
+     */
+    private static int[] buildKValues() {
+        int[] kValues = new int[TABLE_MAX_ELO + 2];
+        for (int elo = -1; elo <= TABLE_MAX_ELO; elo++) {
+            kValues[elo + 1] = findKValue(elo);
+        }
+        return kValues;
+    }
+
+    /**
+     * Finds the K value of the range containing the given Elo rating.
+     *
+     * @param elo the Elo rating
+     * @return the K value associated with the Elo rating
+     */
+    private static int findKValue(int elo) {
         for (EloKFactor factor : EloKFactor.values()) {
             if (elo >= factor.minElo && elo < factor.maxElo) {
                 return factor.kValue;
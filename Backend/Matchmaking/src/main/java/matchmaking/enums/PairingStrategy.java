@@ -0,0 +1,51 @@
+package matchmaking.enums;
+
+/**
+ * Enumeration representing the algorithms available for pairing players in a
+ * tournament round.
+ *
+ * <p>
+ * The strategy can be selected per tournament when a round is generated,
+ * with {@link #BLOSSOM} used when none is specified.
+ * </p>
+ */
+public enum PairingStrategy {
+
+    /**
+     * Optimal pairing based on maximum-weight (blossom) matching.
+     * <p>
+     * Weighs every candidate pair by score difference, Elo gap and rematch
+     * penalties, and always produces a complete pairing.
+     * </p>
+     */
+    BLOSSOM,
+
+    /**
+     * Greedy first-fit pairing in standings order.
+     * <p>
+     * Faster, but may fail to pair every player when many rematches have to be
+     * avoided.
+     * </p>
+     */
+    GREEDY;
+
+    /**
+     * Retrieves the pairing strategy matching the given name, ignoring case.
+     *
+     * @param name the name of the strategy, or {@code null} for the default.
+     * @return the matching {@link PairingStrategy}, or {@link #BLOSSOM} if the
+     *         name is null or empty.
+     * @throws IllegalArgumentException if the name does not match any strategy.
+     */
+    public static PairingStrategy fromString(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return BLOSSOM;
+        }
+        for (PairingStrategy strategy : PairingStrategy.values()) {
+            if (strategy.name().equalsIgnoreCase(name.trim())) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown pairing strategy: " + name);
+    }
+}
@@ -2,25 +2,31 @@ package matchmaking.manager;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.data.util.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import matchmaking.dto.PlayerWins;
+import matchmaking.enums.PairingStrategy;
+import matchmaking.exception.InvalidRoundException;
 import matchmaking.model.*;
+import matchmaking.util.PlayedPairIndex;
 import matchmaking.util.PlayerSorter;
+import matchmaking.util.SwissPairingUtil;
 import matchmaking.util.TournamentInfoUtil;
 import matchmaking.util.ValidationUtil;
-import matchmaking.util.MatchupUtil;
 
 /**
  * Utility class for managing matchups in a tournament.
  *
  * It helps generate matchups while avoiding duplicate pairs, handles scenarios
  * with an odd number of players by granting auto-wins (bye), and manages
- * previous match history to avoid rematches.
+ * previous match history to avoid rematches. Pairs are generated either by
+ * optimal blossom matching or by the greedy first-fit strategy, as selected by
+ * {@link PairingStrategy}.
  */
 @Component
 public class MatchupManager {
@@ -38,32 +44,118 @@ public class MatchupManager {
                     .setTournamentId(null))
             .setElo(-1);
 
+    /**
+     * Creates unique matchups for players while avoiding duplicate pairs, using
+     * the default {@link PairingStrategy#BLOSSOM} pairing.
+     * If the number of players is odd, an auto-win (bye) is assigned to one player.
+     *
+     * @param players          the list of players to match.
+     * @param tournamentId     the ID of the tournament.
+     * @param roundNum         the current round number.
+     * @param previousMatchups the matchups already played, used to avoid
+     *                         duplicates.
+     * @return a list of {@link Matchups} objects representing the generated
+     *         matchups.
+     */
+    public List<Matchups> createUniqueMatchups(List<Signups> players, String tournamentId,
+            int roundNum, List<Matchups> previousMatchups) {
+        return createUniqueMatchups(players, tournamentId, roundNum, previousMatchups, PairingStrategy.BLOSSOM);
+    }
+
     /**
      * Creates unique matchups for players while avoiding duplicate pairs.
      * If the number of players is odd, an auto-win (bye) is assigned to one player.
      *
+     * <p>
+     * Player points are loaded once and used both to sort the standings and to
+     * weight the pairings. Previously played pairs are indexed once per round
+     * with a {@link PlayedPairIndex} keyed by each player's position in the
+     * sorted standings, so rematch checks during pairing are constant time.
+     * </p>
+     *
+     * @param players          the list of players to match.
+     * @param tournamentId     the ID of the tournament.
+     * @param roundNum         the current round number.
+     * @param previousMatchups the matchups already played, used to avoid
+     *                         duplicates.
+     * @param strategy         the {@link PairingStrategy} used to pair the
+     *                         players.
+     * @return a list of {@link Matchups} objects representing the generated
+     *         matchups.
+     */
+    public List<Matchups> createUniqueMatchups(List<Signups> players, String tournamentId,
+            int roundNum, List<Matchups> previousMatchups, PairingStrategy strategy) {
+        Map<String, Double> playerPoints = getPlayerPoints(tournamentId, roundNum);
+        players = playerSorter.sortPlayers(players, playerPoints, roundNum == 1);
+        PlayedPairIndex playedPairs = PlayedPairIndex.of(players, previousMatchups);
+
+        return pairPlayers(players, tournamentId, roundNum, playedPairs, playerPoints, strategy);
+    }
+
+    /**
+     * Creates unique matchups for players from an existing index of played
+     * pairs and standings, such as those held in a
+     * {@link matchmaking.cache.TournamentState}, without reloading the
+     * tournament history.
+     * If the number of players is odd, an auto-win (bye) is assigned to one player.
+     *
      * @param players      the list of players to match.
      * @param tournamentId the ID of the tournament.
      * @param roundNum     the current round number.
-     * @param playedPairs  the set of already played pairs to avoid duplicates.
+     * @param playedPairs  the index of previously played pairs, containing every
+     *                     player in {@code players}.
+     * @param playerPoints a map of player UUIDs to their points, or {@code null}
+     *                     in round 1.
+     * @param strategy     the {@link PairingStrategy} used to pair the players.
      * @return a list of {@link Matchups} objects representing the generated
      *         matchups.
      */
     public List<Matchups> createUniqueMatchups(List<Signups> players, String tournamentId,
-            int roundNum, Set<String> playedPairs) {
-        List<Matchups> matchups = new ArrayList<>();
-        Set<String> pairedPlayers = new HashSet<>();
+            int roundNum, PlayedPairIndex playedPairs, Map<String, Double> playerPoints, PairingStrategy strategy) {
+        players = playerSorter.sortPlayers(players, playerPoints, roundNum == 1);
 
-        players = playerSorter.sortPlayersForRound(players, tournamentId, roundNum);
+        return pairPlayers(players, tournamentId, roundNum, playedPairs.inOrderOf(players), playerPoints,
+                strategy);
+    }
 
-        List<Pair<Signups, Signups>> playerPairs = generateMatchups(players, pairedPlayers, playedPairs);
+    /**
+     * Pairs players sorted by standings and inserts the resulting matchups.
+     *
+     * @param players      the list of players to match, sorted by standings.
+     * @param tournamentId the ID of the tournament.
+     * @param roundNum     the current round number.
+     * @param playedPairs  the index of previously played pairs, indexed in the
+     *                     order of {@code players}.
+     * @param playerPoints a map of player UUIDs to their points, or {@code null}
+     *                     in round 1.
+     * @param strategy     the {@link PairingStrategy} used to pair the players.
+     * @return a list of {@link Matchups} objects representing the generated
+     *         matchups.
+     */
+    private List<Matchups> pairPlayers(List<Signups> players, String tournamentId, int roundNum,
+            PlayedPairIndex playedPairs, Map<String, Double> playerPoints, PairingStrategy strategy) {
+        List<Matchups> matchups = new ArrayList<>();
+
+        List<Pair<Signups, Signups>> playerPairs;
+        if (strategy == PairingStrategy.GREEDY) {
+            playerPairs = generateGreedyPairs(players, playedPairs);
+        } else {
+            playerPairs = SwissPairingUtil.generateOptimalPairs(players, playerPoints, playedPairs,
+                    NULL_PLAYER);
+        }
 
         System.out.println("Player Pairs:");
         System.out.println(playerPairs);
 
         for (Pair<Signups, Signups> pair : playerPairs) {
-            Matchups matchup = tournamentInfoUtil.createMatchup(pair.getFirst(), pair.getSecond(),
-                    tournamentId, roundNum);
+            Matchups matchup;
+            if (pair.getSecond() == NULL_PLAYER) {
+                matchup = tournamentInfoUtil.createMatchup(pair.getFirst(), pair.getSecond(),
+                        pair.getFirst(), tournamentId, roundNum);
+            } else {
+                matchup = tournamentInfoUtil.createMatchup(pair.getFirst(), pair.getSecond(),
+                        tournamentId, roundNum);
+            }
 
             // Double check valid matchup
             System.out.println("Matchup: ");
@@ -72,54 +164,73 @@ public class MatchupManager {
             matchups.add(matchup);
         }
 
-        if (players.size() % 2 != 0) {
-            Pair<Signups, Signups> byePair = handleBye(players, matchups, pairedPlayers);
-            ValidationUtil.isValidPair(byePair);
-            System.out.println("Bye Pair");
-            System.out.println(byePair);
-            Matchups byeMatchup = tournamentInfoUtil.createMatchup(byePair.getFirst(), byePair.getSecond(),
-                    byePair.getFirst(), tournamentId, roundNum);
-
-            // Double check valid matchup
-            System.out.println("Matchup: ");
-            System.out.println(byeMatchup);
-            ValidationUtil.isValidMatchup(byeMatchup);
-            matchups.add(byeMatchup);
-        }
-
         ValidationUtil.isAllPlayersMatched(matchups, players);
         tournamentInfoUtil.insertMatchups(matchups, tournamentId, roundNum);
 
         return matchups;
     }
 
+    /**
+     * Generates pairs with the greedy first-fit strategy, appending the bye pair
+     * last if the number of players is odd.
+     *
+     * @param players     the list of players to pair, sorted by standings.
+     * @param playedPairs the index of previously played pairs.
+     * @return a list of player pairs.
+     * @throws InvalidRoundException if no player is left for the bye.
+     */
+    private List<Pair<Signups, Signups>> generateGreedyPairs(List<Signups> players, PlayedPairIndex playedPairs) {
+        boolean[] pairedPlayers = new boolean[players.size()];
+        List<Pair<Signups, Signups>> playerPairs = generateMatchups(players, pairedPlayers, playedPairs);
+
+        if (players.size() % 2 != 0) {
+            Pair<Signups, Signups> byePair = handleBye(players, pairedPlayers);
+            ValidationUtil.isValidPair(byePair);
+            playerPairs.add(byePair);
+        }
+        return playerPairs;
+    }
+
+    /**
+     * Retrieves each player's points for weighting pairings. Points are only
+     * looked up after the first round, as no games have been played before it.
+     *
+     * @param tournamentId the ID of the tournament.
+     * @param roundNum     the current round number.
+     * @return a map of player UUIDs to their points, or {@code null} in round 1.
+     */
+    private Map<String, Double> getPlayerPoints(String tournamentId, int roundNum) {
+        if (roundNum == 1) {
+            return null;
+        }
+        return tournamentInfoUtil.getPlayerWinsByTournamentId(tournamentId).stream()
+                .collect(Collectors.toMap(PlayerWins::getUuid, PlayerWins::getPoints, (p1, p2) -> p1));
+    }
+
     /**
      * Generates matchups by pairing players while avoiding duplicate pairs.
      *
      * @param players       the list of players to pair.
-     * @param pairedPlayers a set to track already paired players.
-     * @param playedPairs   the set of previously played pairs.
+     * @param pairedPlayers flags tracking already paired players by index.
+     * @param playedPairs   the index of previously played pairs.
      * @return a list of valid player pairs.
      */
     private List<Pair<Signups, Signups>> generateMatchups(List<Signups> players,
-            Set<String> pairedPlayers,
-            Set<String> playedPairs) {
+            boolean[] pairedPlayers,
+            PlayedPairIndex playedPairs) {
         List<Pair<Signups, Signups>> validPairs = new ArrayList<>();
 
         for (int i = 0; i < players.size(); i++) {
-            Signups player1 = players.get(i);
-
-            if (pairedPlayers.contains(player1.getId().getUuid())) {
+            if (pairedPlayers[i]) {
                 continue; // Skip if already paired
             }
 
-            Signups player2 = findValidMatchup(player1, players, pairedPlayers, playedPairs, i);
+            int j = findValidMatchup(i, pairedPlayers, playedPairs);
 
-            if (player2 != null) {
-                validPairs.add(Pair.of(player1, player2));
-                pairedPlayers.add(player1.getId().getUuid());
-                pairedPlayers.add(player2.getId().getUuid());
-                MatchupUtil.addPlayedPair(player1.getId().getUuid(), player2.getId().getUuid(), playedPairs);
+            if (j != -1) {
+                validPairs.add(Pair.of(players.get(i), players.get(j)));
+                pairedPlayers[i] = true;
+                pairedPlayers[j] = true;
             }
         }
         return validPairs;
@@ -128,28 +239,23 @@ public class MatchupManager {
     /**
      * Attempts to find a valid matchup for the given player by avoiding duplicates.
      *
-     * @param player1       the player for whom a pair is being searched.
-     * @param players       the list of players to search through.
-     * @param pairedPlayers a set to track players already paired.
-     * @param playedPairs   the set of previously played pairs.
-     * @param currentIndex  the current index in the player list.
-     * @return a valid {@link Signups} object or {@code null} if no valid pair is
-     *         found.
+     * @param currentIndex  the index of the player for whom a pair is being
+     *                      searched.
+     * @param pairedPlayers flags tracking already paired players by index.
+     * @param playedPairs   the index of previously played pairs.
+     * @return the index of a valid opponent, or -1 if no valid pair is found.
      */
-    private Signups findValidMatchup(Signups player1, List<Signups> players,
-            Set<String> pairedPlayers, Set<String> playedPairs, int currentIndex) {
-        for (int j = currentIndex + 1; j < players.size(); j++) {
-            Signups player2 = players.get(j);
-
-            if (pairedPlayers.contains(player2.getId().getUuid())) {
+    private int findValidMatchup(int currentIndex, boolean[] pairedPlayers, PlayedPairIndex playedPairs) {
+        for (int j = currentIndex + 1; j < pairedPlayers.length; j++) {
+            if (pairedPlayers[j]) {
                 continue; // Skip if already paired
             }
 
-            if (ValidationUtil.isValidPair(player1.getId().getUuid(), player2.getId().getUuid(), playedPairs)) {
-                return player2;
+            if (!playedPairs.hasPlayed(currentIndex, j)) {
+                return j;
             }
         }
-        return null;
+        return -1;
     }
 
     /**
@@ -158,16 +264,14 @@ public class MatchupManager {
      * wins.
      *
      * @param players       the list of players.
-     * @param matchups      the list to store matchups.
-     * @param pairedPlayers a set to track players already paired.
+     * @param pairedPlayers flags tracking already paired players by index.
      * @return a {@link Pair} of the unpaired player and {@code NULL_PLAYER}, or
      *         {@code null} if all players are paired.
      */
-    private Pair<Signups, Signups> handleBye(List<Signups> players, List<Matchups> matchups,
-            Set<String> pairedPlayers) {
-        for (Signups player : players) {
-            if (!pairedPlayers.contains(player.getId().getUuid())) {
-                return Pair.of(player, NULL_PLAYER);
+    private Pair<Signups, Signups> handleBye(List<Signups> players, boolean[] pairedPlayers) {
+        for (int i = 0; i < players.size(); i++) {
+            if (!pairedPlayers[i]) {
+                return Pair.of(players.get(i), NULL_PLAYER);
             }
         }
         return null;
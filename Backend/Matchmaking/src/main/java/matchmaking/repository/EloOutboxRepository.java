@@ -0,0 +1,176 @@
+package matchmaking.repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import matchmaking.dto.EloOutboxEntry;
+
+/**
+ * Repository for the outbox of Elo changes waiting to be sent to the User
+ * microservice (see {@code db/EloOutbox.sql}).
+ *
+ * <p>
+ * Entries are enqueued on the connection of the surrounding ranking
+ * transaction, so they only become visible once it commits. Dispatchers claim
+ * due entries by stamping them with a claim token and pushing back their next
+ * attempt by a lease, so several instances never send the same entry at once
+ * and an entry claimed by an instance that dies is retried after the lease.
+ * </p>
+ */
+@Repository
+public class EloOutboxRepository {
+
+    // Maximum number of entries written or updated by a single statement
+    static final int ROWS_PER_STATEMENT = 500;
+
+    private static final String INSERT_PREFIX = "INSERT INTO EloOutbox "
+            + "(idempotencyKey, uuid, tournamentId, elo, status, attempts, nextAttemptAt) VALUES ";
+
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, 'PENDING', 0, ?)";
+
+    private static final String SUPERSEDE_PREFIX = "UPDATE EloOutbox SET status = 'SUPERSEDED' "
+            + "WHERE status = 'PENDING' AND uuid IN ";
+
+    private static final String CLAIM_SQL = "UPDATE EloOutbox SET claimToken = ?, nextAttemptAt = ? "
+            + "WHERE status = 'PENDING' AND nextAttemptAt <= ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_CLAIMED_SQL = "SELECT id, idempotencyKey, uuid, tournamentId, elo, attempts "
+            + "FROM EloOutbox WHERE claimToken = ? AND status = 'PENDING' ORDER BY id";
+
+    private static final String MARK_SENT_PREFIX = "UPDATE EloOutbox SET status = 'SENT', claimToken = NULL "
+            + "WHERE status = 'PENDING' AND id IN ";
+
+    private static final String RETRY_SQL = "UPDATE EloOutbox SET attempts = ?, nextAttemptAt = ?, lastError = ?, "
+            + "claimToken = NULL WHERE id = ?";
+
+    private static final String FAIL_SQL = "UPDATE EloOutbox SET status = 'FAILED', attempts = ?, lastError = ?, "
+            + "claimToken = NULL WHERE id = ? AND status = 'PENDING'";
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds Elo changes to the outbox, to be sent as soon as possible.
+     *
+     * <p>
+     * Any pending entries for the same players are superseded first, as only
+     * their latest Elo needs to reach the User microservice. This also keeps a
+     * retried older entry from overwriting a newer Elo.
+     * </p>
+     *
+     * @param entries the entries to enqueue.
+     * @return the number of entries inserted.
+     */
+    public int enqueue(List<EloOutboxEntry> entries) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int inserted = 0;
+        for (int start = 0; start < entries.size(); start += ROWS_PER_STATEMENT) {
+            List<EloOutboxEntry> chunk = entries.subList(start, Math.min(start + ROWS_PER_STATEMENT, entries.size()));
+
+            List<Object> uuids = new ArrayList<>(chunk.size());
+            List<Object> args = new ArrayList<>(chunk.size() * 5);
+            for (EloOutboxEntry entry : chunk) {
+                uuids.add(entry.getUuid());
+                args.add(entry.getIdempotencyKey());
+                args.add(entry.getUuid());
+                args.add(entry.getTournamentId());
+                args.add(entry.getElo());
+                args.add(now);
+            }
+
+            jdbcTemplate.update(SUPERSEDE_PREFIX + placeholders("?", chunk.size()), uuids.toArray());
+            inserted += jdbcTemplate.update(INSERT_PREFIX + String.join(", ",
+                    Collections.nCopies(chunk.size(), ROW_PLACEHOLDER)), args.toArray());
+        }
+        return inserted;
+    }
+
+    /**
+     * Claims up to {@code limit} due entries, oldest first.
+     *
+     * @param limit the maximum number of entries to claim.
+     * @param lease how long the entries are reserved for this caller.
+     * @return the claimed entries.
+     */
+    public List<EloOutboxEntry> claimDue(int limit, Duration lease) {
+        long now = System.currentTimeMillis();
+        String claimToken = UUID.randomUUID().toString();
+
+        int claimed = jdbcTemplate.update(CLAIM_SQL, claimToken, new Timestamp(now + lease.toMillis()),
+                new Timestamp(now), limit);
+        if (claimed == 0) {
+            return Collections.emptyList();
+        }
+
+        return jdbcTemplate.query(SELECT_CLAIMED_SQL, (rs, rowNum) -> new EloOutboxEntry()
+                .setId(rs.getLong("id"))
+                .setIdempotencyKey(rs.getString("idempotencyKey"))
+                .setUuid(rs.getString("uuid"))
+                .setTournamentId(rs.getString("tournamentId"))
+                .setElo(rs.getInt("elo"))
+                .setAttempts(rs.getInt("attempts")), claimToken);
+    }
+
+    /**
+     * Marks entries as accepted by the User microservice.
+     *
+     * @param ids the IDs of the sent entries.
+     */
+    public void markSent(List<Long> ids) {
+        for (int start = 0; start < ids.size(); start += ROWS_PER_STATEMENT) {
+            List<Long> chunk = ids.subList(start, Math.min(start + ROWS_PER_STATEMENT, ids.size()));
+            jdbcTemplate.update(MARK_SENT_PREFIX + placeholders("?", chunk.size()), chunk.toArray());
+        }
+    }
+
+    /**
+     * Schedules another attempt for an entry that could not be sent.
+     *
+     * @param entry         the entry, with its attempts already incremented.
+     * @param nextAttemptAt the earliest time of the next attempt, in
+     *                      milliseconds.
+     * @param error         the reason the attempt failed.
+     */
+    public void scheduleRetry(EloOutboxEntry entry, long nextAttemptAt, String error) {
+        jdbcTemplate.update(RETRY_SQL, entry.getAttempts(), new Timestamp(nextAttemptAt), truncate(error),
+                entry.getId());
+    }
+
+    /**
+     * Gives up on an entry that could not be sent.
+     *
+     * @param entry the entry, with its attempts already incremented.
+     * @param error the reason the last attempt failed.
+     */
+    public void markFailed(EloOutboxEntry entry, String error) {
+        jdbcTemplate.update(FAIL_SQL, entry.getAttempts(), truncate(error), entry.getId());
+    }
+
+    /**
+     * Builds a parenthesised, comma separated list of placeholders.
+     *
+     * @param placeholder the placeholder of a single value.
+     * @param count       the number of values.
+     * @return the placeholder list.
+     */
+    private static String placeholders(String placeholder, int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, placeholder)) + ")";
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,27 @@
+package matchmaking.repository;
+
+import java.util.List;
+
+import matchmaking.model.Matchups;
+
+/**
+ * Custom repository fragment for writing {@link Matchups} in bulk.
+ *
+ * <p>
+ * Implemented by {@link MatchupsBatchRepositoryImpl} and exposed through
+ * {@link MatchupsRepository}.
+ * </p>
+ */
+public interface MatchupsBatchRepository {
+
+    /**
+     * Inserts all matchups of a round in batches, so a round is written in a
+     * small, constant number of round trips rather than one per matchup.
+     *
+     * @param matchups     the matchups to insert.
+     * @param tournamentId the ID of the tournament associated with the matchups.
+     * @param roundNum     the round number in which the matchups occur.
+     * @return the number of matchups inserted.
+     */
+    int insertMatchups(List<Matchups> matchups, String tournamentId, int roundNum);
+}
@@ -0,0 +1,77 @@
+package matchmaking.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import matchmaking.model.Matchups;
+
+/**
+ * JDBC implementation of {@link MatchupsBatchRepository}.
+ *
+ * <p>
+ * Matchups are written by the stored procedure "InsertMatchups" (see
+ * {@code db/InsertMatchups.sql}), which takes up to {@link #ROWS_PER_CALL}
+ * matchups as a JSON array and writes each of them with the existing
+ * "InsertMatchup" procedure, so the rows are the same as those written one
+ * by one. The calls run on the same connection as the surrounding JPA
+ * transaction, so a failed insert rolls back the whole round.
+ * </p>
+ */
+public class MatchupsBatchRepositoryImpl implements MatchupsBatchRepository {
+
+    // Maximum number of matchups written by a single procedure call
+    static final int ROWS_PER_CALL = 500;
+
+    private static final String INSERT_CALL = "CALL InsertMatchups(?, ?, ?)";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int insertMatchups(List<Matchups> matchups, String tournamentId, int roundNum) {
+        for (int start = 0; start < matchups.size(); start += ROWS_PER_CALL) {
+            List<Matchups> chunk = matchups.subList(start, Math.min(start + ROWS_PER_CALL, matchups.size()));
+            jdbcTemplate.update(INSERT_CALL, tournamentId, roundNum, toJson(chunk));
+        }
+        return matchups.size();
+    }
+
+    /**
+     * Serializes matchups into the JSON array expected by "InsertMatchups".
+     * Players are passed through unchanged, so a bye keeps the {@code "null"}
+     * placeholder as its second player, and a missing winner is left out.
+     *
+     * @param matchups the matchups to serialize.
+     * @return the JSON array of matchups.
+     */
+    static String toJson(List<Matchups> matchups) {
+        List<Map<String, String>> rows = new ArrayList<>(matchups.size());
+        for (Matchups matchup : matchups) {
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("player1", matchup.getId().getPlayer1());
+            row.put("player2", matchup.getId().getPlayer2());
+            if (matchup.getPlayerWon() != null) {
+                row.put("playerWon", matchup.getPlayerWon());
+            }
+            rows.add(row);
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(rows);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize matchups", e);
+        }
+    }
+}
@@ -25,11 +25,12 @@ import matchmaking.model.MatchupsId;
  * </p>
  * <p>
  * The methods in this repository use the {@link Procedure} annotation to
- * specify the corresponding stored procedures in the database.
+ * specify the corresponding stored procedures in the database. Bulk writes are
+ * provided by the {@link MatchupsBatchRepository} fragment.
  * </p>
  */
 @Repository
-public interface MatchupsRepository extends JpaRepository<Matchups, MatchupsId> {
+public interface MatchupsRepository extends JpaRepository<Matchups, MatchupsId>, MatchupsBatchRepository {
 
         /**
          * Retrieves the current round number for the specified tournament.
@@ -0,0 +1,130 @@
+package matchmaking.repository;
+
+import java.sql.CallableStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.CallableStatementCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import matchmaking.dto.PlayerWins;
+import matchmaking.dto.TournamentSnapshot;
+import matchmaking.model.Matchups;
+import matchmaking.model.MatchupsId;
+import matchmaking.model.PlayerTournamentId;
+import matchmaking.model.Signups;
+
+/**
+ * Repository for loading a {@link TournamentSnapshot} in a single round trip.
+ *
+ * <p>
+ * Calls the stored procedure "GetTournamentSnapshot" (see
+ * {@code db/GetTournamentSnapshot.sql}), which returns four result sets in
+ * order: the last round number, the signups, the matchups from the requested
+ * round onwards, and the player win/draw aggregates.
+ * </p>
+ */
+@Repository
+public class TournamentSnapshotRepository {
+
+    private static final String SNAPSHOT_CALL = "{call GetTournamentSnapshot(?, ?)}";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Retrieves the snapshot of a tournament.
+     *
+     * @param tournamentId the ID of the tournament.
+     * @param fromRound    the first round whose matchups are included.
+     * @return the {@link TournamentSnapshot} of the tournament.
+     * @throws DataRetrievalFailureException if a result set is missing.
+     */
+    public TournamentSnapshot getTournamentSnapshot(String tournamentId, int fromRound) {
+        return jdbcTemplate.execute(SNAPSHOT_CALL, (CallableStatementCallback<TournamentSnapshot>) statement -> {
+            statement.setString(1, tournamentId);
+            statement.setInt(2, fromRound);
+            statement.execute();
+            return readSnapshot(statement, tournamentId, fromRound);
+        });
+    }
+
+    /**
+     * Reads the result sets of an executed snapshot call.
+     *
+     * @param statement    the executed statement.
+     * @param tournamentId the ID of the tournament.
+     * @param fromRound    the first round whose matchups are included.
+     * @return the {@link TournamentSnapshot} of the tournament.
+     * @throws SQLException if a result set cannot be read.
+     */
+    static TournamentSnapshot readSnapshot(CallableStatement statement, String tournamentId, int fromRound)
+            throws SQLException {
+        int lastRound = 0;
+        ResultSet rs = currentResultSet(statement);
+        if (rs.next()) {
+            lastRound = rs.getInt(1);
+        }
+
+        List<Signups> signups = new ArrayList<>();
+        rs = nextResultSet(statement);
+        while (rs.next()) {
+            signups.add(new Signups()
+                    .setId(new PlayerTournamentId()
+                            .setUuid(rs.getString("uuid"))
+                            .setTournamentId(rs.getString("tournamentId")))
+                    .setElo(rs.getInt("elo")));
+        }
+
+        List<Matchups> matchups = new ArrayList<>();
+        rs = nextResultSet(statement);
+        while (rs.next()) {
+            matchups.add(new Matchups()
+                    .setId(new MatchupsId()
+                            .setPlayer1(rs.getString("player1"))
+                            .setPlayer2(rs.getString("player2"))
+                            .setTournamentId(rs.getString("tournamentId")))
+                    .setPlayerWon(rs.getString("playerWon"))
+                    .setRoundNum(rs.getInt("roundNum")));
+        }
+
+        List<PlayerWins> playerWins = new ArrayList<>();
+        rs = nextResultSet(statement);
+        while (rs.next()) {
+            Number wins = (Number) rs.getObject(2);
+            Number draws = (Number) rs.getObject(3);
+            playerWins.add(new PlayerWins()
+                    .setUuid(rs.getString(1))
+                    .setWins(wins != null ? wins.intValue() : 0)
+                    .setDraws(draws != null ? draws.intValue() : 0));
+        }
+
+        return new TournamentSnapshot()
+                .setTournamentId(tournamentId)
+                .setCurrentRound(lastRound + 1)
+                .setFromRound(fromRound)
+                .setSignups(signups)
+                .setMatchups(matchups)
+                .setPlayerWins(playerWins);
+    }
+
+    private static ResultSet currentResultSet(CallableStatement statement) throws SQLException {
+        ResultSet rs = statement.getResultSet();
+        if (rs == null) {
+            throw new DataRetrievalFailureException("Tournament snapshot is missing a result set");
+        }
+        return rs;
+    }
+
+    private static ResultSet nextResultSet(CallableStatement statement) throws SQLException {
+        if (!statement.getMoreResults()) {
+            throw new DataRetrievalFailureException("Tournament snapshot is missing a result set");
+        }
+        return currentResultSet(statement);
+    }
+}
@@ -0,0 +1,202 @@
+package matchmaking.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import matchmaking.dto.EloOutboxEntry;
+import matchmaking.repository.EloOutboxRepository;
+
+/**
+ * Background dispatcher that sends Elo changes from the outbox to the User
+ * microservice.
+ *
+ * <p>
+ * Due entries are claimed in batches and each batch is sent in a single
+ * request to the User microservice's batch Elo endpoint, outside of any
+ * database transaction, so a slow User microservice never holds a connection
+ * open. If the request fails, the whole batch is retried with exponential
+ * backoff until the maximum number of attempts is reached. Items the User
+ * microservice rejects, such as unknown players, are given up on straight
+ * away.
+ * </p>
+ * <p>
+ * Each update carries its entry's idempotency key, and the User microservice
+ * skips updates whose key it has already applied. A retry after a lost
+ * response therefore never applies an Elo twice, and cannot overwrite a newer
+ * Elo from a later tournament with this one.
+ * </p>
+ * <p>
+ * Configured via the {@code matchmaking.elo-outbox.*} properties.
+ * </p>
+ */
+@Service
+public class EloOutboxDispatcher {
+
+    /**
+     * URL of the User Microservice's batch Elo endpoint, set via
+     * `USERMSVC_ELO_BATCH_URL` property, or derived from `USERMSVC_ELO_URL`.
+     */
+    @Value("${USERMSVC_ELO_BATCH_URL:${USERMSVC_ELO_URL}/batch}")
+    private String usermsvcEloBatchUrl;
+
+    @Value("${matchmaking.elo-outbox.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${matchmaking.elo-outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${matchmaking.elo-outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMillis;
+
+    @Value("${matchmaking.elo-outbox.max-backoff-ms:300000}")
+    private long maxBackoffMillis;
+
+    @Value("${matchmaking.elo-outbox.lease-ms:60000}")
+    private long leaseMillis;
+
+    @Autowired
+    private EloOutboxRepository eloOutboxRepository;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    /**
+     * Sends all due outbox entries, one batch at a time, until none are left.
+     */
+    @Scheduled(fixedDelayString = "${matchmaking.elo-outbox.poll-interval-ms:1000}")
+    public void dispatchPending() {
+        List<EloOutboxEntry> batch;
+        do {
+            batch = eloOutboxRepository.claimDue(batchSize, Duration.ofMillis(leaseMillis));
+            if (batch.isEmpty()) {
+                return;
+            }
+            System.out.println("Dispatching " + batch.size() + " Elo updates");
+            dispatch(batch);
+        } while (batch.size() >= batchSize);
+    }
+
+    /**
+     * Sends a batch of claimed entries in one request and records the outcome
+     * of each.
+     *
+     * <p>
+     * If a player has several entries in the batch, only the latest is sent and
+     * the older ones are marked as sent along with it.
+     * </p>
+     *
+     * @param batch the claimed entries, oldest first.
+     */
+    void dispatch(List<EloOutboxEntry> batch) {
+        Map<String, EloOutboxEntry> latest = new LinkedHashMap<>();
+        for (EloOutboxEntry entry : batch) {
+            latest.put(entry.getUuid(), entry);
+        }
+
+        Map<String, String> rejected;
+        try {
+            rejected = send(latest.values());
+        } catch (Exception e) {
+            for (EloOutboxEntry entry : batch) {
+                handleFailure(entry, e.getMessage());
+            }
+            return;
+        }
+
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        for (EloOutboxEntry entry : batch) {
+            String error = rejected.get(entry.getUuid());
+            if (error != null && latest.get(entry.getUuid()) == entry) {
+                System.out.println("Elo update " + entry.getIdempotencyKey() + " rejected: " + error);
+                entry.setAttempts(entry.getAttempts() + 1);
+                eloOutboxRepository.markFailed(entry, error);
+            } else {
+                sentIds.add(entry.getId());
+            }
+        }
+        eloOutboxRepository.markSent(sentIds);
+    }
+
+    /**
+     * Sends players' Elo to the User microservice in a single request.
+     *
+     * @param entries the entries to send, at most one per player.
+     * @return the reason each rejected update failed, keyed by player UUID.
+     * @throws RuntimeException if the User microservice does not accept the
+     *                          request.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, String> send(Iterable<EloOutboxEntry> entries) {
+        // Prepare the request body
+        List<Map<String, Object>> updates = new ArrayList<>();
+        for (EloOutboxEntry entry : entries) {
+            Map<String, Object> update = new HashMap<>();
+            update.put("uuid", entry.getUuid());
+            update.put("elo", entry.getElo());
+            update.put("idempotencyKey", entry.getIdempotencyKey());
+            updates.add(update);
+        }
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("data", updates);
+
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(usermsvcEloBatchUrl, HttpMethod.PUT,
+                new HttpEntity<>(requestBody), new ParameterizedTypeReference<Map<String, Object>>() {
+                });
+
+        Map<String, Object> responseBody = response.getBody();
+        if (!response.getStatusCode().is2xxSuccessful() || responseBody == null
+                || Boolean.FALSE.equals(responseBody.get("success"))) {
+            throw new RuntimeException("Failed to update Elo: " + response.getStatusCode());
+        }
+
+        // Retrieve the rejected updates from the "content" dictionary
+        Map<String, Object> content = (Map<String, Object>) responseBody.get("content");
+        Map<String, String> failed = content == null ? null : (Map<String, String>) content.get("failed");
+        return failed == null ? Collections.emptyMap() : failed;
+    }
+
+    /**
+     * Schedules a retry for an entry that could not be sent, or gives up once
+     * it has used all of its attempts.
+     *
+     * @param entry the entry that could not be sent.
+     * @param error the reason the attempt failed.
+     */
+    private void handleFailure(EloOutboxEntry entry, String error) {
+        entry.setAttempts(entry.getAttempts() + 1);
+        if (entry.getAttempts() >= maxAttempts) {
+            System.out.println("Giving up on Elo update " + entry.getIdempotencyKey() + ": " + error);
+            eloOutboxRepository.markFailed(entry, error);
+        } else {
+            eloOutboxRepository.scheduleRetry(entry,
+                    System.currentTimeMillis() + backoffMillis(entry.getAttempts()), error);
+        }
+    }
+
+    /**
+     * Calculates the delay before the next attempt, doubling with every failed
+     * attempt up to the configured maximum.
+     *
+     * @param attempts the number of failed attempts so far.
+     * @return the delay in milliseconds.
+     */
+    long backoffMillis(int attempts) {
+        int exponent = Math.min(attempts - 1, 30);
+        return Math.min(initialBackoffMillis << exponent, maxBackoffMillis);
+    }
+}
@@ -4,14 +4,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import matchmaking.cache.TournamentState;
+import matchmaking.cache.TournamentStateCache;
+import matchmaking.dto.TournamentSnapshot;
+import matchmaking.exception.InvalidRoundException;
 import matchmaking.util.ValidationUtil;
 import matchmaking.util.TournamentInfoUtil;
-import matchmaking.util.MatchupUtil;
 import matchmaking.manager.MatchupManager;
+import matchmaking.enums.PairingStrategy;
 import matchmaking.model.*;
 
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * The {@code MatchingService} class provides functionality for matchmaking
@@ -28,6 +32,9 @@ public class MatchingService {
     @Autowired
     private MatchupManager matchupManager;
 
+    @Autowired
+    private TournamentStateCache stateCache;
+
     /**
      * Generates unique matchups for users in the tournament with the specified
      * {@code tournamentId}. It retrieves the current round number, the list of
@@ -41,34 +48,59 @@ public class MatchingService {
      */
     @Transactional
     public List<Matchups> generateUniqueMatchups(String tournamentId) {
+        return generateUniqueMatchups(tournamentId, PairingStrategy.BLOSSOM);
+    }
+
+    /**
+     * Generates unique matchups for users in the tournament with the specified
+     * {@code tournamentId}, pairing players with the given
+     * {@link PairingStrategy}.
+     *
+     * <p>
+     * The round number, signups, new matchups and standings are loaded with a
+     * single {@link TournamentSnapshot} call. Played pairs are held in a
+     * {@link TournamentStateCache} between rounds, so the snapshot only needs
+     * the previous round's matchups rather than the tournament's full history.
+     * </p>
+     *
+     * @param tournamentId the ID of the tournament for which to generate matchups.
+     * @param strategy     the {@link PairingStrategy} used to pair the players.
+     * @return a list of {@link Matchups} representing the newly generated matchups.
+     * @throws IllegalArgumentException if the provided {@code tournamentId} is null
+     *                                  or empty.
+     */
+    @Transactional
+    public List<Matchups> generateUniqueMatchups(String tournamentId, PairingStrategy strategy) {
         try {
             System.out.println(tournamentId);
             ValidationUtil.validateNotEmpty(tournamentId, "Tournament ID");
 
-            // Use the TournamentInfoUtil to get current round and signups
+            // Load the current round, signups, new matchups and standings in one round
+            // trip, and reuse cached played pairs where possible
             System.out.println("Getting info");
-            int roundNum = tournamentInfoUtil.getCurrentRoundByTournamentId(tournamentId);
-            List<Signups> signups = tournamentInfoUtil.getSignupsByTournamentId(tournamentId);
-            List<Matchups> previousMatchups = tournamentInfoUtil.getMatchupsByTournamentId(tournamentId);
+            TournamentState cachedState = stateCache.get(tournamentId);
+            int fromRound = cachedState == null ? 1 : Math.max(cachedState.getCurrentRound(), 1);
+            TournamentSnapshot snapshot = tournamentInfoUtil.getTournamentSnapshot(tournamentId, fromRound);
+            int roundNum = snapshot.getCurrentRound();
+            List<Signups> signups = snapshot.getSignups();
+
+            TournamentState state = getTournamentState(cachedState, snapshot);
 
             ValidationUtil.isValidRoundNum(roundNum, signups.size());
 
             ValidationUtil.isValidSignups(signups);
 
-            // Validation check that matchup is valid and previous round results are out
-            for (Matchups matchup : previousMatchups) {
-                ValidationUtil.isValidMatchup(matchup);
-                ValidationUtil.isPrevRoundOver(matchup);
-            }
+            Map<String, Double> standings = roundNum == 1 ? null : snapshot.getPlayerPoints();
 
             System.out.println("Finished getting info");
 
-            // Create a set of played pairs to track unique matches
-            Set<String> playedPairs = MatchupUtil.getPlayedPairs(previousMatchups);
-
             System.out.println("Creating Unique Matchups");
-            List<Matchups> newMatchups = matchupManager.createUniqueMatchups(signups, tournamentId, roundNum,
-                    playedPairs);
+            List<Matchups> newMatchups;
+            synchronized (state) {
+                newMatchups = matchupManager.createUniqueMatchups(signups, tournamentId, roundNum,
+                        state.getPlayedPairs(), standings, strategy);
+            }
+            stateCache.recordRound(state, roundNum, newMatchups);
 
             for (Matchups m : newMatchups) {
                 System.out.println(m.toString());
@@ -76,7 +108,62 @@ public class MatchingService {
             return newMatchups;
         } catch (Exception e) {
             System.out.println(e.getMessage());
+            if (tournamentId != null) {
+                stateCache.evict(tournamentId);
+            }
             throw e;
         }
     }
+
+    /**
+     * Retrieves the state of a tournament for generating the next round.
+     *
+     * <p>
+     * If the cached state is up to date with the previous round and the
+     * signups are unchanged, the snapshot only contains the matchups of that
+     * round, which are checked to have their results out. Otherwise the full
+     * match history is loaded and cached.
+     * </p>
+     *
+     * @param cachedState the cached {@link TournamentState}, or {@code null}.
+     * @param snapshot    the {@link TournamentSnapshot} loaded for the round.
+     * @return the {@link TournamentState} of the tournament.
+     * @throws InvalidRoundException if the previous round results are not out.
+     */
+    private TournamentState getTournamentState(TournamentState cachedState, TournamentSnapshot snapshot) {
+        String tournamentId = snapshot.getTournamentId();
+        int roundNum = snapshot.getCurrentRound();
+
+        if (cachedState != null && cachedState.getCurrentRound() == roundNum - 1
+                && cachedState.hasSignups(snapshot.getSignups())) {
+            System.out.println("Using cached tournament state");
+            validatePreviousMatchups(snapshot.getMatchups());
+            return cachedState;
+        }
+
+        if (snapshot.getFromRound() > 1) {
+            // Cached state is stale, so reload the full match history
+            snapshot = tournamentInfoUtil.getTournamentSnapshot(tournamentId);
+        }
+
+        validatePreviousMatchups(snapshot.getMatchups());
+
+        TournamentState state = TournamentState.of(tournamentId, snapshot.getSignups(), snapshot.getMatchups(),
+                roundNum - 1);
+        stateCache.put(state);
+        return state;
+    }
+
+    /**
+     * Validates that previous matchups are valid and their results are out.
+     *
+     * @param previousMatchups the matchups to validate.
+     * @throws InvalidRoundException if a matchup is invalid or has no result.
+     */
+    private void validatePreviousMatchups(List<Matchups> previousMatchups) {
+        for (Matchups matchup : previousMatchups) {
+            ValidationUtil.isValidMatchup(matchup);
+            ValidationUtil.isPrevRoundOver(matchup);
+        }
+    }
 }
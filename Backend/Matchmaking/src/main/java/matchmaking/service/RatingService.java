@@ -1,5 +1,6 @@
 package matchmaking.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
@@ -9,17 +10,19 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import matchmaking.dto.EloOutboxEntry;
 import matchmaking.dto.PlayerResults;
 import matchmaking.dto.PlayerWins;
+import matchmaking.dto.TournamentSnapshot;
 import matchmaking.model.Matchups;
 import matchmaking.model.Results;
 import matchmaking.model.Signups;
+import matchmaking.repository.EloOutboxRepository;
 import matchmaking.util.ConversionUtil;
 import matchmaking.util.PlayerSorter;
 import matchmaking.util.RatingUtil;
@@ -34,12 +37,6 @@ import matchmaking.util.ValidationUtil;
 @Service
 public class RatingService {
 
-    /**
-     * URL for the User Microservice, set via `USERMSVC_ELO_URL` property.
-     */
-    @Value("${USERMSVC_ELO_URL}")
-    private String usermsvcEloUrl;
-
     /**
      * URL for the User Microservice, set via `USERMSVC_NAMES_URL` property.
      */
@@ -49,6 +46,9 @@ public class RatingService {
     @Autowired
     private TournamentInfoUtil tournamentInfoUtil;
 
+    @Autowired
+    private EloOutboxRepository eloOutboxRepository;
+
     @Autowired
     private RestTemplate restTemplate;
 
@@ -61,7 +61,9 @@ public class RatingService {
      * <p>
      * This method validates the tournament ID, fetches the current signups,
      * previous matchups, and player wins. It then updates the Elo ratings of
-     * the players and returns a list of ranked UUIDs.
+     * the players and returns a list of ranked UUIDs. The new Elo ratings are
+     * written to an outbox in the same transaction and sent to the User
+     * microservice in the background once it commits.
      *
      * @param tournamentId the ID of the tournament for which to update player
      *                     rankings
@@ -89,9 +91,10 @@ public class RatingService {
             } else {
                 // Retrieve current round and signups information
                 System.out.println("Getting tournament info");
-                List<Signups> signups = tournamentInfoUtil.getSignupsByTournamentId(tournamentId);
-                List<Matchups> previousMatchups = tournamentInfoUtil.getMatchupsByTournamentId(tournamentId);
-                List<PlayerWins> playerWins = tournamentInfoUtil.getPlayerWinsByTournamentId(tournamentId);
+                TournamentSnapshot snapshot = tournamentInfoUtil.getTournamentSnapshot(tournamentId);
+                List<Signups> signups = snapshot.getSignups();
+                List<Matchups> previousMatchups = snapshot.getMatchups();
+                List<PlayerWins> playerWins = snapshot.getPlayerWins();
 
                 // Convert signups to PlayerResults format and update ratings based on previous
                 // matchups
@@ -103,10 +106,15 @@ public class RatingService {
 
                 // Update each player's Elo in the Signups table and insert tournament results
                 System.out.println("UpdatePlayerElo");
+                List<EloOutboxEntry> eloUpdates = new ArrayList<>(playerResults.size());
                 playerResults.forEach(results -> {
                     updatePlayerElo(results.getUuid(), results.getElo());
+                    eloUpdates.add(EloOutboxEntry.of(tournamentId, results.getUuid(), results.getElo()));
                     tournamentInfoUtil.insertTournamentResults(results.getUuid(), tournamentId, results.getRank());
                 });
+
+                // Queue the new Elo for the User microservice, sent once this transaction commits
+                eloOutboxRepository.enqueue(eloUpdates);
             }
 
             Map<String, String> uuidNameMap = getPlayerNames(rankedUuids);
@@ -125,8 +133,9 @@ public class RatingService {
      *
      * <p>
      * This method validates the UUID and Elo rating before updating
-     * the player's Elo rating in the signups repository and the user profile
-     * in the User microservice.
+     * the player's Elo rating in the signups repository. The user profile in the
+     * User microservice is updated asynchronously by the
+     * {@link EloOutboxDispatcher}.
      *
      * @param uuid the unique identifier of the player whose Elo rating is to be
      *             updated
@@ -141,39 +150,6 @@ public class RatingService {
             throw new IllegalArgumentException("Elo must be greater than zero");
         }
         tournamentInfoUtil.updateSignupsPlayerElo(uuid, elo);
-        updateUserMsvcPlayerElo(uuid, elo);
-    }
-
-    /**
-     * Updates the player's Elo rating in the User microservice.
-     *
-     * <p>
-     * This method prepares a request body with the player's UUID and Elo rating,
-     * and sends a PUT request to the User microservice to update the player's
-     * profile.
-     *
-     * @param uuid the unique identifier of the player whose Elo rating is to be
-     *             updated
-     * @param elo  the new Elo rating to assign to the player
-     * @throws RuntimeException if the update request to the User microservice fails
-     */
-    private void updateUserMsvcPlayerElo(String uuid, int elo) {
-        // Prepare the request body
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("uuid", uuid);
-        requestBody.put("elo", elo);
-
-        // Create an HttpEntity with the request body
-        HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody);
-
-        // Make the PUT request
-        ResponseEntity<Void> response = restTemplate.exchange(usermsvcEloUrl, HttpMethod.PUT, requestEntity,
-                Void.class);
-
-        // Check response status
-        if (response.getStatusCode() != HttpStatus.OK) {
-            throw new RuntimeException("Failed to update Elo: " + response.getStatusCode());
-        }
     }
 
     /**
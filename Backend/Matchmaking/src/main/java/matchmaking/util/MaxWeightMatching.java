@@ -0,0 +1,786 @@
+package matchmaking.util;
+
+import java.util.Arrays;
+
+/**
+ * Utility class for computing a maximum-weight matching in a general
+ * (non-bipartite) graph.
+ *
+ * <p>
+ * This is an implementation of Edmonds' blossom algorithm using the
+ * primal-dual method described by Galil, "Efficient Algorithms for Finding
+ * Maximum Matching in Graphs" (1986). It runs in O(n^3) time for a graph
+ * with {@code n} vertices. All computations are done on integer weights, so
+ * the result is exact.
+ * </p>
+ *
+ * <p>
+ * Vertices are identified by the integers {@code 0 .. vertexCount - 1} and
+ * edges are given as three parallel arrays of endpoints and weights.
+ * </p>
+ */
+public class MaxWeightMatching {
+
+    private final int nvertex;
+    private final int nedge;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final long[] edgeWeight;
+    private final boolean maxCardinality;
+
+    // endpoint[p] is the vertex to which endpoint p is attached (edge k has
+    // endpoints 2k and 2k + 1)
+    private final int[] endpoint;
+
+    // neighbend[v] is the list of remote endpoints of the edges attached to v
+    private final int[][] neighbend;
+
+    // mate[v] is the remote endpoint of the matched edge of v, or -1
+    private final int[] mate;
+
+    // Labels of top-level blossoms and vertices: 0 = free, 1 = S, 2 = T
+    private final int[] label;
+    private final int[] labelend;
+
+    private final int[] inblossom;
+    private final int[] blossomparent;
+    private final int[][] blossomchilds;
+    private final int[] blossombase;
+    private final int[][] blossomendps;
+    private final int[] bestedge;
+    private final int[][] blossombestedges;
+
+    private final int[] unusedblossoms;
+    private int unusedCount;
+
+    private final long[] dualvar;
+    private final boolean[] allowedge;
+
+    private int[] queue;
+    private int queueSize;
+
+    // Scratch buffers reused across calls to avoid per-call allocation
+    private final int[] pathBuffer;
+    private final int[] leafBuffer;
+    private int leafCount;
+
+    /**
+     * Computes a maximum-weight matching of the given graph.
+     *
+     * @param vertexCount    the number of vertices in the graph.
+     * @param edgeFrom       the first endpoint of each edge.
+     * @param edgeTo         the second endpoint of each edge.
+     * @param edgeWeight     the weight of each edge.
+     * @param maxCardinality if {@code true}, only maximum-cardinality matchings
+     *                       are considered, and the heaviest of those is
+     *                       returned.
+     * @return an array where element {@code v} is the vertex matched to
+     *         {@code v}, or {@code -1} if {@code v} is left unmatched.
+     * @throws IllegalArgumentException if the edge arrays differ in length or
+     *                                  reference an invalid vertex.
+     */
+    public static int[] maxWeightMatching(int vertexCount, int[] edgeFrom, int[] edgeTo, long[] edgeWeight,
+            boolean maxCardinality) {
+        if (edgeFrom.length != edgeTo.length || edgeFrom.length != edgeWeight.length) {
+            throw new IllegalArgumentException("Edge arrays must be of equal length.");
+        }
+        for (int k = 0; k < edgeFrom.length; k++) {
+            if (edgeFrom[k] < 0 || edgeFrom[k] >= vertexCount || edgeTo[k] < 0 || edgeTo[k] >= vertexCount
+                    || edgeFrom[k] == edgeTo[k]) {
+                throw new IllegalArgumentException("Invalid edge between " + edgeFrom[k] + " and " + edgeTo[k]);
+            }
+        }
+
+        int[] unmatched = new int[vertexCount];
+        Arrays.fill(unmatched, -1);
+        if (edgeFrom.length == 0) {
+            return unmatched;
+        }
+
+        return new MaxWeightMatching(vertexCount, edgeFrom, edgeTo, edgeWeight, maxCardinality).solve();
+    }
+
+    /**
+     * Initialises the working state of the algorithm.
+     */
+    private MaxWeightMatching(int vertexCount, int[] edgeFrom, int[] edgeTo, long[] edgeWeight,
+            boolean maxCardinality) {
+        this.nvertex = vertexCount;
+        this.nedge = edgeFrom.length;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+        this.maxCardinality = maxCardinality;
+
+        long maxWeight = 0;
+        for (long w : edgeWeight) {
+            maxWeight = Math.max(maxWeight, w);
+        }
+
+        endpoint = new int[2 * nedge];
+        int[] degree = new int[nvertex];
+        for (int k = 0; k < nedge; k++) {
+            endpoint[2 * k] = edgeFrom[k];
+            endpoint[2 * k + 1] = edgeTo[k];
+            degree[edgeFrom[k]]++;
+            degree[edgeTo[k]]++;
+        }
+        neighbend = new int[nvertex][];
+        for (int v = 0; v < nvertex; v++) {
+            neighbend[v] = new int[degree[v]];
+            degree[v] = 0;
+        }
+        for (int k = 0; k < nedge; k++) {
+            neighbend[edgeFrom[k]][degree[edgeFrom[k]]++] = 2 * k + 1;
+            neighbend[edgeTo[k]][degree[edgeTo[k]]++] = 2 * k;
+        }
+
+        mate = new int[nvertex];
+        Arrays.fill(mate, -1);
+        label = new int[2 * nvertex];
+        labelend = new int[2 * nvertex];
+        Arrays.fill(labelend, -1);
+        inblossom = new int[nvertex];
+        for (int v = 0; v < nvertex; v++) {
+            inblossom[v] = v;
+        }
+        blossomparent = new int[2 * nvertex];
+        Arrays.fill(blossomparent, -1);
+        blossomchilds = new int[2 * nvertex][];
+        blossombase = new int[2 * nvertex];
+        Arrays.fill(blossombase, -1);
+        for (int v = 0; v < nvertex; v++) {
+            blossombase[v] = v;
+        }
+        blossomendps = new int[2 * nvertex][];
+        bestedge = new int[2 * nvertex];
+        Arrays.fill(bestedge, -1);
+        blossombestedges = new int[2 * nvertex][];
+        unusedblossoms = new int[nvertex];
+        for (int b = nvertex; b < 2 * nvertex; b++) {
+            unusedblossoms[unusedCount++] = b;
+        }
+        dualvar = new long[2 * nvertex];
+        Arrays.fill(dualvar, 0, nvertex, maxWeight);
+        allowedge = new boolean[nedge];
+        queue = new int[nvertex];
+        pathBuffer = new int[2 * nvertex];
+        leafBuffer = new int[nvertex];
+    }
+
+    /**
+     * Runs the main loop of the algorithm.
+     *
+     * @return the mate array, mapping each vertex to its matched vertex or -1.
+     */
+    private int[] solve() {
+        for (int stage = 0; stage < nvertex; stage++) {
+            // Remove labels and forget least-slack edges from the previous stage
+            Arrays.fill(label, 0);
+            Arrays.fill(bestedge, -1);
+            Arrays.fill(blossombestedges, nvertex, 2 * nvertex, null);
+            Arrays.fill(allowedge, false);
+            queueSize = 0;
+
+            // Label single free vertices (or the blossoms that contain them) with S
+            for (int v = 0; v < nvertex; v++) {
+                if (mate[v] == -1 && label[inblossom[v]] == 0) {
+                    assignLabel(v, 1, -1);
+                }
+            }
+
+            boolean augmented = false;
+            while (true) {
+                // Grow alternating trees from S-vertices until an augmenting path is found
+                while (queueSize > 0 && !augmented) {
+                    int v = queue[--queueSize];
+
+                    for (int p : neighbend[v]) {
+                        int k = p >> 1;
+                        int w = endpoint[p];
+                        if (inblossom[v] == inblossom[w]) {
+                            continue; // Internal edge of a blossom
+                        }
+                        long kslack = 0;
+                        if (!allowedge[k]) {
+                            kslack = slack(k);
+                            if (kslack <= 0) {
+                                allowedge[k] = true;
+                            }
+                        }
+                        if (allowedge[k]) {
+                            if (label[inblossom[w]] == 0) {
+                                assignLabel(w, 2, p ^ 1);
+                            } else if (label[inblossom[w]] == 1) {
+                                int base = scanBlossom(v, w);
+                                if (base >= 0) {
+                                    addBlossom(base, k);
+                                } else {
+                                    augmentMatching(k);
+                                    augmented = true;
+                                    break;
+                                }
+                            } else if (label[w] == 0) {
+                                label[w] = 2;
+                                labelend[w] = p ^ 1;
+                            }
+                        } else if (label[inblossom[w]] == 1) {
+                            int b = inblossom[v];
+                            if (bestedge[b] == -1 || kslack < slack(bestedge[b])) {
+                                bestedge[b] = k;
+                            }
+                        } else if (label[w] == 0) {
+                            if (bestedge[w] == -1 || kslack < slack(bestedge[w])) {
+                                bestedge[w] = k;
+                            }
+                        }
+                    }
+                }
+
+                if (augmented) {
+                    break;
+                }
+
+                // No augmenting path yet: compute the dual update that makes progress
+                int deltatype = -1;
+                long delta = 0;
+                int deltaedge = -1;
+                int deltablossom = -1;
+
+                if (!maxCardinality) {
+                    deltatype = 1;
+                    delta = minVertexDual();
+                }
+
+                for (int v = 0; v < nvertex; v++) {
+                    if (label[inblossom[v]] == 0 && bestedge[v] != -1) {
+                        long d = slack(bestedge[v]);
+                        if (deltatype == -1 || d < delta) {
+                            delta = d;
+                            deltatype = 2;
+                            deltaedge = bestedge[v];
+                        }
+                    }
+                }
+
+                for (int b = 0; b < 2 * nvertex; b++) {
+                    if (blossomparent[b] == -1 && label[b] == 1 && bestedge[b] != -1) {
+                        long d = slack(bestedge[b]) / 2;
+                        if (deltatype == -1 || d < delta) {
+                            delta = d;
+                            deltatype = 3;
+                            deltaedge = bestedge[b];
+                        }
+                    }
+                }
+
+                for (int b = nvertex; b < 2 * nvertex; b++) {
+                    if (blossombase[b] >= 0 && blossomparent[b] == -1 && label[b] == 2
+                            && (deltatype == -1 || dualvar[b] < delta)) {
+                        delta = dualvar[b];
+                        deltatype = 4;
+                        deltablossom = b;
+                    }
+                }
+
+                if (deltatype == -1) {
+                    // No further improvement possible; max-cardinality optimum reached
+                    deltatype = 1;
+                    delta = Math.max(0, minVertexDual());
+                }
+
+                // Update dual variables
+                for (int v = 0; v < nvertex; v++) {
+                    if (label[inblossom[v]] == 1) {
+                        dualvar[v] -= delta;
+                    } else if (label[inblossom[v]] == 2) {
+                        dualvar[v] += delta;
+                    }
+                }
+                for (int b = nvertex; b < 2 * nvertex; b++) {
+                    if (blossombase[b] >= 0 && blossomparent[b] == -1) {
+                        if (label[b] == 1) {
+                            dualvar[b] += delta;
+                        } else if (label[b] == 2) {
+                            dualvar[b] -= delta;
+                        }
+                    }
+                }
+
+                if (deltatype == 1) {
+                    break; // Optimum reached
+                } else if (deltatype == 2) {
+                    allowedge[deltaedge] = true;
+                    int i = edgeFrom[deltaedge];
+                    if (label[inblossom[i]] == 0) {
+                        i = edgeTo[deltaedge];
+                    }
+                    pushQueue(i);
+                } else if (deltatype == 3) {
+                    allowedge[deltaedge] = true;
+                    pushQueue(edgeFrom[deltaedge]);
+                } else {
+                    expandBlossom(deltablossom, false);
+                }
+            }
+
+            if (!augmented) {
+                break;
+            }
+
+            // Expand all S-blossoms with zero dual at the end of the stage
+            for (int b = nvertex; b < 2 * nvertex; b++) {
+                if (blossomparent[b] == -1 && blossombase[b] >= 0 && label[b] == 1 && dualvar[b] == 0) {
+                    expandBlossom(b, true);
+                }
+            }
+        }
+
+        int[] result = new int[nvertex];
+        for (int v = 0; v < nvertex; v++) {
+            result[v] = mate[v] >= 0 ? endpoint[mate[v]] : -1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the slack of edge {@code k} (does not work inside blossoms).
+     */
+    private long slack(int k) {
+        return dualvar[edgeFrom[k]] + dualvar[edgeTo[k]] - 2 * edgeWeight[k];
+    }
+
+    /**
+     * Adds vertex {@code v} to the scan queue, growing it if required.
+     */
+    private void pushQueue(int v) {
+        if (queueSize == queue.length) {
+            queue = Arrays.copyOf(queue, queue.length * 2);
+        }
+        queue[queueSize++] = v;
+    }
+
+    /**
+     * Returns the smallest dual variable of any single vertex.
+     */
+    private long minVertexDual() {
+        long min = dualvar[0];
+        for (int v = 1; v < nvertex; v++) {
+            min = Math.min(min, dualvar[v]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the vertices contained in blossom {@code b}.
+     */
+    private int[] blossomLeaves(int b) {
+        leafCount = 0;
+        collectLeaves(b);
+        return Arrays.copyOf(leafBuffer, leafCount);
+    }
+
+    /**
+     * Recursively collects the leaf vertices of blossom {@code b} into the leaf
+     * buffer.
+     */
+    private void collectLeaves(int b) {
+        if (b < nvertex) {
+            leafBuffer[leafCount++] = b;
+            return;
+        }
+        for (int t : blossomchilds[b]) {
+            collectLeaves(t);
+        }
+    }
+
+    /**
+     * Assigns label {@code t} to the top-level blossom containing vertex
+     * {@code w}, reached through the edge with remote endpoint {@code p}.
+     */
+    private void assignLabel(int w, int t, int p) {
+        int b = inblossom[w];
+        label[w] = label[b] = t;
+        labelend[w] = labelend[b] = p;
+        bestedge[w] = bestedge[b] = -1;
+        if (t == 1) {
+            // b became an S-blossom; add its vertices to the queue
+            for (int v : blossomLeaves(b)) {
+                pushQueue(v);
+            }
+        } else if (t == 2) {
+            // b became a T-blossom; label its mate with S
+            int base = blossombase[b];
+            assignLabel(endpoint[mate[base]], 1, mate[base] ^ 1);
+        }
+    }
+
+    /**
+     * Traces back from vertices {@code v} and {@code w} to discover either a new
+     * blossom or an augmenting path.
+     *
+     * @return the base vertex of the new blossom, or -1 for an augmenting path.
+     */
+    private int scanBlossom(int v, int w) {
+        int pathLength = 0;
+        int base = -1;
+        while (v != -1 || w != -1) {
+            int b = inblossom[v];
+            if ((label[b] & 4) != 0) {
+                base = blossombase[b];
+                break;
+            }
+            pathBuffer[pathLength++] = b;
+            label[b] = 5;
+            if (labelend[b] == -1) {
+                v = -1; // Reached the root of the tree
+            } else {
+                v = endpoint[labelend[b]];
+                b = inblossom[v];
+                v = endpoint[labelend[b]];
+            }
+            if (w != -1) {
+                int swap = v;
+                v = w;
+                w = swap;
+            }
+        }
+        for (int i = 0; i < pathLength; i++) {
+            label[pathBuffer[i]] = 1;
+        }
+        return base;
+    }
+
+    /**
+     * Constructs a new blossom with the given base, containing edge {@code k}
+     * which connects a pair of S-vertices.
+     */
+    private void addBlossom(int base, int k) {
+        int v = edgeFrom[k];
+        int w = edgeTo[k];
+        int bb = inblossom[base];
+        int bv = inblossom[v];
+        int bw = inblossom[w];
+
+        int b = unusedblossoms[--unusedCount];
+        blossombase[b] = base;
+        blossomparent[b] = -1;
+        blossomparent[bb] = b;
+
+        int[] path = new int[2 * nvertex];
+        int[] endps = new int[2 * nvertex];
+        int length = 0;
+
+        // Trace back from v to base
+        while (bv != bb) {
+            blossomparent[bv] = b;
+            path[length] = bv;
+            endps[length] = labelend[bv];
+            length++;
+            v = endpoint[labelend[bv]];
+            bv = inblossom[v];
+        }
+        path[length] = bb;
+        reverse(path, length + 1);
+        reverse(endps, length);
+        endps[length] = 2 * k;
+        length++;
+
+        // Trace back from w to base
+        while (bw != bb) {
+            blossomparent[bw] = b;
+            path[length] = bw;
+            endps[length] = labelend[bw] ^ 1;
+            length++;
+            w = endpoint[labelend[bw]];
+            bw = inblossom[w];
+        }
+
+        blossomchilds[b] = Arrays.copyOf(path, length);
+        blossomendps[b] = Arrays.copyOf(endps, length);
+
+        label[b] = 1;
+        labelend[b] = labelend[bb];
+        dualvar[b] = 0;
+
+        // Relabel vertices; former T-vertices become S-vertices
+        for (int leaf : blossomLeaves(b)) {
+            if (label[inblossom[leaf]] == 2) {
+                pushQueue(leaf);
+            }
+            inblossom[leaf] = b;
+        }
+
+        // Compute the least-slack edges from the new blossom to neighbouring S-blossoms
+        int[] bestedgeto = new int[2 * nvertex];
+        Arrays.fill(bestedgeto, -1);
+        for (int child : blossomchilds[b]) {
+            if (blossombestedges[child] == null) {
+                for (int leaf : blossomLeaves(child)) {
+                    for (int p : neighbend[leaf]) {
+                        considerBestEdge(p >> 1, b, bestedgeto);
+                    }
+                }
+            } else {
+                for (int edge : blossombestedges[child]) {
+                    considerBestEdge(edge, b, bestedgeto);
+                }
+            }
+            blossombestedges[child] = null;
+            bestedge[child] = -1;
+        }
+
+        int count = 0;
+        for (int edge : bestedgeto) {
+            if (edge != -1) {
+                count++;
+            }
+        }
+        int[] best = new int[count];
+        count = 0;
+        bestedge[b] = -1;
+        for (int edge : bestedgeto) {
+            if (edge != -1) {
+                best[count++] = edge;
+                if (bestedge[b] == -1 || slack(edge) < slack(bestedge[b])) {
+                    bestedge[b] = edge;
+                }
+            }
+        }
+        blossombestedges[b] = best;
+    }
+
+    /**
+     * Records edge {@code k} as the least-slack edge from blossom {@code b} to
+     * the S-blossom at its other end, if it improves on the current best.
+     */
+    private void considerBestEdge(int k, int b, int[] bestedgeto) {
+        int j = edgeTo[k];
+        if (inblossom[j] == b) {
+            j = edgeFrom[k];
+        }
+        int bj = inblossom[j];
+        if (bj != b && label[bj] == 1 && (bestedgeto[bj] == -1 || slack(k) < slack(bestedgeto[bj]))) {
+            bestedgeto[bj] = k;
+        }
+    }
+
+    /**
+     * Expands the given top-level blossom.
+     */
+    private void expandBlossom(int b, boolean endstage) {
+        // Convert sub-blossoms into top-level blossoms
+        for (int s : blossomchilds[b]) {
+            blossomparent[s] = -1;
+            if (s < nvertex) {
+                inblossom[s] = s;
+            } else if (endstage && dualvar[s] == 0) {
+                expandBlossom(s, endstage);
+            } else {
+                for (int leaf : blossomLeaves(s)) {
+                    inblossom[leaf] = s;
+                }
+            }
+        }
+
+        // If we expand a T-blossom during a stage, its sub-blossoms must be relabeled
+        if (!endstage && label[b] == 2) {
+            int[] childs = blossomchilds[b];
+            int[] endps = blossomendps[b];
+            int size = childs.length;
+
+            int entrychild = inblossom[endpoint[labelend[b] ^ 1]];
+            int j = indexOf(childs, entrychild);
+            int jstep;
+            int endptrick;
+            if ((j & 1) != 0) {
+                j -= size;
+                jstep = 1;
+                endptrick = 0;
+            } else {
+                jstep = -1;
+                endptrick = 1;
+            }
+
+            // Move along the blossom until we get to the base
+            int p = labelend[b];
+            while (j != 0) {
+                label[endpoint[p ^ 1]] = 0;
+                label[endpoint[endps[wrap(j - endptrick, size)] ^ endptrick ^ 1]] = 0;
+                assignLabel(endpoint[p ^ 1], 2, p);
+                allowedge[endps[wrap(j - endptrick, size)] >> 1] = true;
+                j += jstep;
+                p = endps[wrap(j - endptrick, size)] ^ endptrick;
+                allowedge[p >> 1] = true;
+                j += jstep;
+            }
+
+            // Relabel the base T-sub-blossom without stepping through to its mate
+            int bv = childs[wrap(j, size)];
+            label[endpoint[p ^ 1]] = label[bv] = 2;
+            labelend[endpoint[p ^ 1]] = labelend[bv] = p;
+            bestedge[bv] = -1;
+
+            // Continue along the blossom until we get back to entrychild
+            j += jstep;
+            while (childs[wrap(j, size)] != entrychild) {
+                bv = childs[wrap(j, size)];
+                if (label[bv] == 1) {
+                    j += jstep;
+                    continue;
+                }
+                int v = -1;
+                for (int leaf : blossomLeaves(bv)) {
+                    v = leaf;
+                    if (label[leaf] != 0) {
+                        break;
+                    }
+                }
+                if (label[v] != 0) {
+                    label[v] = 0;
+                    label[endpoint[mate[blossombase[bv]]]] = 0;
+                    assignLabel(v, 2, labelend[v]);
+                }
+                j += jstep;
+            }
+        }
+
+        // Recycle the blossom number
+        label[b] = -1;
+        labelend[b] = -1;
+        blossomchilds[b] = null;
+        blossomendps[b] = null;
+        blossombase[b] = -1;
+        blossombestedges[b] = null;
+        bestedge[b] = -1;
+        unusedblossoms[unusedCount++] = b;
+    }
+
+    /**
+     * Swaps matched and unmatched edges over an alternating path through
+     * blossom {@code b} between vertex {@code v} and the base vertex.
+     */
+    private void augmentBlossom(int b, int v) {
+        // Bubble up through the blossom tree from v to an immediate sub-blossom of b
+        int t = v;
+        while (blossomparent[t] != b) {
+            t = blossomparent[t];
+        }
+        if (t >= nvertex) {
+            augmentBlossom(t, v);
+        }
+
+        int[] childs = blossomchilds[b];
+        int[] endps = blossomendps[b];
+        int size = childs.length;
+
+        int i = indexOf(childs, t);
+        int j = i;
+        int jstep;
+        int endptrick;
+        if ((i & 1) != 0) {
+            j -= size;
+            jstep = 1;
+            endptrick = 0;
+        } else {
+            jstep = -1;
+            endptrick = 1;
+        }
+
+        // Move along the blossom until we get to the base
+        while (j != 0) {
+            j += jstep;
+            t = childs[wrap(j, size)];
+            int p = endps[wrap(j - endptrick, size)] ^ endptrick;
+            if (t >= nvertex) {
+                augmentBlossom(t, endpoint[p]);
+            }
+            j += jstep;
+            t = childs[wrap(j, size)];
+            if (t >= nvertex) {
+                augmentBlossom(t, endpoint[p ^ 1]);
+            }
+            mate[endpoint[p]] = p ^ 1;
+            mate[endpoint[p ^ 1]] = p;
+        }
+
+        // Rotate the sub-blossoms so that the new base is at the front
+        blossomchilds[b] = rotate(childs, i);
+        blossomendps[b] = rotate(endps, i);
+        blossombase[b] = blossombase[blossomchilds[b][0]];
+    }
+
+    /**
+     * Swaps matched and unmatched edges over an alternating path between two
+     * single vertices, passing through edge {@code k}.
+     */
+    private void augmentMatching(int k) {
+        int[] starts = { edgeFrom[k], edgeTo[k] };
+        int[] remotes = { 2 * k + 1, 2 * k };
+
+        for (int side = 0; side < 2; side++) {
+            int s = starts[side];
+            int p = remotes[side];
+            while (true) {
+                int bs = inblossom[s];
+                if (bs >= nvertex) {
+                    augmentBlossom(bs, s);
+                }
+                mate[s] = p;
+                if (labelend[bs] == -1) {
+                    break; // Reached a single vertex; stop
+                }
+                int t = endpoint[labelend[bs]];
+                int bt = inblossom[t];
+                s = endpoint[labelend[bt]];
+                int j = endpoint[labelend[bt] ^ 1];
+                if (bt >= nvertex) {
+                    augmentBlossom(bt, j);
+                }
+                mate[j] = labelend[bt];
+                p = labelend[bt] ^ 1;
+            }
+        }
+    }
+
+    /**
+     * Maps a possibly negative index onto {@code 0 .. size - 1}.
+     */
+    private static int wrap(int index, int size) {
+        return index < 0 ? index + size : index;
+    }
+
+    /**
+     * Returns the position of {@code value} in {@code values}, or -1.
+     */
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reverses the first {@code length} elements of {@code values} in place.
+     */
+    private static void reverse(int[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    /**
+     * Returns a copy of {@code values} rotated left by {@code shift}.
+     */
+    private static int[] rotate(int[] values, int shift) {
+        int[] rotated = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            rotated[i] = values[(i + shift) % values.length];
+        }
+        return rotated;
+    }
+}
@@ -0,0 +1,273 @@
+package matchmaking.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import matchmaking.model.Matchups;
+import matchmaking.model.Signups;
+
+/**
+ * Index of previously played pairs keyed by dense player indices.
+ *
+ * <p>
+ * Each player is mapped once to their position in the list the index was
+ * built from, and the bye placeholder is mapped to the position after the
+ * last player. Played pairs are stored as packed {@code long} keys in an
+ * open-addressing hash set, so checking whether two players have already met
+ * is O(1) and allocates nothing, unlike building {@code "player1-player2"}
+ * strings for every candidate pair.
+ * </p>
+ * <p>
+ * {@link #inOrderOf(List)} creates a view over the same pairs with players
+ * indexed in a different order, such as the standings of a new round, without
+ * copying the pair history.
+ * </p>
+ */
+public class PlayedPairIndex {
+
+    // UUID used by matchups that represent a bye
+    private static final String BYE_UUID = "null";
+
+    private final Map<String, Integer> indices;
+    private final int[] ids;
+    private final PairSet pairs;
+
+    /**
+     * Creates an index over the given pair set.
+     *
+     * @param indices maps each player's UUID to their index.
+     * @param ids     maps each index, including the bye, to the stable id used
+     *                in {@code pairs}.
+     * @param pairs   the set of played pairs, keyed by stable ids.
+     */
+    private PlayedPairIndex(Map<String, Integer> indices, int[] ids, PairSet pairs) {
+        this.indices = indices;
+        this.ids = ids;
+        this.pairs = pairs;
+    }
+
+    /**
+     * Builds an index of the pairs in {@code previousMatchups}, using each
+     * player's position in {@code players} as their index.
+     *
+     * <p>
+     * Matchups involving players who are not in {@code players} are ignored,
+     * as those players cannot be paired this round.
+     * </p>
+     *
+     * @param players          the players of the round, in the order used to
+     *                         look up pairs.
+     * @param previousMatchups the matchups played so far in the tournament.
+     * @return a {@link PlayedPairIndex} containing every previously played pair.
+     */
+    public static PlayedPairIndex of(List<Signups> players, List<Matchups> previousMatchups) {
+        Map<String, Integer> indices = indexPlayers(players);
+        int[] ids = new int[players.size() + 1];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+
+        PlayedPairIndex index = new PlayedPairIndex(indices, ids, new PairSet(previousMatchups.size()));
+        index.addAll(previousMatchups);
+        return index;
+    }
+
+    /**
+     * Creates a view of this index with players indexed by their position in
+     * {@code players}. The view shares its pairs with this index, so pairs
+     * added to either are visible in both.
+     *
+     * @param players the players to index, in the order used to look up pairs.
+     * @return a {@link PlayedPairIndex} over the same pairs.
+     * @throws IllegalArgumentException if a player is not part of this index.
+     */
+    public PlayedPairIndex inOrderOf(List<Signups> players) {
+        int[] viewIds = new int[players.size() + 1];
+        for (int i = 0; i < players.size(); i++) {
+            int index = indexOf(players.get(i).getId().getUuid());
+            if (index == -1 || index == byeIndex()) {
+                throw new IllegalArgumentException("Player is not part of the played pair index");
+            }
+            viewIds[i] = ids[index];
+        }
+        viewIds[players.size()] = ids[byeIndex()];
+
+        return new PlayedPairIndex(indexPlayers(players), viewIds, pairs);
+    }
+
+    /**
+     * Records every pair in the given matchups, ignoring matchups involving
+     * players who are not part of this index.
+     *
+     * @param matchups the matchups to record.
+     */
+    public void addAll(List<Matchups> matchups) {
+        for (Matchups matchup : matchups) {
+            int player1 = indexOf(matchup.getId().getPlayer1());
+            int player2 = indexOf(matchup.getId().getPlayer2());
+            if (player1 != -1 && player2 != -1) {
+                add(player1, player2);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the index of the player with the given UUID.
+     *
+     * @param uuid the UUID of the player, or {@code "null"} for the bye.
+     * @return the player's index, {@link #byeIndex()} for the bye, or -1 if the
+     *         player is not part of this index.
+     */
+    public int indexOf(String uuid) {
+        if (BYE_UUID.equals(uuid)) {
+            return byeIndex();
+        }
+        Integer index = indices.get(uuid);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Retrieves the index representing the bye placeholder.
+     *
+     * @return the bye index, one past the last player index.
+     */
+    public int byeIndex() {
+        return ids.length - 1;
+    }
+
+    /**
+     * Checks whether two players have already played each other, in either
+     * order.
+     *
+     * @param player1 the index of the first player.
+     * @param player2 the index of the second player.
+     * @return {@code true} if the pair has played before, {@code false}
+     *         otherwise.
+     */
+    public boolean hasPlayed(int player1, int player2) {
+        return pairs.contains(key(ids[player1], ids[player2]));
+    }
+
+    /**
+     * Records that two players have played each other.
+     *
+     * @param player1 the index of the first player.
+     * @param player2 the index of the second player.
+     */
+    public void add(int player1, int player2) {
+        pairs.add(key(ids[player1], ids[player2]));
+    }
+
+    /**
+     * Retrieves the number of distinct played pairs in the index.
+     *
+     * @return the number of played pairs.
+     */
+    public int size() {
+        return pairs.size;
+    }
+
+    private static Map<String, Integer> indexPlayers(List<Signups> players) {
+        Map<String, Integer> indices = new HashMap<>(players.size() * 2);
+        for (int i = 0; i < players.size(); i++) {
+            indices.put(players.get(i).getId().getUuid(), i);
+        }
+        return indices;
+    }
+
+    /**
+     * Packs two player ids into an order-independent key.
+     */
+    private static long key(int player1, int player2) {
+        int low = Math.min(player1, player2);
+        int high = Math.max(player1, player2);
+        return ((long) low << 32) | high;
+    }
+
+    /**
+     * Open-addressing hash set of packed pair keys using linear probing.
+     */
+    private static class PairSet {
+
+        // Marker for an empty slot; never a valid key as both halves are non-negative
+        private static final long EMPTY = -1L;
+
+        // Maximum fill ratio of the table before it is doubled
+        private static final double LOAD_FACTOR = 0.5;
+
+        private long[] table;
+        private int size;
+
+        PairSet(int expectedPairs) {
+            int capacity = 16;
+            while (capacity * LOAD_FACTOR < expectedPairs + 1) {
+                capacity <<= 1;
+            }
+            table = newTable(capacity);
+        }
+
+        boolean contains(long key) {
+            int mask = table.length - 1;
+            for (int slot = mix(key) & mask;; slot = (slot + 1) & mask) {
+                long current = table[slot];
+                if (current == key) {
+                    return true;
+                }
+                if (current == EMPTY) {
+                    return false;
+                }
+            }
+        }
+
+        void add(long key) {
+            if (size + 1 > table.length * LOAD_FACTOR) {
+                long[] resized = newTable(table.length * 2);
+                for (long current : table) {
+                    if (current != EMPTY) {
+                        insert(resized, current);
+                    }
+                }
+                table = resized;
+            }
+            if (insert(table, key)) {
+                size++;
+            }
+        }
+
+        private static long[] newTable(int capacity) {
+            long[] table = new long[capacity];
+            Arrays.fill(table, EMPTY);
+            return table;
+        }
+
+        /**
+         * Inserts a key into the table.
+         *
+         * @return {@code true} if the key was not already present.
+         */
+        private static boolean insert(long[] table, long key) {
+            int mask = table.length - 1;
+            for (int slot = mix(key) & mask;; slot = (slot + 1) & mask) {
+                long current = table[slot];
+                if (current == key) {
+                    return false;
+                }
+                if (current == EMPTY) {
+                    table[slot] = key;
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Spreads the bits of a key so neighbouring pairs land in different
+         * slots.
+         */
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
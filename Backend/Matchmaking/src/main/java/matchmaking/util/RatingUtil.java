@@ -1,25 +1,45 @@
 package matchmaking.util;
 
 import java.util.HashMap;
-import java.util.Map;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import matchmaking.dto.*;
+import matchmaking.exception.ResultsNotFoundException;
 import matchmaking.model.Matchups;
 import matchmaking.enums.*;
 
 /**
  * Utility class for calculating Buchholz scores, updating Elo ratings, and
  * determining ranks for players in a tournament.
+ *
+ * <p>
+ * Players are resolved to dense indices once, and all scores are computed on
+ * primitive arrays in a few linear passes over the matchups. Expected scores
+ * come from a precomputed table of Elo differences, and K values from
+ * {@link EloKFactor}'s lookup table.
+ * </p>
  */
 public class RatingUtil {
 
-    private static final PlayerResults NULL_PLAYER = new PlayerResults()
-            .setUuid("null")
-            .setElo(0)
-            .setBuchholz(0)
-            .setRank(-1);
+    /**
+     * Index standing in for the null (bye or forfeit) player, whose Elo is
+     * always 0.
+     */
+    private static final int NULL_INDEX = -1;
+
+    /**
+     * Largest Elo difference held in the expected score table. Larger
+     * differences are clamped, as their expected scores differ by less than
+     * {@code 1e-10}.
+     */
+    private static final int MAX_ELO_DIFF = 4000;
+
+    /**
+     * Expected scores indexed by the opponent's Elo minus the player's Elo,
+     * offset by {@link #MAX_ELO_DIFF}.
+     */
+    private static final double[] EXPECTED_SCORES = buildExpectedScores();
 
     /**
      * Updates the Buchholz scores, Elo ratings, and ranks for players based on
@@ -30,200 +50,286 @@ public class RatingUtil {
      *                      information.
      * @param playerResults A list of PlayerResults containing player information to
      *                      be updated.
+     * @throws ResultsNotFoundException if a matchup has no result, or a player
+     *                                  in a matchup has no player result.
      */
     public static void updateRatings(List<Matchups> matchups, List<PlayerWins> playerWins,
             List<PlayerResults> playerResults) {
+        if (playerResults == null || playerResults.isEmpty()) {
+            throw new ResultsNotFoundException("Missing results.");
+        }
 
-        System.out.println("Getting player results map");
-        // Use a map for quick lookups of player results by UUID
-        Map<String, PlayerResults> playerResultsMap = createPlayerResultsMap(playerResults);
+        Map<String, Integer> indices = createPlayerIndex(playerResults);
 
         System.out.println("Validating Matchups");
-        // Validate matchups to ensure all player results exist
-        ValidationUtil.validateMatchups(matchups, playerResults);
+        int[] winners = new int[matchups.size()];
+        int[] losers = new int[matchups.size()];
+        indexMatchups(matchups, indices, winners, losers);
+
+        int[] elos = new int[playerResults.size()];
+        int[] buchholz = new int[playerResults.size()];
+        for (int i = 0; i < elos.length; i++) {
+            PlayerResults result = playerResults.get(i);
+            elos[i] = result.getElo();
+            buchholz[i] = result.getBuchholz();
+        }
 
         // Calculate Buchholz scores
         System.out.println("Calculating Buchholz");
-        calculateBuchholz(matchups, playerResultsMap);
+        calculateBuchholz(winners, losers, elos, buchholz);
 
         // Update Elo ratings
         System.out.println("Updating Ratings");
-        updateEloRatings(matchups, playerResultsMap);
+        updateEloRatings(winners, losers, elos);
+
+        for (int i = 0; i < elos.length; i++) {
+            playerResults.get(i)
+                    .setElo(elos[i])
+                    .setBuchholz(buchholz[i]);
+        }
 
         // Calculate ranks
         System.out.println("Calculating Ranks");
-        calculateRanks(playerWins, playerResults);
+        calculateRanks(playerWins, indices, buchholz, playerResults);
 
         System.out.println("Player Results: " + playerResults);
     }
 
     /**
-     * Creates a map of PlayerResults keyed by player UUID for quick access.
+     * Creates a map of dense player indices keyed by player UUID, in the order
+     * of the player results.
      *
-     * @param playerResults A list of PlayerResults to be converted into a map.
-     * @return A map of PlayerResults keyed by UUID.
+     * @param playerResults A list of PlayerResults to index.
+     * @return A map of indices into {@code playerResults} keyed by UUID.
      */
-    private static Map<String, PlayerResults> createPlayerResultsMap(List<PlayerResults> playerResults) {
-        Map<String, PlayerResults> playerResultsMap = new HashMap<>();
-        for (PlayerResults result : playerResults) {
-            playerResultsMap.put(result.getUuid(), result);
+    private static Map<String, Integer> createPlayerIndex(List<PlayerResults> playerResults) {
+        Map<String, Integer> indices = new HashMap<>(playerResults.size() * 2);
+        for (int i = 0; i < playerResults.size(); i++) {
+            indices.put(playerResults.get(i).getUuid(), i);
         }
-        return playerResultsMap;
+        return indices;
     }
 
     /**
-     * Calculates the Buchholz scores for players based on match outcomes.
+     * Resolves the winner and loser of every matchup to player indices,
+     * validating that each result is present and each player has a result.
      *
-     * @param matchups         A list of matchups in the tournament.
-     * @param playerResultsMap A map of PlayerResults keyed by player UUID for quick
-     *                         access.
+     * @param matchups A list of matchups in the tournament.
+     * @param indices  A map of player indices keyed by UUID.
+     * @param winners  Filled with the index of each matchup's winner.
+     * @param losers   Filled with the index of each matchup's loser.
+     * @throws ResultsNotFoundException if a matchup has no result, or a player
+     *                                  has no player result.
      */
-    private static void calculateBuchholz(List<Matchups> matchups, Map<String, PlayerResults> playerResultsMap) {
-        for (Matchups matchup : matchups) {
+    private static void indexMatchups(List<Matchups> matchups, Map<String, Integer> indices, int[] winners,
+            int[] losers) {
+        for (int m = 0; m < matchups.size(); m++) {
+            Matchups matchup = matchups.get(m);
             String winUuid = matchup.getPlayerWon();
+
+            if (winUuid == null || winUuid.isEmpty()) {
+                throw new ResultsNotFoundException("Missing results");
+            }
+
             String loseUuid = winUuid.equals(matchup.getId().getPlayer1())
                     ? matchup.getId().getPlayer2()
                     : matchup.getId().getPlayer1();
 
-            // Find PlayerResults for both players using the map
-            PlayerResults winResult = (ValidationUtil.isNullPlayer(winUuid))
-                    ? NULL_PLAYER
-                    : playerResultsMap.get(winUuid);
-            PlayerResults loseResult = (ValidationUtil.isNullPlayer(loseUuid))
-                    ? NULL_PLAYER
-                    : playerResultsMap.get(loseUuid);
+            winners[m] = findPlayerIndex(indices, winUuid);
+            losers[m] = findPlayerIndex(indices, loseUuid);
+        }
+    }
 
-            // Check results not null
-            ValidationUtil.validatePlayerResult(winResult, loseUuid);
-            ValidationUtil.validatePlayerResult(loseResult, winUuid);
+    /**
+     * Finds the index of a player by UUID.
+     *
+     * @param indices A map of player indices keyed by UUID.
+     * @param uuid    The UUID of the player to find.
+     * @return The index of the player, or {@link #NULL_INDEX} for the null
+     *         player.
+     * @throws ResultsNotFoundException if the player has no player result.
+     */
+    private static int findPlayerIndex(Map<String, Integer> indices, String uuid) {
+        if (ValidationUtil.isNullPlayer(uuid)) {
+            return NULL_INDEX;
+        }
+        Integer index = indices.get(uuid);
+        if (index == null) {
+            throw new ResultsNotFoundException("Player result not found for UUID: " + uuid);
+        }
+        return index;
+    }
 
-            // Update the winning player's Buchholz score
-            winResult.setBuchholz(winResult.getBuchholz() + loseResult.getElo());
+    /**
+     * Calculates the Buchholz scores for players based on match outcomes, using
+     * Elo ratings from before the tournament's rating update.
+     *
+     * @param winners  The index of each matchup's winner.
+     * @param losers   The index of each matchup's loser.
+     * @param elos     The Elo ratings of the players.
+     * @param buchholz The Buchholz scores of the players, updated in place.
+     */
+    private static void calculateBuchholz(int[] winners, int[] losers, int[] elos, int[] buchholz) {
+        for (int m = 0; m < winners.length; m++) {
+            int winner = winners[m];
+            if (winner != NULL_INDEX) {
+                buchholz[winner] += eloOf(losers[m], elos);
+            }
         }
     }
 
     /**
-     * Calculates and assigns ranks to players based on their wins and Buchholz
-     * scores.
+     * Calculates and assigns ranks to players based on their points and
+     * Buchholz scores. Players with equal points and Buchholz scores keep the
+     * order of {@code playerWins}.
      *
      * @param playerWins    A list of PlayerWins containing players' win
      *                      information.
-     * @param playerResults A list of PlayerResults containing player information to
-     *                      be updated.
+     * @param indices       A map of player indices keyed by UUID.
+     * @param buchholz      The Buchholz scores of the players.
+     * @param playerResults A list of PlayerResults to assign ranks to.
      */
-    private static void calculateRanks(List<PlayerWins> playerWins, List<PlayerResults> playerResults) {
-
-        List<PlayerRanking> rankings = new ArrayList<>(playerWins.stream()
-                .filter(playerWin -> !ValidationUtil.isNullPlayer(playerWin.getUuid()))
-                .map(playerWin -> {
-                    String uuid = playerWin.getUuid();
-                    PlayerResults playerResult = findPlayerResultsByUUID(playerResults, uuid);
-
-                    // Check results not null
-                    ValidationUtil.validatePlayerResult(playerResult, uuid);
-
-                    PlayerRanking playerRanking = new PlayerRanking();
-                    playerRanking.setUuid(uuid);
-                    playerRanking.setPoints(playerWin.getPoints());
-                    playerRanking.setBuchholz(playerResult.getBuchholz());
-                    playerRanking.setPlayerResult(playerResult);
-
-                    return playerRanking;
-                })
-                .toList());
-
-        // Sort rankings by points (descending) and then by Buchholz (descending)
-        rankings.sort((r1, r2) -> {
-            // First compare points in descending order
-            int pointsComparison = Double.compare(r2.getPoints(), r1.getPoints());
-
-            // If points are the same, then compare buchholz in descending order
-            if (pointsComparison == 0) {
-                return Integer.compare(r2.getPlayerResult().getBuchholz(), r1.getPlayerResult().getBuchholz());
+    private static void calculateRanks(List<PlayerWins> playerWins, Map<String, Integer> indices, int[] buchholz,
+            List<PlayerResults> playerResults) {
+        int[] ranked = new int[playerWins.size()];
+        double[] points = new double[playerResults.size()];
+        int count = 0;
+        for (PlayerWins playerWin : playerWins) {
+            String uuid = playerWin.getUuid();
+            Integer index = ValidationUtil.isNullPlayer(uuid) ? null : indices.get(uuid);
+            if (index != null) {
+                points[index] = playerWin.getPoints();
+                ranked[count++] = index;
             }
+        }
 
-            // Otherwise, return the comparison based on points
-            return pointsComparison;
-        });
+        // Sort rankings by points (descending) and then by buchholz (descending)
+        sortByStanding(ranked, count, points, buchholz);
 
         // Update the rank in PlayerResults based on sorted order
-        for (int i = 0; i < rankings.size(); i++) {
-            rankings.get(i).getPlayerResult().setRank(i + 1); // Assign rank (1-based index)
+        for (int i = 0; i < count; i++) {
+            playerResults.get(ranked[i]).setRank(i + 1); // Assign rank (1-based index)
         }
-
-        System.out.println("Rankings: " + rankings);
     }
 
     /**
-     * Finds a PlayerResults instance by its UUID.
+     * Stably sorts player indices by points and then Buchholz score, both in
+     * descending order, with a bottom-up merge sort.
      *
-     * @param playerResults A list of PlayerResults to search.
-     * @param uuid          The UUID of the player to find.
-     * @return The PlayerResults instance if found, or NULL_PLAYER if not found.
+     * @param ranked   The player indices to sort, in place.
+     * @param count    The number of indices in {@code ranked} to sort.
+     * @param points   The points of the players.
+     * @param buchholz The Buchholz scores of the players.
      */
-    private static PlayerResults findPlayerResultsByUUID(List<PlayerResults> playerResults, String uuid) {
-        if (ValidationUtil.isNullPlayer(uuid)) {
-            return NULL_PLAYER;
+    private static void sortByStanding(int[] ranked, int count, double[] points, int[] buchholz) {
+        int[] source = ranked;
+        int[] target = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int lo = 0; lo < count; lo += 2 * width) {
+                int mid = Math.min(lo + width, count);
+                int hi = Math.min(lo + 2 * width, count);
+                int left = lo;
+                int right = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (left < mid && (right >= hi
+                            || !ranksBelow(source[left], source[right], points, buchholz))) {
+                        target[k] = source[left++];
+                    } else {
+                        target[k] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != ranked) {
+            System.arraycopy(source, 0, ranked, 0, count);
         }
-        return playerResults.stream()
-                .filter(result -> result.getUuid().equals(uuid))
-                .findFirst()
-                .orElse(NULL_PLAYER); // Return NULL_PLAYER if not found
     }
 
     /**
-     * Updates Elo ratings for players based on the results of matchups.
+     * Checks whether a player ranks strictly below another.
      *
-     * @param matchups         A list of Matchups containing the results of the
-     *                         matches.
-     * @param playerResultsMap A map of PlayerResults keyed by player UUID for quick
-     *                         access.
+     * @param player   The index of the player.
+     * @param other    The index of the other player.
+     * @param points   The points of the players.
+     * @param buchholz The Buchholz scores of the players.
+     * @return {@code true} if {@code player} has fewer points, or equal points
+     *         and a lower Buchholz score.
      */
-    private static void updateEloRatings(List<Matchups> matchups, Map<String, PlayerResults> playerResultsMap) {
-        for (Matchups matchup : matchups) {
-            String winUuid = matchup.getPlayerWon();
-            String loseUuid = winUuid.equals(matchup.getId().getPlayer1())
-                    ? matchup.getId().getPlayer2()
-                    : matchup.getId().getPlayer1();
-
-            // Find PlayerResults for both players using the map
-            PlayerResults winResult = (ValidationUtil.isNullPlayer(winUuid))
-                    ? NULL_PLAYER
-                    : playerResultsMap.get(winUuid);
-            PlayerResults loseResult = (ValidationUtil.isNullPlayer(loseUuid))
-                    ? NULL_PLAYER
-                    : playerResultsMap.get(loseUuid);
+    private static boolean ranksBelow(int player, int other, double[] points, int[] buchholz) {
+        int pointsComparison = Double.compare(points[player], points[other]);
+        return pointsComparison < 0 || (pointsComparison == 0 && buchholz[player] < buchholz[other]);
+    }
 
-            // Check results not null
-            ValidationUtil.validatePlayerResult(loseResult, loseUuid);
-            ValidationUtil.validatePlayerResult(winResult, winUuid);
+    /**
+     * Updates Elo ratings for players based on the results of matchups, in
+     * the order the matchups were played.
+     *
+     * @param winners The index of each matchup's winner.
+     * @param losers  The index of each matchup's loser.
+     * @param elos    The Elo ratings of the players, updated in place.
+     */
+    private static void updateEloRatings(int[] winners, int[] losers, int[] elos) {
+        for (int m = 0; m < winners.length; m++) {
+            int winner = winners[m];
+            int loser = losers[m];
+            int winningElo = eloOf(winner, elos);
+            int losingElo = eloOf(loser, elos);
 
             // Determine K values based on player's Elo ratings using the enum
-            int kForWinner = EloKFactor.getKValue(winResult.getElo());
-            int kForLoser = EloKFactor.getKValue(loseResult.getElo());
-
-            // Calculate expected scores
-            double expectedWinningScore = calculateExpectedScore(winResult.getElo(), loseResult.getElo());
-            double expectedLosingScore = calculateExpectedScore(loseResult.getElo(), winResult.getElo());
+            int kForWinner = EloKFactor.getKValue(winningElo);
+            int kForLoser = EloKFactor.getKValue(losingElo);
 
-            // Update Elo ratings
-            int newWinningElo = (int) Math.round(winResult.getElo() + kForWinner * (1 - expectedWinningScore));
-            int newLosingElo = (int) Math.round(loseResult.getElo() + kForLoser * (0 - expectedLosingScore));
+            // Look up expected scores
+            double expectedWinningScore = expectedScore(winningElo, losingElo);
+            double expectedLosingScore = expectedScore(losingElo, winningElo);
 
-            // Set new Elo ratings
-            winResult.setElo(newWinningElo);
-            loseResult.setElo(newLosingElo);
+            // Update Elo ratings, leaving the null player at 0
+            if (winner != NULL_INDEX) {
+                elos[winner] = (int) Math.round(winningElo + kForWinner * (1 - expectedWinningScore));
+            }
+            if (loser != NULL_INDEX) {
+                elos[loser] = (int) Math.round(losingElo + kForLoser * (0 - expectedLosingScore));
+            }
         }
     }
 
     /**
-     * Calculates the expected score for a player.
+     * Retrieves the Elo rating of a player.
+     *
+     * @param player The index of the player, or {@link #NULL_INDEX}.
+     * @param elos   The Elo ratings of the players.
+     * @return The Elo rating of the player, or 0 for the null player.
+     */
+    private static int eloOf(int player, int[] elos) {
+        return player == NULL_INDEX ? 0 : elos[player];
+    }
+
+    /**
+     * Looks up the expected score for a player.
      *
      * @param playerElo   The Elo rating of the player.
      * @param opponentElo The Elo rating of the opponent.
      * @return The expected score for the player.
      */
-    private static double calculateExpectedScore(int playerElo, int opponentElo) {
-        return 1.0 / (1 + Math.pow(10, (opponentElo - playerElo) / 400.0));
+    static double expectedScore(int playerElo, int opponentElo) {
+        int diff = Math.min(Math.max(opponentElo - playerElo, -MAX_ELO_DIFF), MAX_ELO_DIFF);
+        return EXPECTED_SCORES[diff + MAX_ELO_DIFF];
+    }
+
+    /**
+     * Precomputes the expected score of every Elo difference up to
+     * {@link #MAX_ELO_DIFF}.
+     *
+     * @return The expected score lookup table.
+     */
+    private static double[] buildExpectedScores() {
+        double[] expectedScores = new double[2 * MAX_ELO_DIFF + 1];
+        for (int diff = -MAX_ELO_DIFF; diff <= MAX_ELO_DIFF; diff++) {
+            expectedScores[diff + MAX_ELO_DIFF] = 1.0 / (1 + Math.pow(10, diff / 400.0));
+        }
+        return expectedScores;
     }
 }
@@ -0,0 +1,214 @@
+package matchmaking.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.util.Pair;
+
+import matchmaking.model.Signups;
+
+/**
+ * Utility class for generating optimal Swiss pairings using maximum-weight
+ * matching.
+ *
+ * <p>
+ * Every candidate pair is weighted by the players' score difference, their
+ * Elo gap and a penalty for rematches, and the heaviest complete pairing is
+ * chosen with {@link MaxWeightMatching}. Players are processed in standings
+ * order in fixed-size blocks so the cost of a round grows linearly with the
+ * number of players. Players who cannot be paired within their block without
+ * a rematch float down into the next block, and the final block is always
+ * paired completely, using a rematch only when no alternative exists.
+ * </p>
+ */
+public class SwissPairingUtil {
+
+    // Number of players from the standings matched together in one blossom run
+    private static final int BLOCK_SIZE = 64;
+
+    // Base weight of every edge, large enough to keep all weights positive
+    private static final long BASE_WEIGHT = 1_000_000_000L;
+
+    // Penalty per half point of score difference between two players
+    private static final long SCORE_GAP_PENALTY = 1_000_000L;
+
+    // Score difference (in half points) beyond which no further penalty applies
+    private static final int MAX_SCORE_GAP = 200;
+
+    // Elo difference beyond which no further penalty applies (1 per Elo point)
+    private static final int MAX_ELO_GAP = 2000;
+
+    // Penalty for pairing two players who have already played each other
+    private static final long REMATCH_PENALTY = 500_000_000L;
+
+    // Penalty for giving a bye to a player who has already had one
+    private static final long REPEAT_BYE_PENALTY = 500_000_000L;
+
+    // Penalty per standings position above last place for receiving the bye
+    private static final long BYE_RANK_PENALTY = 1_000L;
+
+    /**
+     * Generates a complete pairing for the given players.
+     *
+     * <p>
+     * If the number of players is odd, the bye is returned as the last pair,
+     * with {@code byePlayer} as the second player. All other pairs are ordered
+     * by the standing of their higher-placed player, who is always the first
+     * player of the pair.
+     * </p>
+     *
+     * @param players      the players to pair, sorted by current standings.
+     * @param playerPoints a map of player UUIDs to their points, or {@code null}
+     *                     if no games have been played yet.
+     * @param playedPairs  the index of previously played pairs, built from
+     *                     {@code players} in the same order.
+     * @param byePlayer    the placeholder opponent used for the bye.
+     * @return a list of pairs covering every player exactly once.
+     */
+    public static List<Pair<Signups, Signups>> generateOptimalPairs(List<Signups> players,
+            Map<String, Double> playerPoints, PlayedPairIndex playedPairs, Signups byePlayer) {
+        int playerCount = players.size();
+        int[] halfPoints = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            String uuid = players.get(i).getId().getUuid();
+            double points = playerPoints == null ? 0.0 : playerPoints.getOrDefault(uuid, 0.0);
+            halfPoints[i] = (int) Math.round(points * 2);
+        }
+
+        // partner[i] is the standings index of the opponent of player i, or -1 for the bye
+        int[] partner = new int[playerCount];
+        Arrays.fill(partner, -1);
+
+        int[] block = new int[playerCount];
+        int carried = 0;
+        int next = 0;
+        boolean finalBlock = false;
+
+        while (!finalBlock) {
+            int remaining = playerCount - next;
+            finalBlock = remaining <= 2 * BLOCK_SIZE;
+            int take = finalBlock ? remaining : BLOCK_SIZE;
+
+            int blockSize = carried;
+            for (int i = 0; i < take; i++) {
+                block[blockSize++] = next++;
+            }
+
+            int[] mate = matchBlock(block, blockSize, players, halfPoints, playedPairs, playerCount,
+                    finalBlock);
+
+            // Record pairs and float unmatched players into the next block
+            carried = 0;
+            for (int i = 0; i < blockSize; i++) {
+                if (mate[i] == -1) {
+                    block[carried++] = block[i];
+                } else if (mate[i] < blockSize) {
+                    partner[block[i]] = block[mate[i]];
+                }
+            }
+        }
+
+        List<Pair<Signups, Signups>> pairs = new ArrayList<>();
+        Pair<Signups, Signups> byePair = null;
+        for (int i = 0; i < playerCount; i++) {
+            if (partner[i] == -1) {
+                byePair = Pair.of(players.get(i), byePlayer);
+            } else if (partner[i] > i) {
+                pairs.add(Pair.of(players.get(i), players.get(partner[i])));
+            }
+        }
+        if (byePair != null) {
+            pairs.add(byePair);
+        }
+        return pairs;
+    }
+
+    /**
+     * Runs maximum-weight matching over one block of players.
+     *
+     * <p>
+     * In the final block, rematches are allowed with a heavy penalty and a bye
+     * vertex is added when the block is odd, so the matching is always
+     * complete. Earlier blocks exclude rematches entirely and leave players
+     * unmatched instead.
+     * </p>
+     *
+     * @return an array mapping each block position to its partner's block
+     *         position, {@code blockSize} for the bye, or -1 if unmatched.
+     */
+    private static int[] matchBlock(int[] block, int blockSize, List<Signups> players, int[] halfPoints,
+            PlayedPairIndex playedPairs, int playerCount, boolean finalBlock) {
+        boolean hasBye = finalBlock && blockSize % 2 != 0;
+        int maxEdges = blockSize * (blockSize - 1) / 2 + (hasBye ? blockSize : 0);
+        int[] from = new int[maxEdges];
+        int[] to = new int[maxEdges];
+        long[] weight = new long[maxEdges];
+        int edgeCount = 0;
+
+        for (int a = 0; a < blockSize; a++) {
+            int i = block[a];
+            for (int b = a + 1; b < blockSize; b++) {
+                int j = block[b];
+                boolean rematch = playedPairs.hasPlayed(i, j);
+                if (rematch && !finalBlock) {
+                    continue;
+                }
+                from[edgeCount] = a;
+                to[edgeCount] = b;
+                weight[edgeCount] = pairWeight(players.get(i), players.get(j), halfPoints[i], halfPoints[j], rematch);
+                edgeCount++;
+            }
+            if (hasBye) {
+                boolean hadBye = playedPairs.hasPlayed(i, playedPairs.byeIndex());
+                from[edgeCount] = a;
+                to[edgeCount] = blockSize;
+                weight[edgeCount] = byeWeight(halfPoints[i], playerCount - 1 - i, hadBye);
+                edgeCount++;
+            }
+        }
+
+        return MaxWeightMatching.maxWeightMatching(blockSize + (hasBye ? 1 : 0),
+                Arrays.copyOf(from, edgeCount), Arrays.copyOf(to, edgeCount), Arrays.copyOf(weight, edgeCount),
+                true);
+    }
+
+    /**
+     * Calculates the weight of pairing two players; higher is better.
+     *
+     * @param player1     the first player.
+     * @param player2     the second player.
+     * @param halfPoints1 the first player's score in half points.
+     * @param halfPoints2 the second player's score in half points.
+     * @param rematch     whether the two players have already played.
+     * @return the edge weight for the pair.
+     */
+    private static long pairWeight(Signups player1, Signups player2, int halfPoints1, int halfPoints2,
+            boolean rematch) {
+        int scoreGap = Math.min(Math.abs(halfPoints1 - halfPoints2), MAX_SCORE_GAP);
+        int eloGap = Math.min(Math.abs(player1.getElo() - player2.getElo()), MAX_ELO_GAP);
+        return BASE_WEIGHT
+                - SCORE_GAP_PENALTY * scoreGap
+                - eloGap
+                - (rematch ? REMATCH_PENALTY : 0);
+    }
+
+    /**
+     * Calculates the weight of giving a player the bye; higher is better. The
+     * bye is treated as an opponent on zero points, favouring the lowest-placed
+     * player who has not yet had one.
+     *
+     * @param halfPoints       the player's score in half points.
+     * @param placesAboveLast  how many standings positions the player is above
+     *                         last place.
+     * @param hadBye           whether the player has already had a bye.
+     * @return the edge weight for the bye.
+     */
+    private static long byeWeight(int halfPoints, int placesAboveLast, boolean hadBye) {
+        return BASE_WEIGHT
+                - SCORE_GAP_PENALTY * Math.min(halfPoints, MAX_SCORE_GAP)
+                - BYE_RANK_PENALTY * placesAboveLast
+                - (hadBye ? REPEAT_BYE_PENALTY : 0);
+    }
+}
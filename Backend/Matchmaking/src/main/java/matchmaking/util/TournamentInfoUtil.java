@@ -2,6 +2,8 @@ package matchmaking.util;
 
 import matchmaking.repository.*;
 import matchmaking.dto.PlayerWins;
+import matchmaking.dto.TournamentSnapshot;
+import matchmaking.exception.InvalidRoundException;
 import matchmaking.model.*;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +33,9 @@ public class TournamentInfoUtil {
     @Autowired
     private TournamentRepository tournamentRepository;
 
+    @Autowired
+    private TournamentSnapshotRepository tournamentSnapshotRepository;
+
     /**
      * Retrieves the current round number for a given tournament.
      *
@@ -61,6 +66,44 @@ public class TournamentInfoUtil {
         return matchupsRepository.getMatchupsByTournamentId(tournamentId);
     }
 
+    /**
+     * Retrieves the current round, signups, matchups and player win/draw
+     * aggregates of a tournament in a single database round trip.
+     *
+     * @param tournamentId the ID of the tournament.
+     * @return the {@link TournamentSnapshot} of the tournament, including every
+     *         matchup.
+     * @throws IllegalArgumentException if the {@code tournamentId} is null or
+     *                                  empty.
+     */
+    @Transactional
+    public TournamentSnapshot getTournamentSnapshot(String tournamentId) {
+        return getTournamentSnapshot(tournamentId, 1);
+    }
+
+    /**
+     * Retrieves the current round, signups, matchups from the given round
+     * onwards and player win/draw aggregates of a tournament in a single
+     * database round trip.
+     *
+     * @param tournamentId the ID of the tournament.
+     * @param fromRound    the first round whose matchups are included.
+     * @return the {@link TournamentSnapshot} of the tournament.
+     * @throws IllegalArgumentException if the {@code tournamentId} is null or
+     *                                  empty, or {@code fromRound} is less than
+     *                                  1.
+     */
+    @Transactional
+    public TournamentSnapshot getTournamentSnapshot(String tournamentId, int fromRound) {
+        ValidationUtil.validateNotEmpty(tournamentId, "Tournament ID");
+
+        if (fromRound < 1) {
+            throw new IllegalArgumentException("Round number must be greater than zero");
+        }
+
+        return tournamentSnapshotRepository.getTournamentSnapshot(tournamentId, fromRound);
+    }
+
     /**
      * Retrieves the list of signups for a given tournament.
      *
@@ -145,27 +188,34 @@ public class TournamentInfoUtil {
     }
 
     /**
-     * Inserts matchups into the repository.
+     * Inserts all matchups of a round into the repository in bulk.
+     *
+     * <p>
+     * Each matchup is validated and every player may appear in at most one
+     * matchup of the round before anything is written.
+     * </p>
      *
      * @param matchups     the list of {@link Matchups} to insert.
      * @param tournamentId the ID of the tournament.
      * @param roundNum     the current round number.
      * @throws IllegalArgumentException if the {@code matchups} list is null or
-     *                                  empty.
+     *                                  empty, or the {@code tournamentId} is
+     *                                  null or empty.
+     * @throws InvalidRoundException    if a matchup is invalid or a player is
+     *                                  matched more than once.
      */
     @Transactional
     public void insertMatchups(List<Matchups> matchups, String tournamentId, int roundNum) {
-        if (matchups.size() == 0) {
+        if (matchups == null || matchups.size() == 0) {
             throw new IllegalArgumentException("Missing matchup to insert");
         }
+        ValidationUtil.validateNotEmpty(tournamentId, "Tournament ID");
         for (Matchups matchup : matchups) {
-            matchupsRepository.insertMatchup(
-                    matchup.getId().getPlayer1(),
-                    matchup.getId().getPlayer2(),
-                    matchup.getPlayerWon(),
-                    tournamentId,
-                    roundNum);
+            ValidationUtil.isValidMatchup(matchup);
         }
+        ValidationUtil.isUniqueRoundPlayers(matchups);
+
+        matchupsRepository.insertMatchups(matchups, tournamentId, roundNum);
     }
 
     /**
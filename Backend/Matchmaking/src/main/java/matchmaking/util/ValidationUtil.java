@@ -12,6 +12,7 @@ import matchmaking.model.Tournament;
 
 import org.springframework.data.util.Pair;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -121,6 +122,34 @@ public class ValidationUtil {
         }
     }
 
+    /**
+     * Verifies that no player appears in more than one matchup of a round. The
+     * bye placeholder is exempt.
+     *
+     * @param matchups A list of matchups of a single round.
+     * @throws InvalidRoundException if a player is matched more than once.
+     */
+    public static void isUniqueRoundPlayers(List<Matchups> matchups) {
+        Set<String> players = new HashSet<>(matchups.size() * 4);
+        for (Matchups matchup : matchups) {
+            addRoundPlayer(matchup.getId().getPlayer1(), players);
+            addRoundPlayer(matchup.getId().getPlayer2(), players);
+        }
+    }
+
+    /**
+     * Adds a player to the set of players already matched in a round.
+     *
+     * @param uuid    the UUID of the player.
+     * @param players the set of players already matched.
+     * @throws InvalidRoundException if the player has already been matched.
+     */
+    private static void addRoundPlayer(String uuid, Set<String> players) {
+        if (!isNullPlayer(uuid) && !players.add(uuid)) {
+            throw new InvalidRoundException("Invalid matchup: Player " + uuid + " is matched more than once.");
+        }
+    }
+
     /**
      * Checks if the provided player pair is valid.
      *
@@ -176,6 +205,12 @@ public class ValidationUtil {
             throw new ResultsNotFoundException("Missing results.");
         }
 
+        // Index the players with results once instead of searching per matchup
+        Set<String> playersWithResults = new HashSet<>(playerResults.size() * 2);
+        for (PlayerResults result : playerResults) {
+            playersWithResults.add(result.getUuid());
+        }
+
         for (Matchups matchup : matchups) {
             String playerWon = matchup.getPlayerWon();
 
@@ -187,12 +222,12 @@ public class ValidationUtil {
                     ? matchup.getId().getPlayer2()
                     : matchup.getId().getPlayer1();
 
-            if (!isNullPlayer(playerWon)) {
-                validatePlayerResult(playerResults, playerWon);
+            if (!isNullPlayer(playerWon) && !playersWithResults.contains(playerWon)) {
+                throw new ResultsNotFoundException("Player result not found for UUID: " + playerWon);
             }
 
-            if (!isNullPlayer(playerLost)) {
-                validatePlayerResult(playerResults, playerLost);
+            if (!isNullPlayer(playerLost) && !playersWithResults.contains(playerLost)) {
+                throw new ResultsNotFoundException("Player result not found for UUID: " + playerLost);
             }
         }
     }
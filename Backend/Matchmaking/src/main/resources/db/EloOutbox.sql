@@ -0,0 +1,28 @@
+-- Outbox of Elo changes waiting to be sent to the User microservice.
+-- Written by RatingService in the ranking transaction and drained by
+-- EloOutboxDispatcher. Used by EloOutboxRepository.
+--
+-- status is one of:
+--   PENDING    waiting to be sent, once nextAttemptAt has passed
+--   SENT       accepted by the User microservice
+--   SUPERSEDED replaced by a newer Elo for the same player before being sent
+--   FAILED     gave up after the maximum number of attempts
+
+CREATE TABLE IF NOT EXISTS EloOutbox (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    idempotencyKey VARCHAR(255) NOT NULL,
+    uuid           VARCHAR(255) NOT NULL,
+    tournamentId   VARCHAR(255) NOT NULL,
+    elo            INT          NOT NULL,
+    status         VARCHAR(16)  NOT NULL DEFAULT 'PENDING',
+    attempts       INT          NOT NULL DEFAULT 0,
+    nextAttemptAt  DATETIME(3)  NOT NULL,
+    claimToken     VARCHAR(36)  NULL,
+    lastError      VARCHAR(512) NULL,
+    createdAt      DATETIME(3)  NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_elo_outbox_idempotency_key (idempotencyKey),
+    KEY idx_elo_outbox_due (status, nextAttemptAt),
+    KEY idx_elo_outbox_claim (claimToken),
+    KEY idx_elo_outbox_uuid_status (uuid, status)
+);
@@ -0,0 +1,39 @@
+-- Loads everything needed to generate a round or rank a tournament in a
+-- single call. Used by TournamentSnapshotRepository.
+--
+-- Result sets, in order:
+--   1. the last round number, as returned by GetRoundNumByTournamentId, or 0
+--      if no round has been generated
+--   2. the signups of the tournament, as returned by GetSignupsByTournamentId
+--   3. the matchups from round p_fromRound onwards
+--   4. the player win/draw aggregates, as returned by GetPlayerWinsByTournamentId
+--
+-- The round, signups and standings come from the existing procedures, so the
+-- snapshot cannot drift from the single-purpose calls. Only the matchups are
+-- selected here, as GetMatchupsByTournamentId cannot skip earlier rounds.
+
+DROP PROCEDURE IF EXISTS GetTournamentSnapshot;
+
+DELIMITER //
+
+CREATE PROCEDURE GetTournamentSnapshot(
+    IN p_tournamentId VARCHAR(255),
+    IN p_fromRound INT
+)
+BEGIN
+    DECLARE v_roundNum INT;
+
+    CALL GetRoundNumByTournamentId(p_tournamentId, v_roundNum);
+    SELECT COALESCE(v_roundNum, 0) AS roundNum;
+
+    CALL GetSignupsByTournamentId(p_tournamentId);
+
+    SELECT player1, player2, playerWon, tournamentId, roundNum
+    FROM Matchups
+    WHERE tournamentId = p_tournamentId
+      AND roundNum >= p_fromRound;
+
+    CALL GetPlayerWinsByTournamentId(p_tournamentId);
+END //
+
+DELIMITER ;
@@ -0,0 +1,37 @@
+-- Inserts many matchups of a round in a single call. Used by
+-- MatchupsBatchRepositoryImpl.
+--
+-- p_matchups is a JSON array of objects with the keys player1, player2 and
+-- playerWon; playerWon is omitted while a matchup has no winner. Byes are
+-- passed exactly as they were to InsertMatchup, with player2 set to the
+-- string 'null' and playerWon set to player1.
+--
+-- Each row is written by the existing InsertMatchup procedure, so batch and
+-- single inserts share the same checks and defaults.
+
+DROP PROCEDURE IF EXISTS InsertMatchups;
+
+DELIMITER //
+
+CREATE PROCEDURE InsertMatchups(
+    IN p_tournamentId VARCHAR(255),
+    IN p_roundNum INT,
+    IN p_matchups JSON
+)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE n INT DEFAULT JSON_LENGTH(p_matchups);
+
+    WHILE i < n DO
+        CALL InsertMatchup(
+            JSON_UNQUOTE(JSON_EXTRACT(p_matchups, CONCAT('$[', i, '].player1'))),
+            JSON_UNQUOTE(JSON_EXTRACT(p_matchups, CONCAT('$[', i, '].player2'))),
+            JSON_UNQUOTE(JSON_EXTRACT(p_matchups, CONCAT('$[', i, '].playerWon'))),
+            p_tournamentId,
+            p_roundNum
+        );
+        SET i = i + 1;
+    END WHILE;
+END //
+
+DELIMITER ;
@@ -0,0 +1,133 @@
+package matchmaking.cache;
+
+import matchmaking.model.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link TournamentStateCache} class, which holds
+ * per-tournament matchmaking state between rounds.
+ */
+public class TournamentStateCacheTest {
+
+    private List<Signups> signups;
+
+    /**
+     * Sets up two players before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        signups = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            signups.add(new Signups()
+                    .setId(new PlayerTournamentId()
+                            .setUuid("Player" + i)
+                            .setTournamentId("Tournament"))
+                    .setElo(1500));
+        }
+    }
+
+    private TournamentState createState(String tournamentId) {
+        return TournamentState.of(tournamentId, signups, new ArrayList<>(), 0);
+    }
+
+    /**
+     * Tests that a cached state is returned until it is evicted.
+     */
+    @Test
+    public void testPutGetAndEvict() {
+        TournamentStateCache cache = new TournamentStateCache(4, Duration.ofMinutes(30));
+        TournamentState state = createState("T1");
+
+        cache.put(state);
+
+        assertSame(state, cache.get("T1"));
+        cache.evict("T1");
+        assertNull(cache.get("T1"));
+    }
+
+    /**
+     * Tests that the least recently used tournament is evicted once the cache is
+     * full.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        TournamentStateCache cache = new TournamentStateCache(2, Duration.ofMinutes(30));
+        cache.put(createState("T1"));
+        cache.put(createState("T2"));
+
+        cache.get("T1");
+        cache.put(createState("T3"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("T1"));
+        assertNull(cache.get("T2"));
+        assertNotNull(cache.get("T3"));
+    }
+
+    /**
+     * Tests that expired entries are not returned.
+     */
+    @Test
+    public void testExpiresEntries() {
+        TournamentStateCache cache = new TournamentStateCache(4, Duration.ZERO);
+        cache.put(createState("T1"));
+
+        assertNull(cache.get("T1"));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Tests that recording a round outside a transaction updates the state
+     * immediately.
+     */
+    @Test
+    public void testRecordRound() {
+        TournamentStateCache cache = new TournamentStateCache(4, Duration.ofMinutes(30));
+        TournamentState state = createState("T1");
+        Matchups matchup = new Matchups()
+                .setId(new MatchupsId()
+                        .setPlayer1("Player1")
+                        .setPlayer2("Player2")
+                        .setTournamentId("T1"))
+                .setRoundNum(1);
+
+        cache.recordRound(state, 1, List.of(matchup));
+
+        assertEquals(1, state.getCurrentRound());
+        assertTrue(state.getPlayedPairs().hasPlayed(0, 1));
+    }
+
+    /**
+     * Tests that a state only matches the signups it was built from.
+     */
+    @Test
+    public void testHasSignups() {
+        TournamentState state = createState("T1");
+
+        assertTrue(state.hasSignups(signups));
+        assertFalse(state.hasSignups(signups.subList(0, 1)));
+
+        List<Signups> replaced = new ArrayList<>(signups);
+        replaced.set(1, new Signups()
+                .setId(new PlayerTournamentId()
+                        .setUuid("Player3")
+                        .setTournamentId("Tournament")));
+        assertFalse(state.hasSignups(replaced));
+    }
+
+    /**
+     * Tests that the cache rejects a non-positive size.
+     */
+    @Test
+    public void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TournamentStateCache(0, Duration.ofMinutes(30)));
+    }
+}
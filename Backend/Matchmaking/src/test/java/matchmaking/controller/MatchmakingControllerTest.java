@@ -4,6 +4,7 @@ import matchmaking.MatchmakingApplication;
 import matchmaking.service.*;
 import matchmaking.model.*;
 import matchmaking.exception.*;
+import matchmaking.enums.PairingStrategy;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -108,7 +109,7 @@ public class MatchmakingControllerTest {
                 List<Matchups> mockMatchups = Collections.singletonList(mockMatchup);
 
                 // Mock the behavior of matchingService to return the mock list
-                Mockito.when(matchingService.generateUniqueMatchups(tournamentId)).thenReturn(mockMatchups);
+                Mockito.when(matchingService.generateUniqueMatchups(tournamentId, PairingStrategy.BLOSSOM)).thenReturn(mockMatchups);
 
                 // Perform the request and verify the response
                 mockMvc.perform(get("/api/matchmaking/{tournamentId}", tournamentId))
@@ -131,7 +132,7 @@ public class MatchmakingControllerTest {
         @Test
         public void testMatchPlayers_TournamentNotFound() throws Exception {
                 String tournamentId = "invalid";
-                Mockito.when(matchingService.generateUniqueMatchups(tournamentId))
+                Mockito.when(matchingService.generateUniqueMatchups(tournamentId, PairingStrategy.BLOSSOM))
                                 .thenThrow(new TournamentNotFoundException("Tournament not found."));
 
                 mockMvc.perform(get("/api/matchmaking/{tournamentId}", tournamentId))
@@ -155,7 +156,7 @@ public class MatchmakingControllerTest {
         public void testMatchPlayers_InvalidArgument() throws Exception {
                 String tournamentId = "";
 
-                Mockito.when(matchingService.generateUniqueMatchups(tournamentId))
+                Mockito.when(matchingService.generateUniqueMatchups(tournamentId, PairingStrategy.BLOSSOM))
                                 .thenThrow(new IllegalArgumentException("TournamentID must not be null or empty."));
 
                 mockMvc.perform(get("/api/matchmaking/{tournamentId}", tournamentId))
@@ -180,7 +181,7 @@ public class MatchmakingControllerTest {
         public void testMatchPlayers_InternalServerError() throws Exception {
                 String tournamentId = "123";
 
-                Mockito.when(matchingService.generateUniqueMatchups(tournamentId))
+                Mockito.when(matchingService.generateUniqueMatchups(tournamentId, PairingStrategy.BLOSSOM))
                                 .thenThrow(new RuntimeException("Unexpected error occurred."));
 
                 mockMvc.perform(get("/api/matchmaking/{tournamentId}", tournamentId))
@@ -9,9 +9,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -72,8 +70,8 @@ public class MatchupManagerTest {
                                                 .setTournamentId(tournamentId))
                                 .setElo(1400));
 
-                Set<String> playedPairs = new HashSet<>();
-                when(playerSorter.sortPlayersForRound(players, tournamentId, roundNum)).thenReturn(players);
+                List<Matchups> previousMatchups = new ArrayList<>();
+                when(playerSorter.sortPlayers(players, null, true)).thenReturn(players);
                 when(tournamentInfoUtil.createMatchup(any(Signups.class), any(Signups.class), eq(tournamentId),
                                 eq(roundNum)))
                                 .thenAnswer(invocation -> {
@@ -86,7 +84,7 @@ public class MatchupManagerTest {
                                 });
 
                 List<Matchups> matchups = matchupManager.createUniqueMatchups(players, tournamentId, roundNum,
-                                playedPairs);
+                                previousMatchups);
 
                 assertNotNull(matchups);
                 assertEquals(1, matchups.size());
@@ -115,14 +113,14 @@ public class MatchupManagerTest {
                                                 .setTournamentId(tournamentId))
                                 .setElo(1400));
 
-                Set<String> playedPairs = new HashSet<>();
-                when(playerSorter.sortPlayersForRound(players, tournamentId, roundNum)).thenReturn(players);
+                List<Matchups> previousMatchups = new ArrayList<>();
+                when(playerSorter.sortPlayers(players, null, true)).thenReturn(players);
                 when(tournamentInfoUtil.createMatchup(any(Signups.class), any(Signups.class), eq(tournamentId),
                                 eq(roundNum)))
                                 .thenThrow(new IllegalArgumentException("Invalid matchup"));
 
                 assertThrows(IllegalArgumentException.class, () -> {
-                        matchupManager.createUniqueMatchups(players, tournamentId, roundNum, playedPairs);
+                        matchupManager.createUniqueMatchups(players, tournamentId, roundNum, previousMatchups);
                 });
         }
 
@@ -150,8 +148,8 @@ public class MatchupManagerTest {
                                                 .setTournamentId(tournamentId))
                                 .setElo(1300));
 
-                Set<String> playedPairs = new HashSet<>();
-                when(playerSorter.sortPlayersForRound(players, tournamentId, roundNum)).thenReturn(players);
+                List<Matchups> previousMatchups = new ArrayList<>();
+                when(playerSorter.sortPlayers(players, null, true)).thenReturn(players);
                 when(tournamentInfoUtil.createMatchup(any(Signups.class), any(Signups.class), eq(tournamentId),
                                 eq(roundNum)))
                                 .thenAnswer(invocation -> {
@@ -180,7 +178,7 @@ public class MatchupManagerTest {
                                 });
 
                 List<Matchups> matchups = matchupManager.createUniqueMatchups(players, tournamentId, roundNum,
-                                playedPairs);
+                                previousMatchups);
 
                 System.out.println(matchups);
 
@@ -217,10 +215,13 @@ public class MatchupManagerTest {
                                                 .setTournamentId(tournamentId))
                                 .setElo(1300));
 
-                Set<String> playedPairs = new HashSet<>();
-                playedPairs.add("Player1-Player2"); // Already played
+                List<Matchups> previousMatchups = new ArrayList<>();
+                previousMatchups.add(new Matchups()
+                                .setId(setUpMatchupId("Player1", "Player2"))
+                                .setPlayerWon("Player1")
+                                .setRoundNum(1)); // Already played
 
-                when(playerSorter.sortPlayersForRound(players, tournamentId, roundNum)).thenReturn(players);
+                when(playerSorter.sortPlayers(players, null, true)).thenReturn(players);
                 when(tournamentInfoUtil.createMatchup(any(Signups.class), any(Signups.class), eq(tournamentId),
                                 eq(roundNum)))
                                 .thenAnswer(invocation -> {
@@ -247,7 +248,7 @@ public class MatchupManagerTest {
                                 });
 
                 List<Matchups> matchups = matchupManager.createUniqueMatchups(players, tournamentId, roundNum,
-                                playedPairs);
+                                previousMatchups);
 
                 assertNotNull(matchups);
                 assertEquals(2, matchups.size());
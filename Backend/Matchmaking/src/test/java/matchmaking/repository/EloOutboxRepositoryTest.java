@@ -0,0 +1,122 @@
+package matchmaking.repository;
+
+import matchmaking.dto.EloOutboxEntry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link EloOutboxRepository} class, which stores Elo
+ * changes waiting to be sent to the User microservice.
+ */
+@ExtendWith(MockitoExtension.class)
+public class EloOutboxRepositoryTest {
+
+    @InjectMocks
+    private EloOutboxRepository eloOutboxRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tests that pending entries of the same players are superseded before the
+     * new entries are inserted in a single statement.
+     */
+    @Test
+    public void testEnqueue_SupersedesThenInserts() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(2);
+        List<EloOutboxEntry> entries = List.of(
+                EloOutboxEntry.of("Tournament123", "Player1", 1510),
+                EloOutboxEntry.of("Tournament123", "Player2", 1490));
+
+        int inserted = eloOutboxRepository.enqueue(entries);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), args.capture());
+        assertEquals(2, inserted);
+        assertTrue(sql.getAllValues().get(0).startsWith("UPDATE EloOutbox SET status = 'SUPERSEDED'"));
+        assertArrayEquals(new Object[] { "Player1", "Player2" }, args.getAllValues().get(0));
+        assertTrue(sql.getAllValues().get(1).startsWith("INSERT INTO EloOutbox"));
+        assertEquals(10, args.getAllValues().get(1).length);
+        assertEquals("Tournament123:Player1", args.getAllValues().get(1)[0]);
+    }
+
+    /**
+     * Tests that a large enqueue is split into a constant number of statements.
+     */
+    @Test
+    public void testEnqueue_ChunksLargeBatch() {
+        List<EloOutboxEntry> entries = new ArrayList<>();
+        for (int i = 0; i < EloOutboxRepository.ROWS_PER_STATEMENT + 1; i++) {
+            entries.add(EloOutboxEntry.of("Tournament123", "Player" + i, 1500));
+        }
+
+        eloOutboxRepository.enqueue(entries);
+
+        verify(jdbcTemplate, times(4)).update(anyString(), any(Object[].class));
+    }
+
+    /**
+     * Tests that nothing is selected when no entries are due.
+     */
+    @Test
+    public void testClaimDue_NoneDue() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(0);
+
+        List<EloOutboxEntry> claimed = eloOutboxRepository.claimDue(100, Duration.ofMinutes(1));
+
+        assertTrue(claimed.isEmpty());
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    /**
+     * Tests that claimed entries are selected by the claim token used to claim
+     * them.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testClaimDue_SelectsClaimedEntries() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+        EloOutboxEntry entry = EloOutboxEntry.of("Tournament123", "Player1", 1500).setId(1L);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(entry));
+
+        List<EloOutboxEntry> claimed = eloOutboxRepository.claimDue(100, Duration.ofMinutes(1));
+
+        ArgumentCaptor<Object[]> claimArgs = ArgumentCaptor.forClass(Object[].class);
+        ArgumentCaptor<Object[]> selectArgs = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(anyString(), claimArgs.capture());
+        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), selectArgs.capture());
+        assertEquals(List.of(entry), claimed);
+        assertEquals(claimArgs.getValue()[0], selectArgs.getValue()[0]);
+        assertEquals(100, claimArgs.getValue()[3]);
+    }
+
+    /**
+     * Tests that sent entries are marked in a single statement.
+     */
+    @Test
+    public void testMarkSent() {
+        eloOutboxRepository.markSent(List.of(1L, 2L));
+
+        verify(jdbcTemplate).update(eq("UPDATE EloOutbox SET status = 'SENT', claimToken = NULL "
+                + "WHERE status = 'PENDING' AND id IN (?, ?)"), eq(1L), eq(2L));
+    }
+}
@@ -0,0 +1,98 @@
+package matchmaking.repository;
+
+import matchmaking.model.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link MatchupsBatchRepositoryImpl} class, which writes
+ * matchups in batches through the "InsertMatchups" procedure.
+ */
+@ExtendWith(MockitoExtension.class)
+public class MatchupsBatchRepositoryImplTest {
+
+    @InjectMocks
+    private MatchupsBatchRepositoryImpl matchupsBatchRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Matchups> createMatchups(int count) {
+        List<Matchups> matchups = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            matchups.add(new Matchups()
+                    .setId(new MatchupsId()
+                            .setPlayer1("Player" + (2 * i))
+                            .setPlayer2("Player" + (2 * i + 1))
+                            .setTournamentId("Tournament123"))
+                    .setRoundNum(1));
+        }
+        return matchups;
+    }
+
+    /**
+     * Tests that a small round is written with a single procedure call
+     * containing every matchup.
+     */
+    @Test
+    public void testInsertMatchups_SingleCall() {
+        int inserted = matchupsBatchRepository.insertMatchups(createMatchups(2), "Tournament123", 1);
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).update(eq("CALL InsertMatchups(?, ?, ?)"), eq("Tournament123"), eq(1),
+                json.capture());
+        assertEquals(2, inserted);
+        assertEquals("[{\"player1\":\"Player0\",\"player2\":\"Player1\"},"
+                + "{\"player1\":\"Player2\",\"player2\":\"Player3\"}]", json.getValue());
+    }
+
+    /**
+     * Tests that a bye is passed exactly as it was to "InsertMatchup": the
+     * {@code "null"} placeholder as the second player and the first player as
+     * the winner.
+     */
+    @Test
+    public void testToJson_ByeRowShape() {
+        Matchups bye = new Matchups()
+                .setId(new MatchupsId()
+                        .setPlayer1("Player0")
+                        .setPlayer2("null")
+                        .setTournamentId("Tournament123"))
+                .setPlayerWon("Player0")
+                .setRoundNum(1);
+
+        assertEquals("[{\"player1\":\"Player0\",\"player2\":\"null\",\"playerWon\":\"Player0\"}]",
+                MatchupsBatchRepositoryImpl.toJson(List.of(bye)));
+    }
+
+    /**
+     * Tests that a large round is split into a constant number of calls.
+     */
+    @Test
+    public void testInsertMatchups_ChunksLargeRound() {
+        int count = MatchupsBatchRepositoryImpl.ROWS_PER_CALL * 2 + 1;
+
+        int inserted = matchupsBatchRepository.insertMatchups(createMatchups(count), "Tournament123", 1);
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).update(anyString(), eq("Tournament123"), eq(1), json.capture());
+        assertEquals(count, inserted);
+        assertEquals(MatchupsBatchRepositoryImpl.ROWS_PER_CALL,
+                json.getAllValues().get(0).split("\\{").length - 1);
+        assertEquals(1, json.getAllValues().get(2).split("\\{").length - 1);
+    }
+}
@@ -0,0 +1,92 @@
+package matchmaking.repository;
+
+import matchmaking.dto.TournamentSnapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataRetrievalFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.CallableStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Unit tests for the {@link TournamentSnapshotRepository} class, which reads
+ * the result sets of the snapshot stored procedure.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TournamentSnapshotRepositoryTest {
+
+    @Mock
+    private CallableStatement statement;
+
+    @Mock
+    private ResultSet roundResult;
+
+    @Mock
+    private ResultSet signupsResult;
+
+    @Mock
+    private ResultSet matchupsResult;
+
+    @Mock
+    private ResultSet winsResult;
+
+    /**
+     * Tests that every result set of the snapshot call is read in order.
+     */
+    @Test
+    public void testReadSnapshot() throws SQLException {
+        when(statement.getResultSet()).thenReturn(roundResult, signupsResult, matchupsResult, winsResult);
+        when(statement.getMoreResults()).thenReturn(true);
+
+        when(roundResult.next()).thenReturn(true);
+        when(roundResult.getInt(1)).thenReturn(2);
+
+        when(signupsResult.next()).thenReturn(true, true, false);
+        when(signupsResult.getString("uuid")).thenReturn("Player1", "Player2");
+        when(signupsResult.getString("tournamentId")).thenReturn("Tournament123");
+        when(signupsResult.getInt("elo")).thenReturn(1500, 1600);
+
+        when(matchupsResult.next()).thenReturn(true, false);
+        when(matchupsResult.getString("player1")).thenReturn("Player1");
+        when(matchupsResult.getString("player2")).thenReturn("Player2");
+        when(matchupsResult.getString("tournamentId")).thenReturn("Tournament123");
+        when(matchupsResult.getString("playerWon")).thenReturn("Player1");
+        when(matchupsResult.getInt("roundNum")).thenReturn(2);
+
+        when(winsResult.next()).thenReturn(true, false);
+        when(winsResult.getString(1)).thenReturn("Player1");
+        when(winsResult.getObject(2)).thenReturn(1L);
+        when(winsResult.getObject(3)).thenReturn(null);
+
+        TournamentSnapshot snapshot = TournamentSnapshotRepository.readSnapshot(statement, "Tournament123", 2);
+
+        assertEquals(3, snapshot.getCurrentRound());
+        assertEquals(2, snapshot.getFromRound());
+        assertEquals(2, snapshot.getSignups().size());
+        assertEquals(1600, snapshot.getSignups().get(1).getElo());
+        assertEquals(1, snapshot.getMatchups().size());
+        assertEquals("Player1", snapshot.getMatchups().get(0).getPlayerWon());
+        assertEquals(1.0, snapshot.getPlayerPoints().get("Player1"));
+    }
+
+    /**
+     * Tests that a snapshot call returning too few result sets is rejected.
+     */
+    @Test
+    public void testReadSnapshot_MissingResultSet() throws SQLException {
+        when(statement.getResultSet()).thenReturn(roundResult);
+        when(statement.getMoreResults()).thenReturn(false);
+        when(roundResult.next()).thenReturn(true);
+        when(roundResult.getInt(1)).thenReturn(0);
+
+        assertThrows(DataRetrievalFailureException.class,
+                () -> TournamentSnapshotRepository.readSnapshot(statement, "Tournament123", 1));
+    }
+}
@@ -0,0 +1,202 @@
+package matchmaking.service;
+
+import matchmaking.dto.EloOutboxEntry;
+import matchmaking.repository.EloOutboxRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for the {@link EloOutboxDispatcher} class, which sends queued Elo
+ * changes to the User microservice.
+ */
+@ExtendWith(MockitoExtension.class)
+public class EloOutboxDispatcherTest {
+
+    private static final String ELO_BATCH_URL = "http://user/api/profile/elo/batch";
+
+    @InjectMocks
+    private EloOutboxDispatcher dispatcher;
+
+    @Mock
+    private EloOutboxRepository eloOutboxRepository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(dispatcher, "usermsvcEloBatchUrl", ELO_BATCH_URL);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffMillis", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMillis", 5000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseMillis", 60000L);
+    }
+
+    private EloOutboxEntry createEntry(long id, String uuid, int elo, int attempts) {
+        return EloOutboxEntry.of("Tournament123", uuid, elo)
+                .setId(id)
+                .setAttempts(attempts);
+    }
+
+    private ResponseEntity<Map<String, Object>> createResponse(Map<String, String> failed) {
+        Map<String, Object> content = new HashMap<>();
+        content.put("updated", 0);
+        content.put("failed", failed);
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", true);
+        body.put("content", content);
+        return ResponseEntity.ok(body);
+    }
+
+    @SuppressWarnings("unchecked")
+    private OngoingStubbing<ResponseEntity<Map<String, Object>>> whenBatchSent() {
+        return when(restTemplate.exchange(eq(ELO_BATCH_URL), eq(HttpMethod.PUT), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> captureSentUpdates() {
+        ArgumentCaptor<HttpEntity<Map<String, Object>>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(eq(ELO_BATCH_URL), eq(HttpMethod.PUT), request.capture(),
+                any(ParameterizedTypeReference.class));
+        return (List<Map<String, Object>>) request.getValue().getBody().get("data");
+    }
+
+    /**
+     * Tests that a claimed batch is sent in a single request and marked as
+     * sent.
+     */
+    @Test
+    public void testDispatchPending_SendsClaimedEntries() {
+        when(eloOutboxRepository.claimDue(2, Duration.ofMillis(60000)))
+                .thenReturn(List.of(createEntry(1, "Player1", 1500, 0)));
+        whenBatchSent().thenReturn(createResponse(Map.of()));
+
+        dispatcher.dispatchPending();
+
+        assertEquals(List.of(Map.of("uuid", "Player1", "elo", 1500, "idempotencyKey", "Tournament123:Player1")),
+                captureSentUpdates());
+        verify(eloOutboxRepository).markSent(List.of(1L));
+    }
+
+    /**
+     * Tests that full batches are dispatched until no due entries are left.
+     */
+    @Test
+    public void testDispatchPending_DrainsFullBatches() {
+        when(eloOutboxRepository.claimDue(2, Duration.ofMillis(60000)))
+                .thenReturn(List.of(createEntry(1, "Player1", 1500, 0), createEntry(2, "Player2", 1400, 0)))
+                .thenReturn(Collections.emptyList());
+        whenBatchSent().thenReturn(createResponse(Map.of()));
+
+        dispatcher.dispatchPending();
+
+        verify(eloOutboxRepository, times(2)).claimDue(2, Duration.ofMillis(60000));
+        verify(eloOutboxRepository).markSent(List.of(1L, 2L));
+    }
+
+    /**
+     * Tests that only a player's latest Elo is sent when the batch holds
+     * several of their entries.
+     */
+    @Test
+    public void testDispatch_SendsLatestEloPerPlayer() {
+        whenBatchSent().thenReturn(createResponse(Map.of()));
+
+        dispatcher.dispatch(List.of(createEntry(1, "Player1", 1500, 0), createEntry(2, "Player1", 1520, 0)));
+
+        assertEquals(List.of(Map.of("uuid", "Player1", "elo", 1520, "idempotencyKey", "Tournament123:Player1")),
+                captureSentUpdates());
+        verify(eloOutboxRepository).markSent(List.of(1L, 2L));
+    }
+
+    /**
+     * Tests that items rejected by the User microservice are given up on
+     * while the rest of the batch is marked as sent.
+     */
+    @Test
+    public void testDispatch_MarksRejectedEntriesFailed() {
+        EloOutboxEntry rejected = createEntry(1, "Player1", 1500, 0);
+        whenBatchSent().thenReturn(createResponse(Map.of("Player1", "User not found")));
+
+        dispatcher.dispatch(List.of(rejected, createEntry(2, "Player2", 1400, 0)));
+
+        assertEquals(1, rejected.getAttempts());
+        verify(eloOutboxRepository).markFailed(rejected, "User not found");
+        verify(eloOutboxRepository).markSent(List.of(2L));
+        verify(eloOutboxRepository, never()).scheduleRetry(any(), anyLong(), anyString());
+    }
+
+    /**
+     * Tests that the whole batch is retried with backoff when the request
+     * fails.
+     */
+    @Test
+    public void testDispatch_SchedulesRetryOnFailure() {
+        EloOutboxEntry first = createEntry(1, "Player1", 1500, 0);
+        EloOutboxEntry second = createEntry(2, "Player2", 1400, 0);
+        whenBatchSent().thenThrow(new ResourceAccessException("Connection refused"));
+
+        dispatcher.dispatch(List.of(first, second));
+
+        assertEquals(1, first.getAttempts());
+        verify(eloOutboxRepository).scheduleRetry(eq(first), anyLong(), eq("Connection refused"));
+        verify(eloOutboxRepository).scheduleRetry(eq(second), anyLong(), eq("Connection refused"));
+        verify(eloOutboxRepository, never()).markSent(any());
+        verify(eloOutboxRepository, never()).markFailed(any(), anyString());
+    }
+
+    /**
+     * Tests that an entry is given up on after its last attempt fails.
+     */
+    @Test
+    public void testDispatch_MarksFailedAfterMaxAttempts() {
+        EloOutboxEntry failing = createEntry(1, "Player1", 1500, 2);
+        whenBatchSent().thenThrow(new ResourceAccessException("Connection refused"));
+
+        dispatcher.dispatch(List.of(failing));
+
+        verify(eloOutboxRepository).markFailed(failing, "Connection refused");
+        verify(eloOutboxRepository, never()).scheduleRetry(any(), anyLong(), anyString());
+    }
+
+    /**
+     * Tests that the retry delay doubles with each attempt up to the maximum.
+     */
+    @Test
+    public void testBackoffMillis() {
+        assertEquals(1000, dispatcher.backoffMillis(1));
+        assertEquals(2000, dispatcher.backoffMillis(2));
+        assertEquals(4000, dispatcher.backoffMillis(3));
+        assertEquals(5000, dispatcher.backoffMillis(4));
+        assertEquals(5000, dispatcher.backoffMillis(40));
+    }
+}
@@ -1,8 +1,14 @@
 package matchmaking.service;
 
+import matchmaking.util.PlayedPairIndex;
 import matchmaking.util.TournamentInfoUtil;
-import matchmaking.util.MatchupUtil;
+import matchmaking.cache.TournamentState;
+import matchmaking.cache.TournamentStateCache;
 import matchmaking.manager.MatchupManager;
+import matchmaking.enums.PairingStrategy;
+import matchmaking.exception.InvalidRoundException;
+import matchmaking.dto.PlayerWins;
+import matchmaking.dto.TournamentSnapshot;
 import matchmaking.model.*;
 
 import static org.mockito.Mockito.*;
@@ -13,8 +19,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.*;
 
 /**
@@ -39,6 +47,9 @@ public class MatchingServiceTest {
         @Mock
         private MatchupManager matchupManager;
 
+        @Spy
+        private TournamentStateCache stateCache = new TournamentStateCache(16, Duration.ofMinutes(30));
+
         private String tournamentId = "testTournamentId";
         private int roundNum = 1;
 
@@ -105,16 +116,19 @@ public class MatchingServiceTest {
         @Test
         public void testGenerateUniqueMatchups_Success() {
                 // Arrange
-                when(tournamentInfoUtil.getCurrentRoundByTournamentId(tournamentId)).thenReturn(roundNum);
-                when(tournamentInfoUtil.getSignupsByTournamentId(tournamentId)).thenReturn(signups);
-                when(tournamentInfoUtil.getMatchupsByTournamentId(tournamentId)).thenReturn(previousMatchups);
+                when(tournamentInfoUtil.getTournamentSnapshot(tournamentId, 1))
+                                .thenReturn(createSnapshot(roundNum, 1, previousMatchups));
 
                 // Mocking matchup manager behavior
                 List<Matchups> newMatchups = new ArrayList<>();
-                Matchups newMatchup = new Matchups(); // Add relevant properties
+                Matchups newMatchup = new Matchups() // Add relevant properties
+                                .setId(new MatchupsId()
+                                                .setPlayer1("player1")
+                                                .setPlayer2("player2")
+                                                .setTournamentId(tournamentId));
                 newMatchups.add(newMatchup);
-                when(matchupManager.createUniqueMatchups(signups, tournamentId, roundNum,
-                                MatchupUtil.getPlayedPairs(previousMatchups)))
+                when(matchupManager.createUniqueMatchups(eq(signups), eq(tournamentId), eq(roundNum),
+                                any(PlayedPairIndex.class), isNull(), eq(PairingStrategy.BLOSSOM)))
                                 .thenReturn(newMatchups);
 
                 // Act
@@ -124,11 +138,9 @@ public class MatchingServiceTest {
                 assertNotNull(result);
                 assertEquals(1, result.size());
                 assertEquals(newMatchup, result.get(0));
-                verify(tournamentInfoUtil).getCurrentRoundByTournamentId(tournamentId);
-                verify(tournamentInfoUtil).getSignupsByTournamentId(tournamentId);
-                verify(tournamentInfoUtil).getMatchupsByTournamentId(tournamentId);
-                verify(matchupManager).createUniqueMatchups(signups, tournamentId, roundNum,
-                                MatchupUtil.getPlayedPairs(previousMatchups));
+                verify(tournamentInfoUtil).getTournamentSnapshot(tournamentId, 1);
+                verify(matchupManager).createUniqueMatchups(eq(signups), eq(tournamentId), eq(roundNum),
+                                any(PlayedPairIndex.class), isNull(), eq(PairingStrategy.BLOSSOM));
         }
 
         /**
@@ -156,16 +168,19 @@ public class MatchingServiceTest {
                                 .setElo(1700); // Odd player
                 signups.addAll(Arrays.asList(player1, player2, player3));
 
-                when(tournamentInfoUtil.getCurrentRoundByTournamentId(tournamentId)).thenReturn(roundNum);
-                when(tournamentInfoUtil.getSignupsByTournamentId(tournamentId)).thenReturn(signups);
-                when(tournamentInfoUtil.getMatchupsByTournamentId(tournamentId)).thenReturn(previousMatchups);
+                when(tournamentInfoUtil.getTournamentSnapshot(tournamentId, 1))
+                                .thenReturn(createSnapshot(roundNum, 1, previousMatchups));
 
                 // Mocking matchup manager behavior
                 List<Matchups> newMatchups = new ArrayList<>();
-                Matchups byeMatchup = new Matchups(); // Assume this represents the bye assignment
+                Matchups byeMatchup = new Matchups() // Assume this represents the bye assignment
+                                .setId(new MatchupsId()
+                                                .setPlayer1("player1")
+                                                .setPlayer2("null")
+                                                .setTournamentId(tournamentId));
                 newMatchups.add(byeMatchup);
-                when(matchupManager.createUniqueMatchups(signups, tournamentId, roundNum,
-                                MatchupUtil.getPlayedPairs(previousMatchups)))
+                when(matchupManager.createUniqueMatchups(eq(signups), eq(tournamentId), eq(roundNum),
+                                any(PlayedPairIndex.class), isNull(), eq(PairingStrategy.BLOSSOM)))
                                 .thenReturn(newMatchups);
 
                 // Act
@@ -175,11 +190,9 @@ public class MatchingServiceTest {
                 assertNotNull(result);
                 assertEquals(1, result.size()); // One matchup including the bye
                 assertEquals(byeMatchup, result.get(0));
-                verify(tournamentInfoUtil).getCurrentRoundByTournamentId(tournamentId);
-                verify(tournamentInfoUtil).getSignupsByTournamentId(tournamentId);
-                verify(tournamentInfoUtil).getMatchupsByTournamentId(tournamentId);
-                verify(matchupManager).createUniqueMatchups(signups, tournamentId, roundNum,
-                                MatchupUtil.getPlayedPairs(previousMatchups));
+                verify(tournamentInfoUtil).getTournamentSnapshot(tournamentId, 1);
+                verify(matchupManager).createUniqueMatchups(eq(signups), eq(tournamentId), eq(roundNum),
+                                any(PlayedPairIndex.class), isNull(), eq(PairingStrategy.BLOSSOM));
         }
 
         /**
@@ -218,16 +231,19 @@ public class MatchingServiceTest {
                                 .setElo(1600);
                 signups.addAll(Arrays.asList(player1, duplicatePlayer1));
 
-                when(tournamentInfoUtil.getCurrentRoundByTournamentId(tournamentId)).thenReturn(roundNum);
-                when(tournamentInfoUtil.getSignupsByTournamentId(tournamentId)).thenReturn(signups);
-                when(tournamentInfoUtil.getMatchupsByTournamentId(tournamentId)).thenReturn(previousMatchups);
+                when(tournamentInfoUtil.getTournamentSnapshot(tournamentId, 1))
+                                .thenReturn(createSnapshot(roundNum, 1, previousMatchups));
 
                 // Mocking matchup manager behavior
                 List<Matchups> newMatchups = new ArrayList<>();
-                Matchups matchup = new Matchups(); // Assume this represents a valid matchup
+                Matchups matchup = new Matchups() // Assume this represents a valid matchup
+                                .setId(new MatchupsId()
+                                                .setPlayer1("player1")
+                                                .setPlayer2("player2")
+                                                .setTournamentId(tournamentId));
                 newMatchups.add(matchup);
-                when(matchupManager.createUniqueMatchups(signups, tournamentId, roundNum,
-                                MatchupUtil.getPlayedPairs(previousMatchups)))
+                when(matchupManager.createUniqueMatchups(eq(signups), eq(tournamentId), eq(roundNum),
+                                any(PlayedPairIndex.class), isNull(), eq(PairingStrategy.BLOSSOM)))
                                 .thenReturn(newMatchups);
 
                 // Act
@@ -237,11 +253,9 @@ public class MatchingServiceTest {
                 assertNotNull(result);
                 assertEquals(1, result.size()); // One matchup should still be returned
                 assertEquals(matchup, result.get(0));
-                verify(tournamentInfoUtil).getCurrentRoundByTournamentId(tournamentId);
-                verify(tournamentInfoUtil).getSignupsByTournamentId(tournamentId);
-                verify(tournamentInfoUtil).getMatchupsByTournamentId(tournamentId);
-                verify(matchupManager).createUniqueMatchups(signups, tournamentId, roundNum,
-                                MatchupUtil.getPlayedPairs(previousMatchups));
+                verify(tournamentInfoUtil).getTournamentSnapshot(tournamentId, 1);
+                verify(matchupManager).createUniqueMatchups(eq(signups), eq(tournamentId), eq(roundNum),
+                                any(PlayedPairIndex.class), isNull(), eq(PairingStrategy.BLOSSOM));
         }
 
         /**
@@ -252,10 +266,8 @@ public class MatchingServiceTest {
         @Test
         public void testGenerateUniqueMatchups_AllPlayersMatched() {
                 // Arrange
-                when(tournamentInfoUtil.getCurrentRoundByTournamentId(tournamentId)).thenReturn(roundNum);
-                when(tournamentInfoUtil.getSignupsByTournamentId(tournamentId)).thenReturn(signups);
-                when(tournamentInfoUtil.getMatchupsByTournamentId(tournamentId)).thenReturn(previousMatchups); // All
-                                                                                                               // matched
+                when(tournamentInfoUtil.getTournamentSnapshot(tournamentId, 1))
+                                .thenReturn(createSnapshot(roundNum, 1, previousMatchups));
 
                 // Act
                 List<Matchups> result = matchingService.generateUniqueMatchups(tournamentId);
@@ -263,9 +275,7 @@ public class MatchingServiceTest {
                 // Assert
                 assertNotNull(result);
                 assertTrue(result.isEmpty(), "Expected an empty list of matchups.");
-                verify(tournamentInfoUtil).getCurrentRoundByTournamentId(tournamentId);
-                verify(tournamentInfoUtil).getSignupsByTournamentId(tournamentId);
-                verify(tournamentInfoUtil).getMatchupsByTournamentId(tournamentId);
+                verify(tournamentInfoUtil).getTournamentSnapshot(tournamentId, 1);
         }
 
         /**
@@ -276,14 +286,138 @@ public class MatchingServiceTest {
         @Test
         public void testGenerateUniqueMatchups_InvalidRoundNumber() {
                 // Arrange
-                when(tournamentInfoUtil.getCurrentRoundByTournamentId(tournamentId)).thenReturn(-1); // Invalid round
-                                                                                                     // number
-                when(tournamentInfoUtil.getSignupsByTournamentId(tournamentId)).thenReturn(signups);
-                when(tournamentInfoUtil.getMatchupsByTournamentId(tournamentId)).thenReturn(previousMatchups);
+                when(tournamentInfoUtil.getTournamentSnapshot(tournamentId, 1))
+                                .thenReturn(createSnapshot(-1, 1, previousMatchups));
 
                 // Act & Assert
                 assertThrows(IllegalArgumentException.class, () -> {
                         matchingService.generateUniqueMatchups(tournamentId);
                 });
         }
+
+        /**
+         * Tests that later rounds of a tournament reuse the cached state and only
+         * load the matchups played since the cached round.
+         */
+        @Test
+        public void testGenerateUniqueMatchups_UsesCachedStateForNextRound() {
+                // Arrange: round 1 loads and caches the tournament state
+                Matchups roundOneMatchup = new Matchups()
+                                .setId(new MatchupsId()
+                                                .setPlayer1("player1")
+                                                .setPlayer2("player2")
+                                                .setTournamentId(tournamentId))
+                                .setRoundNum(1);
+                Matchups roundOneResult = new Matchups()
+                                .setId(roundOneMatchup.getId())
+                                .setPlayerWon("player1")
+                                .setRoundNum(1);
+                Matchups roundTwoMatchup = new Matchups()
+                                .setId(new MatchupsId()
+                                                .setPlayer1("player1")
+                                                .setPlayer2("player3")
+                                                .setTournamentId(tournamentId))
+                                .setRoundNum(2);
+                Matchups roundTwoResult = new Matchups()
+                                .setId(roundTwoMatchup.getId())
+                                .setPlayerWon("player1")
+                                .setRoundNum(2);
+                when(tournamentInfoUtil.getTournamentSnapshot(tournamentId, 1)).thenReturn(
+                                createSnapshot(1, 1, new ArrayList<>()),
+                                createSnapshot(2, 1, List.of(roundOneResult)));
+                when(tournamentInfoUtil.getTournamentSnapshot(tournamentId, 2)).thenReturn(
+                                createSnapshot(3, 2, List.of(roundTwoResult),
+                                                new PlayerWins().setUuid("player1").setWins(2).setDraws(0)));
+
+                when(matchupManager.createUniqueMatchups(eq(signups), eq(tournamentId), eq(1),
+                                any(PlayedPairIndex.class), isNull(), eq(PairingStrategy.BLOSSOM)))
+                                .thenReturn(List.of(roundOneMatchup));
+                when(matchupManager.createUniqueMatchups(eq(signups), eq(tournamentId), eq(2),
+                                any(PlayedPairIndex.class), anyMap(), eq(PairingStrategy.BLOSSOM)))
+                                .thenReturn(List.of(roundTwoMatchup));
+                when(matchupManager.createUniqueMatchups(eq(signups), eq(tournamentId), eq(3),
+                                any(PlayedPairIndex.class), anyMap(), eq(PairingStrategy.BLOSSOM)))
+                                .thenAnswer(invocation -> {
+                                        PlayedPairIndex playedPairs = invocation.getArgument(3);
+                                        assertTrue(playedPairs.hasPlayed(playedPairs.indexOf("player1"),
+                                                        playedPairs.indexOf("player2")));
+                                        assertTrue(playedPairs.hasPlayed(playedPairs.indexOf("player1"),
+                                                        playedPairs.indexOf("player3")));
+                                        Map<String, Double> standings = invocation.getArgument(4);
+                                        assertEquals(2.0, standings.get("player1"));
+                                        return new ArrayList<>();
+                                });
+
+                // Act
+                matchingService.generateUniqueMatchups(tournamentId);
+                matchingService.generateUniqueMatchups(tournamentId);
+                matchingService.generateUniqueMatchups(tournamentId);
+
+                // Assert
+                verify(tournamentInfoUtil, times(2)).getTournamentSnapshot(tournamentId, 1);
+                verify(tournamentInfoUtil).getTournamentSnapshot(tournamentId, 2);
+                verify(tournamentInfoUtil, never()).getTournamentSnapshot(tournamentId);
+                assertEquals(3, stateCache.get(tournamentId).getCurrentRound());
+        }
+
+        /**
+         * Tests that the full match history is reloaded when the signups have
+         * changed since the tournament state was cached.
+         */
+        @Test
+        public void testGenerateUniqueMatchups_ReloadsStaleState() {
+                // Arrange
+                stateCache.put(TournamentState.of(tournamentId, signups.subList(0, 2), new ArrayList<>(), 2));
+                when(tournamentInfoUtil.getTournamentSnapshot(tournamentId, 2)).thenReturn(
+                                createSnapshot(3, 2, new ArrayList<>()));
+                when(tournamentInfoUtil.getTournamentSnapshot(tournamentId)).thenReturn(
+                                createSnapshot(3, 1, previousMatchups));
+                when(matchupManager.createUniqueMatchups(eq(signups), eq(tournamentId), eq(3),
+                                any(PlayedPairIndex.class), anyMap(), eq(PairingStrategy.BLOSSOM)))
+                                .thenAnswer(invocation -> {
+                                        PlayedPairIndex playedPairs = invocation.getArgument(3);
+                                        assertTrue(playedPairs.hasPlayed(playedPairs.indexOf("player1"),
+                                                        playedPairs.indexOf("player2")));
+                                        return new ArrayList<>();
+                                });
+
+                // Act
+                matchingService.generateUniqueMatchups(tournamentId);
+
+                // Assert
+                verify(tournamentInfoUtil).getTournamentSnapshot(tournamentId, 2);
+                verify(tournamentInfoUtil).getTournamentSnapshot(tournamentId);
+                assertEquals(4, stateCache.get(tournamentId).getSignups().size());
+        }
+
+        /**
+         * Tests that the cached state of a tournament is evicted when generating a
+         * round fails.
+         */
+        @Test
+        public void testGenerateUniqueMatchups_EvictsStateOnFailure() {
+                // Arrange
+                when(tournamentInfoUtil.getTournamentSnapshot(tournamentId, 1))
+                                .thenReturn(createSnapshot(roundNum, 1, previousMatchups));
+                when(matchupManager.createUniqueMatchups(eq(signups), eq(tournamentId), eq(roundNum),
+                                any(PlayedPairIndex.class), isNull(), eq(PairingStrategy.BLOSSOM)))
+                                .thenThrow(new InvalidRoundException("Failed to match up all players uniquely"));
+
+                // Act & Assert
+                assertThrows(InvalidRoundException.class, () -> {
+                        matchingService.generateUniqueMatchups(tournamentId);
+                });
+                assertNull(stateCache.get(tournamentId));
+        }
+
+        private TournamentSnapshot createSnapshot(int currentRound, int fromRound, List<Matchups> matchups,
+                        PlayerWins... playerWins) {
+                return new TournamentSnapshot()
+                                .setTournamentId(tournamentId)
+                                .setCurrentRound(currentRound)
+                                .setFromRound(fromRound)
+                                .setSignups(signups)
+                                .setMatchups(matchups)
+                                .setPlayerWins(Arrays.asList(playerWins));
+        }
 }
@@ -0,0 +1,167 @@
+package matchmaking.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the {@link MaxWeightMatching} class, which computes
+ * maximum-weight matchings in general graphs using the blossom algorithm.
+ */
+public class MaxWeightMatchingTest {
+
+    /**
+     * Runs the matcher on an edge list given as {@code {from, to, weight}} rows.
+     */
+    private int[] match(int vertexCount, long[][] edges, boolean maxCardinality) {
+        int[] from = new int[edges.length];
+        int[] to = new int[edges.length];
+        long[] weight = new long[edges.length];
+        for (int k = 0; k < edges.length; k++) {
+            from[k] = (int) edges[k][0];
+            to[k] = (int) edges[k][1];
+            weight[k] = edges[k][2];
+        }
+        return MaxWeightMatching.maxWeightMatching(vertexCount, from, to, weight, maxCardinality);
+    }
+
+    /**
+     * Tests that an empty graph leaves every vertex unmatched.
+     */
+    @Test
+    public void testEmptyGraph() {
+        assertArrayEquals(new int[] { -1, -1 }, match(2, new long[0][], false));
+    }
+
+    /**
+     * Tests that a single edge is matched.
+     */
+    @Test
+    public void testSingleEdge() {
+        assertArrayEquals(new int[] { 1, 0 }, match(2, new long[][] { { 0, 1, 1 } }, false));
+    }
+
+    /**
+     * Tests that the heavier of two adjacent edges is chosen.
+     */
+    @Test
+    public void testPrefersHeavierEdge() {
+        long[][] edges = { { 0, 1, 10 }, { 1, 2, 11 } };
+        assertArrayEquals(new int[] { -1, 2, 1 }, match(3, edges, false));
+    }
+
+    /**
+     * Tests that max-cardinality mode prefers more edges over a heavier single
+     * edge.
+     */
+    @Test
+    public void testMaxCardinality() {
+        long[][] edges = { { 0, 1, 2 }, { 0, 2, -2 }, { 1, 2, 1 }, { 1, 3, -1 }, { 2, 3, -6 } };
+        assertArrayEquals(new int[] { 1, 0, -1, -1 }, match(4, edges, false));
+        assertArrayEquals(new int[] { 2, 3, 0, 1 }, match(4, edges, true));
+    }
+
+    /**
+     * Tests creation and augmentation through an S-blossom.
+     */
+    @Test
+    public void testBlossomAugmentation() {
+        long[][] edges = { { 1, 2, 8 }, { 1, 3, 9 }, { 2, 3, 10 }, { 3, 4, 7 } };
+        assertArrayEquals(new int[] { -1, 2, 1, 4, 3 }, match(5, edges, false));
+
+        long[][] withExtra = { { 1, 2, 8 }, { 1, 3, 9 }, { 2, 3, 10 }, { 3, 4, 7 }, { 1, 6, 5 }, { 4, 5, 6 } };
+        assertArrayEquals(new int[] { -1, 6, 3, 2, 5, 4, 1 }, match(7, withExtra, false));
+    }
+
+    /**
+     * Tests expansion of a T-blossom during a stage.
+     */
+    @Test
+    public void testNestedBlossomExpansion() {
+        long[][] edges = { { 1, 2, 19 }, { 1, 3, 20 }, { 1, 8, 8 }, { 2, 3, 25 }, { 2, 4, 18 }, { 3, 5, 18 },
+                { 4, 5, 13 }, { 4, 7, 7 }, { 5, 6, 7 } };
+        assertArrayEquals(new int[] { -1, 8, 3, 2, 7, 6, 5, 4, 1 }, match(9, edges, false));
+    }
+
+    /**
+     * Tests that the matcher agrees with an exhaustive search on random graphs.
+     */
+    @Test
+    public void testMatchesBruteForceOnRandomGraphs() {
+        Random random = new Random(203);
+        for (int trial = 0; trial < 300; trial++) {
+            int n = 2 + random.nextInt(9);
+            int maxEdges = n * (n - 1) / 2;
+            int edgeCount = random.nextInt(maxEdges + 1);
+            long[][] edges = new long[edgeCount][];
+            boolean[][] used = new boolean[n][n];
+            int k = 0;
+            while (k < edgeCount) {
+                int i = random.nextInt(n);
+                int j = random.nextInt(n);
+                if (i == j || used[i][j]) {
+                    continue;
+                }
+                used[i][j] = used[j][i] = true;
+                edges[k++] = new long[] { i, j, random.nextInt(20) + 1 };
+            }
+
+            for (boolean maxCardinality : new boolean[] { false, true }) {
+                int[] mate = match(n, edges, maxCardinality);
+                long[] expected = bruteForce(n, edges, 0, new boolean[n], maxCardinality);
+                assertEquals(expected[0], cardinality(mate, maxCardinality), "cardinality for trial " + trial);
+                assertEquals(expected[1], weight(mate, edges), "weight for trial " + trial);
+            }
+        }
+    }
+
+    /**
+     * Returns the best {@code {cardinality, weight}} reachable from edge index
+     * {@code k}; cardinality is only tracked in max-cardinality mode.
+     */
+    private long[] bruteForce(int n, long[][] edges, int k, boolean[] taken, boolean maxCardinality) {
+        if (k == edges.length) {
+            return new long[] { 0, 0 };
+        }
+        long[] best = bruteForce(n, edges, k + 1, taken, maxCardinality);
+        int i = (int) edges[k][0];
+        int j = (int) edges[k][1];
+        if (!taken[i] && !taken[j]) {
+            taken[i] = taken[j] = true;
+            long[] with = bruteForce(n, edges, k + 1, taken, maxCardinality);
+            taken[i] = taken[j] = false;
+            long cardinality = with[0] + (maxCardinality ? 1 : 0);
+            long weight = with[1] + edges[k][2];
+            if (cardinality > best[0] || (cardinality == best[0] && weight > best[1])) {
+                best = new long[] { cardinality, weight };
+            }
+        }
+        return best;
+    }
+
+    private long cardinality(int[] mate, boolean maxCardinality) {
+        if (!maxCardinality) {
+            return 0;
+        }
+        long count = 0;
+        for (int v = 0; v < mate.length; v++) {
+            if (mate[v] > v) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long weight(int[] mate, long[][] edges) {
+        long total = 0;
+        for (long[] edge : edges) {
+            if (mate[(int) edge[0]] == edge[1]) {
+                assertEquals(edge[0], mate[(int) edge[1]]);
+                total += edge[2];
+            }
+        }
+        return total;
+    }
+}
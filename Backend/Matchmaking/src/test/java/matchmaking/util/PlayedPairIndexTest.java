@@ -0,0 +1,166 @@
+package matchmaking.util;
+
+import matchmaking.model.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link PlayedPairIndex} class, which indexes previously
+ * played pairs by dense player indices.
+ */
+public class PlayedPairIndexTest {
+
+    private String tournamentId;
+    private List<Signups> players;
+    private List<Matchups> previousMatchups;
+
+    /**
+     * Sets up four players and an empty match history before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        tournamentId = "Tournament123";
+        players = createPlayers(4);
+        previousMatchups = new ArrayList<>();
+    }
+
+    private List<Signups> createPlayers(int count) {
+        List<Signups> signups = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            signups.add(new Signups()
+                    .setId(new PlayerTournamentId()
+                            .setUuid("Player" + i)
+                            .setTournamentId(tournamentId))
+                    .setElo(1500));
+        }
+        return signups;
+    }
+
+    private Matchups createMatchup(String player1, String player2) {
+        return new Matchups()
+                .setId(new MatchupsId()
+                        .setPlayer1(player1)
+                        .setPlayer2(player2)
+                        .setTournamentId(tournamentId))
+                .setRoundNum(1);
+    }
+
+    /**
+     * Tests that players are indexed by their position and the bye follows the
+     * last player.
+     */
+    @Test
+    public void testIndexOf() {
+        PlayedPairIndex index = PlayedPairIndex.of(players, previousMatchups);
+
+        assertEquals(0, index.indexOf("Player1"));
+        assertEquals(3, index.indexOf("Player4"));
+        assertEquals(4, index.byeIndex());
+        assertEquals(4, index.indexOf("null"));
+        assertEquals(-1, index.indexOf("Unknown"));
+    }
+
+    /**
+     * Tests that played pairs are found in either order and unplayed pairs are
+     * not.
+     */
+    @Test
+    public void testHasPlayed() {
+        previousMatchups.add(createMatchup("Player1", "Player2"));
+        previousMatchups.add(createMatchup("Player3", "null"));
+
+        PlayedPairIndex index = PlayedPairIndex.of(players, previousMatchups);
+
+        assertTrue(index.hasPlayed(0, 1));
+        assertTrue(index.hasPlayed(1, 0));
+        assertTrue(index.hasPlayed(2, index.byeIndex()));
+        assertFalse(index.hasPlayed(0, 2));
+        assertFalse(index.hasPlayed(3, index.byeIndex()));
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * Tests that matchups involving players outside the round are ignored.
+     */
+    @Test
+    public void testIgnoresUnknownPlayers() {
+        previousMatchups.add(createMatchup("Player1", "Withdrawn"));
+
+        PlayedPairIndex index = PlayedPairIndex.of(players, previousMatchups);
+
+        assertEquals(0, index.size());
+    }
+
+    /**
+     * Tests that adding the same pair twice, in either order, is counted once.
+     */
+    @Test
+    public void testAddDuplicatePair() {
+        PlayedPairIndex index = PlayedPairIndex.of(players, previousMatchups);
+
+        index.add(0, 3);
+        index.add(3, 0);
+
+        assertTrue(index.hasPlayed(0, 3));
+        assertEquals(1, index.size());
+    }
+
+    /**
+     * Tests that every pair is still found after the table grows.
+     */
+    @Test
+    public void testGrowsWithManyPairs() {
+        players = createPlayers(200);
+        PlayedPairIndex index = PlayedPairIndex.of(players, previousMatchups);
+
+        for (int i = 0; i < 200; i++) {
+            for (int j = i + 1; j < 200; j += 3) {
+                index.add(i, j);
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            for (int j = i + 1; j < 200; j++) {
+                assertEquals((j - i - 1) % 3 == 0, index.hasPlayed(j, i));
+            }
+        }
+    }
+
+    /**
+     * Tests that a reordered view shares pairs with the original index.
+     */
+    @Test
+    public void testInOrderOf() {
+        previousMatchups.add(createMatchup("Player1", "Player4"));
+        PlayedPairIndex index = PlayedPairIndex.of(players, previousMatchups);
+
+        List<Signups> reversed = new ArrayList<>(players);
+        Collections.reverse(reversed);
+        PlayedPairIndex view = index.inOrderOf(reversed);
+
+        assertEquals(3, view.indexOf("Player1"));
+        assertTrue(view.hasPlayed(0, 3));
+        assertFalse(view.hasPlayed(0, 1));
+
+        view.add(0, 1);
+        assertTrue(index.hasPlayed(3, 2));
+        assertEquals(4, view.byeIndex());
+    }
+
+    /**
+     * Tests that a view cannot include players missing from the index.
+     */
+    @Test
+    public void testInOrderOfUnknownPlayer() {
+        PlayedPairIndex index = PlayedPairIndex.of(players, previousMatchups);
+
+        assertThrows(IllegalArgumentException.class, () -> index.inOrderOf(createPlayers(5)));
+    }
+}
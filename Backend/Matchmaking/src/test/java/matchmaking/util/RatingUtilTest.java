@@ -209,4 +209,76 @@ public class RatingUtilTest {
                 assertEquals(2, playerResults.get(0).getRank()); // Player1 should be rank 2
                 assertEquals(1, playerResults.get(1).getRank()); // Player2 should be rank 1
         }
+
+        /**
+         * Tests that byes are rated against a null player with an Elo of 0, and
+         * that the null player does not carry rating changes between matchups.
+         *
+         * @throws ResultsNotFoundException if player results cannot be found
+         */
+        @Test
+        public void testUpdateRatings_ByesRatedAgainstZeroElo() throws ResultsNotFoundException {
+                // Setup mock matchups: both players receive a bye
+                matchups.add(new Matchups()
+                                .setPlayerWon("Player1")
+                                .setId(new MatchupsId()
+                                                .setPlayer1("Player1")
+                                                .setPlayer2("null")));
+                matchups.add(new Matchups()
+                                .setPlayerWon("Player2")
+                                .setId(new MatchupsId()
+                                                .setPlayer1("Player2")
+                                                .setPlayer2("null")));
+
+                // Setup mock results
+                setupMockResults(new String[] { "Player1", "Player2" }, new int[] { 100, 100 }, new int[] { 0, 0 },
+                                new Integer[] { 1, 1 }, new Integer[] { 0, 0 });
+
+                // Execute the method under test
+                RatingUtil.updateRatings(matchups, playerWins, playerResults);
+
+                // Verify both byes are rated identically
+                assertEquals(114, playerResults.get(0).getElo());
+                assertEquals(114, playerResults.get(1).getElo());
+                assertEquals(0, playerResults.get(0).getBuchholz());
+                assertEquals(0, playerResults.get(1).getBuchholz());
+        }
+
+        /**
+         * Tests that players with equal points and Buchholz scores keep the order
+         * of the player wins when ranked.
+         *
+         * @throws ResultsNotFoundException if player results cannot be found
+         */
+        @Test
+        public void testCalculateRanks_TiesKeepOrder() throws ResultsNotFoundException {
+                // Setup mock results
+                setupMockResults(new String[] { "Player1", "Player2", "Player3", "Player4" },
+                                new int[] { 1500, 1500, 1500, 1500 }, new int[] { 100, 200, 100, 100 },
+                                new Integer[] { 2, 2, 2, 3 }, new Integer[] { 0, 0, 0, 0 });
+
+                // Execute the method under test
+                RatingUtil.updateRatings(matchups, playerWins, playerResults);
+
+                // Verify ranks
+                assertEquals(3, playerResults.get(0).getRank());
+                assertEquals(2, playerResults.get(1).getRank());
+                assertEquals(4, playerResults.get(2).getRank());
+                assertEquals(1, playerResults.get(3).getRank());
+        }
+
+        /**
+         * Tests that the expected score lookup matches the Elo formula, and clamps
+         * large rating differences.
+         */
+        @Test
+        public void testExpectedScore() {
+                int[][] ratings = { { 1500, 1500 }, { 1600, 1500 }, { 1500, 1600 }, { 0, 2400 }, { 2400, 0 } };
+                for (int[] rating : ratings) {
+                        double expected = 1.0 / (1 + Math.pow(10, (rating[1] - rating[0]) / 400.0));
+                        assertEquals(expected, RatingUtil.expectedScore(rating[0], rating[1]));
+                }
+                assertEquals(RatingUtil.expectedScore(0, 4000), RatingUtil.expectedScore(0, 100000));
+                assertEquals(RatingUtil.expectedScore(4000, 0), RatingUtil.expectedScore(100000, 0));
+        }
 }
@@ -0,0 +1,194 @@
+package matchmaking.util;
+
+import matchmaking.model.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.util.Pair;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unit tests for the {@link SwissPairingUtil} class, which generates optimal
+ * Swiss pairings with maximum-weight matching.
+ */
+public class SwissPairingUtilTest {
+
+    private String tournamentId;
+    private Signups byePlayer;
+
+    /**
+     * Sets up the tournament ID and bye placeholder before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        tournamentId = "Tournament123";
+        byePlayer = new Signups()
+                .setId(new PlayerTournamentId()
+                        .setUuid("null")
+                        .setTournamentId(null))
+                .setElo(-1);
+    }
+
+    /**
+     * Creates {@code count} players named Player1..PlayerN with descending Elo.
+     */
+    private List<Signups> createPlayers(int count) {
+        List<Signups> players = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            players.add(new Signups()
+                    .setId(new PlayerTournamentId()
+                            .setUuid("Player" + i)
+                            .setTournamentId(tournamentId))
+                    .setElo(2000 - i));
+        }
+        return players;
+    }
+
+    /**
+     * Creates a completed matchup between the two given players.
+     */
+    private Matchups createMatchup(String player1, String player2) {
+        return new Matchups()
+                .setId(new MatchupsId()
+                        .setPlayer1(player1)
+                        .setPlayer2(player2)
+                        .setTournamentId(tournamentId))
+                .setPlayerWon(player1)
+                .setRoundNum(1);
+    }
+
+    /**
+     * Asserts that every player appears in exactly one pair.
+     */
+    private void assertCompletePairing(List<Signups> players, List<Pair<Signups, Signups>> pairs) {
+        assertEquals((players.size() + 1) / 2, pairs.size());
+        Set<String> seen = new HashSet<>();
+        for (Pair<Signups, Signups> pair : pairs) {
+            assertTrue(seen.add(pair.getFirst().getId().getUuid()));
+            if (pair.getSecond() != byePlayer) {
+                assertTrue(seen.add(pair.getSecond().getId().getUuid()));
+            }
+        }
+        assertEquals(players.size(), seen.size());
+    }
+
+    /**
+     * Tests that adjacent players in the standings are paired in round 1.
+     */
+    @Test
+    public void testGenerateOptimalPairs_PairsNeighbours() {
+        List<Signups> players = createPlayers(4);
+
+        List<Pair<Signups, Signups>> pairs = SwissPairingUtil.generateOptimalPairs(players, null,
+                PlayedPairIndex.of(players, new ArrayList<>()), byePlayer);
+
+        assertCompletePairing(players, pairs);
+        assertEquals("Player1", pairs.get(0).getFirst().getId().getUuid());
+        assertEquals("Player2", pairs.get(0).getSecond().getId().getUuid());
+        assertEquals("Player3", pairs.get(1).getFirst().getId().getUuid());
+        assertEquals("Player4", pairs.get(1).getSecond().getId().getUuid());
+    }
+
+    /**
+     * Tests that the bye goes to the lowest-placed player and is returned last.
+     */
+    @Test
+    public void testGenerateOptimalPairs_ByeToLowestPlayer() {
+        List<Signups> players = createPlayers(5);
+
+        List<Pair<Signups, Signups>> pairs = SwissPairingUtil.generateOptimalPairs(players, null,
+                PlayedPairIndex.of(players, new ArrayList<>()), byePlayer);
+
+        assertCompletePairing(players, pairs);
+        Pair<Signups, Signups> bye = pairs.get(pairs.size() - 1);
+        assertEquals("Player5", bye.getFirst().getId().getUuid());
+        assertSame(byePlayer, bye.getSecond());
+    }
+
+    /**
+     * Tests that a player who already had a bye does not receive another.
+     */
+    @Test
+    public void testGenerateOptimalPairs_AvoidsRepeatBye() {
+        List<Signups> players = createPlayers(5);
+        List<Matchups> previousMatchups = new ArrayList<>();
+        previousMatchups.add(createMatchup("Player5", "null"));
+
+        List<Pair<Signups, Signups>> pairs = SwissPairingUtil.generateOptimalPairs(players, null,
+                PlayedPairIndex.of(players, previousMatchups), byePlayer);
+
+        assertCompletePairing(players, pairs);
+        assertEquals("Player4", pairs.get(pairs.size() - 1).getFirst().getId().getUuid());
+    }
+
+    /**
+     * Tests that players are paired within their score group and rematches are
+     * avoided.
+     */
+    @Test
+    public void testGenerateOptimalPairs_ScoreGroupsWithoutRematches() {
+        List<Signups> players = createPlayers(4);
+        Map<String, Double> points = new HashMap<>();
+        points.put("Player1", 1.0);
+        points.put("Player3", 1.0);
+        List<Matchups> previousMatchups = new ArrayList<>();
+        previousMatchups.add(createMatchup("Player1", "Player2"));
+        previousMatchups.add(createMatchup("Player3", "Player4"));
+
+        List<Pair<Signups, Signups>> pairs = SwissPairingUtil.generateOptimalPairs(players, points,
+                PlayedPairIndex.of(players, previousMatchups), byePlayer);
+
+        assertCompletePairing(players, pairs);
+        assertEquals("Player1", pairs.get(0).getFirst().getId().getUuid());
+        assertEquals("Player3", pairs.get(0).getSecond().getId().getUuid());
+        assertEquals("Player2", pairs.get(1).getFirst().getId().getUuid());
+        assertEquals("Player4", pairs.get(1).getSecond().getId().getUuid());
+    }
+
+    /**
+     * Tests that a complete pairing is still produced when a rematch is
+     * unavoidable.
+     */
+    @Test
+    public void testGenerateOptimalPairs_UnavoidableRematch() {
+        List<Signups> players = createPlayers(2);
+        List<Matchups> previousMatchups = new ArrayList<>();
+        previousMatchups.add(createMatchup("Player1", "Player2"));
+
+        List<Pair<Signups, Signups>> pairs = SwissPairingUtil.generateOptimalPairs(players, null,
+                PlayedPairIndex.of(players, previousMatchups), byePlayer);
+
+        assertCompletePairing(players, pairs);
+    }
+
+    /**
+     * Tests that a large field spanning many matching blocks is paired
+     * completely without rematches.
+     */
+    @Test
+    public void testGenerateOptimalPairs_LargeTournament() {
+        List<Signups> players = createPlayers(5001);
+        List<Matchups> previousMatchups = new ArrayList<>();
+        for (int i = 1; i < players.size(); i += 2) {
+            previousMatchups.add(createMatchup("Player" + i, "Player" + (i + 1)));
+        }
+
+        List<Pair<Signups, Signups>> pairs = SwissPairingUtil.generateOptimalPairs(players, null,
+                PlayedPairIndex.of(players, previousMatchups), byePlayer);
+
+        assertCompletePairing(players, pairs);
+        PlayedPairIndex playedPairs = PlayedPairIndex.of(players, previousMatchups);
+        for (Pair<Signups, Signups> pair : pairs) {
+            assertFalse(playedPairs.hasPlayed(playedPairs.indexOf(pair.getFirst().getId().getUuid()),
+                    playedPairs.indexOf(pair.getSecond().getId().getUuid())));
+        }
+    }
+}
@@ -13,6 +13,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import matchmaking.dto.PlayerWins;
+import matchmaking.dto.TournamentSnapshot;
+import matchmaking.exception.InvalidRoundException;
 import matchmaking.model.*;
 import matchmaking.repository.*;
 
@@ -49,6 +51,9 @@ public class TournamentInfoUtilTest {
     @Mock
     private ResultsRepository resultsRepository;
 
+    @Mock
+    private TournamentSnapshotRepository tournamentSnapshotRepository;
+
     /**
      * Sets up the test environment before each test case.
      * Initializes tournament ID, mock repositories, and utility class.
@@ -212,6 +217,44 @@ public class TournamentInfoUtilTest {
                 "Expected IllegalArgumentException when tournamentId is null.");
     }
 
+    /**
+     * Tests the retrieval of a tournament snapshot by tournament ID.
+     * Asserts that the full match history is requested.
+     */
+    @Test
+    public void testGetTournamentSnapshot() {
+        TournamentSnapshot snapshot = new TournamentSnapshot()
+                .setTournamentId(tournamentId)
+                .setCurrentRound(2)
+                .setFromRound(1)
+                .setSignups(createMockSignups())
+                .setMatchups(createMockMatchups())
+                .setPlayerWins(tournamentInfoUtil.getPlayerWinsByTournamentId(tournamentId));
+        when(tournamentSnapshotRepository.getTournamentSnapshot(tournamentId, 1)).thenReturn(snapshot);
+
+        TournamentSnapshot result = tournamentInfoUtil.getTournamentSnapshot(tournamentId);
+
+        assertEquals(snapshot, result, "The snapshot should be returned from the repository.");
+        assertEquals(3.5, result.getPlayerPoints().get("Player1"), "Player1 should have 3.5 points.");
+        verify(tournamentSnapshotRepository).getTournamentSnapshot(tournamentId, 1);
+    }
+
+    /**
+     * Tests the exception thrown when retrieving a tournament snapshot from an
+     * invalid round.
+     * Asserts that an IllegalArgumentException is thrown.
+     */
+    @Test
+    public void testGetTournamentSnapshotThrowsExceptionIfFromRoundIsInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> tournamentInfoUtil.getTournamentSnapshot(tournamentId, 0),
+                "Expected IllegalArgumentException when fromRound is less than 1.");
+        assertThrows(IllegalArgumentException.class,
+                () -> tournamentInfoUtil.getTournamentSnapshot(null),
+                "Expected IllegalArgumentException when tournamentId is null.");
+        verifyNoInteractions(tournamentSnapshotRepository);
+    }
+
     /**
      * Tests the creation of a matchup without specifying a winner.
      * Asserts that the created matchup is as expected.
@@ -268,12 +311,30 @@ public class TournamentInfoUtilTest {
         Matchups matchup = tournamentInfoUtil.createMatchup(player1, player2, tournamentId, 1);
         tournamentInfoUtil.insertMatchups(List.of(matchup), tournamentId, 1);
 
-        verify(matchupsRepository, times(1)).insertMatchup(
-                matchup.getId().getPlayer1(),
-                matchup.getId().getPlayer2(),
-                null,
-                tournamentId,
-                1);
+        verify(matchupsRepository, times(1)).insertMatchups(List.of(matchup), tournamentId, 1);
+        verify(matchupsRepository, never()).insertMatchup(any(), any(), any(), any(), anyInt());
+    }
+
+    /**
+     * Tests that inserting a round where a player is matched twice is rejected
+     * before anything is written.
+     */
+    @Test
+    public void testInsertMatchupsThrowsExceptionWithDuplicatePlayer() {
+        Signups player1 = new Signups()
+                .setId(new PlayerTournamentId().setUuid("Player1"));
+        Signups player2 = new Signups()
+                .setId(new PlayerTournamentId().setUuid("Player2"));
+        Signups player3 = new Signups()
+                .setId(new PlayerTournamentId().setUuid("Player3"));
+
+        List<Matchups> matchups = List.of(
+                tournamentInfoUtil.createMatchup(player1, player2, tournamentId, 1),
+                tournamentInfoUtil.createMatchup(player3, player1, tournamentId, 1));
+
+        assertThrows(InvalidRoundException.class,
+                () -> tournamentInfoUtil.insertMatchups(matchups, tournamentId, 1));
+        verifyNoInteractions(matchupsRepository);
     }
 
     /**
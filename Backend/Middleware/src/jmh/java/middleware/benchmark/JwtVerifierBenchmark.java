@@ -0,0 +1,96 @@
+package middleware.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import middleware.exception.UnauthorizedException;
+import middleware.util.JwtVerifier;
+
+/**
+ * Benchmarks {@link JwtVerifier#verify} against building a parser for every
+ * token, as {@code JwtUtil.decryptToken} did before, for valid and malformed
+ * tokens.
+ *
+ * <p>
+ * The per-token path decodes the secret and configures a new parser on every
+ * call, and prints the stack trace of malformed tokens, as the old path did.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerifierBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    private static final String MALFORMED = "eyJhbGciOiJIUzI1NiJ9.not-json.signature";
+
+    private JwtVerifier verifier;
+
+    private String jwt;
+
+    @Setup
+    public void setUp() {
+        verifier = new JwtVerifier(SECRET, null);
+        jwt = Jwts.builder()
+                .claim("uuid", "uuid-1")
+                .claim("isAdmin", (byte) 0)
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims validPerTokenParser() {
+        return parsePerToken(jwt);
+    }
+
+    @Benchmark
+    public Claims validPrebuiltVerifier() {
+        return verifier.verify(jwt);
+    }
+
+    @Benchmark
+    public Object malformedPerTokenParser() {
+        try {
+            return parsePerToken(MALFORMED);
+        } catch (UnauthorizedException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object malformedPrebuiltVerifier() {
+        try {
+            return verifier.verify(MALFORMED);
+        } catch (UnauthorizedException e) {
+            return e;
+        }
+    }
+
+    private static Claims parsePerToken(String token) {
+        try {
+            return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new UnauthorizedException("Invalid JWT token", e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.hibernate.boot.model.naming.PhysicalNamingStrategy;
 import org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
@@ -20,8 +21,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
  *   mapping entity names to database table names, using the
  *   {@link PhysicalNamingStrategyStandardImpl} implementation.</li>
  * </ul>
+ *
+ * <p>Scheduling is enabled for background jobs such as synchronising the
+ * revocation list.
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     /**
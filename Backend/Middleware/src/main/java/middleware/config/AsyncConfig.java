@@ -2,23 +2,40 @@ package middleware.config;
 
 import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
-@EnableAsync
 public class AsyncConfig {
 
+    @Value("${middleware.validation.pool-size:20}")
+    private int validationPoolSize;
+
+    @Value("${middleware.validation.queue-capacity:1000}")
+    private int validationQueueCapacity;
+
+    /**
+     * Executor that runs the blocking database part of JWT validation, while
+     * the servlet thread of the request is released.
+     *
+     * <p>
+     * Each validation holds at most one database connection at a time, so the
+     * pool size defaults to the size of the connection pool. Requests beyond
+     * that wait in the queue without holding any thread.
+     * </p>
+     *
+     * @return the JWT validation executor
+     */
     @Bean
-    public Executor taskExecutor() {
+    public Executor jwtValidationExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10); // Number of core threads
-        executor.setMaxPoolSize(50); // Maximum number of threads
-        executor.setQueueCapacity(100); // Number of tasks in the queue
-        executor.setThreadNamePrefix("async-executor-");
+        executor.setCorePoolSize(validationPoolSize);
+        executor.setMaxPoolSize(validationPoolSize);
+        executor.setQueueCapacity(validationQueueCapacity);
+        executor.setThreadNamePrefix("jwt-validation-");
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+}
@@ -2,12 +2,15 @@ package middleware.controller;
 
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import middleware.dto.JwtBatchRequest;
+import middleware.exception.OverloadedException;
 import middleware.exception.UserNotFoundException;
 import middleware.exception.UnauthorizedException;
 import middleware.service.MiddlewareService;
@@ -17,7 +20,8 @@ import org.springframework.http.HttpStatus;
 
 /**
  * MiddlewareController is a REST controller that handles HTTP requests related
- * to middleware services. It provides endpoints for validating JWT tokens.
+ * to middleware services. It provides endpoints for validating JWT tokens,
+ * one at a time or in batches.
  *
  * <p>
  * This controller is mapped to the base URL "/api".
@@ -38,7 +42,10 @@ public class MiddlewareController {
     private MiddlewareService middlewareService;
 
     @Autowired
-    private TokenValidationService tokenValidationService;
+    private InvalidationQueue invalidationQueue;
+
+    @Autowired
+    private ConcurrencyLimiter concurrencyLimiter;
 
     /**
      * Performs a health check for the application.
@@ -60,39 +67,57 @@ public class MiddlewareController {
         }
     }
 
+    /**
+     * Retrieves the metrics of the JWT validation concurrency limiter: the
+     * current limit, the validations in flight, the requests shed since
+     * startup, and the latest and long-term validation latencies.
+     *
+     * @return a {@link ResponseEntity} containing the limiter metrics
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        try {
+            return ResponseManager.success("Metrics retrieved successfully.", concurrencyLimiter.getMetrics());
+        } catch (Exception e) {
+            return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Error: " + e.getMessage());
+        }
+    }
+
     /**
      * Validates the provided JWT token by calling the MiddlewareService.
      *
      * <p>
-     * The endpoint is mapped to "/middleware/checkjwt" and accepts POST requests.
-     * It expects a JSON request body containing the JWTRequest object.
+     * The endpoint is mapped to "/api/auth/jwt" and accepts GET requests with
+     * the JWT in the Authorization header. The response is written
+     * asynchronously once validation completes, so the servlet thread is
+     * released while the token is checked against the database. Validations
+     * shed by the concurrency limiter are answered with 503 and a
+     * {@code Retry-After} header.
      * </p>
      *
-     * @param jwtRequest the request body containing the JWT token to be validated.
-     * @return a ResponseEntity containing a success message and the validation
-     *         result if the JWT is valid,
-     *         or an error message with the appropriate HTTP status if validation
-     *         fails.
-     * @throws UserNotFoundException if the user associated with the JWT is not
-     *                               found.
-     * @throws UnauthorizedException if the JWT token is invalid or unauthorized.
-     * @throws Exception             for any other unexpected errors.
+     * @param jwt the JWT token to be validated.
+     * @return a future of a ResponseEntity containing a success message and the
+     *         validation result if the JWT is valid, or an error message with
+     *         the appropriate HTTP status if validation fails.
      */
     @GetMapping("/jwt")
-    public ResponseEntity<Map<String, Object>> checkJwt(@RequestHeader("Authorization") String jwt) {
-        // Call the async service method
-        CompletableFuture<Map<String, String>> resultFuture = middlewareService.checkJwt(jwt);
-
-        return resultFuture
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> checkJwt(
+            @RequestHeader("Authorization") String jwt) {
+        return middlewareService.checkJwt(jwt)
                 .thenApply(result -> ResponseManager.success("JWT validation successful.", result)) // On success
                 .exceptionally(ex -> {
                     // Handle exceptions
-                    Throwable cause = ex.getCause(); // Get the cause of the exception
-                    if (cause instanceof UserNotFoundException) {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                            ? ex.getCause()
+                            : ex; // Get the cause of the exception
+                    if (cause instanceof OverloadedException overloaded) {
+                        return ResponseManager.unavailable(overloaded.getMessage(),
+                                overloaded.getRetryAfterSeconds());
+                    } else if (cause instanceof UserNotFoundException) {
                         return ResponseManager.error(HttpStatus.NOT_FOUND, cause.getMessage());
                     } else if (cause instanceof UnauthorizedException) {
-                        // Invalidate token if invalid JWT
-                        tokenValidationService.invalidateJwt(jwt);
+                        // Reject the token at once, and invalidate it in the background
+                        invalidationQueue.invalidate(jwt, cause.getMessage());
 
                         return ResponseManager.error(HttpStatus.UNAUTHORIZED, cause.getMessage());
                     } else if (cause instanceof IllegalArgumentException) {
@@ -102,7 +127,41 @@ public class MiddlewareController {
                         return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR,
                                 cause.getMessage());
                     }
-                })
-                .join(); // Waits for the async process to complete and return the response
+                });
+    }
+
+    /**
+     * Validates many JWT tokens in a single request, for services that need
+     * several identities checked at once.
+     *
+     * <p>
+     * The sessions and roles of all tokens are loaded with a single query.
+     * Each token gets its own result, in request order, with the status
+     * {@code GET /api/auth/jwt} would have responded with. Unlike that
+     * endpoint, rejected tokens are not invalidated.
+     * </p>
+     *
+     * @param jwtBatchRequest the request body containing the JWT tokens to be
+     *                        validated.
+     * @return a future of a ResponseEntity containing the validation result of
+     *         each token, or an error message if the batch is invalid.
+     */
+    @PostMapping("/jwt/batch")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> checkJwtBatch(
+            @RequestBody JwtBatchRequest jwtBatchRequest) {
+        return middlewareService.checkJwtBatch(jwtBatchRequest.getData())
+                .thenApply(results -> ResponseManager.success("JWT batch validation completed.", results))
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                            ? ex.getCause()
+                            : ex;
+                    if (cause instanceof OverloadedException overloaded) {
+                        return ResponseManager.unavailable(overloaded.getMessage(),
+                                overloaded.getRetryAfterSeconds());
+                    } else if (cause instanceof IllegalArgumentException) {
+                        return ResponseManager.error(HttpStatus.BAD_REQUEST, cause.getMessage());
+                    }
+                    return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage());
+                });
     }
 }
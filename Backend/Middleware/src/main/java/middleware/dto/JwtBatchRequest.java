@@ -0,0 +1,17 @@
+package middleware.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) for validating many JWTs in a single request.
+ *
+ * <p>
+ * Provides getter and setter methods to access and modify the list of JWTs.
+ * </p>
+ */
+@Data
+public class JwtBatchRequest {
+    private List<String> data;
+}
@@ -0,0 +1,56 @@
+package middleware.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) holding the outcome of validating one JWT of a
+ * batch.
+ *
+ * <p>
+ * A valid JWT carries the user's UUID and admin status. An invalid JWT
+ * carries the HTTP status and message {@code GET /api/auth/jwt} would have
+ * responded with.
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JwtValidationResult {
+    private boolean valid;
+    private int status;
+    private String message;
+    private String uuid;
+    private String isAdmin;
+
+    /**
+     * Creates the result of a valid JWT.
+     *
+     * @param user a map containing the user's UUID and admin status.
+     * @return the result.
+     */
+    public static JwtValidationResult valid(Map<String, String> user) {
+        return new JwtValidationResult()
+                .setValid(true)
+                .setStatus(200)
+                .setUuid(user.get("uuid"))
+                .setIsAdmin(user.get("isAdmin"));
+    }
+
+    /**
+     * Creates the result of an invalid JWT.
+     *
+     * @param status  the HTTP status of the failure.
+     * @param message the reason the JWT is invalid.
+     * @return the result.
+     */
+    public static JwtValidationResult invalid(int status, String message) {
+        return new JwtValidationResult()
+                .setStatus(status)
+                .setMessage(message);
+    }
+}
@@ -0,0 +1,24 @@
+package middleware.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) holding a snapshot of the JWT validation
+ * concurrency limiter.
+ *
+ * <p>
+ * Contains the current concurrency limit, the number of validations in
+ * flight, the number of requests shed since startup, and the latest and
+ * long-term validation latencies in milliseconds.
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+public class LimiterMetrics {
+    private int limit;
+    private int inflight;
+    private long rejected;
+    private double latencyMs;
+    private double longTermLatencyMs;
+}
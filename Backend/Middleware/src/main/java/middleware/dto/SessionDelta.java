@@ -0,0 +1,24 @@
+package middleware.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) holding the current state of a JWT session that
+ * changed since the revocation list was last synchronised.
+ *
+ * <p>
+ * {@code changedAt} is the later of the session's last login and logout, in
+ * milliseconds since the epoch, and is used as the cursor of the next
+ * synchronisation.
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+public class SessionDelta {
+    private String jwt;
+    private String uuid;
+    private boolean loggedOut;
+    private Byte isAdmin;
+    private long changedAt;
+}
@@ -0,0 +1,20 @@
+package middleware.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) holding the state of a JWT session and the role
+ * of its user, as loaded by a single validation query.
+ *
+ * <p>
+ * Provides getter and setter methods to access and modify the session state.
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+public class SessionInfo {
+    private String uuid;
+    private boolean loggedOut;
+    private Byte isAdmin;
+}
@@ -0,0 +1,25 @@
+package middleware.exception;
+
+/**
+ * Exception thrown when a token's signing key cannot be checked, because the
+ * published key set could not be fetched or may be out of date. The token
+ * may well be valid, so it is answered like an overloaded request, to be
+ * retried, and never treated as rejected.
+ * This is a runtime exception that extends {@link OverloadedException}.
+ */
+public class KeyUnavailableException extends OverloadedException {
+
+    /**
+     * Constructs a new {@code KeyUnavailableException} with the specified
+     * detail message and the time after which the client may retry.
+     *
+     * @param message           the detail message, which is saved for later
+     *                          retrieval by the {@link Throwable#getMessage()}
+     *                          method
+     * @param retryAfterSeconds the number of seconds after which the client may
+     *                          retry
+     */
+    public KeyUnavailableException(String message, long retryAfterSeconds) {
+        super(message, retryAfterSeconds);
+    }
+}
@@ -29,4 +29,17 @@ public class UnauthorizedException extends RuntimeException {
     public UnauthorizedException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * Constructs a new {@code UnauthorizedException} with the specified detail
+     * message and cause, optionally without filling in a stack trace, for
+     * rejections that are expected often enough for it to be costly.
+     *
+     * @param message            the detail message
+     * @param cause              the cause, or {@code null} if there is none
+     * @param writableStackTrace whether the stack trace should be filled in
+     */
+    public UnauthorizedException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, false, writableStackTrace);
+    }
 }
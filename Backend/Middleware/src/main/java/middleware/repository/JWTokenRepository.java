@@ -16,8 +16,8 @@ import middleware.model.JWToken;
  *
  * <p>
  * Additionally, this repository includes methods for executing stored
- * procedures related to JSON Web Token (JWT) management, such as updating the
- * last login, logging out, and checking JWT validity.
+ * procedures related to JSON Web Token (JWT) management, such as invalidating
+ * a JWT and logging out. JWT validity is checked by {@link SessionRepository}.
  *
  * <p>
  * The methods in this repository use the {@link Procedure} annotation to
@@ -26,15 +26,6 @@ import middleware.model.JWToken;
 @Repository
 public interface JWTokenRepository extends JpaRepository<JWToken, String> {
 
-    /**
-     * Checks the if JWT exists in the database.
-     *
-     * @param jwt the JWToken given to check
-     */
-    @Lock(LockModeType.PESSIMISTIC_READ)
-    @Procedure(name = "CheckValidity")
-    JWToken checkValidity(@Param("jwtValue") String jwt);
-
     /**
      * Updates the logout information for the user identified by the specified UUID.
      *
@@ -0,0 +1,145 @@
+package middleware.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.CallableStatementCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import middleware.dto.SessionDelta;
+import middleware.dto.SessionInfo;
+
+/**
+ * Repository for validating a JWT session and loading its user's role in a
+ * single round trip.
+ *
+ * <p>
+ * Calls the stored procedure "ValidateSession" (see
+ * {@code db/ValidateSession.sql}), which joins the JWToken and User tables
+ * without taking any locks. Batches of JWTs are validated with the same join
+ * in a single query.
+ * </p>
+ *
+ * <p>
+ * Sessions changed since a point in time are read with the same join, for the
+ * revocation list to synchronise from (see {@code db/SessionDeltaIndexes.sql}).
+ * Batches of JWTs are invalidated with the "InvalidateJwt" procedure in a
+ * single JDBC batch.
+ * </p>
+ */
+@Repository
+public class SessionRepository {
+
+    private static final String VALIDATE_SESSION_CALL = "{call ValidateSession(?)}";
+
+    // Same columns as ValidateSession, for many JWTs at once
+    private static final String VALIDATE_SESSIONS_PREFIX = "SELECT j.jwt AS jwt, j.UUID AS uuid, "
+            + "(j.logout IS NOT NULL AND (j.lastLogin IS NULL OR j.logout >= j.lastLogin)) AS loggedOut, "
+            + "u.isAdmin AS isAdmin FROM JWToken j LEFT JOIN User u ON u.UUID = j.UUID WHERE j.jwt IN ";
+
+    // Sessions whose last login or logout is at or after a point in time
+    private static final String SESSIONS_CHANGED_SINCE_SQL = "SELECT j.jwt AS jwt, j.UUID AS uuid, "
+            + "(j.logout IS NOT NULL AND (j.lastLogin IS NULL OR j.logout >= j.lastLogin)) AS loggedOut, "
+            + "u.isAdmin AS isAdmin, GREATEST(COALESCE(j.lastLogin, j.logout), COALESCE(j.logout, j.lastLogin)) "
+            + "AS changedAt FROM JWToken j LEFT JOIN User u ON u.UUID = j.UUID "
+            + "WHERE j.lastLogin >= ? OR j.logout >= ?";
+
+    private static final String INVALIDATE_JWT_CALL = "CALL InvalidateJwt(?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Retrieves the session state of a JWT and the role of its user.
+     *
+     * @param jwt the JWT to look up.
+     * @return the {@link SessionInfo} of the JWT, or {@code null} if the JWT is
+     *         not known.
+     */
+    public SessionInfo validateSession(String jwt) {
+        return jdbcTemplate.execute(VALIDATE_SESSION_CALL, (CallableStatementCallback<SessionInfo>) statement -> {
+            statement.setString(1, jwt);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return readSession(rs);
+            }
+        });
+    }
+
+    /**
+     * Retrieves the session states of many JWTs and the roles of their users
+     * with a single query.
+     *
+     * @param jwts the JWTs to look up.
+     * @return the {@link SessionInfo} of each known JWT, keyed by JWT.
+     */
+    public Map<String, SessionInfo> validateSessions(Collection<String> jwts) {
+        Map<String, SessionInfo> sessions = new HashMap<>(jwts.size() * 2);
+        if (jwts.isEmpty()) {
+            return sessions;
+        }
+
+        String sql = VALIDATE_SESSIONS_PREFIX + "(" + String.join(", ", Collections.nCopies(jwts.size(), "?")) + ")";
+        jdbcTemplate.query(sql, rs -> {
+            sessions.put(rs.getString("jwt"), readSession(rs));
+        }, jwts.toArray());
+        return sessions;
+    }
+
+    /**
+     * Retrieves the sessions logged in to or out of at or after a point in
+     * time, with the roles of their users.
+     *
+     * @param since the time to read changes from, in milliseconds since the
+     *              epoch.
+     * @return the current state of each changed session.
+     */
+    public List<SessionDelta> findSessionsChangedSince(long since) {
+        Timestamp from = new Timestamp(since);
+        return jdbcTemplate.query(SESSIONS_CHANGED_SINCE_SQL, (rs, rowNum) -> {
+            SessionInfo session = readSession(rs);
+            return new SessionDelta()
+                    .setJwt(rs.getString("jwt"))
+                    .setUuid(session.getUuid())
+                    .setLoggedOut(session.isLoggedOut())
+                    .setIsAdmin(session.getIsAdmin())
+                    .setChangedAt(rs.getTimestamp("changedAt").getTime());
+        }, from, from);
+    }
+
+    /**
+     * Invalidates many JWTs in a single JDBC batch, on the connection of the
+     * surrounding transaction.
+     *
+     * @param jwts the JWTs to invalidate.
+     */
+    public void invalidateSessions(List<String> jwts) {
+        jdbcTemplate.batchUpdate(INVALIDATE_JWT_CALL, jwts, jwts.size(),
+                (statement, jwt) -> statement.setString(1, jwt));
+    }
+
+    /**
+     * Reads the session state at the current row of a result set.
+     *
+     * @param rs the result set, positioned at a row.
+     * @return the {@link SessionInfo} of the row.
+     * @throws SQLException if a column cannot be read.
+     */
+    private static SessionInfo readSession(ResultSet rs) throws SQLException {
+        SessionInfo session = new SessionInfo()
+                .setUuid(rs.getString("uuid"))
+                .setLoggedOut(rs.getBoolean("loggedOut"));
+        byte isAdmin = rs.getByte("isAdmin");
+        return session.setIsAdmin(rs.wasNull() ? null : isAdmin);
+    }
+}
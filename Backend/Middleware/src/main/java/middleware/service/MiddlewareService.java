@@ -1,35 +1,53 @@
 package middleware.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import io.jsonwebtoken.Claims;
+import middleware.exception.KeyUnavailableException;
+import middleware.exception.OverloadedException;
 import middleware.exception.UserNotFoundException;
 import middleware.exception.UnauthorizedException;
-import middleware.model.JWToken;
+import middleware.dto.JwtValidationResult;
+import middleware.dto.SessionInfo;
 import middleware.util.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * MiddlewareService handles the business logic for validating JWT tokens and
  * checking user roles. It interacts with the {@link TokenValidationService} to
  * validate JWT sessions, verify user roles, and extract claims from the token.
- * This service provides an asynchronous method for validating JWTs and
+ * This service provides a non-blocking method for validating JWTs and
  * performing associated checks, such as user verification and role validation.
  *
  * <p>
- * All database-related operations are handled in transactional methods
- * to ensure consistency and integrity.
+ * Sessions are looked up in the in-memory {@link RevocationList} first, so a
+ * validation normally needs no database call. Sessions it does not know about
+ * yet are checked in their own transactions in
+ * {@link TokenValidationService}, on the JWT validation executor, with a single
+ * query for the session and the user's role.
  * </p>
  */
 @Service
-@Transactional
 public class MiddlewareService {
 
+    // Maximum number of JWTs validated in a single batch, and so in one query
+    public static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     private TokenValidationService tokenValidationService;
 
@@ -39,62 +57,348 @@ public class MiddlewareService {
     @Autowired
     private ValidationUtil validationUtil;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private RevocationList revocationList;
+
+    @Autowired
+    private RejectedTokenCache rejectedTokenCache;
+
+    @Autowired
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    @Qualifier("jwtValidationExecutor")
+    private Executor jwtValidationExecutor;
+
+    // Validations in progress, keyed by JWT, shared by concurrent requests
+    private final ConcurrentHashMap<String, CompletableFuture<Map<String, String>>> inFlightValidations =
+            new ConcurrentHashMap<>();
+
     /**
-     * Asynchronously validates a JWT by extracting claims, verifying its presence
-     * in the database, and checking the user's role.
+     * Validates a JWT without blocking the calling thread.
+     *
+     * <p>
+     * Tokens found in the {@link VerifiedTokenCache} or the
+     * {@link RejectedTokenCache} complete straight away on the calling thread.
+     * Any other token is validated on the JWT validation executor, which
+     * decrypts the JWT to extract the user UUID and admin status, then
+     * validates the JWT and verifies the user's role against its session in
+     * the {@link RevocationList}, or in the database with a single query if the
+     * session is not known in memory. The caller is free to release its thread
+     * while the validation runs, so a request costs one thread at a time.
+     * </p>
      *
      * <p>
-     * This method decrypts the JWT to extract the user UUID and admin status. It
-     * then calls synchronous methods to validate the JWT and verify the user's role
-     * against the stored values in the database.
+     * Validations on the executor are admitted by the
+     * {@link ConcurrencyLimiter}, and shed straight away once it is at its
+     * limit.
+     * </p>
+     *
+     * <p>
+     * Concurrent validations of the same token are coalesced: while a token is
+     * being validated, further requests for it wait on the same validation
+     * instead of starting their own, so a burst of requests carrying one token
+     * costs one decode and one database lookup even when the cache is cold.
      * </p>
      *
      * <p>
      * The method returns a {@link CompletableFuture} containing the user UUID and
-     * admin status as key-value pairs. The operation is performed asynchronously to
-     * prevent blocking the main thread.
+     * admin status as key-value pairs.
      * </p>
      *
-     * @param jwtRequest the request containing the JWT to validate.
+     * @param jwt the JWT to validate.
      * @return a {@link CompletableFuture} with a map containing the user's UUID and
-     *         admin status.
-     * @throws UnauthorizedException if the JWT is invalid or expired.
-     * @throws UserNotFoundException if the associated user UUID is not found in the
-     *                               database.
-     * @throws RuntimeException      if any unexpected error occurs during the JWT
-     *                               validation process.
+     *         admin status. It completes exceptionally with an
+     *         {@link UnauthorizedException} if the JWT is invalid or expired, a
+     *         {@link UserNotFoundException} if the associated user UUID is not
+     *         found in the database, an {@link OverloadedException} if the
+     *         validation was shed or its signing key could not be checked, or a {@link RuntimeException} if any
+     *         unexpected error occurs during the JWT validation process.
      */
-    @Async
     public CompletableFuture<Map<String, String>> checkJwt(String jwt) {
-        System.out.println("Executing in thread: " + Thread.currentThread().getName()); // For diagnostic purposes
+        Map<String, String> cached;
+        try {
+            ValidationUtil.validateNotEmpty(jwt, "JWT");
+            cached = verifiedTokenCache.get(jwt);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ValidationUtil.validateNotEmpty(jwt, "JWT");
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        String rejection = rejectedTokenCache.get(jwt);
+        if (rejection != null) {
+            return CompletableFuture.failedFuture(new UnauthorizedException(rejection));
+        }
 
-                Claims claims = jwtUtil.decryptToken(jwt);
+        CompletableFuture<Map<String, String>> validation = new CompletableFuture<>();
+        CompletableFuture<Map<String, String>> inFlight = inFlightValidations.putIfAbsent(jwt, validation);
+        if (inFlight != null) {
+            return inFlight.copy();
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            completeValidation(jwt, validation, null, overloaded());
+            return validation.copy();
+        }
+        long start = System.nanoTime();
+        try {
+            CompletableFuture.supplyAsync(() -> validateJwt(jwt), jwtValidationExecutor)
+                    .whenComplete((user, ex) -> {
+                        concurrencyLimiter.release(start, isUnexpected(ex));
+                        completeValidation(jwt, validation, user, ex);
+                    });
+        } catch (RejectedExecutionException e) {
+            concurrencyLimiter.release(start, true);
+            completeValidation(jwt, validation, null, overloaded());
+        }
+        return validation.copy();
+    }
 
-                String extractedUuid = claims.get("uuid", String.class);
-                Byte isAdmin = claims.get("isAdmin", Byte.class);
+    /**
+     * Completes an in-flight validation for every request waiting on it, and
+     * stops further requests from joining it. By then a successful result is
+     * already cached.
+     *
+     * @param jwt        the validated JWT.
+     * @param validation the in-flight validation of the JWT.
+     * @param user       the validated user data, if the validation succeeded.
+     * @param ex         the reason the validation failed, if it did.
+     */
+    private void completeValidation(String jwt, CompletableFuture<Map<String, String>> validation,
+            Map<String, String> user, Throwable ex) {
+        inFlightValidations.remove(jwt, validation);
+        if (ex == null) {
+            validation.complete(user);
+        } else {
+            validation.completeExceptionally(
+                    ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+        }
+    }
+
+    /**
+     * Validates many JWTs without blocking the calling thread, sharing a single
+     * database query for the sessions and roles of any not known in memory.
+     *
+     * <p>
+     * Tokens found in the {@link VerifiedTokenCache} or the
+     * {@link RejectedTokenCache} are answered straight away. The rest are decrypted and looked up in the {@link RevocationList}
+     * on the JWT validation executor, and the sessions and user roles it does
+     * not know about are loaded together. Each token gets its own
+     * result, in the order of {@code jwts}, so one invalid token does not fail
+     * the batch.
+     * </p>
+     *
+     * @param jwts the JWTs to validate.
+     * @return a {@link CompletableFuture} with the validation result of each
+     *         JWT. It completes exceptionally with an
+     *         {@link IllegalArgumentException} if the batch is empty or larger
+     *         than {@link #MAX_BATCH_SIZE}, or an {@link OverloadedException}
+     *         if the batch was shed.
+     */
+    public CompletableFuture<List<JwtValidationResult>> checkJwtBatch(List<String> jwts) {
+        if (jwts == null || jwts.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("JWTs must not be null or empty."));
+        }
+        if (jwts.size() > MAX_BATCH_SIZE) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Too many JWTs, maximum is " + MAX_BATCH_SIZE + "."));
+        }
 
-                // Validate JWT session and user role
-                JWToken dbJwt = tokenValidationService.checkValiditySync(jwt);
-                String dbUuid = dbJwt.getUuid();
-                ValidationUtil.validateUuid(dbUuid, extractedUuid);
+        JwtValidationResult[] results = new JwtValidationResult[jwts.size()];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            String jwt = jwts.get(i);
+            if (jwt == null || jwt.trim().isEmpty()) {
+                results[i] = JwtValidationResult.invalid(HttpStatus.BAD_REQUEST.value(),
+                        "JWT must not be null or empty.");
+                continue;
+            }
+            Map<String, String> cached = verifiedTokenCache.get(jwt);
+            String rejection = cached == null ? rejectedTokenCache.get(jwt) : null;
+            if (cached != null) {
+                results[i] = JwtValidationResult.valid(cached);
+            } else if (rejection != null) {
+                results[i] = JwtValidationResult.invalid(HttpStatus.UNAUTHORIZED.value(), rejection);
+            } else {
+                pending.add(i);
+            }
+        }
 
-                Byte dbIsAdmin = tokenValidationService.getUserRoleSync(dbUuid);
-                validationUtil.validateUserRole(dbIsAdmin, isAdmin, extractedUuid);
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(Arrays.asList(results));
+        }
 
-                // Return validated user data
-                return Map.of("uuid", dbUuid, "isAdmin", isAdmin.toString());
+        if (!concurrencyLimiter.tryAcquire()) {
+            return CompletableFuture.failedFuture(overloaded());
+        }
+        long start = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                validateJwtBatch(jwts, pending, results);
+                return Arrays.asList(results);
+            }, jwtValidationExecutor).whenComplete((batch, ex) -> concurrencyLimiter.release(start, ex != null));
+        } catch (RejectedExecutionException e) {
+            concurrencyLimiter.release(start, true);
+            return CompletableFuture.failedFuture(overloaded());
+        }
+    }
 
+    /**
+     * Creates the exception a validation shed by the
+     * {@link ConcurrencyLimiter} fails with.
+     *
+     * @return an {@link OverloadedException} telling the client when to retry.
+     */
+    private OverloadedException overloaded() {
+        return new OverloadedException("Too many JWT validations in progress, try again later.",
+                concurrencyLimiter.getRetryAfterSeconds());
+    }
+
+    /**
+     * Checks whether a validation failed for a reason other than the token
+     * being rejected or its signing key being unavailable, which signals that
+     * the database may be overloaded.
+     *
+     * @param ex the exception the validation failed with, or {@code null}.
+     * @return {@code true} if the validation failed unexpectedly.
+     */
+    private static boolean isUnexpected(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause != null && !(cause instanceof UnauthorizedException || cause instanceof UserNotFoundException
+                || cause instanceof IllegalArgumentException || cause instanceof KeyUnavailableException);
+    }
+
+    /**
+     * Validates a JWT by extracting claims, verifying its session in the
+     * revocation list or the database, and checking the user's role.
+     *
+     * @param jwt the JWT to validate.
+     * @return a map containing the user's UUID and admin status.
+     * @throws UnauthorizedException   if the JWT is invalid or expired.
+     * @throws UserNotFoundException   if the associated user UUID is not found
+     *                                 in the database.
+     * @throws KeyUnavailableException if the JWT's signing key cannot be
+     *                                 checked.
+     * @throws RuntimeException        if any unexpected error occurs during the
+     *                                 JWT validation process.
+     */
+    private Map<String, String> validateJwt(String jwt) {
+        try {
+            Claims claims = jwtUtil.decryptToken(jwt);
+
+            // Validate JWT session and user role in memory, or in one query
+            SessionInfo session = revocationList.lookup(jwt, claims.get("uuid", String.class));
+            if (session == null) {
+                session = tokenValidationService.validateSessionSync(jwt);
+            } else {
+                ValidationUtil.validateJwtSession(session);
+            }
+            return verifySession(jwt, claims, session);
+
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (UnauthorizedException | UserNotFoundException | KeyUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Unexpected error during JWT validation: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Validates the pending JWTs of a batch, loading the sessions and user
+     * roles the revocation list does not know about with a single query.
+     *
+     * @param jwts    the JWTs of the batch.
+     * @param pending the indices of the JWTs still to validate.
+     * @param results the results of the batch, filled in for every pending
+     *                index.
+     */
+    private void validateJwtBatch(List<String> jwts, List<Integer> pending, JwtValidationResult[] results) {
+        Map<String, Claims> claimsByJwt = new HashMap<>(pending.size() * 2);
+        Map<String, SessionInfo> sessions = new HashMap<>(pending.size() * 2);
+        Set<String> unknown = new HashSet<>();
+        for (int i : pending) {
+            String jwt = jwts.get(i);
+            try {
+                Claims claims = jwtUtil.decryptToken(jwt);
+                claimsByJwt.put(jwt, claims);
+                SessionInfo session = revocationList.lookup(jwt, claims.get("uuid", String.class));
+                if (session == null) {
+                    unknown.add(jwt);
+                } else {
+                    sessions.put(jwt, session);
+                }
+            } catch (UnauthorizedException e) {
+                results[i] = JwtValidationResult.invalid(HttpStatus.UNAUTHORIZED.value(), e.getMessage());
+            } catch (KeyUnavailableException e) {
+                results[i] = JwtValidationResult.invalid(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+            }
+        }
+
+        try {
+            if (!unknown.isEmpty()) {
+                sessions.putAll(tokenValidationService.getSessionsSync(unknown));
+            }
+        } catch (Exception e) {
+            for (int i : pending) {
+                if (results[i] == null) {
+                    results[i] = JwtValidationResult.invalid(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                            "Unexpected error during JWT validation: " + e.getMessage());
+                }
+            }
+            return;
+        }
+
+        for (int i : pending) {
+            if (results[i] != null) {
+                continue;
+            }
+            String jwt = jwts.get(i);
+            try {
+                ValidationUtil.validateJwtSession(sessions.get(jwt));
+                results[i] = JwtValidationResult.valid(verifySession(jwt, claimsByJwt.get(jwt), sessions.get(jwt)));
+            } catch (UnauthorizedException e) {
+                results[i] = JwtValidationResult.invalid(HttpStatus.UNAUTHORIZED.value(), e.getMessage());
+            } catch (UserNotFoundException e) {
+                results[i] = JwtValidationResult.invalid(HttpStatus.NOT_FOUND.value(), e.getMessage());
             } catch (IllegalArgumentException e) {
-                throw e;
-            } catch (UnauthorizedException | UserNotFoundException e) {
-                throw e;
+                results[i] = JwtValidationResult.invalid(HttpStatus.BAD_REQUEST.value(), e.getMessage());
             } catch (Exception e) {
-                throw new RuntimeException("Unexpected error during JWT validation: " + e.getMessage());
+                results[i] = JwtValidationResult.invalid(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Unexpected error during JWT validation: " + e.getMessage());
             }
-        });
+        }
+    }
+
+    /**
+     * Checks a JWT's claims against its valid session, and caches the
+     * validated user data.
+     *
+     * @param jwt     the JWT being validated.
+     * @param claims  the claims of the JWT.
+     * @param session the valid session of the JWT.
+     * @return a map containing the user's UUID and admin status.
+     * @throws UnauthorizedException if the JWT's UUID does not match its
+     *                               session.
+     * @throws UserNotFoundException if the user is not found or their role does
+     *                               not match.
+     */
+    private Map<String, String> verifySession(String jwt, Claims claims, SessionInfo session) {
+        String extractedUuid = claims.get("uuid", String.class);
+        Byte isAdmin = claims.get("isAdmin", Byte.class);
+
+        String dbUuid = session.getUuid();
+        ValidationUtil.validateUuid(dbUuid, extractedUuid);
+        validationUtil.validateUserRole(session.getIsAdmin(), isAdmin, extractedUuid);
+
+        // Cache and return validated user data
+        Map<String, String> user = Map.of("uuid", dbUuid, "isAdmin", isAdmin.toString());
+        verifiedTokenCache.put(jwt, user, claims.getExpiration());
+        return user;
     }
 }
@@ -0,0 +1,90 @@
+package middleware.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size Bloom filter over SHA-256 token digests, used by the
+ * {@link RevocationList} to answer "definitely not revoked" for almost every
+ * token without touching its hash set.
+ *
+ * <p>
+ * The bit positions are derived from the first 16 bytes of the digest by
+ * double hashing, as the digest is already uniformly distributed. Bits are
+ * set atomically, so the filter can be read and added to concurrently.
+ * Entries cannot be removed; the filter is rebuilt instead.
+ * </p>
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final int bitCount;
+
+    private final int hashCount;
+
+    /**
+     * Creates a filter sized for a number of entries at a false positive
+     * rate.
+     *
+     * @param expectedEntries     the number of entries the filter is sized
+     *                            for.
+     * @param falsePositiveRate   the false positive rate at that number of
+     *                            entries.
+     */
+    BloomFilter(int expectedEntries, double falsePositiveRate) {
+        int entries = Math.max(expectedEntries, 1);
+        long optimalBits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bitCount = (int) Math.min(Math.max(optimalBits, 64), Integer.MAX_VALUE - 63);
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+        bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    /**
+     * Adds a digest to the filter.
+     *
+     * @param digest the SHA-256 digest of a token.
+     */
+    void add(byte[] digest) {
+        long h1 = readLong(digest, 0);
+        long h2 = readLong(digest, 8);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Checks whether a digest may have been added to the filter.
+     *
+     * @param digest the SHA-256 digest of a token.
+     * @return {@code false} if the digest was definitely never added.
+     */
+    boolean mightContain(byte[] digest) {
+        long h1 = readLong(digest, 0);
+        long h2 = readLong(digest, 8);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = index(h1 + i * h2);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(long hash) {
+        return (int) ((hash & Long.MAX_VALUE) % bitCount);
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,178 @@
+package middleware.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import middleware.dto.LimiterMetrics;
+
+/**
+ * ConcurrencyLimiter bounds the number of JWT validations in flight, adapting
+ * the bound to the latency it observes, so an auth storm is shed at the door
+ * instead of queueing behind slow database calls.
+ *
+ * <p>
+ * The limit follows a gradient: every completed validation compares its
+ * latency against a long-term average. While latency stays within
+ * {@code middleware.limiter.tolerance} times the average, the limit grows by
+ * about its square root, and once it rises beyond that the limit shrinks in
+ * proportion. Validations that fail with an unexpected error, such as a
+ * connection timeout, cut the limit multiplicatively. The limit only grows
+ * while at least half of it is in use, so it does not drift upwards while
+ * idle.
+ * </p>
+ *
+ * <p>
+ * Requests beyond the limit are rejected straight away, and should be
+ * answered with 503 and {@code Retry-After}. Configured via the
+ * {@code middleware.limiter.*} properties.
+ * </p>
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    // Weight of each sample in the long-term latency average
+    private static final double LONG_TERM_WEIGHT = 0.05;
+
+    // Multiplier applied to the limit when a validation fails unexpectedly
+    private static final double BACKOFF_RATIO = 0.9;
+
+    @Value("${middleware.limiter.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${middleware.limiter.min-limit:5}")
+    private int minLimit;
+
+    @Value("${middleware.limiter.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${middleware.limiter.tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${middleware.limiter.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${middleware.limiter.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile int limit;
+
+    private double estimatedLimit;
+
+    private double lastRttNanos;
+
+    private double longTermRttNanos;
+
+    /**
+     * Starts the limit at its configured initial value.
+     */
+    @PostConstruct
+    public void init() {
+        estimatedLimit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Takes a slot for a validation, if the limit allows it.
+     *
+     * @return {@code true} if the validation may start, in which case
+     *         {@link #release(long, boolean)} must be called once it completes.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a completed validation and adjusts the limit to its
+     * latency.
+     *
+     * @param startNanos the {@link System#nanoTime()} the validation was
+     *                   admitted at.
+     * @param failed     whether the validation failed with an unexpected
+     *                   error.
+     */
+    public void release(long startNanos, boolean failed) {
+        int inflightAtCompletion = inflight.getAndDecrement();
+        onSample(System.nanoTime() - startNanos, inflightAtCompletion, failed);
+    }
+
+    /**
+     * Returns the number of seconds clients should wait before retrying a
+     * shed request.
+     *
+     * @return the number of seconds to wait before retrying.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Takes a snapshot of the limiter.
+     *
+     * @return the current limit, inflight count, rejections and latencies.
+     */
+    public synchronized LimiterMetrics getMetrics() {
+        return new LimiterMetrics()
+                .setLimit(limit)
+                .setInflight(inflight.get())
+                .setRejected(rejected.get())
+                .setLatencyMs(lastRttNanos / 1_000_000.0)
+                .setLongTermLatencyMs(longTermRttNanos / 1_000_000.0);
+    }
+
+    /**
+     * Adjusts the limit to the outcome of a validation.
+     *
+     * @param rttNanos the latency of the validation, including any time it
+     *                 waited for a thread.
+     * @param inflight the number of validations in flight when it completed,
+     *                 including itself.
+     * @param failed   whether the validation failed with an unexpected error.
+     */
+    synchronized void onSample(long rttNanos, int inflight, boolean failed) {
+        if (failed) {
+            setLimit(estimatedLimit * BACKOFF_RATIO);
+            return;
+        }
+
+        lastRttNanos = Math.max(rttNanos, 1);
+        longTermRttNanos = longTermRttNanos == 0
+                ? lastRttNanos
+                : longTermRttNanos * (1 - LONG_TERM_WEIGHT) + lastRttNanos * LONG_TERM_WEIGHT;
+
+        // Let the average catch up quickly once a latency spike has passed
+        if (longTermRttNanos / lastRttNanos > 2) {
+            longTermRttNanos *= 0.95;
+        }
+
+        // Do not grow the limit while it is mostly unused
+        if (inflight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longTermRttNanos / lastRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setLimit(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private void setLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
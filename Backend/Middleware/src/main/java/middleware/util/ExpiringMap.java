@@ -0,0 +1,179 @@
+package middleware.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * ExpiringMap is a concurrent map of values that expire, bounded by evicting
+ * its oldest entries first. It backs the token caches.
+ *
+ * <p>
+ * Entries are looked up in a hash map and also queued in the order they were
+ * inserted. An insert into a full map polls the queue for the oldest entry,
+ * skipping entries already removed or replaced, so inserts take constant
+ * amortized time however full the map is. Callers give all entries the same
+ * TTL, or less, so the oldest entries are the first to expire.
+ * </p>
+ *
+ * @param <V> the type of the values.
+ */
+final class ExpiringMap<V> {
+
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Entry<V>> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    // Approximate length of insertionOrder, which is costly to count
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    /**
+     * Retrieves a value, if it is present and has not expired.
+     *
+     * @param key the key of the value.
+     * @param now the current time in milliseconds.
+     * @return the value, or {@code null} if it is missing or expired.
+     */
+    V get(String key, long now) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= now) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Inserts or replaces a value, evicting the oldest entries if the map is
+     * full.
+     *
+     * @param key       the key of the value.
+     * @param value     the value.
+     * @param expiresAt the time the value expires at, in milliseconds.
+     * @param maxSize   the maximum number of entries, at least 1.
+     */
+    void put(String key, V value, long expiresAt, int maxSize) {
+        if (!entries.containsKey(key)) {
+            makeRoom(maxSize);
+        }
+        Entry<V> entry = new Entry<>(key, value, expiresAt);
+        entries.put(key, entry);
+        enqueue(entry, maxSize);
+    }
+
+    /**
+     * Inserts a value unless the key already holds one that has not expired,
+     * evicting the oldest entries if the map is full.
+     *
+     * @param key       the key of the value.
+     * @param value     the value.
+     * @param now       the current time in milliseconds.
+     * @param expiresAt the time the value expires at, in milliseconds.
+     * @param maxSize   the maximum number of entries, at least 1.
+     * @return {@code true} if the value was inserted.
+     */
+    boolean putIfAbsent(String key, V value, long now, long expiresAt, int maxSize) {
+        Entry<V> previous = entries.get(key);
+        if (previous != null && previous.expiresAt > now) {
+            return false;
+        }
+        if (previous == null) {
+            makeRoom(maxSize);
+        }
+
+        Entry<V> entry = new Entry<>(key, value, expiresAt);
+        boolean inserted = previous == null
+                ? entries.putIfAbsent(key, entry) == null
+                : entries.replace(key, previous, entry);
+        if (inserted) {
+            enqueue(entry, maxSize);
+        }
+        return inserted;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param key the key of the value.
+     */
+    void remove(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every value matching a predicate, scanning the whole map.
+     *
+     * @param predicate the predicate values are removed for.
+     */
+    void removeIf(Predicate<V> predicate) {
+        entries.values().removeIf(entry -> predicate.test(entry.value));
+    }
+
+    /**
+     * Returns the number of entries, including any that have expired but not
+     * yet been evicted.
+     *
+     * @return the number of entries.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Evicts the oldest entries until the map is below its maximum size.
+     *
+     * @param maxSize the maximum number of entries.
+     */
+    private void makeRoom(int maxSize) {
+        while (entries.size() >= maxSize) {
+            Entry<V> oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            entries.remove(oldest.key, oldest);
+        }
+    }
+
+    /**
+     * Queues an inserted entry. Entries removed or replaced stay queued until
+     * they reach the head, so once the queue is twice the maximum size it is
+     * compacted, which amortizes to constant time per insert.
+     *
+     * @param entry   the inserted entry.
+     * @param maxSize the maximum number of entries.
+     */
+    private void enqueue(Entry<V> entry, int maxSize) {
+        insertionOrder.add(entry);
+        if (queued.incrementAndGet() > 2 * maxSize && compacting.compareAndSet(false, true)) {
+            try {
+                insertionOrder.removeIf(queuedEntry -> entries.get(queuedEntry.key) != queuedEntry);
+                queued.set(insertionOrder.size());
+            } finally {
+                compacting.set(false);
+            }
+        }
+    }
+
+    /**
+     * Value of an entry, with its key and the time it expires at.
+     */
+    private static final class Entry<V> {
+        private final String key;
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(String key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package middleware.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * InvalidationQueue takes the invalidation of rejected tokens off the
+ * response path.
+ *
+ * <p>
+ * A rejected token is added to the {@link RejectedTokenCache} straight away,
+ * so retries of it are rejected without touching the database, and queued for
+ * invalidation. The queue is flushed every
+ * {@code middleware.invalidation.flush-interval-ms}, invalidating up to
+ * {@code middleware.invalidation.batch-size} tokens at a time in a single
+ * transaction, so a burst of rejected tokens costs a few group commits instead
+ * of one locking transaction each. A token is queued at most once while it is
+ * pending or cached as rejected.
+ * </p>
+ *
+ * <p>
+ * Invalidation is idempotent, so a batch that fails is queued again for the
+ * next flush. The queue is bounded by {@code middleware.invalidation.max-pending};
+ * tokens rejected while it is full are still cached as rejected, but not
+ * invalidated in the database. Pending tokens are flushed on shutdown.
+ * </p>
+ */
+@Component
+public class InvalidationQueue {
+
+    @Value("${middleware.invalidation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${middleware.invalidation.max-pending:10000}")
+    private int maxPending;
+
+    @Autowired
+    private TokenValidationService tokenValidationService;
+
+    @Autowired
+    private RejectedTokenCache rejectedTokenCache;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Rejects a token at once, and queues it for invalidation in the database.
+     *
+     * @param jwt     the rejected JWT.
+     * @param message the reason the token was rejected.
+     */
+    public void invalidate(String jwt, String message) {
+        if (!rejectedTokenCache.put(jwt, message)) {
+            return;
+        }
+        if (pending.size() >= maxPending) {
+            System.out.println("Invalidation queue full, dropping invalidation");
+            return;
+        }
+        pending.add(jwt);
+    }
+
+    /**
+     * Invalidates all pending tokens, one batch at a time, until none are left
+     * or a batch fails.
+     */
+    @Scheduled(fixedDelayString = "${middleware.invalidation.flush-interval-ms:200}")
+    public void flush() {
+        List<String> batch;
+        do {
+            batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                tokenValidationService.invalidateJwts(batch);
+            } catch (Exception e) {
+                System.out.println("Failed to invalidate " + batch.size() + " JWTs: " + e.getMessage());
+                pending.addAll(batch);
+                return;
+            }
+        } while (batch.size() >= batchSize);
+    }
+
+    /**
+     * Flushes the pending tokens before the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Returns the number of tokens waiting to be invalidated.
+     *
+     * @return the number of pending tokens.
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Removes up to a batch of pending tokens, sorted so concurrent
+     * instances lock rows in the same order.
+     *
+     * @return the removed tokens.
+     */
+    private List<String> drain() {
+        List<String> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<String> iterator = pending.iterator();
+        while (batch.size() < batchSize && iterator.hasNext()) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        Collections.sort(batch);
+        return batch;
+    }
+}
@@ -0,0 +1,184 @@
+package middleware.util;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import middleware.exception.KeyUnavailableException;
+
+/**
+ * JwksKeyCache holds the public keys published by the User microservice's
+ * {@code /.well-known/jwks.json}, so RS256 tokens can be verified in process.
+ *
+ * <p>
+ * Keys are cached by their key ID. A token signed with an unknown key ID
+ * triggers a refetch of the key set, at most once per
+ * {@code middleware.jwks.min-refresh-ms}, so rotated keys are picked up
+ * without letting forged key IDs flood the User microservice. Keys missing
+ * from a refetched set are dropped.
+ * </p>
+ *
+ * <p>
+ * A key ID is only reported as unpublished once a key set fetched after it
+ * was asked for lacks it. If the fetch fails, or is throttled and the key set
+ * predates the lookup, the key is reported as unavailable instead, so a valid
+ * token is retried rather than rejected. Failed fetches are not throttled,
+ * and lookups waiting on a fetch share its result.
+ * </p>
+ *
+ * <p>
+ * Disabled when {@code middleware.jwks.url} is not set, in which case only
+ * tokens signed with the shared secret are accepted.
+ * </p>
+ */
+@Component
+public class JwksKeyCache {
+
+    @Value("${middleware.jwks.url:}")
+    private String jwksUrl;
+
+    @Value("${middleware.jwks.min-refresh-ms:30000}")
+    private long minRefreshMillis;
+
+    private final ConcurrentHashMap<String, PublicKey> keys = new ConcurrentHashMap<>();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Start times of the latest fetch, and of the latest one that succeeded
+    private volatile long lastFetch;
+    private volatile long lastSuccessfulFetch;
+
+    private volatile boolean lastFetchFailed;
+
+    /**
+     * Retrieves the public key with a key ID, refetching the key set if the ID
+     * is not known.
+     *
+     * @param kid the key ID from the token's header.
+     * @return the RSA public key, or {@code null} if no such key is published
+     *         or the key set is disabled.
+     * @throws KeyUnavailableException if the ID is not known and the key set
+     *                                 could not be refetched since it was
+     *                                 asked for.
+     */
+    public PublicKey getKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        PublicKey key = keys.get(kid);
+        if (key != null || jwksUrl == null || jwksUrl.isBlank()) {
+            return key;
+        }
+
+        long lookupStart = System.currentTimeMillis();
+        refresh(lookupStart);
+        key = keys.get(kid);
+        if (key == null && lastSuccessfulFetch < lookupStart) {
+            long retryAfterMillis = lastFetchFailed ? 0 : lastFetch + minRefreshMillis - System.currentTimeMillis();
+            throw new KeyUnavailableException("JWT signing keys are unavailable, try again later.",
+                    Math.max(1, (retryAfterMillis + 999) / 1000));
+        }
+        return key;
+    }
+
+    /**
+     * Refetches the key set, unless a fetch started since the lookup, or the
+     * last fetch succeeded within the minimum refresh interval.
+     *
+     * @param lookupStart the time the lookup needing the key set started, in
+     *                    milliseconds.
+     */
+    private synchronized void refresh(long lookupStart) {
+        long now = System.currentTimeMillis();
+        if (lastFetch >= lookupStart || (!lastFetchFailed && now - lastFetch < minRefreshMillis)) {
+            return;
+        }
+        lastFetch = now;
+        lastFetchFailed = !fetch();
+        if (!lastFetchFailed) {
+            lastSuccessfulFetch = now;
+        }
+    }
+
+    /**
+     * Fetches the key set and replaces the cached keys with it.
+     *
+     * @return {@code true} if the key set was fetched and loaded.
+     */
+    private boolean fetch() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(jwksUrl))
+                    .timeout(Duration.ofSeconds(2))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                System.out.println("Failed to fetch JWKS: " + response.statusCode());
+                return false;
+            }
+            load(objectMapper.readTree(response.body()));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            System.out.println("Failed to fetch JWKS: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the cached keys with the RSA signing keys of a key set.
+     *
+     * @param jwks the JSON Web Key Set.
+     */
+    void load(JsonNode jwks) {
+        Map<String, PublicKey> loaded = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            String kid = jwk.path("kid").asText(null);
+            if (kid == null || !"RSA".equals(jwk.path("kty").asText())
+                    || !"sig".equals(jwk.path("use").asText("sig"))) {
+                continue;
+            }
+            try {
+                loaded.put(kid, KeyFactory.getInstance("RSA").generatePublic(
+                        new RSAPublicKeySpec(decode(jwk.path("n")), decode(jwk.path("e")))));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                System.out.println("Skipping invalid JWK " + kid + ": " + e.getMessage());
+            }
+        }
+        keys.putAll(loaded);
+        keys.keySet().retainAll(loaded.keySet());
+    }
+
+    /**
+     * Decodes a base64url encoded unsigned big-endian integer of a JWK.
+     *
+     * @param value the encoded integer.
+     * @return the decoded integer.
+     */
+    private static BigInteger decode(JsonNode value) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value.asText()));
+    }
+}
@@ -1,12 +1,11 @@
 package middleware.util;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureException;
 
+import middleware.exception.KeyUnavailableException;
 import middleware.exception.UnauthorizedException;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -20,8 +19,19 @@ import org.springframework.stereotype.Component;
  * </p>
  *
  * <p>
+ * Tokens signed with RS256 are verified against the User microservice's
+ * published public keys, looked up by their {@code kid} header in the
+ * {@link JwksKeyCache}.
+ * </p>
+ *
+ * <p>
  * Tokens are set to expire after a specified duration (24 hours in this case).
  * </p>
+ *
+ * <p>
+ * Tokens are verified by a {@link JwtVerifier} built once from the configured
+ * keys and shared by every request.
+ * </p>
  */
 @Component
 public class JwtUtil {
@@ -29,34 +39,39 @@ public class JwtUtil {
     @Value("${security.jwt.secret-key}")
     private String secretKey; // Default for testing
 
+    @Autowired(required = false)
+    private JwksKeyCache jwksKeyCache;
+
+    private volatile JwtVerifier verifier;
+
     /**
      * Decrypts and validates a JWT token and extracts the claims.
      *
      * @param token the JWT token to decrypt and validate.
      * @return the claims extracted from the JWT token.
-     * @throws UnauthorizedException if the token is invalid, expired, or has an
-     *                               invalid signature.
+     * @throws UnauthorizedException   if the token is invalid, expired, or has
+     *                                 an invalid signature.
+     * @throws KeyUnavailableException if the published key the token is signed
+     *                                 with cannot be checked.
      */
     public Claims decryptToken(String token) throws UnauthorizedException {
         ValidationUtil.validateNotEmpty(token, "JWT");
-        try {
-            // Use the parser to validate and parse the JWT
-            Claims claims = Jwts.parser()
-                    .setSigningKey(secretKey) // Use the secret key to validate the signature
-                    .parseClaimsJws(token)
-                    .getBody(); // Return the claims (UUID, username, isAdmin, etc.)
-
-            return claims;
-        } catch (ExpiredJwtException e) {
-            // Print the error message for debugging
-            throw new UnauthorizedException("JWT token has expired", e);
-        } catch (SignatureException e) {
-            // Print the error message for debugging
-            throw new UnauthorizedException("Invalid JWT signature", e);
-        } catch (Exception e) {
-            // Print the error message for debugging
-            e.printStackTrace(); // Print stack trace for additional context
-            throw new UnauthorizedException("Invalid JWT token", e);
+        return getVerifier().verify(token);
+    }
+
+    /**
+     * Returns the verifier for the configured keys, building it on first use.
+     * Concurrent first calls may each build one, which is harmless as they
+     * are equivalent.
+     *
+     * @return the JWT verifier.
+     */
+    private JwtVerifier getVerifier() {
+        JwtVerifier current = verifier;
+        if (current == null) {
+            current = new JwtVerifier(secretKey, jwksKeyCache);
+            verifier = current;
         }
+        return current;
     }
 }
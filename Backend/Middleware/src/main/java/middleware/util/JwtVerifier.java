@@ -0,0 +1,119 @@
+package middleware.util;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.impl.TextCodec;
+import middleware.exception.KeyUnavailableException;
+import middleware.exception.UnauthorizedException;
+
+/**
+ * JwtVerifier verifies JWT signatures and extracts their claims with a parser
+ * and keys built once, instead of once per token.
+ *
+ * <p>
+ * The shared secret is decoded into a {@link SecretKey} for each HMAC
+ * algorithm up front, and the parser is configured once with a key resolver
+ * that picks the secret for HMAC tokens, or the published key with the
+ * token's {@code kid} for RSA tokens. The parser is never reconfigured after
+ * construction, so a single verifier can be shared by every thread.
+ * </p>
+ *
+ * <p>
+ * Rejected tokens are reported as {@link UnauthorizedException}s without a
+ * stack trace, so a flood of malformed tokens costs no more than parsing
+ * them. Tokens whose published key cannot be checked are reported as a
+ * {@link KeyUnavailableException} instead, as they may be valid.
+ * </p>
+ */
+public class JwtVerifier {
+
+    private final JwtParser parser;
+
+    /**
+     * Builds a verifier for tokens signed with the shared secret or a
+     * published RSA key.
+     *
+     * @param secretKey    the Base64 encoded shared secret.
+     * @param jwksKeyCache the published RSA keys, or {@code null} to only
+     *                     accept tokens signed with the shared secret.
+     */
+    public JwtVerifier(String secretKey, JwksKeyCache jwksKeyCache) {
+        this.parser = Jwts.parser().setSigningKeyResolver(new KeyResolver(secretKey, jwksKeyCache));
+    }
+
+    /**
+     * Verifies a JWT and extracts its claims.
+     *
+     * @param token the JWT to verify.
+     * @return the claims of the JWT.
+     * @throws UnauthorizedException   if the token is malformed, expired, or
+     *                                 has an invalid signature.
+     * @throws KeyUnavailableException if the published key the token is signed
+     *                                 with cannot be checked.
+     */
+    public Claims verify(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            throw new UnauthorizedException("JWT token has expired", e, false);
+        } catch (SignatureException e) {
+            throw new UnauthorizedException("Invalid JWT signature", e, false);
+        } catch (UnauthorizedException | KeyUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new UnauthorizedException("Invalid JWT token", e, false);
+        }
+    }
+
+    /**
+     * Resolves the key to verify a token's signature with, based on its
+     * algorithm. HMAC tokens are only ever verified with the shared secret,
+     * and RSA tokens only with a published key, so neither can be passed off
+     * as the other.
+     */
+    private static final class KeyResolver extends SigningKeyResolverAdapter {
+
+        private final Map<SignatureAlgorithm, SecretKey> hmacKeys = new EnumMap<>(SignatureAlgorithm.class);
+
+        private final JwksKeyCache jwksKeyCache;
+
+        private KeyResolver(String secretKey, JwksKeyCache jwksKeyCache) {
+            byte[] secret = TextCodec.BASE64.decode(secretKey);
+            for (SignatureAlgorithm algorithm : SignatureAlgorithm.values()) {
+                if (algorithm.isHmac()) {
+                    hmacKeys.put(algorithm, new SecretKeySpec(secret, algorithm.getJcaName()));
+                }
+            }
+            this.jwksKeyCache = jwksKeyCache;
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            SignatureAlgorithm algorithm = SignatureAlgorithm.forName(header.getAlgorithm());
+            if (algorithm.isHmac()) {
+                return hmacKeys.get(algorithm);
+            }
+            if (algorithm.isRsa() && jwksKeyCache != null) {
+                PublicKey key = jwksKeyCache.getKey(header.getKeyId());
+                if (key != null) {
+                    return key;
+                }
+            }
+            throw new UnauthorizedException("Unknown JWT signing key", null, false);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package middleware.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * RejectedTokenCache remembers recently rejected tokens, so a client retrying
+ * a known-bad token is rejected with a single hash lookup, without decoding
+ * the token or touching the database.
+ *
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the token, like the
+ * {@link VerifiedTokenCache}, and hold the reason the token was rejected.
+ * They expire after a short configurable TTL. A flood of distinct bad tokens
+ * fills the cache with fresh entries, so once full it evicts its oldest
+ * entries in constant amortized time rather than scanning for expired ones.
+ * </p>
+ */
+@Component
+public class RejectedTokenCache {
+
+    @Value("${middleware.rejected-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${middleware.rejected-cache.ttl-ms:60000}")
+    private long ttlMillis;
+
+    private final ExpiringMap<String> entries = new ExpiringMap<>();
+
+    /**
+     * Retrieves the reason a token was rejected, if it was rejected recently.
+     *
+     * @param jwt the JWT to look up.
+     * @return the reason the token was rejected, or {@code null} if it is not
+     *         cached.
+     */
+    public String get(String jwt) {
+        return entries.get(VerifiedTokenCache.hash(jwt), System.currentTimeMillis());
+    }
+
+    /**
+     * Caches a rejected token, unless it is already cached.
+     *
+     * @param jwt     the rejected JWT.
+     * @param message the reason the token was rejected.
+     * @return {@code true} if the token was not already cached.
+     */
+    public boolean put(String jwt, String message) {
+        long now = System.currentTimeMillis();
+        if (ttlMillis <= 0 || maxSize <= 0) {
+            return true;
+        }
+
+        return entries.putIfAbsent(VerifiedTokenCache.hash(jwt), message, now, now + ttlMillis, maxSize);
+    }
+
+    /**
+     * Returns the number of cached tokens, including any that have expired but
+     * not yet been evicted.
+     *
+     * @return the number of cached tokens.
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -1,5 +1,6 @@
 package middleware.util;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -36,6 +37,22 @@ public class ResponseManager {
         return ResponseEntity.status(status).body(createResponse(message, false));
     }
 
+    /**
+     * Creates a 503 Service Unavailable response, with a {@code Retry-After}
+     * header telling the client when to retry.
+     *
+     * @param message           the error message to be included in the response
+     * @param retryAfterSeconds the number of seconds after which the client may
+     *                          retry
+     * @return a {@link ResponseEntity} containing an error response with the
+     *         specified message
+     */
+    public static ResponseEntity<Map<String, Object>> unavailable(String message, long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(createResponse(message, false));
+    }
+
     /**
      * Creates a response map with a message, success flag, and optional additional
      * data.
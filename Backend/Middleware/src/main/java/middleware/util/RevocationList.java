@@ -0,0 +1,269 @@
+package middleware.util;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import middleware.dto.SessionDelta;
+import middleware.dto.SessionInfo;
+import middleware.repository.SessionRepository;
+
+/**
+ * RevocationList keeps an in-memory copy of the JWT session state, so a token
+ * can be validated without a database call.
+ *
+ * <p>
+ * It holds the active session of each user, and the hashes of revoked tokens
+ * behind a {@link BloomFilter}, so the common case of a token that was never
+ * revoked is answered by the filter alone. The state is synchronised from the
+ * JWToken table every {@code middleware.revocation.poll-interval-ms}, reading
+ * only the sessions whose last login or logout changed since the previous
+ * synchronisation, with a small overlap so changes committed late are not
+ * missed. Revocations made by the Middleware itself are applied at once.
+ * </p>
+ *
+ * <p>
+ * A user has a single session row, whose token is replaced on every login, so
+ * a login also revokes the user's previous token. Revocations are never
+ * undone, and are dropped once the tokens they cover have expired.
+ * </p>
+ *
+ * <p>
+ * Role changes are not synchronised, so the role loaded at login is only
+ * trusted while it grants nothing: sessions of admins always fall back to the
+ * database, where a demotion takes effect at once. A promotion takes effect at
+ * the user's next login.
+ * </p>
+ *
+ * <p>
+ * If the list has not synchronised within
+ * {@code middleware.revocation.max-staleness-ms}, such as while the database
+ * is unreachable, tokens that are not known to be revoked fall back to the
+ * database.
+ * </p>
+ */
+@Component
+public class RevocationList {
+
+    // False positive rate of the Bloom filter at its expected size
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // Minimum interval between purges of expired revocations
+    private static final long PRUNE_INTERVAL_MS = 60000;
+
+    @Value("${middleware.revocation.max-staleness-ms:5000}")
+    private long maxStalenessMillis;
+
+    @Value("${middleware.revocation.overlap-ms:2000}")
+    private long overlapMillis;
+
+    // Token lifetime plus an hour of clock skew
+    @Value("${middleware.revocation.retention-ms:90000000}")
+    private long retentionMillis;
+
+    @Value("${middleware.revocation.expected-revocations:100000}")
+    private int expectedRevocations;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    // Active session of each user, keyed by UUID
+    private final ConcurrentHashMap<String, ActiveSession> sessions = new ConcurrentHashMap<>();
+
+    // Time each revoked token was revoked at, keyed by token hash
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private final Object filterLock = new Object();
+
+    private volatile BloomFilter filter;
+
+    private volatile long lastSyncAt;
+
+    private long cursor;
+
+    private long lastPruneAt;
+
+    /**
+     * Creates the Bloom filter at its configured size.
+     */
+    @PostConstruct
+    public void init() {
+        filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Looks up the session of a token in memory.
+     *
+     * @param jwt  the JWT, with a verified signature.
+     * @param uuid the UUID claimed by the JWT.
+     * @return a logged out {@link SessionInfo} if the token is revoked, the
+     *         active {@link SessionInfo} if the token is the current session
+     *         of a non-admin user, or {@code null} if the database must be
+     *         checked.
+     */
+    public SessionInfo lookup(String jwt, String uuid) {
+        byte[] digest = VerifiedTokenCache.digest(jwt);
+        String key = Base64.getEncoder().encodeToString(digest);
+        if (filter.mightContain(digest) && revoked.containsKey(key)) {
+            return new SessionInfo().setUuid(uuid).setLoggedOut(true);
+        }
+
+        if (uuid == null || System.currentTimeMillis() - lastSyncAt > maxStalenessMillis) {
+            return null;
+        }
+        ActiveSession session = sessions.get(uuid);
+        if (session == null || !session.key.equals(key)) {
+            return null;
+        }
+        // The admin role may have been revoked since login, so only the database can grant it
+        if (session.isAdmin == null || session.isAdmin != 0) {
+            return null;
+        }
+        return new SessionInfo().setUuid(uuid).setIsAdmin(session.isAdmin);
+    }
+
+    /**
+     * Revokes a token straight away, after it has been invalidated in the
+     * database.
+     *
+     * @param jwt the invalidated JWT.
+     */
+    public void revokeToken(String jwt) {
+        byte[] digest = VerifiedTokenCache.digest(jwt);
+        markRevoked(digest, Base64.getEncoder().encodeToString(digest), System.currentTimeMillis());
+    }
+
+    /**
+     * Revokes a user's session straight away, after the user has been logged
+     * out in the database.
+     *
+     * @param uuid the UUID of the logged out user.
+     */
+    public void revokeUser(String uuid) {
+        ActiveSession session = sessions.remove(uuid);
+        if (session != null) {
+            markRevoked(session.digest, session.key, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Applies the sessions changed since the previous synchronisation, and
+     * purges expired revocations.
+     */
+    @Scheduled(fixedDelayString = "${middleware.revocation.poll-interval-ms:1000}")
+    public synchronized void sync() {
+        long now = System.currentTimeMillis();
+        List<SessionDelta> deltas;
+        try {
+            deltas = sessionRepository.findSessionsChangedSince(Math.max(cursor - overlapMillis, 0));
+        } catch (Exception e) {
+            System.out.println("Failed to sync revocation list: " + e.getMessage());
+            return;
+        }
+
+        for (SessionDelta delta : deltas) {
+            if (delta.getChangedAt() >= now - retentionMillis) {
+                apply(delta);
+            }
+            cursor = Math.max(cursor, delta.getChangedAt());
+        }
+
+        if (now - lastPruneAt >= PRUNE_INTERVAL_MS) {
+            prune(now);
+            lastPruneAt = now;
+        }
+        lastSyncAt = now;
+    }
+
+    /**
+     * Returns the number of revoked tokens held, including any that have
+     * expired but not yet been purged.
+     *
+     * @return the number of revoked tokens.
+     */
+    public int revokedCount() {
+        return revoked.size();
+    }
+
+    /**
+     * Applies the current state of a changed session.
+     *
+     * @param delta the changed session.
+     */
+    private void apply(SessionDelta delta) {
+        byte[] digest = VerifiedTokenCache.digest(delta.getJwt());
+        String key = Base64.getEncoder().encodeToString(digest);
+
+        ActiveSession previous;
+        if (delta.isLoggedOut()) {
+            previous = sessions.remove(delta.getUuid());
+            markRevoked(digest, key, delta.getChangedAt());
+        } else {
+            previous = sessions.put(delta.getUuid(), new ActiveSession(key, digest, delta.getIsAdmin()));
+        }
+
+        // A new login replaces the user's previous token
+        if (previous != null && !previous.key.equals(key)) {
+            markRevoked(previous.digest, previous.key, delta.getChangedAt());
+        }
+    }
+
+    /**
+     * Adds a token to the revoked tokens, and evicts it from the
+     * {@link VerifiedTokenCache}.
+     *
+     * @param digest    the SHA-256 digest of the token.
+     * @param key       the Base64 encoded digest of the token.
+     * @param revokedAt the time the token was revoked, in milliseconds.
+     */
+    private void markRevoked(byte[] digest, String key, long revokedAt) {
+        synchronized (filterLock) {
+            revoked.merge(key, revokedAt, Math::max);
+            filter.add(digest);
+        }
+        verifiedTokenCache.evictHash(key);
+    }
+
+    /**
+     * Drops revocations of tokens that have expired, and rebuilds the Bloom
+     * filter from the rest, sized for at least twice as many.
+     *
+     * @param now the current time in milliseconds.
+     */
+    private void prune(long now) {
+        synchronized (filterLock) {
+            revoked.values().removeIf(revokedAt -> revokedAt < now - retentionMillis);
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2),
+                    FALSE_POSITIVE_RATE);
+            for (String key : revoked.keySet()) {
+                rebuilt.add(Base64.getDecoder().decode(key));
+            }
+            filter = rebuilt;
+        }
+    }
+
+    /**
+     * The current session of a user, with the role loaded at its login.
+     */
+    private static final class ActiveSession {
+        private final String key;
+        private final byte[] digest;
+        private final Byte isAdmin;
+
+        private ActiveSession(String key, byte[] digest, Byte isAdmin) {
+            this.key = key;
+            this.digest = digest;
+            this.isAdmin = isAdmin;
+        }
+    }
+}
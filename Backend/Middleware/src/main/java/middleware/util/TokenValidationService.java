@@ -1,9 +1,13 @@
 package middleware.util;
 
+import middleware.dto.SessionInfo;
 import middleware.exception.UnauthorizedException;
-import middleware.model.*;
 import middleware.repository.*;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
@@ -12,9 +16,9 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * TokenValidationService provides services for validating JWT tokens and
  * retrieving user roles.
- * It interacts with the {@link JWTokenRepository} and {@link UserRepository} to
- * verify
- * the presence and validity of JWTs and to check user roles.
+ * It interacts with the {@link SessionRepository} to verify the presence and
+ * validity of JWTs and to check user roles in one query, and with the
+ * {@link JWTokenRepository} to invalidate sessions.
  *
  * <p>
  * This class is designed to handle database transactions through methods
@@ -30,54 +34,56 @@ public class TokenValidationService {
     private JWTokenRepository jwTokenRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private RevocationList revocationList;
 
     /**
-     * Synchronously checks the validity of the JWT by querying the database.
+     * Synchronously validates the JWT session and retrieves the user's role
+     * with a single query.
      * This method is annotated with {@code @Transactional} with propagation set to
-     * {@code REQUIRES_NEW} to ensure a new transaction is started each time this
-     * method is called.
+     * {@code REQUIRES_NEW} and {@code readOnly} set, so it runs in one short
+     * read-only transaction holding a single connection.
      *
      * <p>
-     * It retrieves the JWT from the database, validates its session state, and
-     * returns
-     * the {@link JWToken} object if the token is valid.
+     * It retrieves the JWT's session and the user's role from the database
+     * without locking, validates the session state, and returns the
+     * {@link SessionInfo} if the session is valid.
      * </p>
      *
      * @param jwt the JWT token to validate.
-     * @return the {@link JWToken} object if the token is valid.
-     * @throws UnauthorizedException if the JWT is invalid.
+     * @return the {@link SessionInfo} of the JWT if the session is valid.
+     * @throws UnauthorizedException if the JWT is invalid or its session has
+     *                               been logged out.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public JWToken checkValiditySync(String jwt) {
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public SessionInfo validateSessionSync(String jwt) {
         ValidationUtil.validateNotEmpty(jwt, "JWT");
 
-        // Validate the JWT by checking its presence and validity in the database
-        JWToken dbJwt = jwTokenRepository.checkValidity(jwt); // Apply necessary locking if required
-        ValidationUtil.validateJwtSession(dbJwt);
-        return dbJwt;
+        SessionInfo session = sessionRepository.validateSession(jwt);
+        ValidationUtil.validateJwtSession(session);
+        return session;
     }
 
     /**
-     * Synchronously retrieves the user's role based on their UUID.
-     * This method is annotated with {@code @Transactional} with propagation set to
-     * {@code REQUIRES_NEW} to ensure a new transaction is started for each
-     * invocation.
+     * Synchronously retrieves the sessions of many JWTs and the roles of their
+     * users with a single query, in one short read-only transaction.
      *
      * <p>
-     * It queries the database to retrieve the user's role by their UUID and returns
-     * the role as a byte value.
+     * Unlike {@link #validateSessionSync(String)}, the sessions are not
+     * validated, so the caller can report the outcome of each JWT.
      * </p>
      *
-     * @param uuid the user's UUID.
-     * @return the user's role as a {@link Byte} value.
+     * @param jwts the JWTs to look up.
+     * @return the {@link SessionInfo} of each known JWT, keyed by JWT.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public Byte getUserRoleSync(String uuid) {
-        ValidationUtil.validateNotEmpty(uuid, "UUID");
-
-        // Retrieve and check the user's role from the database
-        return userRepository.getRoleByUUID(uuid); // Apply necessary locking if required
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Map<String, SessionInfo> getSessionsSync(Collection<String> jwts) {
+        return sessionRepository.validateSessions(jwts);
     }
 
     /**
@@ -88,7 +94,8 @@ public class TokenValidationService {
      *
      * <p>
      * Validates that the provided JWT is not empty, then marks it as invalid in the
-     * {@code jwTokenRepository}.
+     * {@code jwTokenRepository}, revokes it in the {@link RevocationList} and
+     * evicts it from the {@link VerifiedTokenCache}.
      * </p>
      *
      * @param jwt the JSON Web Token (JWT) to be invalidated; must not be null or
@@ -100,6 +107,36 @@ public class TokenValidationService {
         ValidationUtil.validateNotEmpty(jwt, "JWT");
 
         jwTokenRepository.invalidateJwt(jwt);
+        revocationList.revokeToken(jwt);
+        verifiedTokenCache.evict(jwt);
+    }
+
+    /**
+     * Synchronously invalidates many JSON Web Tokens (JWTs) in a single
+     * transaction, so they are written with one group commit.
+     * This method is annotated with {@code @Transactional} with propagation set to
+     * {@code REQUIRES_NEW} to ensure a new transaction is started for each
+     * invocation.
+     *
+     * <p>
+     * Each token is also revoked in the {@link RevocationList} and
+     * evicted from the {@link VerifiedTokenCache}.
+     * </p>
+     *
+     * @param jwts the JWTs to invalidate, sorted so that concurrent batches
+     *             lock rows in the same order.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void invalidateJwts(List<String> jwts) {
+        if (jwts.isEmpty()) {
+            return;
+        }
+
+        sessionRepository.invalidateSessions(jwts);
+        for (String jwt : jwts) {
+            revocationList.revokeToken(jwt);
+            verifiedTokenCache.evict(jwt);
+        }
     }
 
     /**
@@ -110,7 +147,9 @@ public class TokenValidationService {
      *
      * <p>
      * Validates that the provided JWT is not empty, then marks it as invalid in the
-     * {@code jwTokenRepository}.
+     * {@code jwTokenRepository}, revokes the user's session in the
+     * {@link RevocationList} and evicts the user's tokens from the
+     * {@link VerifiedTokenCache}.
      * </p>
      *
      * @param jwt the JSON Web Token (JWT) to be invalidated; must not be null or
@@ -122,5 +161,7 @@ public class TokenValidationService {
         ValidationUtil.validateNotEmpty(uuid, "UUID");
 
         jwTokenRepository.updateLogout(uuid);
+        revocationList.revokeUser(uuid);
+        verifiedTokenCache.evictUser(uuid);
     }
 }
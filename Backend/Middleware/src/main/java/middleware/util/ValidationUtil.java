@@ -6,7 +6,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import middleware.exception.UnauthorizedException;
-import middleware.model.JWToken;
+import middleware.dto.SessionInfo;
 
 /**
  * ValidationUtil provides utility methods for validating JWT session data,
@@ -33,13 +33,14 @@ public class ValidationUtil {
     }
 
     /**
-     * Validates the JWT session by checking if the JWT exists in the database.
+     * Validates the JWT session by checking if the JWT exists in the database
+     * and has not been logged out.
      *
-     * @param retrievedJWT the JWT object retrieved from the database.
+     * @param session the session of the JWT retrieved from the database.
      * @throws UnauthorizedException if the JWT is invalid or session expired.
      */
-    public static void validateJwtSession(JWToken retrievedJWT) throws UnauthorizedException {
-        if (retrievedJWT == null) {
+    public static void validateJwtSession(SessionInfo session) throws UnauthorizedException {
+        if (session == null || session.isLoggedOut()) {
             // Throw an exception if the JWT is invalid or session expired
             throw new UnauthorizedException("Invalid JWT or session expired.");
         }
@@ -0,0 +1,131 @@
+package middleware.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * VerifiedTokenCache holds the result of recent successful JWT validations, so
+ * a repeat validation of the same token costs a single hash lookup instead of
+ * a signature check and two database calls.
+ *
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the token, so raw tokens are never
+ * kept in memory, and hold the validated user's UUID and admin status. Each
+ * entry expires at the earlier of the token's own expiry and a short
+ * configurable TTL, which bounds how long a session revoked elsewhere can
+ * still be accepted. Invalidated tokens and logged out users are evicted
+ * immediately, and once the cache is full the oldest tokens make room for new
+ * ones.
+ * </p>
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${middleware.token-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${middleware.token-cache.ttl-ms:30000}")
+    private long ttlMillis;
+
+    private final ExpiringMap<Map<String, String>> entries = new ExpiringMap<>();
+
+    /**
+     * Retrieves the validated user data of a token, if it is cached and has
+     * not expired.
+     *
+     * @param jwt the JWT to look up.
+     * @return a map containing the user's UUID and admin status, or
+     *         {@code null} if the token is not cached.
+     */
+    public Map<String, String> get(String jwt) {
+        return entries.get(hash(jwt), System.currentTimeMillis());
+    }
+
+    /**
+     * Caches the validated user data of a token.
+     *
+     * @param jwt        the validated JWT.
+     * @param user       a map containing the user's UUID and admin status.
+     * @param expiration the expiry of the JWT, or {@code null} if it has none.
+     */
+    public void put(String jwt, Map<String, String> user, Date expiration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (expiresAt <= now || maxSize <= 0) {
+            return;
+        }
+
+        entries.put(hash(jwt), user, expiresAt, maxSize);
+    }
+
+    /**
+     * Evicts a token, so its next validation goes to the database.
+     *
+     * @param jwt the JWT to evict.
+     */
+    public void evict(String jwt) {
+        entries.remove(hash(jwt));
+    }
+
+    /**
+     * Evicts a token by its hash, for callers that only hold the hash.
+     *
+     * @param key the hash of the JWT to evict, as returned by {@link #hash}.
+     */
+    void evictHash(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Evicts every token of a user, such as when the user is logged out.
+     *
+     * @param uuid the UUID of the user.
+     */
+    public void evictUser(String uuid) {
+        entries.removeIf(user -> uuid.equals(user.get("uuid")));
+    }
+
+    /**
+     * Returns the number of cached tokens, including any that have expired but
+     * not yet been evicted.
+     *
+     * @return the number of cached tokens.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Hashes a token into its cache key.
+     *
+     * @param jwt the JWT to hash.
+     * @return the Base64 encoded SHA-256 hash of the token.
+     */
+    static String hash(String jwt) {
+        return Base64.getEncoder().encodeToString(digest(jwt));
+    }
+
+    /**
+     * Computes the SHA-256 digest of a token.
+     *
+     * @param jwt the JWT to digest.
+     * @return the SHA-256 digest of the token.
+     */
+    static byte[] digest(String jwt) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- Indexes for reading the JWT sessions changed since a point in time, which
+-- the Middleware's revocation list polls for every second. Used by
+-- SessionRepository.findSessionsChangedSince.
+--
+-- The query filters on lastLogin OR logout, which MySQL answers with an index
+-- merge of the two indexes instead of a full scan of JWToken.
+
+CREATE INDEX idx_jwtoken_last_login ON JWToken (lastLogin);
+
+CREATE INDEX idx_jwtoken_logout ON JWToken (logout);
@@ -0,0 +1,28 @@
+-- Validates a JWT session and loads the user's role in a single call, in
+-- place of CheckValidity followed by getRoleByUUID. Used by
+-- SessionRepository.
+--
+-- Returns one row for a known JWT, or no rows otherwise:
+--   uuid      the UUID of the user the JWT belongs to
+--   loggedOut 1 if the session has been logged out since its last login
+--   isAdmin   the user's role, or NULL if the user no longer exists
+--
+-- Reads without locking, as validation never writes.
+
+DROP PROCEDURE IF EXISTS ValidateSession;
+
+DELIMITER //
+
+CREATE PROCEDURE ValidateSession(
+    IN p_jwt VARCHAR(512)
+)
+BEGIN
+    SELECT j.UUID AS uuid,
+           (j.logout IS NOT NULL AND (j.lastLogin IS NULL OR j.logout >= j.lastLogin)) AS loggedOut,
+           u.isAdmin AS isAdmin
+    FROM JWToken j
+    LEFT JOIN User u ON u.UUID = j.UUID
+    WHERE j.jwt = p_jwt;
+END //
+
+DELIMITER ;
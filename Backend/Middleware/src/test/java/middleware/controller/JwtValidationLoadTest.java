@@ -0,0 +1,197 @@
+package middleware.controller;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import middleware.MiddlewareApplication;
+import middleware.dto.SessionInfo;
+import middleware.repository.SessionRepository;
+import middleware.service.MiddlewareService;
+import middleware.util.ResponseManager;
+import middleware.util.TokenValidationService;
+
+/**
+ * Load test for the JWT validation endpoint, comparing the throughput ceiling
+ * of the non-blocking {@code GET /api/auth/jwt} with a blocking endpoint that
+ * holds its servlet thread until validation completes, as the endpoint did
+ * before.
+ *
+ * <p>
+ * The database is replaced by a {@link TokenValidationService} stub that
+ * sleeps for {@link #DB_LATENCY_MS} per call, the verified token cache is
+ * disabled, and Tomcat is limited to {@link #SERVLET_THREADS} threads, so the
+ * blocking endpoint cannot exceed {@code SERVLET_THREADS / DB_LATENCY_MS}
+ * requests per second.
+ * </p>
+ *
+ * <p>
+ * Tagged {@code load} and only run with the {@code loadtest} profile:
+ * {@code mvn -P loadtest test}.
+ * </p>
+ */
+@Tag("load")
+@SpringBootTest(classes = { MiddlewareApplication.class,
+        JwtValidationLoadTest.BlockingController.class }, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "spring.autoconfigure.exclude="
+                        + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration",
+                "security.jwt.secret-key=" + JwtValidationLoadTest.SECRET,
+                "ORIGIN=http://localhost",
+                "server.tomcat.threads.max=" + JwtValidationLoadTest.SERVLET_THREADS,
+                "middleware.validation.pool-size=64",
+                "middleware.limiter.initial-limit=" + JwtValidationLoadTest.CLIENTS,
+                "middleware.token-cache.max-size=0"
+        })
+public class JwtValidationLoadTest {
+
+    static final String SECRET = "load-test-secret";
+
+    static final int SERVLET_THREADS = 4;
+
+    private static final long DB_LATENCY_MS = 100;
+
+    static final int CLIENTS = 64;
+
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(5);
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private TokenValidationService tokenValidationService;
+
+    @MockBean
+    private SessionRepository sessionRepository;
+
+    private String jwt;
+
+    @BeforeEach
+    public void setUp() {
+        jwt = Jwts.builder()
+                .claim("uuid", "uuid-1")
+                .claim("isAdmin", (byte) 0)
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+
+        when(tokenValidationService.validateSessionSync(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(DB_LATENCY_MS);
+            return new SessionInfo().setUuid("uuid-1").setIsAdmin((byte) 0);
+        });
+    }
+
+    /**
+     * Tests that the non-blocking endpoint sustains well over the throughput
+     * ceiling of the blocking endpoint.
+     */
+    @Test
+    public void testThroughputCeiling() throws Exception {
+        double ceiling = SERVLET_THREADS * 1000.0 / DB_LATENCY_MS;
+
+        double blocking = measureThroughput("/loadtest/jwt/blocking");
+        double nonBlocking = measureThroughput("/api/auth/jwt");
+
+        System.out.printf("Blocking ceiling: %.0f req/s%n", ceiling);
+        System.out.printf("Blocking:         %.0f req/s%n", blocking);
+        System.out.printf("Non-blocking:     %.0f req/s%n", nonBlocking);
+
+        assertTrue(blocking <= ceiling * 1.1, "Blocking endpoint exceeded its ceiling");
+        assertTrue(nonBlocking >= blocking * 2, "Non-blocking endpoint did not move past the blocking ceiling");
+    }
+
+    /**
+     * Sends requests from {@link #CLIENTS} concurrent clients, and measures
+     * the rate of successful responses after a warmup.
+     *
+     * @param path the path of the endpoint to load.
+     * @return the successful requests per second.
+     */
+    private double measureThroughput(String path) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", jwt)
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP.toNanos();
+        long end = measureFrom + MEASUREMENT.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            results.add(clients.submit(() -> {
+                int completed = 0;
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Unexpected status " + response.statusCode());
+                    }
+                    if (now >= measureFrom) {
+                        completed++;
+                    }
+                }
+                return completed;
+            }));
+        }
+
+        int completed = 0;
+        for (Future<Integer> result : results) {
+            completed += result.get();
+        }
+        clients.shutdown();
+        clients.awaitTermination(10, TimeUnit.SECONDS);
+        return completed / (MEASUREMENT.toMillis() / 1000.0);
+    }
+
+    /**
+     * Blocking variant of {@code GET /api/auth/jwt}, holding its servlet thread
+     * until validation completes.
+     */
+    @TestConfiguration
+    @RestController
+    static class BlockingController {
+
+        @Autowired
+        private MiddlewareService middlewareService;
+
+        @GetMapping("/loadtest/jwt/blocking")
+        public ResponseEntity<Map<String, Object>> checkJwt(@RequestHeader("Authorization") String jwt) {
+            return ResponseManager.success("JWT validation successful.", middlewareService.checkJwt(jwt).join());
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package middleware.controller;
 
 import middleware.MiddlewareApplication;
+import middleware.exception.KeyUnavailableException;
 import middleware.exception.UserNotFoundException;
 import middleware.exception.UnauthorizedException;
 import middleware.service.MiddlewareService;
+import middleware.util.InvalidationQueue;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -19,8 +21,11 @@ import io.github.cdimascio.dotenv.Dotenv;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.hamcrest.Matchers.is;
 
@@ -45,6 +50,9 @@ public class MiddlewareControllerTest {
         @MockBean
         private MiddlewareService middlewareService;
 
+        @MockBean
+        private InvalidationQueue invalidationQueue;
+
         @BeforeAll
         public static void setUpEnvironment() {
                 Dotenv dotenv = Dotenv.configure().load();
@@ -61,8 +69,10 @@ public class MiddlewareControllerTest {
                                 .thenReturn(CompletableFuture
                                                 .completedFuture(Map.of("uuid", "12345", "isAdmin", "true")));
 
-                mockMvc.perform(get("/api/auth/jwt")
-                                .header("jwt", "valid-jwt-token"))
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/auth/jwt")
+                                .header("Authorization", "valid-jwt-token"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn()))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.message", is("JWT validation successful.")))
                                 .andExpect(jsonPath("$.success", is(true)))
@@ -76,8 +86,10 @@ public class MiddlewareControllerTest {
                                 .thenReturn(CompletableFuture
                                                 .failedFuture(new UserNotFoundException("User not found")));
 
-                mockMvc.perform(get("/api/auth/jwt")
-                                .header("jwt", "valid-jwt-token"))
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/auth/jwt")
+                                .header("Authorization", "valid-jwt-token"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn()))
                                 .andExpect(status().isNotFound())
                                 .andExpect(jsonPath("$.message", is("User not found")))
                                 .andExpect(jsonPath("$.success", is(false)));
@@ -89,8 +101,10 @@ public class MiddlewareControllerTest {
                                 .thenReturn(CompletableFuture
                                                 .failedFuture(new UnauthorizedException("Unauthorized access")));
 
-                mockMvc.perform(get("/api/auth/jwt")
-                                .header("jwt", "valid-jwt-token"))
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/auth/jwt")
+                                .header("Authorization", "valid-jwt-token"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn()))
                                 .andExpect(status().isUnauthorized())
                                 .andExpect(jsonPath("$.message", is("Unauthorized access")))
                                 .andExpect(jsonPath("$.success", is(false)));
@@ -101,10 +115,29 @@ public class MiddlewareControllerTest {
                 Mockito.when(middlewareService.checkJwt("valid-jwt-token"))
                                 .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Unexpected error")));
 
-                mockMvc.perform(get("/api/auth/jwt")
-                                .header("jwt", "valid-jwt-token"))
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/auth/jwt")
+                                .header("Authorization", "valid-jwt-token"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn()))
                                 .andExpect(status().isInternalServerError())
                                 .andExpect(jsonPath("$.message", is("Unexpected error")))
                                 .andExpect(jsonPath("$.success", is(false)));
         }
+
+        @Test
+        public void testCheckJwt_SigningKeyUnavailable() throws Exception {
+                Mockito.when(middlewareService.checkJwt("valid-jwt-token"))
+                                .thenReturn(CompletableFuture.failedFuture(new KeyUnavailableException(
+                                                "JWT signing keys are unavailable, try again later.", 1)));
+
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/auth/jwt")
+                                .header("Authorization", "valid-jwt-token"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn()))
+                                .andExpect(status().isServiceUnavailable())
+                                .andExpect(header().string("Retry-After", "1"))
+                                .andExpect(jsonPath("$.success", is(false)));
+
+                Mockito.verify(invalidationQueue, Mockito.never()).invalidate(Mockito.anyString(), Mockito.anyString());
+        }
 }
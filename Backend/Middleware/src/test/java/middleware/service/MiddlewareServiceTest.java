@@ -0,0 +1,326 @@
+package middleware.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import middleware.dto.JwtValidationResult;
+import middleware.dto.SessionInfo;
+import middleware.exception.KeyUnavailableException;
+import middleware.exception.UnauthorizedException;
+import middleware.exception.OverloadedException;
+import middleware.util.ConcurrencyLimiter;
+import middleware.util.JwksKeyCache;
+import middleware.util.JwtUtil;
+import middleware.util.RejectedTokenCache;
+import middleware.util.RevocationList;
+import middleware.util.TokenValidationService;
+import middleware.util.ValidationUtil;
+import middleware.util.VerifiedTokenCache;
+
+/**
+ * Unit tests for the MiddlewareService class, focusing on coalescing
+ * concurrent validations and validating JWTs in batches.
+ */
+@ExtendWith(MockitoExtension.class)
+public class MiddlewareServiceTest {
+
+    private static final String SECRET = "test-secret";
+
+    @InjectMocks
+    private MiddlewareService middlewareService;
+
+    @Mock
+    private TokenValidationService tokenValidationService;
+
+    @Mock
+    private ValidationUtil validationUtil;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private RevocationList revocationList;
+
+    @Mock
+    private RejectedTokenCache rejectedTokenCache;
+
+    @Spy
+    private JwtUtil jwtUtil = new JwtUtil();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+        ReflectionTestUtils.setField(middlewareService, "jwtValidationExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(middlewareService, "concurrencyLimiter", createLimiter(20));
+    }
+
+    private ConcurrencyLimiter createLimiter(int limit) {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "initialLimit", limit);
+        ReflectionTestUtils.setField(limiter, "minLimit", 1);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 200);
+        ReflectionTestUtils.setField(limiter, "tolerance", 2.0);
+        ReflectionTestUtils.setField(limiter, "smoothing", 0.2);
+        ReflectionTestUtils.setField(limiter, "retryAfterSeconds", 1L);
+        limiter.init();
+        return limiter;
+    }
+
+    private String createJwt(String uuid) {
+        return Jwts.builder()
+                .claim("uuid", uuid)
+                .claim("isAdmin", (byte) 0)
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+    }
+
+    /**
+     * Tests that concurrent validations of the same token share one decode
+     * and one session lookup, and that a new validation starts once it
+     * completes.
+     */
+    @Test
+    public void testCheckJwt_CoalescesConcurrentValidations() {
+        List<Runnable> queued = new ArrayList<>();
+        ReflectionTestUtils.setField(middlewareService, "jwtValidationExecutor", (Executor) queued::add);
+        String jwt = createJwt("uuid-1");
+        when(verifiedTokenCache.get(jwt)).thenReturn(null);
+        when(tokenValidationService.validateSessionSync(jwt))
+                .thenReturn(new SessionInfo().setUuid("uuid-1").setIsAdmin((byte) 0));
+
+        CompletableFuture<Map<String, String>> first = middlewareService.checkJwt(jwt);
+        CompletableFuture<Map<String, String>> second = middlewareService.checkJwt(jwt);
+        assertEquals(1, queued.size());
+        assertFalse(second.isDone());
+
+        queued.get(0).run();
+
+        assertEquals(Map.of("uuid", "uuid-1", "isAdmin", "0"), first.join());
+        assertEquals(first.join(), second.join());
+        verify(jwtUtil, times(1)).decryptToken(jwt);
+        verify(tokenValidationService, times(1)).validateSessionSync(jwt);
+
+        middlewareService.checkJwt(jwt);
+        assertEquals(2, queued.size());
+    }
+
+    /**
+     * Tests that a token whose session is known to the revocation list is
+     * validated without a database call.
+     */
+    @Test
+    public void testCheckJwt_KnownSessionSkipsDatabase() {
+        String jwt = createJwt("uuid-1");
+        when(verifiedTokenCache.get(jwt)).thenReturn(null);
+        when(revocationList.lookup(jwt, "uuid-1"))
+                .thenReturn(new SessionInfo().setUuid("uuid-1").setIsAdmin((byte) 0));
+
+        assertEquals(Map.of("uuid", "uuid-1", "isAdmin", "0"), middlewareService.checkJwt(jwt).join());
+        verify(tokenValidationService, never()).validateSessionSync(anyString());
+    }
+
+    /**
+     * Tests that a token revoked in the revocation list is rejected without a
+     * database call.
+     */
+    @Test
+    public void testCheckJwt_RevokedToken() {
+        String jwt = createJwt("uuid-1");
+        when(verifiedTokenCache.get(jwt)).thenReturn(null);
+        when(revocationList.lookup(jwt, "uuid-1")).thenReturn(new SessionInfo().setUuid("uuid-1").setLoggedOut(true));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> middlewareService.checkJwt(jwt).join());
+
+        assertInstanceOf(UnauthorizedException.class, exception.getCause());
+        verify(tokenValidationService, never()).validateSessionSync(anyString());
+    }
+
+    /**
+     * Tests that a recently rejected token is rejected again without being
+     * decoded or looked up.
+     */
+    @Test
+    public void testCheckJwt_RecentlyRejected() {
+        when(verifiedTokenCache.get("bad-jwt")).thenReturn(null);
+        when(rejectedTokenCache.get("bad-jwt")).thenReturn("Invalid JWT token");
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> middlewareService.checkJwt("bad-jwt").join());
+
+        assertEquals("Invalid JWT token", exception.getCause().getMessage());
+        verify(jwtUtil, never()).decryptToken(anyString());
+        verify(tokenValidationService, never()).validateSessionSync(anyString());
+    }
+
+    /**
+     * Tests that validations beyond the concurrency limit are shed straight
+     * away, without being decoded.
+     */
+    @Test
+    public void testCheckJwt_ShedAtLimit() {
+        List<Runnable> queued = new ArrayList<>();
+        ReflectionTestUtils.setField(middlewareService, "jwtValidationExecutor", (Executor) queued::add);
+        ReflectionTestUtils.setField(middlewareService, "concurrencyLimiter", createLimiter(1));
+        String first = createJwt("uuid-1");
+        String second = createJwt("uuid-2");
+        when(verifiedTokenCache.get(anyString())).thenReturn(null);
+
+        middlewareService.checkJwt(first);
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> middlewareService.checkJwt(second).join());
+
+        assertInstanceOf(OverloadedException.class, exception.getCause());
+        assertEquals(1, queued.size());
+        verify(jwtUtil, never()).decryptToken(anyString());
+    }
+
+    /**
+     * Tests that a failed validation fails every request waiting on it.
+     */
+    @Test
+    public void testCheckJwt_CoalescedFailure() {
+        List<Runnable> queued = new ArrayList<>();
+        ReflectionTestUtils.setField(middlewareService, "jwtValidationExecutor", (Executor) queued::add);
+        String jwt = createJwt("uuid-1");
+        when(verifiedTokenCache.get(jwt)).thenReturn(null);
+        when(tokenValidationService.validateSessionSync(jwt))
+                .thenThrow(new UnauthorizedException("Invalid JWT or session expired."));
+
+        CompletableFuture<Map<String, String>> first = middlewareService.checkJwt(jwt);
+        CompletableFuture<Map<String, String>> second = middlewareService.checkJwt(jwt);
+        queued.get(0).run();
+
+        assertInstanceOf(UnauthorizedException.class,
+                assertThrows(CompletionException.class, first::join).getCause());
+        assertInstanceOf(UnauthorizedException.class,
+                assertThrows(CompletionException.class, second::join).getCause());
+        verify(tokenValidationService, times(1)).validateSessionSync(jwt);
+    }
+
+    /**
+     * Tests that a batch reports each token's result in request order, with a
+     * single session lookup for every token not in the cache.
+     */
+    @Test
+    public void testCheckJwtBatch_MixedResults() {
+        String cachedJwt = createJwt("cached");
+        String validJwt = createJwt("valid");
+        String loggedOutJwt = createJwt("logged-out");
+        String unknownJwt = createJwt("unknown");
+
+        when(verifiedTokenCache.get(anyString())).thenReturn(null);
+        when(verifiedTokenCache.get(cachedJwt)).thenReturn(Map.of("uuid", "cached", "isAdmin", "0"));
+        when(tokenValidationService.getSessionsSync(Set.of(validJwt, loggedOutJwt, unknownJwt))).thenReturn(Map.of(
+                validJwt, new SessionInfo().setUuid("valid").setIsAdmin((byte) 0),
+                loggedOutJwt, new SessionInfo().setUuid("logged-out").setLoggedOut(true).setIsAdmin((byte) 0)));
+
+        List<JwtValidationResult> results = middlewareService.checkJwtBatch(
+                Arrays.asList(cachedJwt, validJwt, "not-a-jwt", loggedOutJwt, unknownJwt, "")).join();
+
+        assertEquals(6, results.size());
+        assertTrue(results.get(0).isValid());
+        assertEquals("cached", results.get(0).getUuid());
+        assertTrue(results.get(1).isValid());
+        assertEquals("valid", results.get(1).getUuid());
+        assertEquals("0", results.get(1).getIsAdmin());
+        assertEquals(401, results.get(2).getStatus());
+        assertEquals(401, results.get(3).getStatus());
+        assertEquals(401, results.get(4).getStatus());
+        assertEquals(400, results.get(5).getStatus());
+        assertFalse(results.get(5).isValid());
+
+        verify(tokenValidationService, never()).validateSessionSync(anyString());
+        verify(verifiedTokenCache).put(any(), any(), any());
+    }
+
+    /**
+     * Tests that a batch answered entirely from the cache makes no session
+     * lookup.
+     */
+    @Test
+    public void testCheckJwtBatch_AllCached() {
+        when(verifiedTokenCache.get("jwt")).thenReturn(Map.of("uuid", "uuid-1", "isAdmin", "1"));
+
+        List<JwtValidationResult> results = middlewareService.checkJwtBatch(List.of("jwt")).join();
+
+        assertEquals("uuid-1", results.get(0).getUuid());
+        verify(tokenValidationService, never()).getSessionsSync(any());
+    }
+
+    /**
+     * Tests that empty and oversized batches are rejected.
+     */
+    @Test
+    public void testCheckJwtBatch_InvalidBatch() {
+        CompletionException empty = assertThrows(CompletionException.class,
+                () -> middlewareService.checkJwtBatch(Collections.emptyList()).join());
+        assertInstanceOf(IllegalArgumentException.class, empty.getCause());
+
+        List<String> oversized = new ArrayList<>(Collections.nCopies(MiddlewareService.MAX_BATCH_SIZE + 1, "jwt"));
+        CompletionException tooMany = assertThrows(CompletionException.class,
+                () -> middlewareService.checkJwtBatch(oversized).join());
+        assertInstanceOf(IllegalArgumentException.class, tooMany.getCause());
+    }
+
+    /**
+     * Tests that a validly signed RS256 token whose key set cannot be fetched
+     * fails as unavailable, to be retried, without its session being looked
+     * up or the token being rejected.
+     */
+    @Test
+    public void testCheckJwt_SigningKeyUnavailable() throws Exception {
+        JwksKeyCache jwksKeyCache = new JwksKeyCache();
+        ReflectionTestUtils.setField(jwksKeyCache, "jwksUrl", "http://127.0.0.1:1/jwks.json");
+        ReflectionTestUtils.setField(jwtUtil, "jwksKeyCache", jwksKeyCache);
+        String jwt = Jwts.builder()
+                .setHeaderParam("kid", "key-1")
+                .claim("uuid", "uuid-1")
+                .claim("isAdmin", (byte) 0)
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(SignatureAlgorithm.RS256, KeyPairGenerator.getInstance("RSA").generateKeyPair().getPrivate())
+                .compact();
+        when(verifiedTokenCache.get(jwt)).thenReturn(null);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> middlewareService.checkJwt(jwt).join());
+
+        assertInstanceOf(KeyUnavailableException.class, exception.getCause());
+        verify(tokenValidationService, never()).validateSessionSync(anyString());
+        verify(tokenValidationService, never()).invalidateJwt(anyString());
+        verify(rejectedTokenCache, never()).put(anyString(), anyString());
+    }
+}
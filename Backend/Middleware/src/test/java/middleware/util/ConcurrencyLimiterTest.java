@@ -0,0 +1,105 @@
+package middleware.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the ConcurrencyLimiter class, which adapts the number of JWT
+ * validations in flight to their latency.
+ */
+public class ConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    private ConcurrencyLimiter limiter;
+
+    @BeforeEach
+    public void setUp() {
+        limiter = new ConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "initialLimit", 10);
+        ReflectionTestUtils.setField(limiter, "minLimit", 2);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 100);
+        ReflectionTestUtils.setField(limiter, "tolerance", 2.0);
+        ReflectionTestUtils.setField(limiter, "smoothing", 0.2);
+        limiter.init();
+    }
+
+    /**
+     * Tests that requests beyond the limit are rejected and counted, and a
+     * released slot can be taken again.
+     */
+    @Test
+    public void testTryAcquire_RejectsBeyondLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getMetrics().getRejected());
+        assertEquals(10, limiter.getMetrics().getInflight());
+
+        limiter.release(System.nanoTime(), false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    /**
+     * Tests that the limit grows while latency is steady and the limit is in
+     * use.
+     */
+    @Test
+    public void testOnSample_GrowsWithSteadyLatency() {
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(10 * MILLIS, limiter.getMetrics().getLimit(), false);
+        }
+
+        assertTrue(limiter.getMetrics().getLimit() > 10);
+    }
+
+    /**
+     * Tests that the limit does not grow while it is mostly unused.
+     */
+    @Test
+    public void testOnSample_IdleDoesNotGrow() {
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(10 * MILLIS, 1, false);
+        }
+
+        assertEquals(10, limiter.getMetrics().getLimit());
+    }
+
+    /**
+     * Tests that the limit shrinks once latency rises well above its
+     * long-term average.
+     */
+    @Test
+    public void testOnSample_ShrinksWhenLatencyRises() {
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(10 * MILLIS, limiter.getMetrics().getLimit(), false);
+        }
+        int grown = limiter.getMetrics().getLimit();
+
+        for (int i = 0; i < 3; i++) {
+            limiter.onSample(100 * MILLIS, limiter.getMetrics().getLimit(), false);
+        }
+
+        assertTrue(limiter.getMetrics().getLimit() < grown);
+    }
+
+    /**
+     * Tests that unexpected failures cut the limit, down to its minimum.
+     */
+    @Test
+    public void testOnSample_FailuresBackOffToMinimum() {
+        limiter.onSample(10 * MILLIS, 10, true);
+        assertEquals(9, limiter.getMetrics().getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(10 * MILLIS, 10, true);
+        }
+        assertEquals(2, limiter.getMetrics().getLimit());
+    }
+}
@@ -0,0 +1,78 @@
+package middleware.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the ExpiringMap class, which backs the token caches.
+ */
+public class ExpiringMapTest {
+
+    private final ExpiringMap<String> map = new ExpiringMap<>();
+
+    /**
+     * Tests that expired values are not returned.
+     */
+    @Test
+    public void testGet_Expired() {
+        map.put("key-1", "value-1", 100, 10);
+
+        assertEquals("value-1", map.get("key-1", 99));
+        assertNull(map.get("key-1", 100));
+        assertEquals(0, map.size());
+    }
+
+    /**
+     * Tests that a full map evicts its oldest entries first, skipping entries
+     * already removed or replaced.
+     */
+    @Test
+    public void testPut_EvictsOldestFirst() {
+        map.put("key-1", "value-1", 100, 2);
+        map.put("key-2", "value-2", 100, 2);
+        map.put("key-1", "value-1b", 100, 2);
+        map.put("key-3", "value-3", 100, 2);
+
+        assertEquals(2, map.size());
+        assertNull(map.get("key-2", 0));
+        assertEquals("value-1b", map.get("key-1", 0));
+        assertEquals("value-3", map.get("key-3", 0));
+    }
+
+    /**
+     * Tests that a value is only inserted if the key holds none that has not
+     * expired.
+     */
+    @Test
+    public void testPutIfAbsent() {
+        assertTrue(map.putIfAbsent("key-1", "value-1", 0, 100, 10));
+        assertFalse(map.putIfAbsent("key-1", "value-2", 50, 150, 10));
+        assertTrue(map.putIfAbsent("key-1", "value-3", 100, 200, 10));
+
+        assertEquals("value-3", map.get("key-1", 150));
+    }
+
+    /**
+     * Tests that entries removed while the map is below its maximum size do
+     * not pile up in the insertion queue.
+     */
+    @Test
+    public void testRemove_CompactsQueue() {
+        for (int i = 0; i < 1000; i++) {
+            map.put("key-" + i, "value", 100, 10);
+            map.remove("key-" + i);
+        }
+        map.put("key-live", "value", 100, 10);
+
+        assertEquals(1, map.size());
+        assertEquals("value", map.get("key-live", 0));
+        assertTrue(((AtomicInteger) ReflectionTestUtils.getField(map, "queued")).get() <= 20);
+    }
+}
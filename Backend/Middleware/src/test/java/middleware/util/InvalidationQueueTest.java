@@ -0,0 +1,95 @@
+package middleware.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the InvalidationQueue class, which invalidates rejected
+ * tokens in the background in batches.
+ */
+@ExtendWith(MockitoExtension.class)
+public class InvalidationQueueTest {
+
+    @InjectMocks
+    private InvalidationQueue invalidationQueue;
+
+    @Mock
+    private TokenValidationService tokenValidationService;
+
+    @Mock
+    private RejectedTokenCache rejectedTokenCache;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(invalidationQueue, "batchSize", 2);
+        ReflectionTestUtils.setField(invalidationQueue, "maxPending", 10);
+    }
+
+    /**
+     * Tests that pending tokens are invalidated in sorted batches, and each
+     * token only once.
+     */
+    @Test
+    public void testFlush_Batches() {
+        when(rejectedTokenCache.put("jwt-c", "Invalid")).thenReturn(true);
+        when(rejectedTokenCache.put("jwt-a", "Invalid")).thenReturn(true);
+        when(rejectedTokenCache.put("jwt-b", "Invalid")).thenReturn(true, false);
+
+        invalidationQueue.invalidate("jwt-c", "Invalid");
+        invalidationQueue.invalidate("jwt-a", "Invalid");
+        invalidationQueue.invalidate("jwt-b", "Invalid");
+        invalidationQueue.invalidate("jwt-b", "Invalid");
+        assertEquals(3, invalidationQueue.pendingCount());
+
+        invalidationQueue.flush();
+
+        verify(tokenValidationService, times(2)).invalidateJwts(anyList());
+        assertEquals(0, invalidationQueue.pendingCount());
+    }
+
+    /**
+     * Tests that a token already cached as rejected is not queued again.
+     */
+    @Test
+    public void testInvalidate_AlreadyRejected() {
+        when(rejectedTokenCache.put("jwt", "Invalid")).thenReturn(false);
+
+        invalidationQueue.invalidate("jwt", "Invalid");
+        invalidationQueue.flush();
+
+        verify(tokenValidationService, never()).invalidateJwts(anyList());
+    }
+
+    /**
+     * Tests that a batch that fails is queued again for the next flush.
+     */
+    @Test
+    public void testFlush_RetriesFailedBatch() {
+        when(rejectedTokenCache.put("jwt", "Invalid")).thenReturn(true);
+        doThrow(new RuntimeException("DB down")).doNothing()
+                .when(tokenValidationService).invalidateJwts(List.of("jwt"));
+
+        invalidationQueue.invalidate("jwt", "Invalid");
+        invalidationQueue.flush();
+        assertEquals(1, invalidationQueue.pendingCount());
+
+        invalidationQueue.flush();
+        assertEquals(0, invalidationQueue.pendingCount());
+        verify(tokenValidationService, times(2)).invalidateJwts(List.of("jwt"));
+    }
+}
@@ -0,0 +1,231 @@
+package middleware.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import middleware.exception.KeyUnavailableException;
+import middleware.exception.UnauthorizedException;
+
+/**
+ * Unit tests for the JwksKeyCache class, and for JwtUtil verifying RS256
+ * tokens against the cached keys.
+ */
+public class JwksKeyCacheTest {
+
+    private static final String SECRET = "test-secret";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static KeyPair keyPair;
+
+    private JwksKeyCache cache;
+
+    private JwtUtil jwtUtil;
+
+    private HttpServer server;
+
+    @BeforeAll
+    public static void generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        cache = new JwksKeyCache();
+        ReflectionTestUtils.setField(cache, "jwksUrl", "");
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwksKeyCache", cache);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Serves a key set locally and points the cache at it.
+     *
+     * @param jwks the key set to serve.
+     */
+    private void serve(JsonNode jwks) throws Exception {
+        byte[] body = MAPPER.writeValueAsBytes(jwks);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jwks.json", exchange -> {
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        ReflectionTestUtils.setField(cache, "jwksUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/jwks.json");
+    }
+
+    private JsonNode jwks(String... kids) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        ObjectNode jwks = MAPPER.createObjectNode();
+        for (String kid : kids) {
+            jwks.withArray("keys").addObject()
+                    .put("kty", "RSA")
+                    .put("use", "sig")
+                    .put("alg", "RS256")
+                    .put("kid", kid)
+                    .put("n", base64Url(publicKey.getModulus()))
+                    .put("e", base64Url(publicKey.getPublicExponent()));
+        }
+        return jwks;
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private String createRs256Jwt(String kid) {
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .claim("uuid", "uuid-1")
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(SignatureAlgorithm.RS256, keyPair.getPrivate())
+                .compact();
+    }
+
+    /**
+     * Tests that loaded keys are returned by their key ID, and keys missing
+     * from a reloaded set are dropped.
+     */
+    @Test
+    public void testLoad_ReplacesKeys() {
+        cache.load(jwks("key-1"));
+        assertEquals(keyPair.getPublic(), cache.getKey("key-1"));
+
+        cache.load(jwks("key-2"));
+        assertNull(cache.getKey("key-1"));
+        assertEquals(keyPair.getPublic(), cache.getKey("key-2"));
+    }
+
+    /**
+     * Tests that an RS256 token signed with a published key is accepted.
+     */
+    @Test
+    public void testDecryptToken_Rs256WithPublishedKey() {
+        cache.load(jwks("key-1"));
+
+        Claims claims = jwtUtil.decryptToken(createRs256Jwt("key-1"));
+
+        assertEquals("uuid-1", claims.get("uuid", String.class));
+    }
+
+    /**
+     * Tests that an RS256 token with an unpublished key ID is rejected.
+     */
+    @Test
+    public void testDecryptToken_Rs256WithUnknownKey() {
+        cache.load(jwks("key-1"));
+
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> jwtUtil.decryptToken(createRs256Jwt("key-2")));
+
+        assertEquals("Unknown JWT signing key", exception.getMessage());
+    }
+
+    /**
+     * Tests that tokens signed with the shared secret are still accepted.
+     */
+    @Test
+    public void testDecryptToken_Hs256WithSharedSecret() {
+        String jwt = Jwts.builder()
+                .claim("uuid", "uuid-1")
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+
+        assertEquals("uuid-1", jwtUtil.decryptToken(jwt).get("uuid", String.class));
+    }
+
+    /**
+     * Tests that an RS256 token is reported as unavailable, not rejected, when
+     * the key set cannot be fetched, and that the failed fetch does not stop
+     * an immediate refetch once the key set is reachable.
+     */
+    @Test
+    public void testDecryptToken_Rs256WhenFetchFails() throws Exception {
+        ReflectionTestUtils.setField(cache, "jwksUrl", "http://127.0.0.1:1/jwks.json");
+        String jwt = createRs256Jwt("key-1");
+
+        KeyUnavailableException exception = assertThrows(KeyUnavailableException.class,
+                () -> jwtUtil.decryptToken(jwt));
+        assertEquals(1, exception.getRetryAfterSeconds());
+
+        serve(jwks("key-1"));
+        assertEquals("uuid-1", jwtUtil.decryptToken(jwt).get("uuid", String.class));
+    }
+
+    /**
+     * Tests that an RS256 token is rejected when a key set fetched after it
+     * arrived does not publish its key ID.
+     */
+    @Test
+    public void testDecryptToken_Rs256UnpublishedAfterFetch() throws Exception {
+        serve(jwks("key-1"));
+
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> jwtUtil.decryptToken(createRs256Jwt("key-2")));
+
+        assertEquals("Unknown JWT signing key", exception.getMessage());
+    }
+
+    /**
+     * Tests that an RS256 token with a key ID not known to a key set fetched
+     * before it arrived is reported as unavailable while refetches are
+     * throttled, as its key may have just been rotated in.
+     */
+    @Test
+    public void testDecryptToken_Rs256UnknownKeyWhileThrottled() throws Exception {
+        ReflectionTestUtils.setField(cache, "minRefreshMillis", 60000L);
+        serve(jwks("key-1"));
+        jwtUtil.decryptToken(createRs256Jwt("key-1"));
+        Thread.sleep(5);
+
+        KeyUnavailableException exception = assertThrows(KeyUnavailableException.class,
+                () -> jwtUtil.decryptToken(createRs256Jwt("key-2")));
+
+        assertTrue(exception.getRetryAfterSeconds() > 1);
+    }
+}
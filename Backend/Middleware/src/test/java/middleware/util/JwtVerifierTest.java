@@ -0,0 +1,83 @@
+package middleware.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import middleware.exception.UnauthorizedException;
+
+/**
+ * Unit tests for the JwtVerifier class, which verifies JWTs with a prebuilt
+ * parser and keys.
+ */
+public class JwtVerifierTest {
+
+    private static final String SECRET = "test-secret";
+
+    private JwtVerifier verifier;
+
+    @BeforeEach
+    public void setUp() {
+        verifier = new JwtVerifier(SECRET, null);
+    }
+
+    private String createJwt(SignatureAlgorithm algorithm, String secret, long expiresInMillis) {
+        return Jwts.builder()
+                .claim("uuid", "uuid-1")
+                .setExpiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .signWith(algorithm, secret)
+                .compact();
+    }
+
+    /**
+     * Tests that tokens signed with the shared secret are accepted by the same
+     * verifier, whichever HMAC algorithm they use.
+     */
+    @Test
+    public void testVerify_SharedSecret() {
+        assertEquals("uuid-1", verifier.verify(createJwt(SignatureAlgorithm.HS256, SECRET, 60000))
+                .get("uuid", String.class));
+        assertEquals("uuid-1", verifier.verify(createJwt(SignatureAlgorithm.HS512, SECRET, 60000))
+                .get("uuid", String.class));
+    }
+
+    /**
+     * Tests that a token signed with another secret is rejected.
+     */
+    @Test
+    public void testVerify_InvalidSignature() {
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> verifier.verify(createJwt(SignatureAlgorithm.HS256, "other-secret", 60000)));
+
+        assertEquals("Invalid JWT signature", exception.getMessage());
+    }
+
+    /**
+     * Tests that an expired token is rejected.
+     */
+    @Test
+    public void testVerify_Expired() {
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> verifier.verify(createJwt(SignatureAlgorithm.HS256, SECRET, -60000)));
+
+        assertEquals("JWT token has expired", exception.getMessage());
+    }
+
+    /**
+     * Tests that a malformed token is rejected without a stack trace.
+     */
+    @Test
+    public void testVerify_MalformedWithoutStackTrace() {
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> verifier.verify("not-a-jwt"));
+
+        assertEquals("Invalid JWT token", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+}
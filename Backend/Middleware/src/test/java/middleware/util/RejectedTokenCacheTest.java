@@ -0,0 +1,52 @@
+package middleware.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the RejectedTokenCache class, which remembers recently
+ * rejected tokens.
+ */
+public class RejectedTokenCacheTest {
+
+    private RejectedTokenCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new RejectedTokenCache();
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(cache, "ttlMillis", 60000L);
+    }
+
+    /**
+     * Tests that a rejected token is only reported as new the first time.
+     */
+    @Test
+    public void testPut_OnlyOnce() {
+        assertTrue(cache.put("token-1", "Invalid JWT token"));
+        assertFalse(cache.put("token-1", "Invalid JWT token"));
+
+        assertEquals("Invalid JWT token", cache.get("token-1"));
+    }
+
+    /**
+     * Tests that a flood of distinct tokens keeps the cache bounded, evicting
+     * the oldest tokens first.
+     */
+    @Test
+    public void testPut_FloodEvictsOldest() {
+        for (int i = 0; i < 1000; i++) {
+            cache.put("token-" + i, "Invalid JWT token");
+        }
+
+        assertEquals(100, cache.size());
+        assertNull(cache.get("token-0"));
+        assertEquals("Invalid JWT token", cache.get("token-999"));
+    }
+}
@@ -0,0 +1,154 @@
+package middleware.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import middleware.dto.SessionDelta;
+import middleware.dto.SessionInfo;
+import middleware.repository.SessionRepository;
+
+/**
+ * Unit tests for the RevocationList class, which keeps the JWT session state
+ * in memory and synchronises it from the database.
+ */
+@ExtendWith(MockitoExtension.class)
+public class RevocationListTest {
+
+    @InjectMocks
+    private RevocationList revocationList;
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(revocationList, "maxStalenessMillis", 5000L);
+        ReflectionTestUtils.setField(revocationList, "overlapMillis", 2000L);
+        ReflectionTestUtils.setField(revocationList, "retentionMillis", 90000000L);
+        ReflectionTestUtils.setField(revocationList, "expectedRevocations", 1000);
+        revocationList.init();
+    }
+
+    private SessionDelta delta(String jwt, String uuid, boolean loggedOut) {
+        return new SessionDelta()
+                .setJwt(jwt)
+                .setUuid(uuid)
+                .setLoggedOut(loggedOut)
+                .setIsAdmin((byte) 0)
+                .setChangedAt(System.currentTimeMillis());
+    }
+
+    private void syncWith(SessionDelta... deltas) {
+        when(sessionRepository.findSessionsChangedSince(anyLong())).thenReturn(List.of(deltas));
+        revocationList.sync();
+    }
+
+    /**
+     * Tests that nothing is answered from memory before the first
+     * synchronisation.
+     */
+    @Test
+    public void testLookup_BeforeSync() {
+        assertNull(revocationList.lookup("token-1", "uuid-1"));
+    }
+
+    /**
+     * Tests that a synchronised active session is answered from memory, and
+     * other tokens of the user fall back to the database.
+     */
+    @Test
+    public void testLookup_ActiveSession() {
+        syncWith(delta("token-1", "uuid-1", false));
+
+        SessionInfo session = revocationList.lookup("token-1", "uuid-1");
+
+        assertFalse(session.isLoggedOut());
+        assertEquals((byte) 0, session.getIsAdmin());
+        assertNull(revocationList.lookup("token-2", "uuid-1"));
+    }
+
+    /**
+     * Tests that an admin's session always falls back to the database, so a
+     * demotion since login is not missed.
+     */
+    @Test
+    public void testLookup_AdminSessionFallsBack() {
+        syncWith(delta("token-1", "uuid-1", false).setIsAdmin((byte) 1));
+
+        assertNull(revocationList.lookup("token-1", "uuid-1"));
+    }
+
+    /**
+     * Tests that a synchronised logout revokes the token.
+     */
+    @Test
+    public void testLookup_LoggedOutSession() {
+        syncWith(delta("token-1", "uuid-1", false));
+        syncWith(delta("token-1", "uuid-1", true));
+
+        assertTrue(revocationList.lookup("token-1", "uuid-1").isLoggedOut());
+        verify(verifiedTokenCache).evictHash(VerifiedTokenCache.hash("token-1"));
+    }
+
+    /**
+     * Tests that a new login revokes the user's previous token.
+     */
+    @Test
+    public void testLookup_ReplacedSession() {
+        syncWith(delta("token-1", "uuid-1", false));
+        syncWith(delta("token-2", "uuid-1", false));
+
+        assertTrue(revocationList.lookup("token-1", "uuid-1").isLoggedOut());
+        assertFalse(revocationList.lookup("token-2", "uuid-1").isLoggedOut());
+    }
+
+    /**
+     * Tests that local revocations apply at once, without waiting for a
+     * synchronisation.
+     */
+    @Test
+    public void testRevoke_AppliesLocally() {
+        syncWith(delta("token-1", "uuid-1", false), delta("token-2", "uuid-2", false));
+
+        revocationList.revokeUser("uuid-1");
+        revocationList.revokeToken("token-2");
+
+        assertTrue(revocationList.lookup("token-1", "uuid-1").isLoggedOut());
+        assertTrue(revocationList.lookup("token-2", "uuid-2").isLoggedOut());
+        assertEquals(2, revocationList.revokedCount());
+    }
+
+    /**
+     * Tests that a failed synchronisation keeps revocations, but stops
+     * answering active sessions from memory once the list is stale.
+     */
+    @Test
+    public void testLookup_StaleAfterFailedSync() {
+        syncWith(delta("token-1", "uuid-1", false), delta("token-2", "uuid-2", true));
+        ReflectionTestUtils.setField(revocationList, "lastSyncAt", System.currentTimeMillis() - 10000);
+        when(sessionRepository.findSessionsChangedSince(anyLong())).thenThrow(new RuntimeException("DB down"));
+
+        revocationList.sync();
+
+        assertNull(revocationList.lookup("token-1", "uuid-1"));
+        assertTrue(revocationList.lookup("token-2", "uuid-2").isLoggedOut());
+    }
+}
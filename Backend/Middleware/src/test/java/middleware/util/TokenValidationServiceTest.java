@@ -0,0 +1,98 @@
+package middleware.util;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import middleware.dto.SessionInfo;
+import middleware.exception.UnauthorizedException;
+import middleware.repository.JWTokenRepository;
+import middleware.repository.SessionRepository;
+
+/**
+ * Unit tests for the TokenValidationService class, which validates JWT
+ * sessions and invalidates compromised ones.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TokenValidationServiceTest {
+
+    @InjectMocks
+    private TokenValidationService tokenValidationService;
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private JWTokenRepository jwTokenRepository;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private RevocationList revocationList;
+
+    /**
+     * Tests that an active session is returned with its user's role.
+     */
+    @Test
+    public void testValidateSessionSync_ActiveSession() {
+        SessionInfo session = new SessionInfo().setUuid("uuid-1").setIsAdmin((byte) 1);
+        when(sessionRepository.validateSession("jwt")).thenReturn(session);
+
+        assertSame(session, tokenValidationService.validateSessionSync("jwt"));
+    }
+
+    /**
+     * Tests that an unknown JWT is rejected.
+     */
+    @Test
+    public void testValidateSessionSync_UnknownJwt() {
+        when(sessionRepository.validateSession("jwt")).thenReturn(null);
+
+        assertThrows(UnauthorizedException.class, () -> tokenValidationService.validateSessionSync("jwt"));
+    }
+
+    /**
+     * Tests that a logged out session is rejected.
+     */
+    @Test
+    public void testValidateSessionSync_LoggedOut() {
+        when(sessionRepository.validateSession("jwt"))
+                .thenReturn(new SessionInfo().setUuid("uuid-1").setLoggedOut(true).setIsAdmin((byte) 0));
+
+        assertThrows(UnauthorizedException.class, () -> tokenValidationService.validateSessionSync("jwt"));
+    }
+
+    /**
+     * Tests that invalidating a JWT also revokes it in the revocation list and
+     * evicts it from the verified token cache.
+     */
+    @Test
+    public void testInvalidateJwt_EvictsCachedToken() {
+        tokenValidationService.invalidateJwt("jwt");
+
+        verify(jwTokenRepository).invalidateJwt("jwt");
+        verify(revocationList).revokeToken("jwt");
+        verify(verifiedTokenCache).evict("jwt");
+    }
+
+    /**
+     * Tests that logging a user out also revokes their session in the
+     * revocation list.
+     */
+    @Test
+    public void testUpdateLogout_RevokesSession() {
+        tokenValidationService.updateLogout("uuid-1");
+
+        verify(jwTokenRepository).updateLogout("uuid-1");
+        verify(revocationList).revokeUser("uuid-1");
+        verify(verifiedTokenCache).evictUser("uuid-1");
+    }
+}
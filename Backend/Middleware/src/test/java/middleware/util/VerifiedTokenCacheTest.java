@@ -0,0 +1,110 @@
+package middleware.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the VerifiedTokenCache class, which caches the results of
+ * successful JWT validations.
+ */
+public class VerifiedTokenCacheTest {
+
+    private static final Map<String, String> USER = Map.of("uuid", "uuid-1", "isAdmin", "0");
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        ReflectionTestUtils.setField(cache, "ttlMillis", 60000L);
+    }
+
+    private Date inOneHour() {
+        return new Date(System.currentTimeMillis() + 3600000);
+    }
+
+    /**
+     * Tests that a cached token returns its validated user data.
+     */
+    @Test
+    public void testGet_ReturnsCachedUser() {
+        cache.put("token-1", USER, inOneHour());
+
+        assertEquals(USER, cache.get("token-1"));
+        assertNull(cache.get("token-2"));
+    }
+
+    /**
+     * Tests that an entry expires with its token when the token expires
+     * before the TTL.
+     */
+    @Test
+    public void testGet_ExpiresWithToken() {
+        cache.put("token-1", USER, new Date(System.currentTimeMillis() - 1));
+
+        assertNull(cache.get("token-1"));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Tests that an entry expires after the TTL when the token outlives it.
+     */
+    @Test
+    public void testGet_ExpiresAfterTtl() {
+        ReflectionTestUtils.setField(cache, "ttlMillis", 0L);
+        cache.put("token-1", USER, inOneHour());
+
+        assertNull(cache.get("token-1"));
+    }
+
+    /**
+     * Tests that invalidated tokens and logged out users are evicted.
+     */
+    @Test
+    public void testEvict() {
+        cache.put("token-1", USER, inOneHour());
+        cache.put("token-2", Map.of("uuid", "uuid-2", "isAdmin", "1"), inOneHour());
+
+        cache.evict("token-2");
+        assertNull(cache.get("token-2"));
+
+        cache.evictUser("uuid-1");
+        assertNull(cache.get("token-1"));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Tests that the cache never grows past its maximum size, and evicts its
+     * oldest tokens to make room.
+     */
+    @Test
+    public void testPut_BoundedSize() {
+        cache.put("token-1", USER, inOneHour());
+        cache.put("token-2", USER, inOneHour());
+        cache.put("token-3", USER, inOneHour());
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("token-1"));
+        assertEquals(USER, cache.get("token-2"));
+        assertEquals(USER, cache.get("token-3"));
+    }
+
+    /**
+     * Tests that tokens are keyed by a hash rather than the raw token.
+     */
+    @Test
+    public void testHash() {
+        assertEquals(VerifiedTokenCache.hash("token-1"), VerifiedTokenCache.hash("token-1"));
+        assertNotEquals(VerifiedTokenCache.hash("token-1"), VerifiedTokenCache.hash("token-2"));
+        assertNotEquals("token-1", VerifiedTokenCache.hash("token-1"));
+    }
+}
@@ -0,0 +1,72 @@
+package user.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration of the executors that keep expensive work off the request
+ * threads.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${user.password-hash.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int passwordHashPoolSize;
+
+    @Value("${user.password-hash.queue-capacity:100}")
+    private int passwordHashQueueCapacity;
+
+    @Value("${user.profile-write.pool-size:10}")
+    private int profileWritePoolSize;
+
+    @Value("${user.profile-write.queue-capacity:1000}")
+    private int profileWriteQueueCapacity;
+
+    /**
+     * Executor that runs bcrypt password hashing, so a burst of logins cannot
+     * take more CPU than its own pool.
+     *
+     * <p>
+     * Hashing is CPU bound, so the pool size defaults to the number of cores.
+     * Hashes beyond the pool wait in a bounded queue, and once the queue is
+     * full new hashes are rejected straight away instead of piling up.
+     * </p>
+     *
+     * @return the password hashing executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(passwordHashPoolSize);
+        executor.setMaxPoolSize(passwordHashPoolSize);
+        executor.setQueueCapacity(passwordHashQueueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that runs the database writes and token signing that follow a
+     * password hash, so that waiting on the database never holds one of the
+     * {@link #passwordHashExecutor()} threads.
+     *
+     * <p>
+     * This work is I/O bound, so the pool size defaults to the size of the
+     * connection pool.
+     * </p>
+     *
+     * @return the profile write executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor profileWriteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(profileWritePoolSize);
+        executor.setMaxPoolSize(profileWritePoolSize);
+        executor.setQueueCapacity(profileWriteQueueCapacity);
+        executor.setThreadNamePrefix("profile-write-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,41 @@
+package user.controller;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import user.util.JwtUtil;
+
+/**
+ * REST controller publishing the public keys JWTs are signed with.
+ *
+ * <p>
+ * {@code GET /.well-known/jwks.json} returns a standard JSON Web Key Set, so
+ * other services can verify tokens locally instead of calling the Middleware.
+ * The response is not wrapped by {@link user.util.ResponseManager}, as JWKS
+ * clients expect the bare key set, and may be cached for a few minutes.
+ */
+@RestController
+public class JwksController {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    /**
+     * Retrieves the JSON Web Key Set of the token signing keys.
+     *
+     * @return a {@link ResponseEntity} with the key set, which is empty if
+     *         tokens are signed with the shared secret
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtUtil.getJwks());
+    }
+}
@@ -0,0 +1,84 @@
+package user.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import user.exception.UserNotFoundException;
+import user.service.LeaderboardService;
+import user.util.ResponseManager;
+
+/**
+ * REST controller for the global leaderboard.
+ *
+ * <p>
+ * Endpoints:
+ * <ul>
+ * <li>{@code GET /api/leaderboard}: Retrieves a page of players ordered by
+ * Elo, highest first.</li>
+ * <li>{@code GET /api/leaderboard/rank/{uuid}}: Retrieves a player's global
+ * rank.</li>
+ * </ul>
+ */
+@CrossOrigin(origins = "${ORIGIN}")
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    /**
+     * Retrieves a page of the leaderboard. The first page is requested without
+     * a cursor, and each following page with the {@code nextElo} and
+     * {@code nextUuid} of the page before it.
+     *
+     * @param afterElo  the Elo of the previous page's last entry
+     * @param afterUuid the UUID of the previous page's last entry
+     * @param limit     the number of entries to return
+     * @return a {@link ResponseEntity} with the page of entries and the cursor
+     *         of the next page, or an error message
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getLeaderboard(
+            @RequestParam(name = "afterElo", required = false) Integer afterElo,
+            @RequestParam(name = "afterUuid", required = false) String afterUuid,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        try {
+            return ResponseManager.success("Leaderboard retrieved successfully",
+                    leaderboardService.getPage(afterElo, afterUuid, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseManager.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves a player's global rank.
+     *
+     * @param uuid the UUID of the player
+     * @return a {@link ResponseEntity} with the player's Elo and rank, or an
+     *         error message
+     */
+    @GetMapping("/rank/{uuid}")
+    public ResponseEntity<Map<String, Object>> getRank(@PathVariable("uuid") String uuid) {
+        try {
+            return ResponseManager.success("Rank retrieved successfully", leaderboardService.getRank(uuid));
+        } catch (IllegalArgumentException e) {
+            return ResponseManager.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (UserNotFoundException e) {
+            return ResponseManager.error(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Error: " + e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package user.controller;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,9 +12,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import user.dto.*;
+import user.exception.OverloadedException;
 import user.exception.UnauthorizedException;
 import user.exception.UserNotFoundException;
-import user.model.User;
+import user.service.PasswordHashService;
 import user.service.ProfileService;
 import user.util.*;
 
@@ -35,15 +39,29 @@ import org.springframework.http.HttpStatus;
  * token.</li>
  * <li>{@code POST /api/logout}: Logs out a user by invalidating their
  * session.</li>
+ * <li>{@code GET /api/revocations}: Retrieves the sessions revoked since a
+ * cursor.</li>
  * <li>{@code POST /api/profile}: Retrieves a user profile by UUID.</li>
  * <li>{@code POST /api/profile/all/names-only}: Retrieves names based on a list
  * of UUIDs.</li>
  * <li>{@code PUT /api/profile}: Updates user information (email, password,
  * name, etc.).</li>
+ * <li>{@code PATCH /api/profile}: Updates only the user information present
+ * in the request.</li>
  * <li>{@code PUT /api/profile/elo}: Updates the ELO rating for a user.</li>
+ * <li>{@code PUT /api/profile/elo/batch}: Updates the ELO ratings of many
+ * users at once.</li>
+ * <li>{@code GET /api/metrics}: Retrieves the metrics of the password hashing
+ * executor and the profile cache.</li>
  * </ul>
  *
  * <p>
+ * Registration, login and profile updates are asynchronous: the request
+ * thread is released while the password is hashed, and the request is
+ * answered with 503 and a {@code Retry-After} header if password hashing is at
+ * capacity.
+ *
+ * <p>
  * This controller is configured with {@code @CrossOrigin(origins="${ORIGIN}")}
  * to allow cross-origin requests from the specified origin. This is typically
  * necessary for web applications running on a different domain or port, such as
@@ -69,6 +87,12 @@ public class ProfileController {
     @Autowired
     private ProfileService profileService;
 
+    @Autowired
+    private PasswordHashService passwordHashService;
+
+    @Autowired
+    private ProfileCache profileCache;
+
     /**
      * Performs a health check for the application.
      *
@@ -89,6 +113,23 @@ public class ProfileController {
         }
     }
 
+    /**
+     * Retrieves the metrics of the password hashing executor and the profile
+     * cache: the hashes running, queued, completed and rejected with their
+     * average wait and hash times, and the cache's size, hit rate, load time,
+     * evictions and invalidations.
+     *
+     * @return a {@link ResponseEntity} containing the metrics, keyed by
+     *         {@code passwordHash} and {@code profileCache}
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("passwordHash", passwordHashService.getMetrics());
+        metrics.put("profileCache", profileCache.getMetrics());
+        return ResponseManager.success("Metrics retrieved successfully", metrics);
+    }
+
     /**
      * Registers a new user profile.
      *
@@ -97,18 +138,18 @@ public class ProfileController {
      *         registration result
      */
     @PostMapping("/register")
-    public ResponseEntity<Map<String, Object>> createProfile(@RequestBody ProfileRequest profileRequest) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createProfile(
+            @RequestBody ProfileRequest profileRequest) {
         try {
-            boolean isCreated = profileService.createProfile(profileRequest);
-            if (isCreated) {
-                return ResponseManager.success("User registered successfully");
-            } else {
-                return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to register user");
-            }
-        } catch (IllegalArgumentException e) {
-            return ResponseManager.error(HttpStatus.BAD_REQUEST, e.getMessage());
+            return profileService.createProfile(profileRequest).thenApply(isCreated -> {
+                if (isCreated) {
+                    return ResponseManager.success("User registered successfully");
+                } else {
+                    return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to register user");
+                }
+            }).exceptionally(this::errorResponse);
         } catch (Exception e) {
-            return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Error: " + e.getMessage());
+            return CompletableFuture.completedFuture(errorResponse(e));
         }
     }
 
@@ -120,24 +161,18 @@ public class ProfileController {
      *         message
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> authenticateUser(@RequestBody ProfileRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> authenticateUser(
+            @RequestBody ProfileRequest loginRequest) {
         try {
             // Call the service to authenticate the user and get the JWT token
-            String jwtToken = profileService.authenticateUser(loginRequest);
-
-            // Return a successful response with the JWT token
-            return ResponseManager.success("Successful Login", Map.of(
-                    "email", loginRequest.getEmail(),
-                    "token", jwtToken));
-        } catch (IllegalArgumentException e) {
-            // Handle unauthorized errors
-            return ResponseManager.error(HttpStatus.BAD_REQUEST, e.getMessage());
-        } catch (UnauthorizedException e) {
-            // Handle unauthorized errors
-            return ResponseManager.error(HttpStatus.UNAUTHORIZED, e.getMessage());
+            return profileService.authenticateUser(loginRequest)
+                    // Return a successful response with the JWT token
+                    .thenApply(jwtToken -> ResponseManager.success("Successful Login", Map.of(
+                            "email", loginRequest.getEmail(),
+                            "token", jwtToken)))
+                    .exceptionally(this::errorResponse);
         } catch (Exception e) {
-            // Handle other errors
-            return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Error: " + e.getMessage());
+            return CompletableFuture.completedFuture(errorResponse(e));
         }
     }
 
@@ -159,6 +194,31 @@ public class ProfileController {
         }
     }
 
+    /**
+     * Retrieves the sessions revoked by logouts since a cursor, so services
+     * verifying JWTs locally can poll for revocations as deltas.
+     *
+     * @param since the cursor returned by the previous call, or 0 for every
+     *              revocation
+     * @param limit the number of revocations to return, or {@code null} for
+     *              the default
+     * @return a {@link ResponseEntity} with the revocations and the next cursor,
+     *         or an error message
+     */
+    @GetMapping("/revocations")
+    public ResponseEntity<Map<String, Object>> getRevocations(
+            @RequestParam(name = "since", defaultValue = "0") long since,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        try {
+            return ResponseManager.success("Revocations retrieved successfully",
+                    profileService.getRevocationsSince(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseManager.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Error: " + e.getMessage());
+        }
+    }
+
     /**
      * Retrieves a user's profile based on their UUID.
      *
@@ -168,8 +228,7 @@ public class ProfileController {
     @PostMapping("/profile")
     public ResponseEntity<Map<String, Object>> getProfileByUUID(@RequestBody UUIDRequest uuidRequest) {
         try {
-            User user = profileService.getProfileByUUID(uuidRequest.getUuid());
-            ProfileResponse profileResponse = new ProfileResponse(user);
+            ProfileResponse profileResponse = profileService.getProfileByUUID(uuidRequest.getUuid());
             return ResponseManager.success("Profile found", profileResponse);
         } catch (UserNotFoundException e) {
             return ResponseManager.error(HttpStatus.NOT_FOUND, "Error: " + e.getMessage());
@@ -203,27 +262,44 @@ public class ProfileController {
      * @return a {@link ResponseEntity} indicating success or failure of the update
      */
     @PutMapping("/profile")
-    public ResponseEntity<Map<String, Object>> updateUser(@RequestBody UserUpdateRequest userUpdateRequest) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> updateUser(
+            @RequestBody UserUpdateRequest userUpdateRequest) {
         try {
-            boolean isUpdated = profileService.updateUser(
+            return profileService.updateUser(
                     userUpdateRequest.getUuid(),
                     userUpdateRequest.getEmail(),
                     userUpdateRequest.getPassword(),
                     userUpdateRequest.getName(),
                     userUpdateRequest.getIsAdmin(),
-                    userUpdateRequest.getDob());
+                    userUpdateRequest.getDob()).thenApply(isUpdated -> {
+                        if (isUpdated) {
+                            return ResponseManager.success("User updated successfully");
+                        } else {
+                            return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to update user");
+                        }
+                    }).exceptionally(this::errorResponse);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(errorResponse(e));
+        }
+    }
 
-            if (isUpdated) {
-                return ResponseManager.success("User updated successfully");
-            } else {
-                return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to update user");
-            }
-        } catch (IllegalArgumentException e) {
-            return ResponseManager.error(HttpStatus.BAD_REQUEST, e.getMessage());
-        } catch (UserNotFoundException e) {
-            return ResponseManager.error(HttpStatus.NOT_FOUND, e.getMessage());
+    /**
+     * Updates only the fields of a user's profile present in the request,
+     * hashing the password only if a new one is supplied.
+     *
+     * @param userUpdateRequest the request containing the UUID and the fields
+     *                          to update
+     * @return a {@link ResponseEntity} indicating success or failure of the update
+     */
+    @PatchMapping("/profile")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> patchUser(
+            @RequestBody UserUpdateRequest userUpdateRequest) {
+        try {
+            return profileService.patchUser(userUpdateRequest)
+                    .thenApply(isUpdated -> ResponseManager.success("User updated successfully"))
+                    .exceptionally(this::errorResponse);
         } catch (Exception e) {
-            return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Error: " + e.getMessage());
+            return CompletableFuture.completedFuture(errorResponse(e));
         }
     }
 
@@ -252,4 +328,47 @@ public class ProfileController {
         }
     }
 
+    /**
+     * Updates the ELO ratings of many users, such as all players of a completed
+     * tournament, in a single request.
+     *
+     * @param eloBatchUpdateRequest the request containing the UUIDs and new ELO
+     *                              ratings of the users
+     * @return a {@link ResponseEntity} with the number of users updated and the
+     *         reason each failed item was rejected
+     */
+    @PutMapping("/profile/elo/batch")
+    public ResponseEntity<Map<String, Object>> updateEloBatch(
+            @RequestBody EloBatchUpdateRequest eloBatchUpdateRequest) {
+        try {
+            EloBatchUpdateResult result = profileService.updateEloBatch(eloBatchUpdateRequest.getData());
+            return ResponseManager.success("User ELOs updated", result);
+        } catch (IllegalArgumentException e) {
+            return ResponseManager.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Maps an error of an asynchronous endpoint to its response.
+     *
+     * @param e the error, possibly wrapped in a {@link CompletionException}
+     * @return 400 for invalid input, 401 for wrong credentials, 404 for unknown
+     *         users, 503 if password hashing is at capacity, or 500 otherwise
+     */
+    private ResponseEntity<Map<String, Object>> errorResponse(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof IllegalArgumentException) {
+            return ResponseManager.error(HttpStatus.BAD_REQUEST, cause.getMessage());
+        } else if (cause instanceof UnauthorizedException) {
+            return ResponseManager.error(HttpStatus.UNAUTHORIZED, cause.getMessage());
+        } else if (cause instanceof UserNotFoundException) {
+            return ResponseManager.error(HttpStatus.NOT_FOUND, cause.getMessage());
+        } else if (cause instanceof OverloadedException) {
+            return ResponseManager.unavailable(cause.getMessage(),
+                    ((OverloadedException) cause).getRetryAfterSeconds());
+        }
+        return ResponseManager.error(HttpStatus.INTERNAL_SERVER_ERROR, "Error: " + cause.getMessage());
+    }
 }
@@ -0,0 +1,21 @@
+package user.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) for updating the ELO ratings of many users at
+ * once.
+ *
+ * <p>
+ * This class encapsulates a list of {@link EloUpdateRequest} items, each with
+ * a user's UUID and new ELO rating, typically sent at the end of a tournament.
+ *
+ * <p>
+ * Provides getter and setter methods to access and modify the list of updates.
+ */
+@Data
+public class EloBatchUpdateRequest {
+    private List<EloUpdateRequest> data;
+}
@@ -0,0 +1,21 @@
+package user.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) reporting the outcome of a batch ELO update.
+ *
+ * <p>
+ * Contains the number of users whose ELO was updated, the number of items
+ * skipped because their idempotency key was already applied, and the reason
+ * each rejected item failed keyed by its UUID.
+ */
+@Data
+public class EloBatchUpdateResult {
+    private int updated;
+    private int duplicates;
+    private Map<String, String> failed = new LinkedHashMap<>();
+}
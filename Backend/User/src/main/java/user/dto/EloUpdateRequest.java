@@ -7,7 +7,9 @@ import lombok.Data;
  *
  * <p>
  * This class encapsulates the data required to update a user's ELO score,
- * including the user's unique identifier (UUID) and the new ELO rating.
+ * including the user's unique identifier (UUID) and the new ELO rating. In a
+ * batch, an optional idempotency key identifies the update across retries, so
+ * an update that was already applied is skipped.
  *
  * <p>
  * Provides getter and setter methods to access and modify the ELO rating
@@ -17,4 +19,5 @@ import lombok.Data;
 public class EloUpdateRequest {
     private Integer elo;
     private String uuid;
+    private String idempotencyKey;
 }
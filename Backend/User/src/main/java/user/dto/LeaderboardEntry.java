@@ -0,0 +1,15 @@
+package user.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) for a player on the global leaderboard.
+ */
+@Data
+@Accessors(chain = true)
+public class LeaderboardEntry {
+    private String uuid;
+    private String name;
+    private int elo;
+}
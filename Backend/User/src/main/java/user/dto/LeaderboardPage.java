@@ -0,0 +1,22 @@
+package user.dto;
+
+import java.util.List;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) for a page of the global leaderboard.
+ *
+ * <p>
+ * The next page starts after the Elo and UUID of the last entry, passed back
+ * as {@code afterElo} and {@code afterUuid}. Both are {@code null} on the
+ * last page.
+ */
+@Data
+@Accessors(chain = true)
+public class LeaderboardPage {
+    private List<LeaderboardEntry> entries;
+    private Integer nextElo;
+    private String nextUuid;
+}
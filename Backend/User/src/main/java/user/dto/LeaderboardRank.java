@@ -0,0 +1,19 @@
+package user.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) for a player's global leaderboard rank.
+ *
+ * <p>
+ * The rank is one more than the number of players with a higher Elo, so
+ * players with the same Elo share a rank.
+ */
+@Data
+@Accessors(chain = true)
+public class LeaderboardRank {
+    private String uuid;
+    private int elo;
+    private long rank;
+}
@@ -0,0 +1,16 @@
+package user.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) for the credentials of a user logging in, loaded
+ * in a single call.
+ */
+@Data
+@Accessors(chain = true)
+public class LoginCredentials {
+    private String uuid;
+    private String password;
+    private Byte isAdmin;
+}
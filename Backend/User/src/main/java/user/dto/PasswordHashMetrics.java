@@ -0,0 +1,28 @@
+package user.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) holding a snapshot of the password hashing
+ * executor.
+ *
+ * <p>
+ * Contains the size of the pool, the number of hashes running and queued, the
+ * capacity of the queue, the number of hashes completed and rejected since
+ * startup, and the average time hashes waited in the queue and took to
+ * compute, in milliseconds.
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+public class PasswordHashMetrics {
+    private int poolSize;
+    private int active;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private double averageWaitMs;
+    private double averageHashMs;
+}
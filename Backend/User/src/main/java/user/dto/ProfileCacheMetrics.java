@@ -0,0 +1,28 @@
+package user.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) holding a snapshot of the profile cache.
+ *
+ * <p>
+ * Contains the number of cached profiles and the maximum, the lookups served
+ * from the cache and loaded from the database since startup with the
+ * resulting hit rate, the average time to load a profile in milliseconds, and
+ * the number of profiles evicted for expiry or space and invalidated by
+ * writes.
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+public class ProfileCacheMetrics {
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private double averageLoadMs;
+    private long evictions;
+    private long invalidations;
+}
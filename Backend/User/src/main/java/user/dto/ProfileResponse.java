@@ -25,7 +25,7 @@ public class ProfileResponse {
     private String email;
     private String name;
     private LocalDate dob;
-    private String elo;
+    private Integer elo;
 
     /**
      * Constructor to initialize ProfileResponse from a User entity.
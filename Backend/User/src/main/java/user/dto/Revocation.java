@@ -0,0 +1,30 @@
+package user.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) for a revoked session in the revocation feed.
+ *
+ * <p>
+ * Every token of the user issued at or before {@code revokedAt} has been
+ * revoked by a logout. The {@code id} orders revocations in the feed, and a
+ * revocation may be sent more than once, so clients should apply it
+ * idempotently.
+ */
+@Data
+@Accessors(chain = true)
+public class Revocation {
+    private long id;
+    private String uuid;
+    private long revokedAt;
+
+    /**
+     * Whether the revocation was logged long enough ago that no revocation
+     * with a lower id can still be uncommitted.
+     */
+    @JsonIgnore
+    private boolean settled;
+}
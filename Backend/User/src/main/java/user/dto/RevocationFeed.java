@@ -0,0 +1,23 @@
+package user.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) for a page of the revocation feed.
+ *
+ * <p>
+ * Contains the sessions revoked after the requested cursor, the cursor to
+ * request the next delta with, and whether more revocations are waiting
+ * beyond this page.
+ */
+@Data
+@Accessors(chain = true)
+public class RevocationFeed {
+    private List<Revocation> revocations = new ArrayList<>();
+    private long cursor;
+    private boolean hasMore;
+}
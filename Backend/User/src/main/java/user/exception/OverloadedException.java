@@ -0,0 +1,35 @@
+package user.exception;
+
+/**
+ * Exception thrown when a request is shed because the service is at its
+ * password hashing capacity.
+ * This is a runtime exception that extends {@link RuntimeException}.
+ */
+public class OverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new {@code OverloadedException} with the specified detail
+     * message and the time after which the client may retry.
+     *
+     * @param message           the detail message, which is saved for later
+     *                          retrieval by the {@link Throwable#getMessage()}
+     *                          method
+     * @param retryAfterSeconds the number of seconds after which the client may
+     *                          retry
+     */
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the number of seconds after which the client may retry.
+     *
+     * @return the number of seconds to wait before retrying
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -39,5 +39,5 @@ public class User {
     private Date dob;
 
     @Column(name = "elo")
-    private String elo;
+    private Integer elo;
 }
@@ -0,0 +1,88 @@
+package user.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import user.dto.EloUpdateRequest;
+
+/**
+ * Repository for the idempotency keys of the batch Elo updates already
+ * applied, kept in the EloUpdateLog table (see {@code db/EloUpdateLog.sql}).
+ *
+ * <p>
+ * Keys are read and written in chunks of up to {@link #ROWS_PER_STATEMENT},
+ * on the connection of the surrounding transaction, so a key is only recorded
+ * if its Elo update commits.
+ * </p>
+ */
+@Repository
+public class EloUpdateLogRepository {
+
+    // Maximum number of keys read or written by a single statement
+    static final int ROWS_PER_STATEMENT = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Finds which of the given idempotency keys have already been applied.
+     *
+     * @param keys the idempotency keys to look up.
+     * @return the subset of {@code keys} already applied.
+     */
+    public Set<String> findApplied(Collection<String> keys) {
+        List<String> keyList = new ArrayList<>(keys);
+        Set<String> applied = new HashSet<>();
+        for (int start = 0; start < keyList.size(); start += ROWS_PER_STATEMENT) {
+            List<String> chunk = keyList.subList(start, Math.min(start + ROWS_PER_STATEMENT, keyList.size()));
+            jdbcTemplate.query("SELECT idempotencyKey FROM EloUpdateLog WHERE idempotencyKey IN "
+                    + placeholders(chunk.size()), rs -> {
+                        applied.add(rs.getString(1));
+                    }, chunk.toArray());
+        }
+        return applied;
+    }
+
+    /**
+     * Records the idempotency keys of applied Elo updates.
+     *
+     * @param updates the applied updates, each with an idempotency key.
+     * @throws org.springframework.dao.DuplicateKeyException if a key was
+     *                                                       recorded by a
+     *                                                       concurrent update.
+     */
+    public void recordApplied(List<EloUpdateRequest> updates) {
+        for (int start = 0; start < updates.size(); start += ROWS_PER_STATEMENT) {
+            List<EloUpdateRequest> chunk = updates.subList(start, Math.min(start + ROWS_PER_STATEMENT, updates.size()));
+
+            StringBuilder sql = new StringBuilder("INSERT INTO EloUpdateLog (idempotencyKey, uuid, elo) VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * 3);
+            for (int i = 0; i < chunk.size(); i++) {
+                EloUpdateRequest update = chunk.get(i);
+                sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+                args.add(update.getIdempotencyKey());
+                args.add(update.getUuid());
+                args.add(update.getElo());
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    /**
+     * Builds a parenthesised, comma separated list of placeholders.
+     *
+     * @param count the number of placeholders
+     * @return the placeholder list
+     */
+    private static String placeholders(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+}
@@ -0,0 +1,82 @@
+package user.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import user.dto.LeaderboardEntry;
+
+/**
+ * Repository for reading the global leaderboard, ordered by Elo, highest
+ * first, then by UUID.
+ *
+ * <p>
+ * Pages are read with keyset pagination: each page seeks past the Elo and
+ * UUID of the previous page's last entry on the {@code (elo DESC, UUID)}
+ * index (see {@code db/Leaderboard.sql}), so deep pages cost the same as the
+ * first. Ranks are counted over the same index.
+ * </p>
+ */
+@Repository
+public class LeaderboardRepository {
+
+    private static final String FIRST_PAGE_SQL = "SELECT UUID, name, elo FROM User WHERE elo IS NOT NULL "
+            + "ORDER BY elo DESC, UUID LIMIT ?";
+
+    private static final String NEXT_PAGE_SQL = "SELECT UUID, name, elo FROM User "
+            + "WHERE elo < ? OR (elo = ? AND UUID > ?) ORDER BY elo DESC, UUID LIMIT ?";
+
+    private static final String ELO_SQL = "SELECT elo FROM User WHERE UUID = ?";
+
+    private static final String HIGHER_RATED_SQL = "SELECT COUNT(*) FROM User WHERE elo > ?";
+
+    private static final RowMapper<LeaderboardEntry> ENTRY_MAPPER = (rs, rowNum) -> new LeaderboardEntry()
+            .setUuid(rs.getString("UUID"))
+            .setName(rs.getString("name"))
+            .setElo(rs.getInt("elo"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Retrieves a page of the leaderboard.
+     *
+     * @param afterElo  the Elo of the previous page's last entry, or
+     *                  {@code null} for the first page
+     * @param afterUuid the UUID of the previous page's last entry, or
+     *                  {@code null} for the first page
+     * @param limit     the maximum number of entries to return
+     * @return the entries of the page, highest rated first
+     */
+    public List<LeaderboardEntry> findPage(Integer afterElo, String afterUuid, int limit) {
+        if (afterElo == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, ENTRY_MAPPER, limit);
+        }
+        return jdbcTemplate.query(NEXT_PAGE_SQL, ENTRY_MAPPER, afterElo, afterElo, afterUuid, limit);
+    }
+
+    /**
+     * Retrieves the Elo of a user.
+     *
+     * @param uuid the UUID of the user
+     * @return a list holding the user's Elo, which is {@code null} if the user
+     *         is not rated, or an empty list if the user does not exist
+     */
+    public List<Integer> findElo(String uuid) {
+        return jdbcTemplate.query(ELO_SQL, (rs, rowNum) -> rs.getObject("elo", Integer.class), uuid);
+    }
+
+    /**
+     * Counts the users rated above an Elo.
+     *
+     * @param elo the Elo to count above
+     * @return the number of users with a higher Elo
+     */
+    public long countHigherRated(int elo) {
+        Long count = jdbcTemplate.queryForObject(HIGHER_RATED_SQL, Long.class, elo);
+        return count == null ? 0 : count;
+    }
+}
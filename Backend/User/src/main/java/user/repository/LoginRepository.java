@@ -0,0 +1,57 @@
+package user.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import user.dto.LoginCredentials;
+
+/**
+ * Repository for the database calls of a login, so a login costs one read and
+ * one write.
+ *
+ * <p>
+ * Calls the stored procedures "GetLoginCredentials" and "UpsertSession" (see
+ * {@code db/LoginProcedures.sql}). Neither takes a locking read.
+ * </p>
+ */
+@Repository
+public class LoginRepository {
+
+    private static final String GET_LOGIN_CREDENTIALS_CALL = "{call GetLoginCredentials(?)}";
+
+    private static final String UPSERT_SESSION_CALL = "{call UpsertSession(?, ?)}";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Retrieves the UUID, password hash and role of a user by email.
+     *
+     * @param email the email address of the user
+     * @return the {@link LoginCredentials} of the user, or {@code null} if no
+     *         user has the email
+     */
+    public LoginCredentials findCredentials(String email) {
+        List<LoginCredentials> credentials = jdbcTemplate.query(GET_LOGIN_CREDENTIALS_CALL,
+                (rs, rowNum) -> new LoginCredentials()
+                        .setUuid(rs.getString("uuid"))
+                        .setPassword(rs.getString("password"))
+                        .setIsAdmin(rs.getByte("isAdmin")),
+                email);
+        return credentials.isEmpty() ? null : credentials.get(0);
+    }
+
+    /**
+     * Records a login, creating the user's session or replacing its JWT and
+     * last login time.
+     *
+     * @param uuid the UUID of the user
+     * @param jwt  the JWT issued by the login
+     */
+    public void upsertSession(String uuid, String jwt) {
+        jdbcTemplate.update(UPSERT_SESSION_CALL, uuid, jwt);
+    }
+}
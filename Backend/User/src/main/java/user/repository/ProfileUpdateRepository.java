@@ -0,0 +1,73 @@
+package user.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for partial updates of user profiles.
+ *
+ * <p>
+ * A partial update is a single {@code UPDATE} that sets only the columns
+ * present in the update, so unchanged fields are neither read nor written.
+ * MySQL Connector/J reports the rows matched by an update rather than the
+ * rows changed, so an update that changes nothing still reports its row, and
+ * a count of 0 means the user does not exist.
+ * </p>
+ */
+@Repository
+public class ProfileUpdateRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Updates the present fields of a user, leaving {@code null} fields
+     * unchanged.
+     *
+     * @param uuid     the UUID of the user to update
+     * @param email    the new email, or {@code null}
+     * @param password the new bcrypt password hash, or {@code null}
+     * @param name     the new name, or {@code null}
+     * @param isAdmin  the new admin status, or {@code null}
+     * @param dob      the new date of birth, or {@code null}
+     * @return the number of users matched, 0 if the user does not exist
+     * @throws IllegalArgumentException if no field is present
+     */
+    public int patchUser(String uuid, String email, String password, String name, Byte isAdmin, LocalDate dob) {
+        List<String> columns = new ArrayList<>(5);
+        List<Object> args = new ArrayList<>(6);
+        addField(columns, args, "email", email);
+        addField(columns, args, "password", password);
+        addField(columns, args, "name", name);
+        addField(columns, args, "isAdmin", isAdmin);
+        addField(columns, args, "dob", dob == null ? null : Date.valueOf(dob));
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update.");
+        }
+
+        args.add(uuid);
+        return jdbcTemplate.update("UPDATE User SET " + String.join(", ", columns) + " WHERE UUID = ?",
+                args.toArray());
+    }
+
+    /**
+     * Adds a column to the update if its value is present.
+     *
+     * @param columns the assignments of the update
+     * @param args    the arguments of the update
+     * @param column  the column to set
+     * @param value   the new value of the column, or {@code null} to leave it
+     */
+    private static void addField(List<String> columns, List<Object> args, String column, Object value) {
+        if (value != null) {
+            columns.add(column + " = ?");
+            args.add(value);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package user.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import user.dto.Revocation;
+
+/**
+ * Repository for reading the sessions revoked by logouts, so services that
+ * verify JWTs locally can keep their revocation lists up to date.
+ *
+ * <p>
+ * Logouts are read from the RevocationLog table (see
+ * {@code db/RevocationLog.sql}), which a trigger appends to on every logout
+ * with an increasing id. Each entry revokes every token of the user issued
+ * before it.
+ * </p>
+ */
+@Repository
+public class RevocationRepository {
+
+    private static final String REVOKED_AFTER_SQL = "SELECT id, UUID, revokedAt, "
+            + "createdAt <= NOW(3) - INTERVAL ? MICROSECOND AS settled "
+            + "FROM RevocationLog WHERE id > ? ORDER BY id LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Retrieves a page of the revocations logged after an id.
+     *
+     * @param afterId      the id to read revocations after.
+     * @param limit        the maximum number of revocations to read.
+     * @param settleMillis how long after being logged a revocation is
+     *                     considered settled, in milliseconds.
+     * @return the revocations, in id order.
+     */
+    public List<Revocation> findRevokedAfter(long afterId, int limit, long settleMillis) {
+        return jdbcTemplate.query(REVOKED_AFTER_SQL, (rs, rowNum) -> new Revocation()
+                .setId(rs.getLong("id"))
+                .setUuid(rs.getString("UUID"))
+                .setRevokedAt(rs.getTimestamp("revokedAt").getTime())
+                .setSettled(rs.getBoolean("settled")), settleMillis * 1000, afterId, limit);
+    }
+}
@@ -0,0 +1,36 @@
+package user.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based operations on many {@link user.model.User} rows at once, mixed
+ * into {@link UserRepository}.
+ */
+public interface UserBatchRepository {
+
+    /**
+     * Finds which of the given UUIDs belong to existing users.
+     *
+     * @param uuids the UUIDs to look up
+     * @return the subset of {@code uuids} that exist
+     */
+    Set<String> findExistingUuids(Collection<String> uuids);
+
+    /**
+     * Finds the names of the users with the given UUIDs.
+     *
+     * @param uuids the UUIDs to look up
+     * @return the names of the users found, keyed by UUID
+     */
+    Map<String, String> findNamesByUuids(Collection<String> uuids);
+
+    /**
+     * Updates the Elo ratings of many users.
+     *
+     * @param elos the new Elo ratings keyed by user UUID
+     * @return the number of users updated
+     */
+    int updateElos(Map<String, Integer> elos);
+}
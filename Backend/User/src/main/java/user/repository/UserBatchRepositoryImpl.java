@@ -0,0 +1,107 @@
+package user.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link UserBatchRepository}.
+ *
+ * <p>
+ * Large inputs are split into chunks of up to {@link #ROWS_PER_STATEMENT}
+ * rows, so each chunk is a single statement with a bounded number of
+ * parameters. The statements run on the connection of the surrounding
+ * transaction.
+ */
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+
+    // Maximum number of users read or written by a single statement
+    static final int ROWS_PER_STATEMENT = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<String> findExistingUuids(Collection<String> uuids) {
+        List<String> uuidList = new ArrayList<>(uuids);
+        Set<String> existing = new HashSet<>(uuidList.size() * 2);
+        for (int start = 0; start < uuidList.size(); start += ROWS_PER_STATEMENT) {
+            List<String> chunk = uuidList.subList(start, Math.min(start + ROWS_PER_STATEMENT, uuidList.size()));
+            jdbcTemplate.query("SELECT UUID FROM User WHERE UUID IN " + placeholders(chunk.size()),
+                    rs -> {
+                        existing.add(rs.getString(1));
+                    }, chunk.toArray());
+        }
+        return existing;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, String> findNamesByUuids(Collection<String> uuids) {
+        List<String> uuidList = new ArrayList<>(uuids);
+        Map<String, String> names = new HashMap<>(uuidList.size() * 2);
+        for (int start = 0; start < uuidList.size(); start += ROWS_PER_STATEMENT) {
+            List<String> chunk = uuidList.subList(start, Math.min(start + ROWS_PER_STATEMENT, uuidList.size()));
+            jdbcTemplate.query("SELECT UUID, name FROM User WHERE UUID IN " + placeholders(chunk.size()),
+                    rs -> {
+                        names.put(rs.getString(1), rs.getString(2));
+                    }, chunk.toArray());
+        }
+        return names;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Each chunk is written with one {@code UPDATE ... SET elo = CASE ...}
+     * statement.
+     */
+    @Override
+    public int updateElos(Map<String, Integer> elos) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(elos.entrySet());
+        int updated = 0;
+        for (int start = 0; start < entries.size(); start += ROWS_PER_STATEMENT) {
+            List<Map.Entry<String, Integer>> chunk = entries.subList(start,
+                    Math.min(start + ROWS_PER_STATEMENT, entries.size()));
+
+            StringBuilder sql = new StringBuilder("UPDATE User SET elo = CASE UUID");
+            List<Object> args = new ArrayList<>(chunk.size() * 3);
+            for (Map.Entry<String, Integer> entry : chunk) {
+                sql.append(" WHEN ? THEN ?");
+                args.add(entry.getKey());
+                args.add(entry.getValue());
+            }
+            sql.append(" END WHERE UUID IN ").append(placeholders(chunk.size()));
+            for (Map.Entry<String, Integer> entry : chunk) {
+                args.add(entry.getKey());
+            }
+
+            updated += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        return updated;
+    }
+
+    /**
+     * Builds a parenthesised, comma separated list of placeholders.
+     *
+     * @param count the number of placeholders
+     * @return the placeholder list
+     */
+    private static String placeholders(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+}
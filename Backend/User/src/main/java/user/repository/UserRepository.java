@@ -17,10 +17,11 @@ import user.model.User;
  * inserting new users, retrieving user profiles, and updating user details.
  *
  * The methods in this repository use the {@link Procedure} annotation to
- * specify the corresponding stored procedures in the database.
+ * specify the corresponding stored procedures in the database. Set-based
+ * operations on many users are provided by {@link UserBatchRepository}.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, String>, UserBatchRepository {
 
     /**
      * Inserts a new user into the database with the provided details.
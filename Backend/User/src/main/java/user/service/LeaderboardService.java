@@ -0,0 +1,92 @@
+package user.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import user.dto.LeaderboardEntry;
+import user.dto.LeaderboardPage;
+import user.dto.LeaderboardRank;
+import user.exception.UserNotFoundException;
+import user.repository.LeaderboardRepository;
+import user.util.ValidationUtil;
+
+/**
+ * Service class for the global leaderboard, which ranks every rated player by
+ * Elo.
+ *
+ * <p>
+ * Pages are read with keyset pagination through the
+ * {@link LeaderboardRepository}, so a client pages by passing back the cursor
+ * of the previous page rather than an offset.
+ * </p>
+ */
+@Service
+public class LeaderboardService {
+
+    // Number of entries per page if none is requested, and the most allowed
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private LeaderboardRepository leaderboardRepository;
+
+    /**
+     * Retrieves a page of the leaderboard.
+     *
+     * @param afterElo  the {@code nextElo} of the previous page, or
+     *                  {@code null} for the first page
+     * @param afterUuid the {@code nextUuid} of the previous page, or
+     *                  {@code null} for the first page
+     * @param limit     the number of entries to return, or {@code null} for
+     *                  the default
+     * @return the {@link LeaderboardPage} of entries, with the cursor of the
+     *         next page
+     * @throws IllegalArgumentException if only half of the cursor is given, or
+     *                                  the limit is out of range
+     */
+    public LeaderboardPage getPage(Integer afterElo, String afterUuid, Integer limit) {
+        if ((afterElo == null) != (afterUuid == null || afterUuid.isEmpty())) {
+            throw new IllegalArgumentException("afterElo and afterUuid must be given together");
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<LeaderboardEntry> entries = leaderboardRepository.findPage(afterElo, afterUuid, pageSize);
+        LeaderboardPage page = new LeaderboardPage().setEntries(entries);
+        if (entries.size() == pageSize) {
+            LeaderboardEntry last = entries.get(entries.size() - 1);
+            page.setNextElo(last.getElo()).setNextUuid(last.getUuid());
+        }
+        return page;
+    }
+
+    /**
+     * Retrieves a player's global rank.
+     *
+     * @param uuid the UUID of the player
+     * @return the {@link LeaderboardRank} of the player
+     * @throws IllegalArgumentException if the UUID is missing
+     * @throws UserNotFoundException    if the player does not exist or has no
+     *                                  Elo
+     */
+    public LeaderboardRank getRank(String uuid) {
+        ValidationUtil.validateUUID(uuid);
+
+        List<Integer> elo = leaderboardRepository.findElo(uuid);
+        if (elo.isEmpty()) {
+            throw new UserNotFoundException("User not found");
+        }
+        if (elo.get(0) == null) {
+            throw new UserNotFoundException("User is not ranked");
+        }
+
+        return new LeaderboardRank()
+                .setUuid(uuid)
+                .setElo(elo.get(0))
+                .setRank(leaderboardRepository.countHigherRated(elo.get(0)) + 1);
+    }
+}
@@ -0,0 +1,121 @@
+package user.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import user.dto.PasswordHashMetrics;
+import user.exception.OverloadedException;
+
+/**
+ * Service that hashes and checks passwords with bcrypt on a dedicated,
+ * bounded executor, instead of on the request threads.
+ *
+ * <p>
+ * bcrypt is deliberately slow, so a login surge would otherwise take every
+ * core and starve cheap endpoints such as {@code POST /api/profile}. Hashing
+ * is limited to the {@code passwordHashExecutor} pool, and once its queue is
+ * full new hashes fail at once with an {@link OverloadedException}.
+ * </p>
+ *
+ * <p>
+ * The time hashes wait in the queue and take to compute is recorded and
+ * reported by {@link #getMetrics()}.
+ * </p>
+ */
+@Service
+public class PasswordHashService {
+
+    @Value("${user.password-hash.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("passwordHashExecutor")
+    private ThreadPoolTaskExecutor passwordHashExecutor;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong totalHashNanos = new AtomicLong();
+
+    /**
+     * Hashes a password.
+     *
+     * @param rawPassword the password to hash
+     * @return a future completing with the bcrypt hash of the password, or
+     *         failing with an {@link OverloadedException} if the executor is
+     *         full
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password against a bcrypt hash.
+     *
+     * @param rawPassword     the password to check
+     * @param encodedPassword the bcrypt hash to check it against
+     * @return a future completing with whether the password matches, or
+     *         failing with an {@link OverloadedException} if the executor is
+     *         full
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Takes a snapshot of the executor and of the hashes completed on it.
+     *
+     * @return the pool size, queue depth, counts and average latencies
+     */
+    public PasswordHashMetrics getMetrics() {
+        long count = completed.get();
+        return new PasswordHashMetrics()
+                .setPoolSize(passwordHashExecutor.getPoolSize())
+                .setActive(passwordHashExecutor.getActiveCount())
+                .setQueueDepth(passwordHashExecutor.getQueueSize())
+                .setQueueCapacity(passwordHashExecutor.getQueueCapacity())
+                .setCompleted(count)
+                .setRejected(rejected.get())
+                .setAverageWaitMs(count == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / count)
+                .setAverageHashMs(count == 0 ? 0 : totalHashNanos.get() / 1_000_000.0 / count);
+    }
+
+    /**
+     * Runs a hashing task on the executor, recording how long it waited and
+     * ran.
+     *
+     * @param task the hashing task
+     * @return a future completing with the result of the task
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    totalWaitNanos.addAndGet(startedAt - queuedAt);
+                    totalHashNanos.addAndGet(System.nanoTime() - startedAt);
+                    completed.incrementAndGet();
+                }
+            }, passwordHashExecutor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new OverloadedException(
+                    "Too many password checks in progress, try again later.", retryAfterSeconds));
+        }
+    }
+}
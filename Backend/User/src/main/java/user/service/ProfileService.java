@@ -1,11 +1,20 @@
 package user.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import user.dto.EloBatchUpdateResult;
+import user.dto.EloUpdateRequest;
+import user.dto.LoginCredentials;
 import user.dto.ProfileRequest;
+import user.dto.ProfileResponse;
+import user.dto.Revocation;
+import user.dto.RevocationFeed;
+import user.dto.UserUpdateRequest;
+import user.exception.OverloadedException;
 import user.exception.UnauthorizedException;
 import user.exception.UserNotFoundException;
 import user.model.User;
@@ -13,9 +22,17 @@ import user.repository.*;
 import user.util.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 /**
  * Service class for managing user profiles, including creating, authenticating,
@@ -30,77 +47,130 @@ import java.util.Map;
  *
  * <p>
  * All public methods in this service class are transactional, ensuring that
- * operations are completed atomically.
+ * operations are completed atomically, except for those that hash passwords.
+ * Registration, login and updates hash passwords on the
+ * {@link PasswordHashService}, and write with a single call once the hash is
+ * ready, so no connection is held while hashing. The write, and any token
+ * signing, runs on the {@code profileWriteExecutor}, so the hashing threads
+ * only ever hash.
  * </p>
  */
 @Service
 public class ProfileService {
 
+    // Maximum number of ELO updates accepted in a single batch
+    static final int MAX_ELO_BATCH_SIZE = 10000;
+
+    // Number of revocations per page if none is requested, and the most allowed
+    static final int DEFAULT_REVOCATION_PAGE_SIZE = 1000;
+    static final int MAX_REVOCATION_PAGE_SIZE = 10000;
+
+    @Value("${user.revocations.settle-ms:5000}")
+    private long revocationSettleMillis;
+
+    @Value("${user.profile-write.retry-after-seconds:1}")
+    private long profileWriteRetryAfterSeconds;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private JWTokenRepository jwTokenRepository;
 
+    @Autowired
+    private RevocationRepository revocationRepository;
+
+    @Autowired
+    private LoginRepository loginRepository;
+
+    @Autowired
+    private ProfileUpdateRepository profileUpdateRepository;
+
+    @Autowired
+    private EloUpdateLogRepository eloUpdateLogRepository;
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashService passwordHashService;
+
+    @Autowired
+    private ProfileCache profileCache;
+
+    @Autowired
+    @Qualifier("profileWriteExecutor")
+    private Executor profileWriteExecutor;
 
     /**
      * Creates a new user profile based on the provided {@link ProfileRequest}.
      *
+     * <p>
+     * The password is hashed by the {@link PasswordHashService}, and the user
+     * is inserted once it is hashed.
+     * </p>
+     *
      * @param profileRequest the profile request containing user details
-     * @return {@code true} if the profile was created successfully; {@code false}
-     *         otherwise
+     * @return a future completing with {@code true} if the profile was created
+     *         successfully, or {@code false} otherwise, or failing with an
+     *         {@link user.exception.OverloadedException} if password hashing is
+     *         at capacity
      * @throws IllegalArgumentException if the provided profile request is invalid
      */
-    @Transactional
-    public boolean createProfile(ProfileRequest profileRequest) {
+    public CompletableFuture<Boolean> createProfile(ProfileRequest profileRequest) {
         ValidationUtil.validateProfileRequest(profileRequest);
 
         if (userRepository.checkEmail(profileRequest.getEmail()) != null) {
             throw new IllegalArgumentException("A user with this email already exists.");
         }
 
-        String encrypted = passwordEncoder.encode(profileRequest.getPassword());
-
-        Integer status = userRepository.insertUser(
-                profileRequest.getEmail(),
-                encrypted,
-                profileRequest.getName(),
-                profileRequest.getIsAdmin());
+        return afterHash(passwordHashService.encode(profileRequest.getPassword()), encrypted -> {
+            Integer status = userRepository.insertUser(
+                    profileRequest.getEmail(),
+                    encrypted,
+                    profileRequest.getName(),
+                    profileRequest.getIsAdmin());
 
-        return status == 1;
+            return status == 1;
+        });
     }
 
     /**
      * Authenticates a user based on the provided login request and returns a JWT
      * token.
      *
+     * <p>
+     * Not transactional: the credentials are read and the session is written
+     * by one statement each, so no connection is held while the password hash
+     * is checked by the {@link PasswordHashService}.
+     * </p>
+     *
      * @param loginRequest the login request containing user credentials
-     * @return the generated JWT token
-     * @throws IllegalArgumentException if the login request is invalid or
-     *                                  authentication fails
+     * @return a future completing with the generated JWT token, or failing with
+     *         an {@link UnauthorizedException} if the email or password is
+     *         wrong, or an {@link user.exception.OverloadedException} if
+     *         password hashing is at capacity
+     * @throws IllegalArgumentException if the login request is invalid
      */
-    @Transactional
-    public String authenticateUser(ProfileRequest loginRequest) {
+    public CompletableFuture<String> authenticateUser(ProfileRequest loginRequest) {
         ValidationUtil.validateLoginRequest(loginRequest);
 
-        String hashedPassword = userRepository.getHashedPassword(loginRequest.getEmail());
-        if (hashedPassword == null || !passwordEncoder.matches(loginRequest.getPassword(), hashedPassword)) {
-            throw new UnauthorizedException("Invalid email or password");
+        // Load the hash, UUID and role in one call, then record the session in one
+        LoginCredentials credentials = loginRepository.findCredentials(loginRequest.getEmail());
+        if (credentials == null) {
+            return CompletableFuture.failedFuture(new UnauthorizedException("Invalid email or password"));
         }
 
-        String uuid = userRepository.checkEmail(loginRequest.getEmail());
-        jwTokenRepository.checkJWT(uuid);
-
-        Byte isAdmin = userRepository.getRoleByUUID(uuid);
-        String jwt = jwtUtil.generateToken(loginRequest.getEmail(), uuid, isAdmin);
-
-        jwTokenRepository.updateJWTLastLogin(loginRequest.getEmail(), jwt);
-        return jwt;
+        return afterHash(passwordHashService.matches(loginRequest.getPassword(), credentials.getPassword()),
+                matches -> {
+                    if (!matches) {
+                        throw new UnauthorizedException("Invalid email or password");
+                    }
+                    String jwt = jwtUtil.generateToken(loginRequest.getEmail(), credentials.getUuid(),
+                            credentials.getIsAdmin());
+                    loginRepository.upsertSession(credentials.getUuid(), jwt);
+                    return jwt;
+                });
     }
 
     /**
@@ -116,7 +186,7 @@ public class ProfileService {
         try {
             // Get user profile and check for errors (handled in getProfileByUUID)
             @SuppressWarnings("unused")
-            User user = getProfileByUUID(uuid);
+            ProfileResponse profile = getProfileByUUID(uuid);
 
             // Check if JWT token exists and update the logout
             Integer rowsAffected = jwTokenRepository.updateLogout(uuid);
@@ -133,32 +203,90 @@ public class ProfileService {
         }
     }
 
+    /**
+     * Retrieves a page of the sessions revoked by logouts after a cursor.
+     *
+     * <p>
+     * The cursor is the id of the last revocation delivered. It only moves
+     * past revocations logged more than the settle window ago, since a
+     * revocation with a lower id may still be uncommitted until then. Younger
+     * revocations are delivered at once, and again on the next call.
+     * </p>
+     *
+     * @param since the cursor of the previous page, or 0 for every revocation
+     * @param limit the number of revocations to return, or {@code null} for
+     *              the default
+     * @return the {@link RevocationFeed} of revocations after the cursor, with
+     *         the cursor of the next page and whether more are waiting
+     * @throws IllegalArgumentException if the cursor is negative or the limit
+     *                                  is out of range
+     */
+    @Transactional(readOnly = true)
+    public RevocationFeed getRevocationsSince(long since, Integer limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Cursor cannot be negative");
+        }
+        int pageSize = limit == null ? DEFAULT_REVOCATION_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_REVOCATION_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_REVOCATION_PAGE_SIZE);
+        }
+
+        List<Revocation> revocations = revocationRepository.findRevokedAfter(since, pageSize,
+                revocationSettleMillis);
+        long cursor = since;
+        boolean settled = true;
+        for (Revocation revocation : revocations) {
+            if (!revocation.isSettled()) {
+                settled = false;
+                break;
+            }
+            cursor = revocation.getId();
+        }
+        return new RevocationFeed()
+                .setRevocations(revocations)
+                .setCursor(cursor)
+                .setHasMore(settled && revocations.size() == pageSize);
+    }
+
     /**
      * Retrieves the user profile by the specified UUID.
      *
+     * <p>
+     * Profiles are read through the {@link ProfileCache}, which is invalidated
+     * by every write to a profile in this service.
+     * </p>
+     *
      * @param uuid the UUID of the user
-     * @return the {@link User} object associated with the UUID
+     * @return the public profile of the user, shared with the cache
      * @throws IllegalArgumentException if the UUID is null or empty
      * @throws UserNotFoundException    if no user is found with the given UUID
      */
     @Transactional
-    public User getProfileByUUID(String uuid) {
+    public ProfileResponse getProfileByUUID(String uuid) {
         if (uuid == null || uuid.isEmpty()) {
             throw new IllegalArgumentException("Invalid UUID: UUID cannot be null or empty.");
         }
 
-        User user = userRepository.getProfile(uuid);
+        ProfileResponse profile = profileCache.get(uuid, key -> {
+            User user = userRepository.getProfile(key);
+            return user == null ? null : new ProfileResponse(user);
+        });
 
-        if (user == null) {
+        if (profile == null) {
             throw new UserNotFoundException("User not found");
         }
 
-        return user; // Return the user profile if everything is valid
+        return profile; // Return the user profile if everything is valid
     }
 
     /**
      * Retrieves names of users based on a list of UUIDs.
      *
+     * <p>
+     * All names are fetched with set-based queries rather than one call per
+     * UUID. UUIDs without a user are mapped to {@code "Not Found"}, and if the
+     * lookup fails every UUID is mapped to {@code "Error retrieving name"}.
+     *
      * @param uuids the list of UUIDs to search for
      * @return a map containing UUIDs as keys and corresponding user names as values
      */
@@ -170,20 +298,19 @@ public class ProfileService {
             return nameMap; // Return empty map for an empty or null list
         }
 
-        // Fetch names for valid UUIDs
-        for (String uuid : uuids) {
-            try {
-                // Call the stored procedure for each UUID
-                String name = userRepository.getName(uuid);
-                if (name != null) {
-                    nameMap.put(uuid, name);
-                } else {
-                    nameMap.put(uuid, "Not Found"); // Indicate UUID was not found
-                }
-            } catch (Exception e) {
-                // Log exception and handle as needed
-                nameMap.put(uuid, "Error retrieving name");
-            }
+        Set<String> uniqueUuids = new LinkedHashSet<>(uuids);
+        Map<String, String> names;
+        try {
+            names = userRepository.findNamesByUuids(uniqueUuids);
+        } catch (Exception e) {
+            // Log exception and handle as needed
+            System.out.println("Error retrieving names: " + e.getMessage());
+            names = null;
+        }
+
+        for (String uuid : uniqueUuids) {
+            String name = names == null ? "Error retrieving name" : names.get(uuid);
+            nameMap.put(uuid, name != null ? name : "Not Found"); // Indicate UUID was not found
         }
         return nameMap;
     }
@@ -207,14 +334,115 @@ public class ProfileService {
         try {
             // Check if user exists
             @SuppressWarnings("unused")
-            User user = getProfileByUUID(uuid);
+            ProfileResponse profile = getProfileByUUID(uuid);
 
             userRepository.updateElo(uuid, elo);
+            profileCache.invalidate(uuid);
         } catch (Exception e) {
             throw e;
         }
     }
 
+    /**
+     * Updates the ELO ratings of many users at once.
+     *
+     * <p>
+     * Existence of all users is checked with one set-based query and the valid
+     * updates are applied in batched statements, instead of two round trips per
+     * user. Items that cannot be applied are reported in the result rather
+     * than failing the whole batch.
+     *
+     * <p>
+     * Items with an idempotency key that was already applied are skipped and
+     * counted as duplicates, so a retried batch never applies an update twice.
+     * The keys of applied items are recorded in the same transaction as their
+     * updates. If a concurrent request records the same key first, the batch
+     * is rolled back, and a retry then skips the item.
+     *
+     * @param updates the UUIDs, new ELO ratings and optional idempotency keys
+     *                of the users
+     * @return the number of users updated, the number of duplicates skipped and
+     *         the reason each failed item was rejected, keyed by UUID
+     * @throws IllegalArgumentException if the batch is missing, empty, or too
+     *                                  large
+     */
+    @Transactional
+    public EloBatchUpdateResult updateEloBatch(List<EloUpdateRequest> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new IllegalArgumentException("Missing ELO updates");
+        }
+        if (updates.size() > MAX_ELO_BATCH_SIZE) {
+            throw new IllegalArgumentException("Too many ELO updates, maximum is " + MAX_ELO_BATCH_SIZE);
+        }
+
+        EloBatchUpdateResult result = new EloBatchUpdateResult();
+        Map<String, EloUpdateRequest> valid = new LinkedHashMap<>();
+
+        for (EloUpdateRequest update : updates) {
+            String uuid = update == null ? null : update.getUuid();
+            if (uuid == null || uuid.isEmpty()) {
+                result.getFailed().put(String.valueOf(uuid), "UUID is required");
+            } else if (update.getElo() == null || update.getElo() < 0) {
+                result.getFailed().put(uuid, "Invalid or missing ELO");
+            } else if (valid.putIfAbsent(uuid, update) != null) {
+                result.getFailed().put(uuid, "Duplicate UUID");
+            }
+        }
+
+        // Drop items whose UUID also appeared as a duplicate or invalid item
+        valid.keySet().removeAll(result.getFailed().keySet());
+        if (valid.isEmpty()) {
+            return result;
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (EloUpdateRequest update : valid.values()) {
+            if (update.getIdempotencyKey() != null && !update.getIdempotencyKey().isEmpty()) {
+                keys.add(update.getIdempotencyKey());
+            }
+        }
+        if (!keys.isEmpty()) {
+            Set<String> applied = eloUpdateLogRepository.findApplied(keys);
+            valid.values().removeIf(update -> {
+                if (!applied.contains(update.getIdempotencyKey())) {
+                    return false;
+                }
+                result.setDuplicates(result.getDuplicates() + 1);
+                return true;
+            });
+            if (valid.isEmpty()) {
+                return result;
+            }
+        }
+
+        Set<String> existing = userRepository.findExistingUuids(valid.keySet());
+        valid.keySet().removeIf(uuid -> {
+            if (existing.contains(uuid)) {
+                return false;
+            }
+            result.getFailed().put(uuid, "User not found");
+            return true;
+        });
+
+        if (!valid.isEmpty()) {
+            Map<String, Integer> elos = new LinkedHashMap<>();
+            List<EloUpdateRequest> keyed = new ArrayList<>();
+            for (EloUpdateRequest update : valid.values()) {
+                elos.put(update.getUuid(), update.getElo());
+                if (update.getIdempotencyKey() != null && !update.getIdempotencyKey().isEmpty()) {
+                    keyed.add(update);
+                }
+            }
+
+            result.setUpdated(userRepository.updateElos(elos));
+            if (!keyed.isEmpty()) {
+                eloUpdateLogRepository.recordApplied(keyed);
+            }
+            profileCache.invalidateAll(new ArrayList<>(elos.keySet()));
+        }
+        return result;
+    }
+
     /**
      * Updates user information based on provided parameters.
      *
@@ -224,29 +452,116 @@ public class ProfileService {
      * @param name     the new name of the user
      * @param isAdmin  the new admin status of the user
      * @param dob      the new date of birth of the user
-     * @return {@code true} if the user was updated successfully; {@code false}
-     *         otherwise
+     * @return a future completing with {@code true} once the user is updated,
+     *         or failing with an {@link user.exception.OverloadedException} if
+     *         password hashing is at capacity
      * @throws IllegalArgumentException if any provided parameters are invalid
      * @throws UserNotFoundException    if no user is found with the given UUID
      */
-    @Transactional
-    public boolean updateUser(String uuid, String email, String password, String name, Byte isAdmin, LocalDate dob) {
+    public CompletableFuture<Boolean> updateUser(String uuid, String email, String password, String name, Byte isAdmin, LocalDate dob) {
         ValidationUtil.validateUserUpdate(uuid, email, password, name, isAdmin);
 
         // Convert LocalDate to java.sql.Date
         java.sql.Date sqlDate = dob != null ? java.sql.Date.valueOf(dob) : null;
 
-        try {
-            // Check if user exists
-            @SuppressWarnings("unused")
-            User user = getProfileByUUID(uuid);
-
-            String encrypted = passwordEncoder.encode(password);
+        // Check if user exists
+        @SuppressWarnings("unused")
+        ProfileResponse profile = getProfileByUUID(uuid);
 
+        // Write once the password is hashed, without holding a connection meanwhile
+        return afterHash(passwordHashService.encode(password), encrypted -> {
             userRepository.updateUser(uuid, email, encrypted, name, isAdmin, sqlDate);
+            profileCache.invalidate(uuid);
             return true;
-        } catch (Exception e) {
-            throw e;
+        });
+    }
+
+    /**
+     * Applies a partial update to a user, changing only the fields present in
+     * it.
+     *
+     * <p>
+     * The password is only hashed if a new one is supplied, and the update is
+     * written with a single statement, without reading the user first. An
+     * update without a password completes on the calling thread.
+     * </p>
+     *
+     * @param patch the partial update, with {@code null} for fields left
+     *              unchanged
+     * @return a future completing with {@code true} once the user is updated,
+     *         or failing with a {@link UserNotFoundException} if no user has
+     *         the UUID, or an {@link user.exception.OverloadedException} if
+     *         password hashing is at capacity
+     * @throws IllegalArgumentException if the UUID is missing, no field is
+     *                                  present, a present field is invalid, or
+     *                                  the new email belongs to another user
+     */
+    public CompletableFuture<Boolean> patchUser(UserUpdateRequest patch) {
+        ValidationUtil.validateUserPatch(patch);
+
+        if (patch.getEmail() != null) {
+            String owner = userRepository.checkEmail(patch.getEmail());
+            if (owner != null && !owner.equals(patch.getUuid())) {
+                throw new IllegalArgumentException("A user with this email already exists.");
+            }
+        }
+
+        if (patch.getPassword() == null) {
+            return CompletableFuture.completedFuture(applyPatch(patch, null));
+        }
+        return afterHash(passwordHashService.encode(patch.getPassword()), encrypted -> applyPatch(patch, encrypted));
+    }
+
+    /**
+     * Continues a password hash with the work that depends on it, run on the
+     * {@code profileWriteExecutor} rather than on the hashing thread. Not
+     * {@code thenApplyAsync}, whose future is never completed if the executor
+     * rejects the continuation.
+     *
+     * @param hashed the future of the hash, or of the password check
+     * @param write  the database and token work to run with its result
+     * @return a future completing with the result of {@code write}, or failing
+     *         with an {@link OverloadedException} if the write executor is full
+     */
+    private <T, R> CompletableFuture<R> afterHash(CompletableFuture<T> hashed, Function<T, R> write) {
+        CompletableFuture<R> written = new CompletableFuture<>();
+        hashed.whenComplete((result, hashError) -> {
+            if (hashError != null) {
+                written.completeExceptionally(hashError);
+                return;
+            }
+            try {
+                profileWriteExecutor.execute(() -> {
+                    try {
+                        written.complete(write.apply(result));
+                    } catch (Throwable e) {
+                        written.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                written.completeExceptionally(new OverloadedException(
+                        "Too many profile updates in progress, try again later.", profileWriteRetryAfterSeconds));
+            }
+        });
+        return written;
+    }
+
+    /**
+     * Writes a partial update.
+     *
+     * @param patch     the partial update
+     * @param encrypted the hash of the new password, or {@code null} to leave
+     *                  it unchanged
+     * @return {@code true} once the user is updated
+     * @throws UserNotFoundException if no user has the UUID
+     */
+    private boolean applyPatch(UserUpdateRequest patch, String encrypted) {
+        int matched = profileUpdateRepository.patchUser(patch.getUuid(), patch.getEmail(), encrypted,
+                patch.getName(), patch.getIsAdmin(), patch.getDob());
+        profileCache.invalidate(patch.getUuid());
+        if (matched == 0) {
+            throw new UserNotFoundException("User not found");
         }
+        return true;
     }
 }
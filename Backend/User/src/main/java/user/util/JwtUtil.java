@@ -1,20 +1,41 @@
 package user.util;
 
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 
+import jakarta.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Utility class for handling JSON Web Tokens (JWT).
  *
  * <p>
  * This class provides methods for generating, extracting claims,
- * and validating JWTs. The tokens are signed using a secret key and
- * contain information about the user, such as username, UUID, and admin status.
+ * and validating JWTs. The tokens contain information about the user, such as
+ * username, UUID, and admin status.
+ * </p>
+ *
+ * <p>
+ * If an RSA private key is configured via {@code security.jwt.private-key},
+ * tokens are signed with RS256 and carry the key's ID in their {@code kid}
+ * header, so any service can verify them against the public keys published by
+ * {@link #getJwks()}. Otherwise they are signed with the shared HS256 secret.
  * </p>
  *
  * <p>
@@ -27,8 +48,39 @@ public class JwtUtil {
     @Value("${security.jwt.secret-key}")
     private String secretKey;
 
+    /**
+     * Base64 encoded PKCS#8 RSA private key, or empty to sign with the shared
+     * secret.
+     */
+    @Value("${security.jwt.private-key:}")
+    private String privateKey;
+
+    @Value("${security.jwt.key-id:user-1}")
+    private String keyId;
+
     private final int TOKEN_EXPIRY_TIME = (1000 * 60 * 60 * 24);
 
+    private RSAPrivateCrtKey signingKey;
+
+    /**
+     * Parses the configured RSA private key, if any.
+     *
+     * @throws IllegalStateException if the key is not a valid PKCS#8 RSA key.
+     */
+    @PostConstruct
+    public void init() {
+        if (privateKey == null || privateKey.isBlank()) {
+            return;
+        }
+        try {
+            byte[] encoded = Base64.getMimeDecoder().decode(privateKey.trim());
+            signingKey = (RSAPrivateCrtKey) KeyFactory.getInstance("RSA")
+                    .generatePrivate(new PKCS8EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException | IllegalArgumentException | ClassCastException e) {
+            throw new IllegalStateException("Invalid security.jwt.private-key", e);
+        }
+    }
+
     /**
      * Generates a JWT token for the specified username, UUID, and admin status.
      *
@@ -38,13 +90,53 @@ public class JwtUtil {
      * @return a JWT token as a String
      */
     public String generateToken(String username, String uuid, Byte isAdmin) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(username)
                 .claim("uuid", uuid)
                 .claim("isAdmin", isAdmin)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_EXPIRY_TIME)) // Token valid for 24 hours
-                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_EXPIRY_TIME)); // Token valid for 24 hours
+
+        if (signingKey == null) {
+            return builder.signWith(SignatureAlgorithm.HS256, secretKey).compact();
+        }
+        return builder.setHeaderParam("kid", keyId)
+                .signWith(SignatureAlgorithm.RS256, signingKey)
                 .compact();
     }
+
+    /**
+     * Builds the JSON Web Key Set of the public keys tokens are signed with.
+     *
+     * @return a map with a {@code keys} list holding the RSA public key, or an
+     *         empty list if tokens are signed with the shared secret.
+     */
+    public Map<String, Object> getJwks() {
+        if (signingKey == null) {
+            return Map.of("keys", Collections.emptyList());
+        }
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("use", "sig");
+        jwk.put("alg", "RS256");
+        jwk.put("kid", keyId);
+        jwk.put("n", base64Url(signingKey.getModulus()));
+        jwk.put("e", base64Url(signingKey.getPublicExponent()));
+        return Map.of("keys", List.of(jwk));
+    }
+
+    /**
+     * Encodes an unsigned big-endian integer as base64url without padding, as
+     * JWKs require.
+     *
+     * @param value the integer to encode.
+     * @return the encoded integer.
+     */
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
 }
@@ -0,0 +1,206 @@
+package user.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import user.dto.ProfileCacheMetrics;
+import user.dto.ProfileResponse;
+
+/**
+ * ProfileCache holds recently loaded user profiles, keyed by UUID, so repeat
+ * profile lookups and existence checks skip the {@code GetProfile} call.
+ *
+ * <p>
+ * Profiles are loaded through the cache on a miss and expire after a
+ * configurable TTL, which bounds how stale a profile changed outside this
+ * service can be. Writes through this service invalidate the profiles they
+ * change, both at once and again once their transaction commits, and a load
+ * of a UUID that was invalidated while it ran is not cached, so a profile
+ * read before a write is never cached after it. Users that do not exist are
+ * not cached.
+ * </p>
+ *
+ * <p>
+ * Only the public {@link ProfileResponse} is cached, never the password hash.
+ * Cached profiles are shared, so callers must not modify them. Profiles are
+ * kept in the order they were loaded and, all having the same TTL, a full
+ * cache drops the oldest, which are also the first to expire. The lock is held
+ * for map operations only, never while a profile loads.
+ * </p>
+ */
+@Component
+public class ProfileCache {
+
+    @Value("${user.profile-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${user.profile-cache.ttl-ms:60000}")
+    private long ttlMillis;
+
+    // Guarded by itself, as is loads
+    private final LinkedHashMap<String, CachedProfile> entries = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedProfile> eldest) {
+            if (size() > maxSize) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Load in progress for each UUID; an invalidation removes it so it is not cached
+    private final Map<String, Object> loads = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong totalLoadNanos = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Retrieves a user's profile from the cache, loading and caching it if it
+     * is missing or expired.
+     *
+     * @param uuid   the UUID of the user
+     * @param loader loads the profile of a UUID, returning {@code null} if the
+     *               user does not exist
+     * @return the profile of the user, or {@code null} if the user does not
+     *         exist
+     */
+    public ProfileResponse get(String uuid, Function<String, ProfileResponse> loader) {
+        long now = System.currentTimeMillis();
+        Object load = new Object();
+        synchronized (entries) {
+            CachedProfile cached = entries.get(uuid);
+            if (cached != null && cached.expiresAt > now) {
+                hits.incrementAndGet();
+                return cached.profile;
+            }
+            if (cached != null) {
+                entries.remove(uuid);
+                evictions.incrementAndGet();
+            }
+            loads.put(uuid, load);
+        }
+
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        ProfileResponse profile = null;
+        try {
+            profile = loader.apply(uuid);
+        } finally {
+            totalLoadNanos.addAndGet(System.nanoTime() - start);
+            synchronized (entries) {
+                // A concurrent load of the same UUID replaces this one, and caches instead
+                if (loads.remove(uuid, load) && profile != null && maxSize > 0) {
+                    entries.put(uuid, new CachedProfile(profile, now + ttlMillis));
+                }
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Invalidates a user's profile, at once and again after the surrounding
+     * transaction completes, if there is one. Only a profile removed at once
+     * is counted as an invalidation.
+     *
+     * @param uuid the UUID of the user
+     */
+    public void invalidate(String uuid) {
+        if (evict(uuid)) {
+            invalidations.incrementAndGet();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(uuid);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invalidates the profiles of many users, as {@link #invalidate(String)}
+     * does.
+     *
+     * @param uuids the UUIDs of the users
+     */
+    public void invalidateAll(Collection<String> uuids) {
+        for (String uuid : uuids) {
+            if (evict(uuid)) {
+                invalidations.incrementAndGet();
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    uuids.forEach(ProfileCache.this::evict);
+                }
+            });
+        }
+    }
+
+    /**
+     * Takes a snapshot of the cache's size and counters.
+     *
+     * @return the size, hits, misses, hit rate, average load time, evictions
+     *         and invalidations of the cache
+     */
+    public ProfileCacheMetrics getMetrics() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        return new ProfileCacheMetrics()
+                .setSize(size)
+                .setMaxSize(maxSize)
+                .setHits(hitCount)
+                .setMisses(missCount)
+                .setHitRate(lookups == 0 ? 0 : (double) hitCount / lookups)
+                .setAverageLoadMs(missCount == 0 ? 0 : totalLoadNanos.get() / 1_000_000.0 / missCount)
+                .setEvictions(evictions.get())
+                .setInvalidations(invalidations.get());
+    }
+
+    /**
+     * Removes a profile and stops a load of it in progress from caching it.
+     *
+     * @param uuid the UUID of the user
+     * @return {@code true} if a cached profile was removed
+     */
+    private boolean evict(String uuid) {
+        synchronized (entries) {
+            loads.remove(uuid);
+            return entries.remove(uuid) != null;
+        }
+    }
+
+    /**
+     * Cached profile of a user, with the time it expires at.
+     */
+    private static final class CachedProfile {
+        private final ProfileResponse profile;
+        private final long expiresAt;
+
+        private CachedProfile(ProfileResponse profile, long expiresAt) {
+            this.profile = profile;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
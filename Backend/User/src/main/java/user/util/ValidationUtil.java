@@ -3,6 +3,7 @@ package user.util;
 import java.util.regex.Pattern;
 
 import user.dto.ProfileRequest;
+import user.dto.UserUpdateRequest;
 
 /**
  * Utility class for common validation operations.
@@ -117,4 +118,37 @@ public class ValidationUtil {
         ValidationUtil.validateRequiredFields(name, "Name is required");
         ValidationUtil.validateRole(isAdmin);
     }
+
+    /**
+     * Validates a partial user update: the UUID is required, at least one other
+     * field must be present, and each present field must be valid.
+     *
+     * @param patch the partial update, with {@code null} for fields left
+     *              unchanged
+     * @throws IllegalArgumentException if the UUID is missing, no field is
+     *                                  present, or a present field is invalid
+     */
+    public static void validateUserPatch(UserUpdateRequest patch) {
+        ValidationUtil.validateUUID(patch.getUuid());
+        if (patch.getEmail() == null && patch.getPassword() == null && patch.getName() == null
+                && patch.getIsAdmin() == null && patch.getDob() == null) {
+            throw new IllegalArgumentException("No fields to update.");
+        }
+
+        if (patch.getEmail() != null) {
+            ValidationUtil.validateRequiredFields(patch.getEmail(), "Email is required");
+            if (!ValidationUtil.isValidEmail(patch.getEmail())) {
+                throw new IllegalArgumentException("Invalid email format.");
+            }
+        }
+        if (patch.getPassword() != null) {
+            ValidationUtil.validateRequiredFields(patch.getPassword(), "Password is required");
+        }
+        if (patch.getName() != null) {
+            ValidationUtil.validateRequiredFields(patch.getName(), "Name is required");
+        }
+        if (patch.getIsAdmin() != null) {
+            ValidationUtil.validateRole(patch.getIsAdmin());
+        }
+    }
 }
@@ -0,0 +1,15 @@
+-- Idempotency keys of the batch Elo updates already applied, so a retried
+-- update is skipped instead of applied again. Used by EloUpdateLogRepository.
+--
+-- Keys are written in the same transaction as the Elo update they belong to.
+-- Rows only need to be kept for as long as a sender may retry, and can be
+-- pruned by appliedAt.
+
+CREATE TABLE IF NOT EXISTS EloUpdateLog (
+    idempotencyKey VARCHAR(255) NOT NULL,
+    uuid           VARCHAR(255) NOT NULL,
+    elo            INT          NOT NULL,
+    appliedAt      DATETIME(3)  NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (idempotencyKey),
+    KEY idx_elo_update_log_applied_at (appliedAt)
+);
@@ -0,0 +1,12 @@
+-- Stores Elo as an integer and indexes it for the global leaderboard. Used
+-- by LeaderboardRepository.
+--
+-- The index orders users by (elo DESC, UUID), the leaderboard's order, so
+-- each page is a seek to the previous page's last entry followed by a short
+-- index scan, and a player's rank is a count over the index entries rated
+-- above them, without reading any table rows. Users without an Elo are not
+-- ranked.
+
+ALTER TABLE User MODIFY elo INT NULL;
+
+CREATE INDEX idx_user_elo_uuid ON User (elo DESC, UUID);
@@ -0,0 +1,64 @@
+-- Procedures for logging in with one read and one write, in place of
+-- GetHashedPassword, CheckEmail, CheckJWT, GetRoleByUUID and
+-- UpdateJWTLastLogin. Used by LoginRepository.
+--
+-- JWToken holds one session per user, whose token is replaced at every
+-- login, so UUID is made unique for UpsertSession to replace it in a single
+-- statement. Older databases may hold several rows per UUID, so all but the
+-- latest login of each user are deleted first. Their tokens were superseded
+-- by that login, and are rejected as unknown once deleted.
+
+DELETE older
+FROM JWToken older
+JOIN JWToken newer
+  ON newer.UUID = older.UUID
+ AND (COALESCE(newer.lastLogin, '1000-01-01'), newer.jwt)
+   > (COALESCE(older.lastLogin, '1000-01-01'), older.jwt);
+
+ALTER TABLE JWToken ADD UNIQUE INDEX idx_jwtoken_uuid (UUID);
+
+-- Loads the credentials of a user by email.
+--
+-- Returns one row for a known email, or no rows otherwise:
+--   uuid     the UUID of the user
+--   password the bcrypt hash of the user's password
+--   isAdmin  the user's role
+--
+-- Reads without locking.
+
+DROP PROCEDURE IF EXISTS GetLoginCredentials;
+
+DELIMITER //
+
+CREATE PROCEDURE GetLoginCredentials(
+    IN p_email VARCHAR(255)
+)
+BEGIN
+    SELECT UUID AS uuid, password, isAdmin
+    FROM User
+    WHERE email = p_email;
+END //
+
+DELIMITER ;
+
+-- Records a login, creating the user's session or replacing its token and
+-- last login time. The previous logout is cleared, as sessions are valid
+-- while logout is NULL or before lastLogin, and both have one-second
+-- precision: a logout in the same second as the login would otherwise end
+-- the new session at once.
+
+DROP PROCEDURE IF EXISTS UpsertSession;
+
+DELIMITER //
+
+CREATE PROCEDURE UpsertSession(
+    IN p_uuid VARCHAR(36),
+    IN p_jwt VARCHAR(512)
+)
+BEGIN
+    INSERT INTO JWToken (jwt, UUID, lastLogin, logout)
+    VALUES (p_jwt, p_uuid, NOW(), NULL)
+    ON DUPLICATE KEY UPDATE jwt = VALUES(jwt), lastLogin = VALUES(lastLogin), logout = NULL;
+END //
+
+DELIMITER ;
@@ -0,0 +1,39 @@
+-- Append-only log of logouts, read by GET /api/revocations through
+-- RevocationRepository. Each logout recorded in JWToken is copied here by a
+-- trigger, whichever service made it, and given an increasing id that the
+-- feed uses as its cursor.
+--
+-- Ids are assigned when a logout is written, not when it commits, so a lower
+-- id can become visible after a higher one. The feed therefore only moves its
+-- cursor past entries older than a settle window, and re-sends younger ones.
+
+CREATE TABLE IF NOT EXISTS RevocationLog (
+    id        BIGINT       NOT NULL AUTO_INCREMENT,
+    UUID      VARCHAR(255) NOT NULL,
+    revokedAt DATETIME     NOT NULL,
+    createdAt DATETIME(3)  NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (id)
+);
+
+-- Backfill the latest logout of each user logged out before the trigger existed
+INSERT INTO RevocationLog (UUID, revokedAt)
+SELECT UUID, MAX(logout)
+FROM JWToken
+WHERE logout IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM RevocationLog)
+GROUP BY UUID;
+
+DROP TRIGGER IF EXISTS trg_jwtoken_logout;
+
+DELIMITER //
+
+CREATE TRIGGER trg_jwtoken_logout
+AFTER UPDATE ON JWToken
+FOR EACH ROW
+BEGIN
+    IF NEW.logout IS NOT NULL AND (OLD.logout IS NULL OR NEW.logout <> OLD.logout) THEN
+        INSERT INTO RevocationLog (UUID, revokedAt) VALUES (NEW.UUID, NEW.logout);
+    END IF;
+END //
+
+DELIMITER ;
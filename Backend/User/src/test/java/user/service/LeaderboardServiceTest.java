@@ -0,0 +1,115 @@
+package user.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import user.dto.LeaderboardEntry;
+import user.dto.LeaderboardPage;
+import user.dto.LeaderboardRank;
+import user.exception.UserNotFoundException;
+import user.repository.LeaderboardRepository;
+
+/**
+ * Unit tests for the {@link LeaderboardService} class, covering keyset paging of the
+ * leaderboard and rank lookups.
+ */
+public class LeaderboardServiceTest {
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private LeaderboardRepository leaderboardRepository;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private static List<LeaderboardEntry> entries(int count) {
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(new LeaderboardEntry().setUuid("uuid-" + i).setName("Player " + i).setElo(2000 - i));
+        }
+        return entries;
+    }
+
+    /**
+     * Tests that a full page returns the Elo and UUID of its last entry as the cursor of the next page.
+     */
+    @Test
+    public void testGetPage_FullPageHasCursor() {
+        when(leaderboardRepository.findPage(null, null, 3)).thenReturn(entries(3));
+
+        LeaderboardPage page = leaderboardService.getPage(null, null, 3);
+
+        assertEquals(3, page.getEntries().size());
+        assertEquals(1998, page.getNextElo());
+        assertEquals("uuid-2", page.getNextUuid());
+    }
+
+    /**
+     * Tests that a page is read after the given cursor, and that a short page ends the leaderboard.
+     */
+    @Test
+    public void testGetPage_LastPageHasNoCursor() {
+        when(leaderboardRepository.findPage(1998, "uuid-2", 50)).thenReturn(entries(1));
+
+        LeaderboardPage page = leaderboardService.getPage(1998, "uuid-2", null);
+
+        assertEquals(1, page.getEntries().size());
+        assertNull(page.getNextElo());
+        assertNull(page.getNextUuid());
+    }
+
+    /**
+     * Tests that half a cursor and out of range limits are rejected without querying.
+     */
+    @Test
+    public void testGetPage_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getPage(1500, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getPage(null, "uuid-1", 10));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getPage(null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> leaderboardService.getPage(null, null, LeaderboardService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(leaderboardRepository);
+    }
+
+    /**
+     * Tests that a player's rank is one more than the number of players rated above them.
+     */
+    @Test
+    public void testGetRank_Success() {
+        when(leaderboardRepository.findElo("uuid-1")).thenReturn(Collections.singletonList(1500));
+        when(leaderboardRepository.countHigherRated(1500)).thenReturn(41L);
+
+        LeaderboardRank rank = leaderboardService.getRank("uuid-1");
+
+        assertEquals(42, rank.getRank());
+        assertEquals(1500, rank.getElo());
+    }
+
+    /**
+     * Tests that unknown and unrated players have no rank.
+     */
+    @Test
+    public void testGetRank_NotRanked() {
+        when(leaderboardRepository.findElo("unknown")).thenReturn(Collections.emptyList());
+        when(leaderboardRepository.findElo("unrated")).thenReturn(Collections.singletonList(null));
+
+        assertThrows(UserNotFoundException.class, () -> leaderboardService.getRank("unknown"));
+        assertThrows(UserNotFoundException.class, () -> leaderboardService.getRank("unrated"));
+        verify(leaderboardRepository, never()).countHigherRated(anyInt());
+    }
+}
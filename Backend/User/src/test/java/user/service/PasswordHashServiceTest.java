@@ -0,0 +1,108 @@
+package user.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import user.dto.PasswordHashMetrics;
+import user.exception.OverloadedException;
+
+/**
+ * Unit tests for the {@link PasswordHashService} class, which hashes passwords
+ * on a bounded executor.
+ * <p>
+ * Each test runs against a pool of one thread with a queue of one task, so the
+ * executor is full once two hashes are in progress.
+ * </p>
+ */
+public class PasswordHashServiceTest {
+
+    private PasswordHashService passwordHashService;
+
+    private ThreadPoolTaskExecutor executor;
+
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+
+        passwordEncoder = spy(new BCryptPasswordEncoder(4));
+
+        passwordHashService = new PasswordHashService();
+        ReflectionTestUtils.setField(passwordHashService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(passwordHashService, "passwordHashExecutor", executor);
+        ReflectionTestUtils.setField(passwordHashService, "retryAfterSeconds", 1L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Tests that a hashed password matches itself and no other password, and
+     * that each hash is counted.
+     */
+    @Test
+    public void testEncodeAndMatches() {
+        String hash = passwordHashService.encode("password123").join();
+
+        assertTrue(passwordHashService.matches("password123", hash).join());
+        assertFalse(passwordHashService.matches("wrongPassword", hash).join());
+
+        PasswordHashMetrics metrics = passwordHashService.getMetrics();
+        assertEquals(3, metrics.getCompleted());
+        assertEquals(0, metrics.getRejected());
+        assertTrue(metrics.getAverageHashMs() > 0);
+    }
+
+    /**
+     * Tests that hashes beyond the pool and its queue are rejected straight
+     * away, and the queued hash is reported in the metrics.
+     */
+    @Test
+    public void testEncode_RejectedWhenFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        }).when(passwordEncoder).encode(anyString());
+
+        CompletableFuture<String> running = passwordHashService.encode("first");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = passwordHashService.encode("second");
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> passwordHashService.encode("third").join());
+        assertInstanceOf(OverloadedException.class, exception.getCause());
+        assertEquals(1, ((OverloadedException) exception.getCause()).getRetryAfterSeconds());
+
+        PasswordHashMetrics metrics = passwordHashService.getMetrics();
+        assertEquals(1, metrics.getActive());
+        assertEquals(1, metrics.getQueueDepth());
+        assertEquals(1, metrics.getRejected());
+
+        release.countDown();
+        assertEquals("hash", running.join());
+        assertEquals("hash", queued.join());
+    }
+}
@@ -2,26 +2,45 @@ package user.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyByte;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import user.dto.EloBatchUpdateResult;
+import user.dto.EloUpdateRequest;
+import user.dto.LoginCredentials;
 import user.dto.ProfileRequest;
+import user.dto.Revocation;
+import user.dto.RevocationFeed;
+import user.dto.UserUpdateRequest;
+import user.exception.OverloadedException;
 import user.exception.UnauthorizedException;
 import user.exception.UserNotFoundException;
 import user.model.User;
+import user.repository.EloUpdateLogRepository;
 import user.repository.JWTokenRepository;
+import user.repository.LoginRepository;
+import user.repository.ProfileUpdateRepository;
+import user.repository.RevocationRepository;
 import user.repository.UserRepository;
 import user.util.JwtUtil;
+import user.util.ProfileCache;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Unit tests for the {@link ProfileService} class, focusing on various operations related
@@ -45,11 +64,23 @@ public class ProfileServiceTest {
     @Mock
     private JWTokenRepository jwTokenRepository;
 
+    @Mock
+    private RevocationRepository revocationRepository;
+
+    @Mock
+    private LoginRepository loginRepository;
+
+    @Mock
+    private ProfileUpdateRepository profileUpdateRepository;
+
+    @Mock
+    private EloUpdateLogRepository eloUpdateLogRepository;
+
     @Mock
     private JwtUtil jwtUtil;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashService passwordHashService;
 
         /**
      * Initializes the mocks before each test method is executed.
@@ -61,6 +92,14 @@ public class ProfileServiceTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+
+        ProfileCache profileCache = new ProfileCache();
+        ReflectionTestUtils.setField(profileCache, "maxSize", 100);
+        ReflectionTestUtils.setField(profileCache, "ttlMillis", 60000L);
+        ReflectionTestUtils.setField(profileService, "profileCache", profileCache);
+        ReflectionTestUtils.setField(profileService, "revocationSettleMillis", 5000L);
+        ReflectionTestUtils.setField(profileService, "profileWriteExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(profileService, "profileWriteRetryAfterSeconds", 1L);
     }
 
     /**
@@ -82,15 +121,71 @@ public class ProfileServiceTest {
         profileRequest.setName("Test User");
         profileRequest.setIsAdmin((byte) 0);
 
-        when(passwordEncoder.encode(profileRequest.getPassword())).thenReturn("encryptedPassword");
+        when(passwordHashService.encode(profileRequest.getPassword()))
+                .thenReturn(CompletableFuture.completedFuture("encryptedPassword"));
         when(userRepository.insertUser(anyString(), anyString(), anyString(), anyByte())).thenReturn(1);
 
-        boolean result = profileService.createProfile(profileRequest);
+        boolean result = profileService.createProfile(profileRequest).join();
 
         assertTrue(result);
         verify(userRepository).insertUser("test@example.com", "encryptedPassword", "Test User", (byte) 0);
     }
 
+    /**
+     * Tests that {@link ProfileService#createProfile(ProfileRequest)} inserts the
+     * user on the profile write executor, not on the thread that hashed the
+     * password.
+     */
+    @Test
+    public void testCreateProfile_WritesOnProfileWriteExecutor() {
+        ProfileRequest profileRequest = new ProfileRequest();
+        profileRequest.setEmail("test@example.com");
+        profileRequest.setPassword("password123");
+        profileRequest.setName("Test User");
+        profileRequest.setIsAdmin((byte) 0);
+
+        List<Runnable> writes = new ArrayList<>();
+        ReflectionTestUtils.setField(profileService, "profileWriteExecutor", (Executor) writes::add);
+        when(passwordHashService.encode(profileRequest.getPassword()))
+                .thenReturn(CompletableFuture.completedFuture("encryptedPassword"));
+        when(userRepository.insertUser(anyString(), anyString(), anyString(), anyByte())).thenReturn(1);
+
+        CompletableFuture<Boolean> result = profileService.createProfile(profileRequest);
+
+        assertFalse(result.isDone());
+        verify(userRepository, never()).insertUser(anyString(), anyString(), anyString(), anyByte());
+
+        writes.forEach(Runnable::run);
+
+        assertTrue(result.join());
+        verify(userRepository).insertUser("test@example.com", "encryptedPassword", "Test User", (byte) 0);
+    }
+
+    /**
+     * Tests that {@link ProfileService#createProfile(ProfileRequest)} fails with an
+     * {@link OverloadedException} when the profile write executor is full.
+     */
+    @Test
+    public void testCreateProfile_WriteExecutorFull() {
+        ProfileRequest profileRequest = new ProfileRequest();
+        profileRequest.setEmail("test@example.com");
+        profileRequest.setPassword("password123");
+        profileRequest.setName("Test User");
+        profileRequest.setIsAdmin((byte) 0);
+
+        ReflectionTestUtils.setField(profileService, "profileWriteExecutor", (Executor) task -> {
+            throw new RejectedExecutionException("full");
+        });
+        when(passwordHashService.encode(profileRequest.getPassword()))
+                .thenReturn(CompletableFuture.completedFuture("encryptedPassword"));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> profileService.createProfile(profileRequest).join());
+
+        assertInstanceOf(OverloadedException.class, exception.getCause());
+        verify(userRepository, never()).insertUser(anyString(), anyString(), anyString(), anyByte());
+    }
+
     /**
      * Tests the {@link ProfileService#createProfile(ProfileRequest)} method with an empty email.
      * <p>
@@ -194,9 +289,59 @@ public class ProfileServiceTest {
         loginRequest.setEmail("test@example.com");
         loginRequest.setPassword("wrongPassword");
 
-        when(userRepository.getHashedPassword(loginRequest.getEmail())).thenReturn(null);
+        when(loginRepository.findCredentials(loginRequest.getEmail())).thenReturn(null);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> profileService.authenticateUser(loginRequest).join());
+        assertInstanceOf(UnauthorizedException.class, exception.getCause());
+        verifyNoInteractions(passwordHashService);
+        verify(loginRepository, never()).upsertSession(anyString(), anyString());
+    }
+
+    /**
+     * Tests the {@link ProfileService#authenticateUser(ProfileRequest)} method with a wrong password.
+     * <p>
+     * This test verifies that no session is recorded when the password does not match.
+     * </p>
+     */
+    @Test
+    public void testAuthenticateUser_WrongPassword() {
+        ProfileRequest loginRequest = new ProfileRequest();
+        loginRequest.setEmail("test@example.com");
+        loginRequest.setPassword("wrongPassword");
+
+        when(loginRepository.findCredentials(loginRequest.getEmail()))
+                .thenReturn(new LoginCredentials().setUuid("uuid-1").setPassword("hash").setIsAdmin((byte) 0));
+        when(passwordHashService.matches("wrongPassword", "hash")).thenReturn(CompletableFuture.completedFuture(false));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> profileService.authenticateUser(loginRequest).join());
+        assertInstanceOf(UnauthorizedException.class, exception.getCause());
+        verify(loginRepository, never()).upsertSession(anyString(), anyString());
+    }
 
-        assertThrows(UnauthorizedException.class, () -> profileService.authenticateUser(loginRequest));
+    /**
+     * Tests the {@link ProfileService#authenticateUser(ProfileRequest)} method for a successful login.
+     * <p>
+     * This test verifies that a login reads the credentials once, and records the issued JWT with a
+     * single upsert, without any of the per-field lookups.
+     * </p>
+     */
+    @Test
+    public void testAuthenticateUser_Success() {
+        ProfileRequest loginRequest = new ProfileRequest();
+        loginRequest.setEmail("test@example.com");
+        loginRequest.setPassword("password123");
+
+        when(loginRepository.findCredentials(loginRequest.getEmail()))
+                .thenReturn(new LoginCredentials().setUuid("uuid-1").setPassword("hash").setIsAdmin((byte) 1));
+        when(passwordHashService.matches("password123", "hash")).thenReturn(CompletableFuture.completedFuture(true));
+        when(jwtUtil.generateToken("test@example.com", "uuid-1", (byte) 1)).thenReturn("jwt-1");
+
+        assertEquals("jwt-1", profileService.authenticateUser(loginRequest).join());
+
+        verify(loginRepository).upsertSession("uuid-1", "jwt-1");
+        verifyNoInteractions(userRepository, jwTokenRepository);
     }
 
     /**
@@ -270,27 +415,148 @@ public class ProfileServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    /**
+     * Tests the {@link ProfileService#getNamesByUUIDList(List)} method for a successful lookup.
+     * <p>
+     * This test verifies that all names are fetched with one set-based lookup, and UUIDs without a user
+     * are marked as not found.
+     * </p>
+     * <ul>
+     *     <li>Given: A list of UUIDs, one of which has no user and one of which is repeated.</li>
+     *     <li>When: The method {@link ProfileService#getNamesByUUIDList(List)} is called.</li>
+     *     <li>Then: The result map should contain the names found and "Not Found" for the missing UUID.</li>
+     * </ul>
+     */
+    @Test
+    public void testGetNamesByUUIDList_Success() {
+        List<String> uuids = Arrays.asList("uuid-1234", "uuid-5678", "uuid-1234");
+        when(userRepository.findNamesByUuids(new LinkedHashSet<>(uuids))).thenReturn(Map.of("uuid-1234", "Alice"));
+
+        Map<String, String> result = profileService.getNamesByUUIDList(uuids);
+
+        assertEquals(Map.of("uuid-1234", "Alice", "uuid-5678", "Not Found"), result);
+        verify(userRepository, times(1)).findNamesByUuids(anyCollection());
+        verify(userRepository, never()).getName(anyString());
+    }
+
     /**
      * Tests the {@link ProfileService#getNamesByUUIDList(List)} method for an error during name retrieval.
      * <p>
      * This test verifies that an error during name retrieval returns an appropriate error message in the result map.
      * </p>
      * <ul>
-     *     <li>Given: A list of UUIDs with one that causes an error during retrieval.</li>
+     *     <li>Given: A list of UUIDs whose lookup fails.</li>
      *     <li>When: The method {@link ProfileService#getNamesByUUIDList(List)} is called.</li>
-     *     <li>Then: The result map should contain error messages for the failed retrieval.</li>
+     *     <li>Then: The result map should contain error messages for every UUID.</li>
      * </ul>
      */
     @Test
     public void testGetNamesByUUIDList_ErrorDuringFetch() {
         List<String> uuids = Arrays.asList("uuid-1234", "uuid-5678");
-        when(userRepository.getName("uuid-1234")).thenThrow(new RuntimeException("Database error"));
+        when(userRepository.findNamesByUuids(anyCollection())).thenThrow(new RuntimeException("Database error"));
 
         Map<String, String> result = profileService.getNamesByUUIDList(uuids);
 
         assertEquals(2, result.size());
         assertEquals("Error retrieving name", result.get("uuid-1234"));
-        assertEquals("Not Found", result.get("uuid-5678"));
+        assertEquals("Error retrieving name", result.get("uuid-5678"));
+    }
+
+    /**
+     * Tests the {@link ProfileService#getRevocationsSince(long, Integer)} method for a delta with settled revocations.
+     * <ul>
+     *     <li>Given: Two settled revocations after the cursor.</li>
+     *     <li>When: The method {@link ProfileService#getRevocationsSince(long, Integer)} is called.</li>
+     *     <li>Then: The feed should contain both revocations, with the cursor at the id of the latest one.</li>
+     * </ul>
+     */
+    @Test
+    public void testGetRevocationsSince_AdvancesCursor() {
+        List<Revocation> revocations = List.of(
+                revocation(11L, "uuid-1234", true),
+                revocation(12L, "uuid-5678", true));
+        when(revocationRepository.findRevokedAfter(10L, 1000, 5000L)).thenReturn(revocations);
+
+        RevocationFeed feed = profileService.getRevocationsSince(10L, null);
+
+        assertEquals(revocations, feed.getRevocations());
+        assertEquals(12L, feed.getCursor());
+        assertFalse(feed.isHasMore());
+    }
+
+    /**
+     * Tests the {@link ProfileService#getRevocationsSince(long, Integer)} method for a delta with a revocation
+     * logged within the settle window.
+     * <ul>
+     *     <li>Given: A settled revocation followed by one that is not settled, filling the page.</li>
+     *     <li>When: The method {@link ProfileService#getRevocationsSince(long, Integer)} is called.</li>
+     *     <li>Then: Both should be delivered, but the cursor should stop before the unsettled one.</li>
+     * </ul>
+     */
+    @Test
+    public void testGetRevocationsSince_HoldsCursorBeforeUnsettled() {
+        List<Revocation> revocations = List.of(
+                revocation(11L, "uuid-1234", true),
+                revocation(12L, "uuid-5678", false));
+        when(revocationRepository.findRevokedAfter(10L, 2, 5000L)).thenReturn(revocations);
+
+        RevocationFeed feed = profileService.getRevocationsSince(10L, 2);
+
+        assertEquals(revocations, feed.getRevocations());
+        assertEquals(11L, feed.getCursor());
+        assertFalse(feed.isHasMore());
+    }
+
+    /**
+     * Tests the {@link ProfileService#getRevocationsSince(long, Integer)} method for a full page of settled
+     * revocations.
+     * <ul>
+     *     <li>Given: As many settled revocations as the requested limit.</li>
+     *     <li>When: The method {@link ProfileService#getRevocationsSince(long, Integer)} is called.</li>
+     *     <li>Then: The feed should report that more revocations are waiting.</li>
+     * </ul>
+     */
+    @Test
+    public void testGetRevocationsSince_FullPage() {
+        when(revocationRepository.findRevokedAfter(0L, 1, 5000L))
+                .thenReturn(List.of(revocation(1L, "uuid-1234", true)));
+
+        RevocationFeed feed = profileService.getRevocationsSince(0L, 1);
+
+        assertEquals(1L, feed.getCursor());
+        assertTrue(feed.isHasMore());
+    }
+
+    /**
+     * Tests the {@link ProfileService#getRevocationsSince(long, Integer)} method for a delta without revocations.
+     * <ul>
+     *     <li>Given: No revocations after the cursor.</li>
+     *     <li>When: The method {@link ProfileService#getRevocationsSince(long, Integer)} is called.</li>
+     *     <li>Then: The feed should be empty, with the cursor unchanged.</li>
+     * </ul>
+     */
+    @Test
+    public void testGetRevocationsSince_NoRevocations() {
+        when(revocationRepository.findRevokedAfter(10L, 1000, 5000L)).thenReturn(Collections.emptyList());
+
+        RevocationFeed feed = profileService.getRevocationsSince(10L, null);
+
+        assertTrue(feed.getRevocations().isEmpty());
+        assertEquals(10L, feed.getCursor());
+    }
+
+    /**
+     * Tests the {@link ProfileService#getRevocationsSince(long, Integer)} method with an out of range limit.
+     * <ul>
+     *     <li>Given: A limit above the maximum page size.</li>
+     *     <li>When: The method {@link ProfileService#getRevocationsSince(long, Integer)} is called.</li>
+     *     <li>Then: An {@code IllegalArgumentException} should be thrown.</li>
+     * </ul>
+     */
+    @Test
+    public void testGetRevocationsSince_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> profileService.getRevocationsSince(0L, ProfileService.MAX_REVOCATION_PAGE_SIZE + 1));
     }
 
     /**
@@ -315,6 +581,24 @@ public class ProfileServiceTest {
         verify(userRepository).updateElo(uuid, elo);
     }
 
+    /**
+     * Tests that profiles are served from the cache after the first lookup, and reloaded once
+     * {@link ProfileService#updateElo(String, Integer)} changes them.
+     */
+    @Test
+    public void testGetProfileByUUID_CachedUntilUpdated() {
+        String uuid = "uuid-1234";
+        when(userRepository.getProfile(uuid)).thenReturn(new User());
+
+        profileService.getProfileByUUID(uuid);
+        profileService.getProfileByUUID(uuid);
+        verify(userRepository, times(1)).getProfile(uuid);
+
+        profileService.updateElo(uuid, 1500);
+        profileService.getProfileByUUID(uuid);
+        verify(userRepository, times(2)).getProfile(uuid);
+    }
+
     /**
      * Tests the {@link ProfileService#updateElo(String, Integer)} method with a null UUID.
      * <p>
@@ -331,6 +615,112 @@ public class ProfileServiceTest {
         assertThrows(IllegalArgumentException.class, () -> profileService.updateElo(null, 1500));
     }
 
+    /**
+     * Tests the {@link ProfileService#updateEloBatch(List)} method with a mix of valid and invalid items.
+     * <p>
+     * This test verifies that existence is checked with a single query, valid updates are applied in one
+     * batch, and every rejected item is reported with its reason.
+     * </p>
+     * <ul>
+     *     <li>Given: Valid updates for two existing users, one unknown user, a negative ELO, and a duplicate UUID.</li>
+     *     <li>When: The method {@link ProfileService#updateEloBatch(List)} is called.</li>
+     *     <li>Then: Only the two existing users should be updated, and the other items reported as failed.</li>
+     * </ul>
+     */
+    @Test
+    public void testUpdateEloBatch_PartialFailure() {
+        List<EloUpdateRequest> updates = List.of(
+                eloUpdate("uuid-1", 1500),
+                eloUpdate("uuid-2", 1200),
+                eloUpdate("uuid-3", 1000),
+                eloUpdate("uuid-4", -1),
+                eloUpdate("uuid-5", 900),
+                eloUpdate("uuid-5", 950));
+
+        when(userRepository.findExistingUuids(Set.of("uuid-1", "uuid-2", "uuid-3")))
+                .thenReturn(Set.of("uuid-1", "uuid-2"));
+        when(userRepository.updateElos(anyMap())).thenReturn(2);
+
+        EloBatchUpdateResult result = profileService.updateEloBatch(updates);
+
+        assertEquals(2, result.getUpdated());
+        assertEquals(Map.of(
+                "uuid-3", "User not found",
+                "uuid-4", "Invalid or missing ELO",
+                "uuid-5", "Duplicate UUID"), result.getFailed());
+        verify(userRepository).updateElos(Map.of("uuid-1", 1500, "uuid-2", 1200));
+        verify(userRepository, never()).getProfile(anyString());
+        verify(userRepository, never()).updateElo(anyString(), anyInt());
+    }
+
+    /**
+     * Tests the {@link ProfileService#updateEloBatch(List)} method with idempotency keys.
+     * <p>
+     * This test verifies that items whose key was already applied are skipped as duplicates, and the keys
+     * of the applied items are recorded.
+     * </p>
+     * <ul>
+     *     <li>Given: Two keyed updates, one of which was already applied.</li>
+     *     <li>When: The method {@link ProfileService#updateEloBatch(List)} is called.</li>
+     *     <li>Then: Only the new update should be applied and its key recorded.</li>
+     * </ul>
+     */
+    @Test
+    public void testUpdateEloBatch_SkipsAppliedKeys() {
+        EloUpdateRequest applied = eloUpdate("uuid-1", 1500);
+        applied.setIdempotencyKey("t1:uuid-1");
+        EloUpdateRequest fresh = eloUpdate("uuid-2", 1200);
+        fresh.setIdempotencyKey("t1:uuid-2");
+
+        when(eloUpdateLogRepository.findApplied(List.of("t1:uuid-1", "t1:uuid-2"))).thenReturn(Set.of("t1:uuid-1"));
+        when(userRepository.findExistingUuids(Set.of("uuid-2"))).thenReturn(Set.of("uuid-2"));
+        when(userRepository.updateElos(anyMap())).thenReturn(1);
+
+        EloBatchUpdateResult result = profileService.updateEloBatch(List.of(applied, fresh));
+
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getDuplicates());
+        assertTrue(result.getFailed().isEmpty());
+        verify(userRepository).updateElos(Map.of("uuid-2", 1200));
+        verify(eloUpdateLogRepository).recordApplied(List.of(fresh));
+    }
+
+    /**
+     * Tests the {@link ProfileService#updateEloBatch(List)} method when no item is valid.
+     * <p>
+     * This test verifies that the repository is not queried when there is nothing to update.
+     * </p>
+     * <ul>
+     *     <li>Given: A batch containing only an item without a UUID.</li>
+     *     <li>When: The method {@link ProfileService#updateEloBatch(List)} is called.</li>
+     *     <li>Then: No users should be updated and the repository should not be called.</li>
+     * </ul>
+     */
+    @Test
+    public void testUpdateEloBatch_NoValidItems() {
+        EloBatchUpdateResult result = profileService.updateEloBatch(List.of(eloUpdate(null, 1500)));
+
+        assertEquals(0, result.getUpdated());
+        assertEquals(Map.of("null", "UUID is required"), result.getFailed());
+        verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * Tests the {@link ProfileService#updateEloBatch(List)} method with an empty batch.
+     * <p>
+     * This test verifies that an {@code IllegalArgumentException} is thrown when no updates are provided.
+     * </p>
+     * <ul>
+     *     <li>Given: An empty list of updates.</li>
+     *     <li>When: The method {@link ProfileService#updateEloBatch(List)} is called.</li>
+     *     <li>Then: An {@code IllegalArgumentException} should be thrown.</li>
+     * </ul>
+     */
+    @Test
+    public void testUpdateEloBatch_Empty() {
+        assertThrows(IllegalArgumentException.class, () -> profileService.updateEloBatch(List.of()));
+    }
+
     /**
      * Tests the {@link ProfileService#updateUser(String, String, String, String, Byte, LocalDate)} method for a successful update of a user's information.
      * <p>
@@ -352,9 +742,9 @@ public class ProfileServiceTest {
         LocalDate dob = LocalDate.now();
 
         when(userRepository.getProfile(uuid)).thenReturn(new User());
-        when(passwordEncoder.encode(password)).thenReturn("encryptedPassword");
+        when(passwordHashService.encode(password)).thenReturn(CompletableFuture.completedFuture("encryptedPassword"));
 
-        boolean result = profileService.updateUser(uuid, email, password, name, isAdmin, dob);
+        boolean result = profileService.updateUser(uuid, email, password, name, isAdmin, dob).join();
 
         assertTrue(result);
         verify(userRepository).updateUser(uuid, email, "encryptedPassword", name, isAdmin, java.sql.Date.valueOf(dob));
@@ -395,4 +785,87 @@ public class ProfileServiceTest {
         assertThrows(UserNotFoundException.class, () -> profileService.updateUser(
                 "uuid-1234", "test@example.com", "newPassword", "Updated User", (byte) 0, LocalDate.now()));
     }
+
+    /**
+     * Tests the {@link ProfileService#patchUser(UserUpdateRequest)} method when only the name changes.
+     * <p>
+     * This test verifies that the name is written with a single update, without reading the user
+     * first or hashing a password.
+     * </p>
+     */
+    @Test
+    public void testPatchUser_NameOnly() {
+        UserUpdateRequest patch = new UserUpdateRequest();
+        patch.setUuid("uuid-1234");
+        patch.setName("Updated User");
+
+        when(profileUpdateRepository.patchUser("uuid-1234", null, null, "Updated User", null, null)).thenReturn(1);
+
+        assertTrue(profileService.patchUser(patch).join());
+        verifyNoInteractions(passwordHashService, userRepository);
+    }
+
+    /**
+     * Tests the {@link ProfileService#patchUser(UserUpdateRequest)} method with a new password.
+     * <p>
+     * This test verifies that a supplied password is hashed and only the hash is written.
+     * </p>
+     */
+    @Test
+    public void testPatchUser_NewPassword() {
+        UserUpdateRequest patch = new UserUpdateRequest();
+        patch.setUuid("uuid-1234");
+        patch.setPassword("newPassword");
+
+        when(passwordHashService.encode("newPassword")).thenReturn(CompletableFuture.completedFuture("encryptedPassword"));
+        when(profileUpdateRepository.patchUser("uuid-1234", null, "encryptedPassword", null, null, null)).thenReturn(1);
+
+        assertTrue(profileService.patchUser(patch).join());
+    }
+
+    /**
+     * Tests the {@link ProfileService#patchUser(UserUpdateRequest)} method for a non-existent user.
+     * <p>
+     * This test verifies that a {@code UserNotFoundException} is reported when the update matches no user.
+     * </p>
+     */
+    @Test
+    public void testPatchUser_UserNotFound() {
+        UserUpdateRequest patch = new UserUpdateRequest();
+        patch.setUuid("uuid-1234");
+        patch.setIsAdmin((byte) 1);
+
+        when(profileUpdateRepository.patchUser("uuid-1234", null, null, null, (byte) 1, null)).thenReturn(0);
+
+        assertThrows(UserNotFoundException.class, () -> profileService.patchUser(patch));
+    }
+
+    /**
+     * Tests the {@link ProfileService#patchUser(UserUpdateRequest)} method with an email used by another user.
+     * <p>
+     * This test verifies that an {@code IllegalArgumentException} is thrown and nothing is written.
+     * </p>
+     */
+    @Test
+    public void testPatchUser_EmailTaken() {
+        UserUpdateRequest patch = new UserUpdateRequest();
+        patch.setUuid("uuid-1234");
+        patch.setEmail("taken@example.com");
+
+        when(userRepository.checkEmail("taken@example.com")).thenReturn("uuid-5678");
+
+        assertThrows(IllegalArgumentException.class, () -> profileService.patchUser(patch));
+        verifyNoInteractions(profileUpdateRepository);
+    }
+
+    private static EloUpdateRequest eloUpdate(String uuid, Integer elo) {
+        EloUpdateRequest request = new EloUpdateRequest();
+        request.setUuid(uuid);
+        request.setElo(elo);
+        return request;
+    }
+
+    private static Revocation revocation(long id, String uuid, boolean settled) {
+        return new Revocation().setId(id).setUuid(uuid).setRevokedAt(id * 1000).setSettled(settled);
+    }
 }
@@ -0,0 +1,179 @@
+package user.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import user.dto.ProfileCacheMetrics;
+import user.dto.ProfileResponse;
+import user.model.User;
+
+/**
+ * Unit tests for the {@link ProfileCache} class, which caches user profiles by UUID.
+ */
+public class ProfileCacheTest {
+
+    private ProfileCache profileCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        profileCache = new ProfileCache();
+        ReflectionTestUtils.setField(profileCache, "maxSize", 2);
+        ReflectionTestUtils.setField(profileCache, "ttlMillis", 60000L);
+        loads = new AtomicInteger();
+    }
+
+    private ProfileResponse load(String uuid) {
+        loads.incrementAndGet();
+        User user = new User();
+        user.setName(uuid);
+        return new ProfileResponse(user);
+    }
+
+    /**
+     * Tests that a profile is loaded once and then served from the cache, and that hits and misses
+     * are counted.
+     */
+    @Test
+    public void testGet_LoadsOnceThenHits() {
+        ProfileResponse first = profileCache.get("uuid-1", this::load);
+        ProfileResponse second = profileCache.get("uuid-1", this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        ProfileCacheMetrics metrics = profileCache.getMetrics();
+        assertEquals(1, metrics.getHits());
+        assertEquals(1, metrics.getMisses());
+        assertEquals(0.5, metrics.getHitRate());
+        assertEquals(1, metrics.getSize());
+    }
+
+    /**
+     * Tests that users that do not exist are not cached.
+     */
+    @Test
+    public void testGet_MissingUserNotCached() {
+        assertNull(profileCache.get("uuid-1", uuid -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        profileCache.get("uuid-1", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that expired profiles are reloaded and counted as evictions.
+     */
+    @Test
+    public void testGet_ExpiredReloaded() {
+        ReflectionTestUtils.setField(profileCache, "ttlMillis", 0L);
+
+        profileCache.get("uuid-1", this::load);
+        profileCache.get("uuid-1", this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, profileCache.getMetrics().getEvictions());
+    }
+
+    /**
+     * Tests that the cache stays within its maximum size, evicting the oldest profile to make room.
+     */
+    @Test
+    public void testGet_BoundedSize() {
+        profileCache.get("uuid-1", this::load);
+        profileCache.get("uuid-2", this::load);
+        profileCache.get("uuid-3", this::load);
+
+        ProfileCacheMetrics metrics = profileCache.getMetrics();
+        assertEquals(2, metrics.getSize());
+        assertEquals(1, metrics.getEvictions());
+
+        profileCache.get("uuid-2", this::load);
+        profileCache.get("uuid-3", this::load);
+        assertEquals(3, loads.get());
+        profileCache.get("uuid-1", this::load);
+        assertEquals(4, loads.get());
+    }
+
+    /**
+     * Tests that invalidated profiles are reloaded, for single and batch invalidations.
+     */
+    @Test
+    public void testInvalidate_Reloads() {
+        profileCache.get("uuid-1", this::load);
+        profileCache.get("uuid-2", this::load);
+
+        profileCache.invalidate("uuid-1");
+        profileCache.get("uuid-1", this::load);
+        assertEquals(3, loads.get());
+
+        profileCache.invalidateAll(List.of("uuid-1", "uuid-2"));
+        profileCache.get("uuid-1", this::load);
+        profileCache.get("uuid-2", this::load);
+        assertEquals(5, loads.get());
+        assertEquals(3, profileCache.getMetrics().getInvalidations());
+    }
+
+    /**
+     * Tests that a profile loaded while it was invalidated is not cached, so the value read before
+     * a write is not served after it.
+     */
+    @Test
+    public void testGet_LoadOverlappingInvalidationNotCached() {
+        profileCache.get("uuid-1", uuid -> {
+            profileCache.invalidate(uuid);
+            return load(uuid);
+        });
+        profileCache.get("uuid-1", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that invalidating one profile does not stop a load of another, overlapping it, from
+     * being cached.
+     */
+    @Test
+    public void testGet_LoadOverlappingOtherInvalidationCached() {
+        profileCache.get("uuid-1", uuid -> {
+            profileCache.invalidate("uuid-2");
+            return load(uuid);
+        });
+        profileCache.get("uuid-1", this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Tests that only invalidations that remove a cached profile are counted, and that the
+     * invalidation repeated once a transaction completes is not counted again.
+     */
+    @Test
+    public void testInvalidate_CountsRemovedProfilesOnce() {
+        profileCache.get("uuid-1", this::load);
+        profileCache.invalidate("uuid-2");
+        assertEquals(0, profileCache.getMetrics().getInvalidations());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            profileCache.invalidateAll(List.of("uuid-1", "uuid-2"));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, profileCache.getMetrics().getInvalidations());
+    }
+}
@@ -3,6 +3,8 @@ package user.util;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
+import user.dto.UserUpdateRequest;
+
 /**
  * Unit tests for the {@link ValidationUtil} class, focusing on ensuring the proper
  * validation of various fields, roles, email formats, and UUIDs.
@@ -246,4 +248,52 @@ public class ValidationUtilTest {
         });
         assertEquals("UUID is required", thrown.getMessage());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests the {@link ValidationUtil#validateUserPatch(UserUpdateRequest)} method with a single field.
+     * <p>
+     * This test ensures that a partial update with only one field present is valid.
+     * </p>
+     */
+    @Test
+    public void testValidateUserPatch_SingleField() {
+        UserUpdateRequest patch = new UserUpdateRequest();
+        patch.setUuid("uuid-1234");
+        patch.setName("Updated User");
+
+        assertDoesNotThrow(() -> ValidationUtil.validateUserPatch(patch));
+    }
+
+    /**
+     * Tests the {@link ValidationUtil#validateUserPatch(UserUpdateRequest)} method without any fields.
+     * <p>
+     * This test ensures that a partial update with only a UUID throws an {@link IllegalArgumentException}.
+     * </p>
+     */
+    @Test
+    public void testValidateUserPatch_NoFields() {
+        UserUpdateRequest patch = new UserUpdateRequest();
+        patch.setUuid("uuid-1234");
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> ValidationUtil.validateUserPatch(patch));
+        assertEquals("No fields to update.", thrown.getMessage());
+    }
+
+    /**
+     * Tests the {@link ValidationUtil#validateUserPatch(UserUpdateRequest)} method with an invalid email.
+     * <p>
+     * This test ensures that a present field is still validated.
+     * </p>
+     */
+    @Test
+    public void testValidateUserPatch_InvalidEmail() {
+        UserUpdateRequest patch = new UserUpdateRequest();
+        patch.setUuid("uuid-1234");
+        patch.setEmail("not-an-email");
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> ValidationUtil.validateUserPatch(patch));
+        assertEquals("Invalid email format.", thrown.getMessage());
+    }
+}